@@ -27,6 +27,9 @@ public class Document {
     private final List<Content> content = new ArrayList<>();
     private Header header;
     private Footer footer;
+    private PageTemplate pageTemplate;
+    private FlushPolicy flushPolicy = FlushPolicy.NONE;
+    private boolean pipelinedWriting = false;
 
     /**
      * Creates a new instance of a Document with the specified {@link PageSize} and {@link Margin}. These values are
@@ -132,6 +135,64 @@ public class Document {
         this.footer = footer;
     }
 
+    /**
+     * Gets the {@link PageTemplate} for the document.
+     *
+     * @return the page template
+     */
+    public PageTemplate getPageTemplate() {
+        return pageTemplate;
+    }
+
+    /**
+     * Sets the {@link PageTemplate} that is drawn underneath the content of every page of the document.
+     *
+     * @param pageTemplate the page template, <code>null</code> will remove the page template
+     */
+    public void setPageTemplate(PageTemplate pageTemplate) {
+        this.pageTemplate = pageTemplate;
+    }
+
+    /**
+     * Gets the {@link FlushPolicy} used when writing the document. The default is {@link FlushPolicy#NONE}.
+     *
+     * @return the flush policy
+     */
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * Sets the {@link FlushPolicy} used when writing the document.
+     *
+     * @param flushPolicy the flush policy, <code>null</code> will reset it to {@link FlushPolicy#NONE}
+     */
+    public void setFlushPolicy(FlushPolicy flushPolicy) {
+        this.flushPolicy = (flushPolicy != null) ? flushPolicy : FlushPolicy.NONE;
+    }
+
+    /**
+     * Specifies if the pages of the document are compressed and written on separate threads. The default value is
+     * <code>false</code>.
+     *
+     * @return true if the pages are compressed and written on separate threads
+     */
+    public boolean isPipelinedWriting() {
+        return pipelinedWriting;
+    }
+
+    /**
+     * Specifies if the pages of the document are compressed and written on separate threads while the following pages
+     * are laid out. Only the compression of the page contents and the output move to those threads, everything else is
+     * still done on the thread that writes the document. The written document is identical to the one written without
+     * this option, and the threads are stopped when writing fails.
+     *
+     * @param pipelinedWriting true if the pages should be compressed and written on separate threads
+     */
+    public void setPipelinedWriting(boolean pipelinedWriting) {
+        this.pipelinedWriting = pipelinedWriting;
+    }
+
     /**
      * Specifies if the Document has any {@link Chapter}s.
      *
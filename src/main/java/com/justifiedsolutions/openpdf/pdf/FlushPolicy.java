@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf;
+
+import java.util.Objects;
+
+/**
+ * A FlushPolicy specifies when the data written for a {@link Document} is forced down to the {@link
+ * java.io.OutputStream} instead of waiting for the Document to be completely written. Flushing can be triggered every N
+ * pages, every N bytes, or both. A FlushPolicy can also request that the first page and the fonts it uses are emitted
+ * as early as possible so a streaming consumer receives data right away.
+ */
+public final class FlushPolicy {
+
+    /**
+     * A FlushPolicy that only flushes when the Document is finished. This is the default.
+     */
+    public static final FlushPolicy NONE = new FlushPolicy(0, 0, false);
+    /**
+     * A FlushPolicy that flushes after every page and emits the first page as early as possible.
+     */
+    public static final FlushPolicy EVERY_PAGE = new FlushPolicy(1, 0, true);
+
+    private final int pageInterval;
+    private final long byteInterval;
+    private final boolean earlyFirstPage;
+
+    /**
+     * Creates a new FlushPolicy.
+     *
+     * @param pageInterval   the number of pages between flushes, <code>0</code> disables flushing by page
+     * @param byteInterval   the number of bytes between flushes, <code>0</code> disables flushing by size
+     * @param earlyFirstPage true if the first page and the fonts it uses should be written and flushed as soon as the
+     *                       page is complete
+     * @throws IllegalArgumentException if either interval is negative
+     */
+    public FlushPolicy(int pageInterval, long byteInterval, boolean earlyFirstPage) {
+        if (pageInterval < 0 || byteInterval < 0) {
+            throw new IllegalArgumentException("Flush intervals must not be negative.");
+        }
+        this.pageInterval = pageInterval;
+        this.byteInterval = byteInterval;
+        this.earlyFirstPage = earlyFirstPage;
+    }
+
+    /**
+     * Gets the number of pages between flushes. A value of <code>0</code> means the number of pages does not trigger
+     * a flush.
+     *
+     * @return the page interval
+     */
+    public int getPageInterval() {
+        return pageInterval;
+    }
+
+    /**
+     * Gets the number of bytes between flushes. A value of <code>0</code> means the number of bytes written does not
+     * trigger a flush.
+     *
+     * @return the byte interval
+     */
+    public long getByteInterval() {
+        return byteInterval;
+    }
+
+    /**
+     * Specifies if the first page and the fonts it uses should be written and flushed as soon as the page is
+     * complete. Only fonts whose definition does not depend on the characters used later in the Document, such as the
+     * {@link com.justifiedsolutions.openpdf.pdf.font.PDFFont}s, can be written early.
+     *
+     * @return true if the first page is emitted early
+     */
+    public boolean isEarlyFirstPage() {
+        return earlyFirstPage;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FlushPolicy that = (FlushPolicy) o;
+        return pageInterval == that.pageInterval &&
+                byteInterval == that.byteInterval &&
+                earlyFirstPage == that.earlyFirstPage;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pageInterval, byteInterval, earlyFirstPage);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * A PageTemplate uses a page of an existing PDF file, such as a letterhead or a pre-printed form, as the background of
+ * every page of a {@link Document}. The page is placed at the lower left corner of each page, underneath all other
+ * content. It is written to the Document only once, however many pages there are.
+ */
+public final class PageTemplate {
+
+    private final Path path;
+    private final int pageNumber;
+
+    /**
+     * Creates a new PageTemplate from the first page of a PDF file.
+     *
+     * @param path the PDF file
+     * @throws NullPointerException if path is <code>null</code>
+     */
+    public PageTemplate(Path path) {
+        this(path, 1);
+    }
+
+    /**
+     * Creates a new PageTemplate from a page of a PDF file.
+     *
+     * @param path       the PDF file
+     * @param pageNumber the number of the page to use, the first page is <code>1</code>
+     * @throws NullPointerException     if path is <code>null</code>
+     * @throws IllegalArgumentException if pageNumber is less than <code>1</code>
+     */
+    public PageTemplate(Path path, int pageNumber) {
+        this.path = Objects.requireNonNull(path);
+        if (pageNumber < 1) {
+            throw new IllegalArgumentException("Page number must be at least 1.");
+        }
+        this.pageNumber = pageNumber;
+    }
+
+    /**
+     * Gets the PDF file the template is taken from.
+     *
+     * @return the PDF file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Gets the number of the page in the PDF file that is used as the template.
+     *
+     * @return the page number
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PageTemplate that = (PageTemplate) o;
+        return pageNumber == that.pageNumber &&
+                path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(path, pageNumber);
+    }
+}
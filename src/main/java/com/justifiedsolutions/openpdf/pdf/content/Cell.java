@@ -9,37 +9,28 @@ package com.justifiedsolutions.openpdf.pdf.content;
 import com.justifiedsolutions.openpdf.pdf.HorizontalAlignment;
 import com.justifiedsolutions.openpdf.pdf.VerticalAlignment;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * A Cell represents a cell in a {@link Table}. A Cell is created by methods on the Table and must be instantiated with
- * the content embedded in the Cell. When adding a {@link Phrase} to a Cell, the leading is ignored. The leading is
- * honored when adding a {@link Paragraph} to a Cell. When adding a Paragraph to a Cell, if the Paragraph has a {@link
- * HorizontalAlignment} set, it will override the HorizontalAlignment of the Cell.
+ * the content embedded in the Cell. The cells of the body rows of a {@link StreamingTable} are created directly. When
+ * adding a {@link Phrase} to a Cell, the leading is ignored. The leading is honored when adding a {@link Paragraph} to
+ * a Cell. When adding a Paragraph to a Cell, if the Paragraph has a {@link HorizontalAlignment} set, it will override
+ * the HorizontalAlignment of the Cell.
  */
 public class Cell {
 
-    private final List<Border> borders = new ArrayList<>();
     private Content content;
     private int rowSpan = 1;
     private int columnSpan = 1;
-    private HorizontalAlignment horizontalAlignment = HorizontalAlignment.LEFT;
-    private VerticalAlignment verticalAlignment = VerticalAlignment.TOP;
-    private float minimumHeight = 0;
-    private float paddingTop = 2;
-    private float paddingBottom = 2;
-    private float paddingLeft = 2;
-    private float paddingRight = 2;
-    private float greyFill = 1;
+    private CellStyle style = CellStyle.DEFAULT;
 
     /**
      * Creates a cell devoid of content.
      */
-    Cell() {
-        borders.add(Border.ALL);
+    public Cell() {
     }
 
     /**
@@ -49,7 +40,7 @@ public class Cell {
      * @param content the cell content
      * @throws IllegalArgumentException if the content isn't the correct type.
      */
-    Cell(Content content) {
+    public Cell(Content content) {
         this();
         setContent(content);
     }
@@ -113,6 +104,26 @@ public class Cell {
         this.columnSpan = columnSpan;
     }
 
+    /**
+     * Gets the {@link CellStyle} of the cell, which holds its borders, alignments, minimum height, paddings and grey
+     * fill. The style is shared by all the cells that look the same.
+     *
+     * @return the style
+     */
+    public CellStyle getStyle() {
+        return style;
+    }
+
+    /**
+     * Sets the {@link CellStyle} of the cell, to make it look the same as the cell the style was taken from.
+     *
+     * @param style the style
+     * @throws NullPointerException if style is null
+     */
+    public void setStyle(CellStyle style) {
+        this.style = Objects.requireNonNull(style);
+    }
+
     /**
      * Gets the {@link HorizontalAlignment} of the contents of the cell. The default is {@link
      * HorizontalAlignment#LEFT}.
@@ -120,7 +131,7 @@ public class Cell {
      * @return the horizontal alignment
      */
     public HorizontalAlignment getHorizontalAlignment() {
-        return horizontalAlignment;
+        return style.getHorizontalAlignment();
     }
 
     /**
@@ -129,7 +140,7 @@ public class Cell {
      * @param horizontalAlignment the horizontal alignment
      */
     public void setHorizontalAlignment(HorizontalAlignment horizontalAlignment) {
-        this.horizontalAlignment = horizontalAlignment;
+        style = style.withHorizontalAlignment(horizontalAlignment);
     }
 
     /**
@@ -138,7 +149,7 @@ public class Cell {
      * @return the vertical alignment
      */
     public VerticalAlignment getVerticalAlignment() {
-        return verticalAlignment;
+        return style.getVerticalAlignment();
     }
 
     /**
@@ -147,7 +158,7 @@ public class Cell {
      * @param verticalAlignment the vertical alignment
      */
     public void setVerticalAlignment(VerticalAlignment verticalAlignment) {
-        this.verticalAlignment = verticalAlignment;
+        style = style.withVerticalAlignment(verticalAlignment);
     }
 
     /**
@@ -156,7 +167,7 @@ public class Cell {
      * @return the minimum height
      */
     public float getMinimumHeight() {
-        return minimumHeight;
+        return style.getMinimumHeight();
     }
 
     /**
@@ -165,7 +176,7 @@ public class Cell {
      * @param minimumHeight the minimum height
      */
     public void setMinimumHeight(float minimumHeight) {
-        this.minimumHeight = minimumHeight;
+        style = style.withMinimumHeight(minimumHeight);
     }
 
     /**
@@ -175,10 +186,7 @@ public class Cell {
      * @param padding the amount of padding
      */
     public void setPadding(float padding) {
-        setPaddingTop(padding);
-        setPaddingBottom(padding);
-        setPaddingLeft(padding);
-        setPaddingRight(padding);
+        style = style.withPadding(padding, padding, padding, padding);
     }
 
     /**
@@ -187,7 +195,7 @@ public class Cell {
      * @return the top padding
      */
     public float getPaddingTop() {
-        return paddingTop;
+        return style.getPaddingTop();
     }
 
     /**
@@ -196,7 +204,7 @@ public class Cell {
      * @param paddingTop top padding
      */
     public void setPaddingTop(float paddingTop) {
-        this.paddingTop = paddingTop;
+        style = style.withPadding(paddingTop, style.getPaddingBottom(), style.getPaddingLeft(), style.getPaddingRight());
     }
 
     /**
@@ -205,7 +213,7 @@ public class Cell {
      * @return the bottom padding
      */
     public float getPaddingBottom() {
-        return paddingBottom;
+        return style.getPaddingBottom();
     }
 
     /**
@@ -214,7 +222,7 @@ public class Cell {
      * @param paddingBottom bottom padding
      */
     public void setPaddingBottom(float paddingBottom) {
-        this.paddingBottom = paddingBottom;
+        style = style.withPadding(style.getPaddingTop(), paddingBottom, style.getPaddingLeft(), style.getPaddingRight());
     }
 
     /**
@@ -223,7 +231,7 @@ public class Cell {
      * @return the left padding
      */
     public float getPaddingLeft() {
-        return paddingLeft;
+        return style.getPaddingLeft();
     }
 
     /**
@@ -232,7 +240,7 @@ public class Cell {
      * @param paddingLeft left padding
      */
     public void setPaddingLeft(float paddingLeft) {
-        this.paddingLeft = paddingLeft;
+        style = style.withPadding(style.getPaddingTop(), style.getPaddingBottom(), paddingLeft, style.getPaddingRight());
     }
 
     /**
@@ -241,7 +249,7 @@ public class Cell {
      * @return the right padding
      */
     public float getPaddingRight() {
-        return paddingRight;
+        return style.getPaddingRight();
     }
 
     /**
@@ -250,7 +258,7 @@ public class Cell {
      * @param paddingRight right padding
      */
     public void setPaddingRight(float paddingRight) {
-        this.paddingRight = paddingRight;
+        style = style.withPadding(style.getPaddingTop(), style.getPaddingBottom(), style.getPaddingLeft(), paddingRight);
     }
 
     /**
@@ -260,7 +268,7 @@ public class Cell {
      * @return the cell borders
      */
     public List<Border> getBorders() {
-        return Collections.unmodifiableList(borders);
+        return style.getBorders();
     }
 
     /**
@@ -269,10 +277,7 @@ public class Cell {
      * @param borders the borders
      */
     public void setBorders(Border... borders) {
-        this.borders.clear();
-        if (borders != null) {
-            this.borders.addAll(Arrays.asList(borders));
-        }
+        style = style.withBorders(borders);
     }
 
     /**
@@ -282,7 +287,7 @@ public class Cell {
      * @return the grey fill
      */
     public float getGreyFill() {
-        return greyFill;
+        return style.getGreyFill();
     }
 
     /**
@@ -292,7 +297,7 @@ public class Cell {
      * @throws IllegalArgumentException if the value is less than 0.0 or greater than 1.0.
      */
     public void setGreyFill(float greyFill) {
-        this.greyFill = greyFill;
+        style = style.withGreyFill(greyFill);
     }
 
 
@@ -0,0 +1,219 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf.content;
+
+import com.justifiedsolutions.openpdf.pdf.HorizontalAlignment;
+import com.justifiedsolutions.openpdf.pdf.VerticalAlignment;
+import com.justifiedsolutions.openpdf.pdf.content.Cell.Border;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * A CellStyle is the appearance of a {@link Cell}: its borders, alignments, minimum height, paddings and grey fill. A
+ * CellStyle is immutable and shared: all the cells that look the same refer to the same CellStyle, so a table with
+ * many cells holds only a few styles. The setters of a Cell replace its CellStyle. A CellStyle is obtained with
+ * {@link Cell#getStyle()} and can be given to other cells with {@link Cell#setStyle(CellStyle)}.
+ */
+public final class CellStyle {
+
+    private static final Map<CellStyle, WeakReference<CellStyle>> STYLES = new WeakHashMap<>();
+
+    /**
+     * The style of a new {@link Cell}.
+     */
+    static final CellStyle DEFAULT = intern(new CellStyle(Collections.singletonList(Border.ALL),
+            HorizontalAlignment.LEFT, VerticalAlignment.TOP, 0, 2, 2, 2, 2, 1));
+
+    private final List<Border> borders;
+    private final HorizontalAlignment horizontalAlignment;
+    private final VerticalAlignment verticalAlignment;
+    private final float minimumHeight;
+    private final float paddingTop;
+    private final float paddingBottom;
+    private final float paddingLeft;
+    private final float paddingRight;
+    private final float greyFill;
+
+    private CellStyle(List<Border> borders, HorizontalAlignment horizontalAlignment,
+            VerticalAlignment verticalAlignment, float minimumHeight, float paddingTop, float paddingBottom,
+            float paddingLeft, float paddingRight, float greyFill) {
+        this.borders = borders;
+        this.horizontalAlignment = horizontalAlignment;
+        this.verticalAlignment = verticalAlignment;
+        this.minimumHeight = minimumHeight;
+        this.paddingTop = paddingTop;
+        this.paddingBottom = paddingBottom;
+        this.paddingLeft = paddingLeft;
+        this.paddingRight = paddingRight;
+        this.greyFill = greyFill;
+    }
+
+    /**
+     * Gets the shared CellStyle equal to a CellStyle. The styles are held weakly, a style no cell refers to anymore is
+     * dropped.
+     *
+     * @param style the style
+     * @return the shared style
+     */
+    private static CellStyle intern(CellStyle style) {
+        synchronized (STYLES) {
+            WeakReference<CellStyle> ref = STYLES.get(style);
+            CellStyle shared = ref == null ? null : ref.get();
+            if (shared == null) {
+                STYLES.put(style, new WeakReference<>(style));
+                shared = style;
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Gets the {@linkplain Collections#unmodifiableList(List) unmodifiable list} of {@link Border}s.
+     *
+     * @return the borders
+     */
+    public List<Border> getBorders() {
+        return borders;
+    }
+
+    /**
+     * Gets the {@link HorizontalAlignment} of the contents of the cell.
+     *
+     * @return the horizontal alignment
+     */
+    public HorizontalAlignment getHorizontalAlignment() {
+        return horizontalAlignment;
+    }
+
+    /**
+     * Gets the {@link VerticalAlignment} of the contents of the cell.
+     *
+     * @return the vertical alignment
+     */
+    public VerticalAlignment getVerticalAlignment() {
+        return verticalAlignment;
+    }
+
+    /**
+     * Gets the minimum height of the cell.
+     *
+     * @return the minimum height
+     */
+    public float getMinimumHeight() {
+        return minimumHeight;
+    }
+
+    /**
+     * Gets the padding for the top of the cell.
+     *
+     * @return the top padding
+     */
+    public float getPaddingTop() {
+        return paddingTop;
+    }
+
+    /**
+     * Gets the padding for the bottom of the cell.
+     *
+     * @return the bottom padding
+     */
+    public float getPaddingBottom() {
+        return paddingBottom;
+    }
+
+    /**
+     * Gets the padding for the left side of the cell.
+     *
+     * @return the left padding
+     */
+    public float getPaddingLeft() {
+        return paddingLeft;
+    }
+
+    /**
+     * Gets the padding for the right side of the cell.
+     *
+     * @return the right padding
+     */
+    public float getPaddingRight() {
+        return paddingRight;
+    }
+
+    /**
+     * Gets the grey fill of the cell.
+     *
+     * @return the grey fill
+     */
+    public float getGreyFill() {
+        return greyFill;
+    }
+
+    CellStyle withBorders(Border... borders) {
+        List<Border> list = borders == null ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(Arrays.asList(borders)));
+        return intern(new CellStyle(list, horizontalAlignment, verticalAlignment, minimumHeight, paddingTop,
+                paddingBottom, paddingLeft, paddingRight, greyFill));
+    }
+
+    CellStyle withHorizontalAlignment(HorizontalAlignment horizontalAlignment) {
+        return intern(new CellStyle(borders, horizontalAlignment, verticalAlignment, minimumHeight, paddingTop,
+                paddingBottom, paddingLeft, paddingRight, greyFill));
+    }
+
+    CellStyle withVerticalAlignment(VerticalAlignment verticalAlignment) {
+        return intern(new CellStyle(borders, horizontalAlignment, verticalAlignment, minimumHeight, paddingTop,
+                paddingBottom, paddingLeft, paddingRight, greyFill));
+    }
+
+    CellStyle withMinimumHeight(float minimumHeight) {
+        return intern(new CellStyle(borders, horizontalAlignment, verticalAlignment, minimumHeight, paddingTop,
+                paddingBottom, paddingLeft, paddingRight, greyFill));
+    }
+
+    CellStyle withPadding(float paddingTop, float paddingBottom, float paddingLeft, float paddingRight) {
+        return intern(new CellStyle(borders, horizontalAlignment, verticalAlignment, minimumHeight, paddingTop,
+                paddingBottom, paddingLeft, paddingRight, greyFill));
+    }
+
+    CellStyle withGreyFill(float greyFill) {
+        return intern(new CellStyle(borders, horizontalAlignment, verticalAlignment, minimumHeight, paddingTop,
+                paddingBottom, paddingLeft, paddingRight, greyFill));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CellStyle cellStyle = (CellStyle) o;
+        return Float.compare(cellStyle.minimumHeight, minimumHeight) == 0 &&
+                Float.compare(cellStyle.paddingTop, paddingTop) == 0 &&
+                Float.compare(cellStyle.paddingBottom, paddingBottom) == 0 &&
+                Float.compare(cellStyle.paddingLeft, paddingLeft) == 0 &&
+                Float.compare(cellStyle.paddingRight, paddingRight) == 0 &&
+                Float.compare(cellStyle.greyFill, greyFill) == 0 &&
+                borders.equals(cellStyle.borders) &&
+                horizontalAlignment == cellStyle.horizontalAlignment &&
+                verticalAlignment == cellStyle.verticalAlignment;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(borders, horizontalAlignment, verticalAlignment, minimumHeight, paddingTop, paddingBottom,
+                paddingLeft, paddingRight, greyFill);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf.content;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A StreamingTable is a {@link Table} whose body rows are pulled from a source while the document is laid out instead
+ * of being held by the Table. Only about a page of rows is in memory at any time: the rows are written as soon as the
+ * page they fall on is laid out, and then dropped. This way a table with a very large number of rows can be written
+ * without holding all its cells.
+ * <p>
+ * The cells created with {@link #createCell()} and {@link #createCell(Content)} are the header rows of the table. They
+ * are repeated at the top of every page the table continues on, whatever the number set with
+ * {@link #setHeaderRows(int)}. The source provides every body row as a list of {@link Cell}s that must fill exactly the
+ * columns of the table, counting the column spans. A cell of a body row can't span more than its own row and a
+ * header cell can't span past the last header row. Writing the table throws an {@link IllegalArgumentException} for
+ * a row that breaks these rules. The source is read once, so a StreamingTable can be written only once.
+ */
+public class StreamingTable extends Table {
+
+    private final Iterator<? extends List<Cell>> rows;
+
+    /**
+     * Creates a StreamingTable with <code>relativeColumnWidths.length</code> number of columns, having the widths set
+     * relative to each other based on the values in the array, that reads its body rows from an Iterator.
+     *
+     * @param relativeColumnWidths the relative widths of the columns
+     * @param rows                 the body rows
+     * @throws NullPointerException if rows is null
+     */
+    public StreamingTable(float[] relativeColumnWidths, Iterator<? extends List<Cell>> rows) {
+        super(relativeColumnWidths);
+        this.rows = Objects.requireNonNull(rows);
+    }
+
+    /**
+     * Creates a StreamingTable with the specified number of columns that reads its body rows from an Iterator.
+     *
+     * @param numberOfColumns the number of columns
+     * @param rows            the body rows
+     * @throws NullPointerException if rows is null
+     */
+    public StreamingTable(int numberOfColumns, Iterator<? extends List<Cell>> rows) {
+        super(numberOfColumns);
+        this.rows = Objects.requireNonNull(rows);
+    }
+
+    /**
+     * Creates a StreamingTable with <code>relativeColumnWidths.length</code> number of columns, having the widths set
+     * relative to each other based on the values in the array, that reads its body rows from a Supplier. The Supplier
+     * returns <code>null</code> after the last row.
+     *
+     * @param relativeColumnWidths the relative widths of the columns
+     * @param rows                 the body rows
+     * @throws NullPointerException if rows is null
+     */
+    public StreamingTable(float[] relativeColumnWidths, Supplier<? extends List<Cell>> rows) {
+        this(relativeColumnWidths, new SupplierIterator(rows));
+    }
+
+    /**
+     * Creates a StreamingTable with the specified number of columns that reads its body rows from a Supplier. The
+     * Supplier returns <code>null</code> after the last row.
+     *
+     * @param numberOfColumns the number of columns
+     * @param rows            the body rows
+     * @throws NullPointerException if rows is null
+     */
+    public StreamingTable(int numberOfColumns, Supplier<? extends List<Cell>> rows) {
+        this(numberOfColumns, new SupplierIterator(rows));
+    }
+
+    /**
+     * Gets the source of the body rows. The rows are consumed by writing the table.
+     *
+     * @return the body rows
+     */
+    public Iterator<? extends List<Cell>> getRows() {
+        return rows;
+    }
+
+    /**
+     * A StreamingTable is never kept together on the same page.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isKeepTogether() {
+        return false;
+    }
+
+    private static class SupplierIterator implements Iterator<List<Cell>> {
+
+        private final Supplier<? extends List<Cell>> supplier;
+        private List<Cell> next;
+        private boolean done;
+
+        private SupplierIterator(Supplier<? extends List<Cell>> supplier) {
+            this.supplier = Objects.requireNonNull(supplier);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = supplier.get();
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public List<Cell> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<Cell> row = next;
+            next = null;
+            return row;
+        }
+    }
+}
@@ -22,6 +22,10 @@ public class Table implements Content {
     private float widthPercentage = 80;
     private float spacingBefore = 0;
     private float spacingAfter = 0;
+    private int headerRows = 0;
+    private float fixedRowHeight = 0;
+    private Overflow overflow = Overflow.CLIP;
+    private boolean parallelMeasurement = false;
 
     /**
      * Creates a Table with <code>relativeColumnWidths.length</code> number of columns, having the widths set relative
@@ -136,6 +140,88 @@ public class Table implements Content {
         this.spacingAfter = spacingAfter;
     }
 
+    /**
+     * Gets the number of rows at the top of the Table that are repeated on every page the Table continues on. The
+     * default value is <code>0</code>.
+     *
+     * @return the number of header rows
+     */
+    public int getHeaderRows() {
+        return headerRows;
+    }
+
+    /**
+     * Sets the number of rows at the top of the Table that are repeated on every page the Table continues on. Header
+     * rows that are the same on every page are laid out only once and written to the document only once.
+     *
+     * @param headerRows the number of header rows
+     */
+    public void setHeaderRows(int headerRows) {
+        this.headerRows = headerRows;
+    }
+
+    /**
+     * Gets the height of every row of a Table with a fixed layout. The default value is <code>0</code>, the Table has
+     * no fixed layout.
+     *
+     * @return the fixed row height
+     */
+    public float getFixedRowHeight() {
+        return fixedRowHeight;
+    }
+
+    /**
+     * Sets the height of every row, which gives the Table a fixed layout like the CSS <code>table-layout: fixed</code>.
+     * The content of the cells is not measured: every row is placed at this height, a cell that spans rows is as high
+     * as the rows together, and the pages are broken by counting rows. The lines of a cell are not wrapped, and text
+     * that doesn't fit in the cell is cut off as specified by {@link #setOverflow(Overflow)}. A value of
+     * <code>0</code> removes the fixed layout, every row is then as high as its content.
+     *
+     * @param fixedRowHeight the fixed row height
+     */
+    public void setFixedRowHeight(float fixedRowHeight) {
+        this.fixedRowHeight = fixedRowHeight;
+    }
+
+    /**
+     * Gets how the text that doesn't fit in a cell of a Table with a fixed layout is cut off. The default value is
+     * {@link Overflow#CLIP}.
+     *
+     * @return the overflow
+     */
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Sets how the text that doesn't fit in a cell of a Table with a fixed layout is cut off.
+     *
+     * @param overflow the overflow
+     */
+    public void setOverflow(Overflow overflow) {
+        this.overflow = overflow;
+    }
+
+    /**
+     * Specifies if the heights of the rows are measured concurrently. The default value is <code>false</code>.
+     *
+     * @return true if the rows are measured concurrently
+     */
+    public boolean isParallelMeasurement() {
+        return parallelMeasurement;
+    }
+
+    /**
+     * Specifies if the heights of the rows are measured concurrently. The rows are measured in blocks on the common
+     * fork/join pool before the Table is placed on the pages, which speeds up large Tables on machines with several
+     * cores. The written document is identical to the one written without this option.
+     *
+     * @param parallelMeasurement true if the rows should be measured concurrently
+     */
+    public void setParallelMeasurement(boolean parallelMeasurement) {
+        this.parallelMeasurement = parallelMeasurement;
+    }
+
     /**
      * Creates a new empty {@link Cell} and adds it to the Table.
      *
@@ -169,4 +255,18 @@ public class Table implements Content {
     public List<Cell> getCells() {
         return Collections.unmodifiableList(cells);
     }
+
+    /**
+     * An Overflow represents how the text that doesn't fit in a cell of a Table with a fixed layout is cut off.
+     */
+    public enum Overflow {
+        /**
+         * The text is clipped at the edges of the cell.
+         */
+        CLIP,
+        /**
+         * A line that is too wide is cut off with an ellipsis.
+         */
+        ELLIPSIS
+    }
 }
@@ -11,7 +11,9 @@
  * <p>
  * A {@link com.justifiedsolutions.openpdf.pdf.content.Cell} is created via a {@link
  * com.justifiedsolutions.openpdf.pdf.content.Table}. They fill the Table in a left to right and
- * top to bottom order.
+ * top to bottom order. The body rows of a {@link com.justifiedsolutions.openpdf.pdf.content.StreamingTable}
+ * are lists of Cells created directly, which are pulled from a source while the document is laid
+ * out.
  * <p>
  * {@link com.justifiedsolutions.openpdf.pdf.content.Chunk}s, {@link
  * com.justifiedsolutions.openpdf.pdf.content.Phrase}s, {@link com.justifiedsolutions.openpdf.pdf.content.Paragraph}s,
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf.font;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Represents a chain of fonts. The text is written with the first font of the chain, and the characters the first
+ * font has no glyph for are written with the first fallback font that has one. This way text that mixes scripts or
+ * symbols doesn't have to be split by hand. For example, the Greek letters in a text in
+ * {@link PDFFont.FontName#HELVETICA} are written with {@link PDFFont.FontName#SYMBOL} by the chain
+ * <pre>
+ * new FallbackFont(new PDFFont(FontName.HELVETICA), new PDFFont(FontName.SYMBOL))
+ * </pre>
+ * Whitespace stays in the font of the text around it. Characters that none of the fonts has a glyph for are left to
+ * the font of the text before them.
+ */
+public class FallbackFont implements Font {
+
+    private final List<Font> fonts;
+
+    /**
+     * Creates a FallbackFont.
+     *
+     * @param font      the font of the text
+     * @param fallbacks the fonts for the characters the font has no glyph for, in the order they are tried
+     * @throws NullPointerException if a font is null
+     */
+    public FallbackFont(Font font, Font... fallbacks) {
+        List<Font> chain = new ArrayList<>(fallbacks.length + 1);
+        add(chain, font);
+        for (Font fallback : fallbacks) {
+            add(chain, fallback);
+        }
+        this.fonts = Collections.unmodifiableList(chain);
+    }
+
+    private static void add(List<Font> chain, Font font) {
+        Objects.requireNonNull(font);
+        if (font instanceof FallbackFont) {
+            for (Font f : ((FallbackFont) font).fonts) {
+                add(chain, f);
+            }
+        } else if (!chain.contains(font)) {
+            chain.add(font);
+        }
+    }
+
+    /**
+     * Gets the font of the text, the first font of the chain.
+     *
+     * @return the font
+     */
+    public Font getFont() {
+        return fonts.get(0);
+    }
+
+    /**
+     * Gets the fonts of the chain in the order they are tried. A FallbackFont in the chain is replaced by its fonts.
+     *
+     * @return an unmodifiable list of the fonts
+     */
+    public List<Font> getFonts() {
+        return fonts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FallbackFont that = (FallbackFont) o;
+        return fonts.equals(that.fonts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fonts);
+    }
+}
@@ -6,6 +6,8 @@
 
 /**
  * This package models fonts for a PDF document. Currently, only the "native" PDF fonts are
- * supported through the {@link com.justifiedsolutions.openpdf.pdf.font.PDFFont} class.
+ * supported through the {@link com.justifiedsolutions.openpdf.pdf.font.PDFFont} class. They can
+ * be chained with a {@link com.justifiedsolutions.openpdf.pdf.font.FallbackFont} for the
+ * characters a font has no glyph for.
  */
 package com.justifiedsolutions.openpdf.pdf.font;
\ No newline at end of file
@@ -7,9 +7,11 @@
 package com.justifiedsolutions.openpdf.pdf.internal;
 
 import com.justifiedsolutions.openpdf.pdf.Chapter;
+import com.justifiedsolutions.openpdf.pdf.FlushPolicy;
 import com.justifiedsolutions.openpdf.pdf.Margin;
 import com.justifiedsolutions.openpdf.pdf.Metadata;
 import com.justifiedsolutions.openpdf.pdf.PageSize;
+import com.justifiedsolutions.openpdf.pdf.PageTemplate;
 import com.justifiedsolutions.openpdf.pdf.content.Chunk;
 import com.justifiedsolutions.openpdf.pdf.content.Paragraph;
 import com.justifiedsolutions.openpdf.pdf.content.Phrase;
@@ -45,19 +47,39 @@ public class JSPDFWriter {
     public void write() {
         Document document = createDocument();
         PdfWriter pdfWriter = PdfWriter.getInstance(document, outputStream);
+        PageTemplate pageTemplate = model.getPageTemplate();
+        if (pageTemplate != null) {
+            pdfWriter.setPageEvent(new PageTemplateHelper(pageTemplate));
+        }
         pdfWriter.setPageEvent(new HeaderFooterHelper(model.getHeader(), model.getFooter()));
+        FlushPolicy flushPolicy = model.getFlushPolicy();
+        pdfWriter.setFlushPolicy(flushPolicy.getPageInterval(), flushPolicy.getByteInterval(),
+                flushPolicy.isEarlyFirstPage());
+        pdfWriter.setPipelined(model.isPipelinedWriting());
         addMetadata(document);
-        document.open();
-        if (model.hasChapters()) {
-            for (Chapter chapter : model.getChapters()) {
-                document.add(com.justifiedsolutions.openpdf.text.Chapter.getInstance(chapter));
-            }
-        } else if (model.hasContent()) {
-            for (Content content : model.getContent()) {
-                document.add(processContent(content));
+        try {
+            document.open();
+            if (model.hasChapters()) {
+                for (Chapter chapter : model.getChapters()) {
+                    document.add(com.justifiedsolutions.openpdf.text.Chapter.getInstance(chapter));
+                }
+            } else if (model.hasContent()) {
+                for (Content content : model.getContent()) {
+                    if (content instanceof Chunk) {
+                        for (Element chunk : com.justifiedsolutions.openpdf.text.Chunk.getInstances((Chunk) content)) {
+                            document.add(chunk);
+                        }
+                    } else {
+                        document.add(processContent(content));
+                    }
+                }
             }
+            document.close();
+        } catch (RuntimeException | Error e) {
+            // stop the threads of a pipelined writer that will not be closed anymore
+            pdfWriter.abort();
+            throw e;
         }
-        document.close();
     }
 
     private Document createDocument() {
@@ -84,8 +106,6 @@ public class JSPDFWriter {
             result = com.justifiedsolutions.openpdf.text.Paragraph.getInstance((Paragraph) content);
         } else if (content instanceof Phrase) {
             result = com.justifiedsolutions.openpdf.text.Phrase.getInstance((Phrase) content);
-        } else if (content instanceof Chunk) {
-            result = com.justifiedsolutions.openpdf.text.Chunk.getInstance((Chunk) content);
         } else if (content instanceof Table) {
             result = PdfPTable.getInstance((Table) content);
         }
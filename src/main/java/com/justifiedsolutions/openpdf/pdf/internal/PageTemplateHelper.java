@@ -0,0 +1,42 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf.internal;
+
+import com.justifiedsolutions.openpdf.pdf.PageTemplate;
+import com.justifiedsolutions.openpdf.text.ExceptionConverter;
+import com.justifiedsolutions.openpdf.text.pdf.ImportedPageCache;
+import com.justifiedsolutions.openpdf.text.pdf.PdfImportedPage;
+import com.justifiedsolutions.openpdf.text.pdf.PdfPageEventHelper;
+import com.justifiedsolutions.openpdf.text.pdf.PdfWriter;
+
+import java.io.IOException;
+
+/**
+ * Assists in adding a {@link PageTemplate} underneath the content of every page of a PDF document. The page is imported
+ * once and every page refers to the same form XObject. The imported page is kept in the {@link ImportedPageCache}, so
+ * documents using the same template don't read the file again.
+ */
+class PageTemplateHelper extends PdfPageEventHelper {
+
+    private final PageTemplate pageTemplate;
+
+    PageTemplateHelper(PageTemplate pageTemplate) {
+        this.pageTemplate = pageTemplate;
+    }
+
+    @Override
+    public void onEndPage(PdfWriter writer, com.justifiedsolutions.openpdf.text.Document document) {
+        PdfImportedPage page;
+        try {
+            page = ImportedPageCache.getDefault().getImportedPage(writer, pageTemplate.getPath(),
+                    pageTemplate.getPageNumber());
+        } catch (IOException e) {
+            throw new ExceptionConverter(e);
+        }
+        writer.getDirectContentUnder().addTemplate(page, 0, 0);
+    }
+}
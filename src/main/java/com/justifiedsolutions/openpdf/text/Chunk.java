@@ -49,6 +49,7 @@
 
 package com.justifiedsolutions.openpdf.text;
 
+import com.justifiedsolutions.openpdf.pdf.font.FallbackFont;
 import com.justifiedsolutions.openpdf.text.pdf.HyphenationEvent;
 
 import java.util.*;
@@ -210,8 +211,100 @@ public class Chunk implements Element {
         if (chunk.isPageBreak()) {
             return Chunk.NEXTPAGE;
         }
-        Chunk result = new Chunk(chunk.getText());
-        result.setFont(FontFactory.getFont(chunk.getFont()));
+        return new Chunk(chunk.getText(), FontFactory.getFont(chunk.getFont()));
+    }
+
+    /**
+     * Creates the internal Chunks of a sequence of API Chunks. Adjacent API Chunks
+     * with the same font become one Chunk with their joined text, the way a
+     * {@link Phrase} joins them when they are added, so that a text made of many small
+     * chunks needs one Chunk and one font for each run. Page breaks, chunks with only
+     * whitespace and chunks with a {@link FallbackFont} are not joined, these are
+     * converted with {@link #getInstances(com.justifiedsolutions.openpdf.pdf.content.Chunk)}.
+     *
+     * @param chunks API chunks
+     * @return the internal chunks, in the order of the text
+     */
+    public static List<Chunk> getInstances(List<com.justifiedsolutions.openpdf.pdf.content.Chunk> chunks) {
+        Objects.requireNonNull(chunks);
+        List<Chunk> result = new ArrayList<>();
+        int size = chunks.size();
+        for (int k = 0; k < size; ) {
+            com.justifiedsolutions.openpdf.pdf.content.Chunk chunk = chunks.get(k);
+            int end = k + 1;
+            if (isJoinable(chunk)) {
+                while (end < size && isJoinable(chunks.get(end))
+                        && Objects.equals(chunk.getFont(), chunks.get(end).getFont())) {
+                    ++end;
+                }
+            }
+            if (end == k + 1) {
+                result.addAll(getInstances(chunk));
+            } else {
+                StringBuilder text = new StringBuilder();
+                for (int j = k; j < end; ++j) {
+                    text.append(chunks.get(j).getText());
+                }
+                result.add(new Chunk(text.toString(), FontFactory.getFont(chunk.getFont())));
+            }
+            k = end;
+        }
+        return result;
+    }
+
+    /**
+     * Tells if an API Chunk can be joined with the chunks next to it that have the same font.
+     */
+    private static boolean isJoinable(com.justifiedsolutions.openpdf.pdf.content.Chunk chunk) {
+        return !chunk.isPageBreak() && !(chunk.getFont() instanceof FallbackFont)
+                && chunk.getText() != null && !chunk.getText().trim().isEmpty();
+    }
+
+    /**
+     * Creates the internal Chunks of an API Chunk. When the font of the chunk is a
+     * {@link FallbackFont} the text is split in a single pass into runs that use the
+     * same font of the chain, with a Chunk for each run. Otherwise the list has the
+     * Chunk of {@link #getInstance(com.justifiedsolutions.openpdf.pdf.content.Chunk)}.
+     *
+     * @param chunk API chunk
+     * @return the internal chunks, in the order of the text
+     */
+    public static List<Chunk> getInstances(com.justifiedsolutions.openpdf.pdf.content.Chunk chunk) {
+        Objects.requireNonNull(chunk);
+        if (chunk.isPageBreak() || !(chunk.getFont() instanceof FallbackFont)) {
+            return Collections.singletonList(getInstance(chunk));
+        }
+        Font[] fonts = FontFactory.getFonts((FallbackFont) chunk.getFont());
+        BitSet[] coverage = new BitSet[fonts.length];
+        for (int k = 0; k < fonts.length; ++k) {
+            coverage[k] = fonts[k].getCalculatedBaseFont(false).getCoverage();
+        }
+        String text = chunk.getText();
+        List<Chunk> result = new ArrayList<>();
+        int current = 0;
+        int start = 0;
+        int len = text.length();
+        for (int k = 0; k < len; ) {
+            int c = text.codePointAt(k);
+            int font = current;
+            if (!Character.isWhitespace(c) || !coverage[current].get(c)) {
+                for (int f = 0; f < coverage.length; ++f) {
+                    if (coverage[f].get(c)) {
+                        font = f;
+                        break;
+                    }
+                }
+            }
+            if (font != current) {
+                if (k > start) {
+                    result.add(new Chunk(text.substring(start, k), fonts[current]));
+                }
+                start = k;
+                current = font;
+            }
+            k += Character.charCount(c);
+        }
+        result.add(new Chunk(text.substring(start), fonts[current]));
         return result;
     }
 
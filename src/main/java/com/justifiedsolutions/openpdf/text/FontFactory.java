@@ -50,10 +50,12 @@
 
 package com.justifiedsolutions.openpdf.text;
 
+import com.justifiedsolutions.openpdf.pdf.font.FallbackFont;
 import com.justifiedsolutions.openpdf.pdf.font.PDFFont;
 import com.justifiedsolutions.openpdf.text.pdf.BaseFont;
 
 import java.awt.*;
+import java.util.List;
 
 /**
  * If you are using True Type fonts, you can declare the paths of the different ttf- and ttc-files
@@ -190,9 +192,41 @@ public final class FontFactory {
             PDFFont pdfFont = (PDFFont) font;
             return getFont(getFontName(pdfFont.getName()), pdfFont.getSize(), pdfFont.getColor());
         }
+        if (font instanceof FallbackFont) {
+            return getChainFont(((FallbackFont) font).getFont());
+        }
         return new Font();
     }
 
+    /**
+     * Constructs the <CODE>Font</CODE>-objects of a chain of fonts, in the order they are tried.
+     * The symbolic fonts of the chain use their own encodings, so that their glyphs are found by
+     * the Unicode values of the characters.
+     *
+     * @param font the chain of fonts
+     * @return the fonts
+     */
+    public static Font[] getFonts(FallbackFont font) {
+        List<com.justifiedsolutions.openpdf.pdf.font.Font> chain = font.getFonts();
+        Font[] fonts = new Font[chain.size()];
+        for (int k = 0; k < fonts.length; ++k) {
+            fonts[k] = getChainFont(chain.get(k));
+        }
+        return fonts;
+    }
+
+    private static Font getChainFont(com.justifiedsolutions.openpdf.pdf.font.Font font) {
+        if (font instanceof PDFFont) {
+            PDFFont pdfFont = (PDFFont) font;
+            String fontName = getFontName(pdfFont.getName());
+            if (BaseFont.SYMBOL.equals(fontName) || BaseFont.ZAPFDINGBATS.equals(fontName)) {
+                return getFont(fontName, fontName, defaultEmbedding, pdfFont.getSize(), Font.UNDEFINED,
+                        pdfFont.getColor());
+            }
+        }
+        return getFont(font);
+    }
+
     private static String getFontName(PDFFont.FontName fontName) {
         String result;
         switch (fontName) {
@@ -52,6 +52,7 @@ package com.justifiedsolutions.openpdf.text;
 import static com.justifiedsolutions.openpdf.text.AlignmentConverter.convertHorizontalAlignment;
 
 import com.justifiedsolutions.openpdf.pdf.content.Content;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -188,15 +189,19 @@ public class Paragraph extends Phrase {
         result.setSpacingAfter(paragraph.getSpacingAfter());
         result.setKeepTogether(paragraph.isKeepTogether());
         result.setAlignment(convertHorizontalAlignment(paragraph.getAlignment()));
+        // the chunks between the phrases are converted together, so that the ones with the same font are joined
+        List<com.justifiedsolutions.openpdf.pdf.content.Chunk> chunks = new ArrayList<>();
         for (Content content : paragraph.getContent()) {
-            if (content instanceof com.justifiedsolutions.openpdf.pdf.content.Phrase) {
+            if (content instanceof com.justifiedsolutions.openpdf.pdf.content.Chunk) {
+                chunks.add((com.justifiedsolutions.openpdf.pdf.content.Chunk) content);
+            } else if (content instanceof com.justifiedsolutions.openpdf.pdf.content.Phrase) {
+                result.addAll(Chunk.getInstances(chunks));
+                chunks.clear();
                 result.add(Phrase.getInstance(
                         (com.justifiedsolutions.openpdf.pdf.content.Phrase) content));
-            } else if (content instanceof com.justifiedsolutions.openpdf.pdf.content.Chunk) {
-                result.add(Chunk.getInstance(
-                        (com.justifiedsolutions.openpdf.pdf.content.Chunk) content));
             }
         }
+        result.addAll(Chunk.getInstances(chunks));
         return result;
     }
 
@@ -435,9 +435,7 @@ public class Phrase extends ArrayList<Element> implements Element {
         Phrase result = new Phrase();
         result.setLeading(phrase.getLeading());
         result.setFont(FontFactory.getFont(phrase.getFont()));
-        for (com.justifiedsolutions.openpdf.pdf.content.Chunk chunk : phrase.getChunks()) {
-            result.add(Chunk.getInstance(chunk));
-        }
+        result.addAll(Chunk.getInstances(phrase.getChunks()));
         return result;
     }
 }
@@ -269,8 +269,10 @@ public class Section extends ArrayList<Element> implements LargeElement {
             section.add(Phrase.getInstance(
                     (com.justifiedsolutions.openpdf.pdf.content.Phrase) content));
         } else if (content instanceof com.justifiedsolutions.openpdf.pdf.content.Chunk) {
-            section.add(
-                    Chunk.getInstance((com.justifiedsolutions.openpdf.pdf.content.Chunk) content));
+            for (Chunk chunk : Chunk
+                    .getInstances((com.justifiedsolutions.openpdf.pdf.content.Chunk) content)) {
+                section.add(chunk);
+            }
         } else if (content instanceof com.justifiedsolutions.openpdf.pdf.content.Table) {
             section.add(PdfPTable.getInstance((Table) content));
         }
@@ -55,6 +55,7 @@ import com.justifiedsolutions.openpdf.text.MessageLocalization;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.StringTokenizer;
 import java.util.concurrent.ConcurrentHashMap;
@@ -314,6 +315,17 @@ public abstract class BaseFont {
      */
     protected IntHashtable specialMap;
 
+    /**
+     * Converts the text to the bytes of this font, resolved when it is first needed. A font is shared by the threads
+     * that lay out text, all of them resolve the same encoder.
+     */
+    private volatile TextEncoder textEncoder;
+
+    /**
+     * The characters the font has a glyph for, built when it is first needed.
+     */
+    private volatile BitSet coverage;
+
     static {
         BuiltinFonts14.put(COURIER, PdfName.COURIER);
         BuiltinFonts14.put(COURIER_BOLD, PdfName.COURIER_BOLD);
@@ -360,7 +372,7 @@ public abstract class BaseFont {
                 bytes = contents;
                 put(PdfName.LENGTH, new PdfNumber(bytes.length));
                 for (int k = 0; k < lengths.length; ++k) {
-                    put(new PdfName("Length" + (k + 1)), new PdfNumber(
+                    put(PdfName.valueOf("Length" + (k + 1)), new PdfNumber(
                             lengths[k]));
                 }
                 flateCompress(compressionLevel);
@@ -389,13 +401,65 @@ public abstract class BaseFont {
                 bytes = contents;
                 put(PdfName.LENGTH, new PdfNumber(bytes.length));
                 if (subType != null) {
-                    put(PdfName.SUBTYPE, new PdfName(subType));
+                    put(PdfName.SUBTYPE, PdfName.valueOf(subType));
                 }
                 flateCompress(compressionLevel);
             } catch (Exception e) {
                 throw new DocumentException(e);
             }
         }
+
+        /**
+         * Generates the PDF stream of a font program that is read from a stream
+         * while it is written, see {@link #addToBody(PdfWriter)}.
+         *
+         * @param in
+         *            the font program
+         * @param lengths
+         *            an array of int that describes the several lengths of each
+         *            part of the font
+         * @param subType
+         *            the subtype of the font, <CODE>null</CODE> for none
+         * @param compressionLevel
+         *            the compression level of the Stream
+         * @param writer
+         *            the writer the font program is written to
+         */
+        StreamFont(InputStream in, int[] lengths, String subType, int compressionLevel, PdfWriter writer) {
+            super(in, writer);
+            for (int k = 0; k < lengths.length; ++k) {
+                put(PdfName.valueOf("Length" + (k + 1)), new PdfNumber(lengths[k]));
+            }
+            if (subType != null) {
+                put(PdfName.SUBTYPE, PdfName.valueOf(subType));
+            }
+            flateCompress(compressionLevel);
+        }
+
+        /**
+         * Writes the stream to the body of the document. A font program that
+         * is read from a stream goes through the deflater into the document
+         * without being held in memory, its length is written afterwards and
+         * the input stream is closed.
+         *
+         * @param writer
+         *            the writer
+         * @return the reference to the stream
+         * @throws IOException
+         *             on error
+         */
+        PdfIndirectReference addToBody(PdfWriter writer) throws IOException {
+            if (inputStream == null) {
+                return writer.addToBody(this).getIndirectReference();
+            }
+            try {
+                PdfIndirectReference reference = writer.addToBody(this).getIndirectReference();
+                writeLength();
+                return reference;
+            } finally {
+                inputStream.close();
+            }
+        }
     }
 
     /**
@@ -823,28 +887,34 @@ public abstract class BaseFont {
      *         according to the font's encoding
      */
     byte[] convertToBytes(String text) {
-        if (directTextToByte) {
-            return PdfEncodings.convertToBytes(text, null);
-        }
-        if (specialMap != null) {
-            byte[] b = new byte[text.length()];
-            int ptr = 0;
-            int length = text.length();
-            for (int k = 0; k < length; ++k) {
-                char c = text.charAt(k);
-                if (specialMap.containsKey(c)) {
-                    b[ptr++] = (byte) specialMap.get(c);
-                }
-            }
-            if (ptr < length) {
-                byte[] b2 = new byte[ptr];
-                System.arraycopy(b, 0, b2, 0, ptr);
-                return b2;
+        return getTextEncoder().encode(text);
+    }
+
+    /**
+     * Appends the bytes of a text in the font's encoding to a buffer.
+     *
+     * @param text
+     *            the text to be converted
+     * @param out
+     *            the buffer the bytes are appended to
+     */
+    void convertToBytes(CharSequence text, ByteBuffer out) {
+        getTextEncoder().encode(text, out);
+    }
+
+    private TextEncoder getTextEncoder() {
+        TextEncoder encoder = textEncoder;
+        if (encoder == null) {
+            if (directTextToByte) {
+                encoder = TextEncoder.DIRECT;
+            } else if (specialMap != null) {
+                encoder = TextEncoder.forMap(specialMap);
             } else {
-                return b;
+                encoder = TextEncoder.forEncoding(encoding);
             }
+            textEncoder = encoder;
         }
-        return PdfEncodings.convertToBytes(text, encoding);
+        return encoder;
     }
 
     /**
@@ -898,6 +968,19 @@ public abstract class BaseFont {
     abstract PdfStream getFullFontStream() throws IOException,
             DocumentException;
 
+    /**
+     * Specifies if the font dictionaries written by <CODE>writeFont</CODE> are
+     * independent of the characters used in the document. Such a font can be
+     * written as soon as it is first used instead of when the document is
+     * closed.
+     * 
+     * @return <CODE>true</CODE> if the font can be written before the document
+     *         is complete
+     */
+    boolean isUsageIndependent() {
+        return false;
+    }
+
     /**
      * Gets the encoding used to convert <CODE>String</CODE> into
      * <CODE>byte[]</CODE>.
@@ -977,6 +1060,64 @@ public abstract class BaseFont {
         return unicodeDifferences[index];
     }
 
+    /**
+     * Gets the Unicode characters the font has a glyph for. The set is built
+     * once, from the encoding of the font or from its cmap, and is shared by
+     * all the callers: it must not be modified.
+     *
+     * @return the characters the font covers
+     */
+    public BitSet getCoverage() {
+        BitSet set = coverage;
+        if (set == null) {
+            set = createCoverage();
+            coverage = set;
+        }
+        return set;
+    }
+
+    /**
+     * Builds the characters the font has a glyph for from its single byte
+     * encoding: the characters of the custom encoding, the characters decoded
+     * from each byte or, for a symbolic font, the characters the encoding
+     * writes as a single byte.
+     *
+     * @return a new set with the characters
+     */
+    BitSet createCoverage() {
+        BitSet set = new BitSet();
+        if (specialMap != null) {
+            for (int k = 0; k < specialMap.size(); ++k) {
+                int c = specialMap.keyAt(k);
+                if (hasGlyph(specialMap.get(c))) {
+                    set.set(c);
+                }
+            }
+        } else if (!fontSpecific) {
+            for (int k = 0; k < 256; ++k) {
+                if (!notdef.equals(differences[k]) && hasGlyph(k)) {
+                    set.set(unicodeDifferences[k]);
+                }
+            }
+        } else {
+            for (int c = 0; c <= 0xffff; ++c) {
+                if (c == Character.MIN_SURROGATE) {
+                    c = Character.MAX_SURROGATE;
+                    continue;
+                }
+                byte[] b = convertToBytes(c);
+                if (b.length == 1 && (b[0] != '?' || c == '?') && hasGlyph(b[0] & 0xff)) {
+                    set.set(c);
+                }
+            }
+        }
+        return set;
+    }
+
+    private boolean hasGlyph(int code) {
+        return widths[code] != 0 || charBBoxes[code] != null;
+    }
+
     /**
      * Gets the postscript font name.
      * 
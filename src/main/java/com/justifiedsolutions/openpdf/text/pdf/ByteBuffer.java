@@ -487,6 +487,16 @@ public class ByteBuffer extends OutputStream {
         return count;
     }
     
+    /**
+     * Gets the internal buffer. Only the first {@link #size()} bytes are valid and the
+     * buffer is replaced when it grows.
+     *
+     * @return the internal buffer
+     */
+    public byte[] getBuffer() {
+        return buf;
+    }
+
     public void setSize(int size) {
         if (size > count || size < 0)
             throw new IndexOutOfBoundsException(MessageLocalization.getComposedMessage("the.new.size.must.be.positive.and.lt.eq.of.the.current.size"));
@@ -49,7 +49,6 @@
 package com.justifiedsolutions.openpdf.text.pdf;
 
 import java.io.IOException;
-import java.lang.reflect.Array;
 import java.util.*;
 
 /**
@@ -92,42 +91,34 @@ public class CFFFontSubset extends CFFFont {
     static final byte RETURN_OP = 11;
     
     /**
-     * A HashMap containing the glyphs used in the text after being converted
+     * A map containing the glyphs used in the text after being converted
      * to glyph number by the CMap 
      */
-    HashMap<Integer, int[]> GlyphsUsed;
+    IntObjectHashtable<int[]> GlyphsUsed;
     /**
-     * The GlyphsUsed keys as an ArrayList
+     * The GlyphsUsed keys
      */
-    ArrayList<Integer> glyphsInList;
+    UsageSet glyphsInList;
     /**
-     * A HashMap for keeping the FDArrays being used by the font
+     * A set for keeping the FDArrays being used by the font
      */
-    HashMap<Integer, Object> FDArrayUsed = new HashMap<>();
+    IntHashtable FDArrayUsed = new IntHashtable();
     /**
-     * A HashMaps array for keeping the subroutines used in each FontDict
+     * A set array for keeping the subroutines used in each FontDict
      */
-    HashMap<Integer, int[]>[] hSubrsUsed;
+    UsageSet[] hSubrsUsed;
     /**
-     * The SubroutinesUsed HashMaps as ArrayLists
+     * A set for keeping the Global subroutines used in the font
      */
-    ArrayList<Integer>[] lSubrsUsed;
+    UsageSet hGSubrsUsed  = new UsageSet();
     /**
-     * A HashMap for keeping the Global subroutines used in the font
+     * A set for keeping the subroutines used in a non-cid font
      */
-    HashMap<Integer, int[]> hGSubrsUsed  = new HashMap<>();
+    UsageSet hSubrsUsedNonCID  = new UsageSet();
     /**
-     * The Global SubroutinesUsed HashMaps as ArrayLists
+     * The subroutine calls of the charstrings, shared by the subsets of the same font
      */
-    ArrayList<Integer> lGSubrsUsed = new ArrayList<>();
-    /**
-     * A HashMap for keeping the subroutines used in a non-cid font
-     */
-    HashMap<Integer, int[]> hSubrsUsedNonCID  = new HashMap<>();
-    /**
-     * The SubroutinesUsed HashMap as ArrayList
-     */
-    ArrayList<Integer> lSubrsUsedNonCID = new ArrayList<>();
+    private final SubrCalls subrCalls;
     /**
      * An array of the new Indexes for the local Subr. One index for each FontDict
      */
@@ -164,14 +155,25 @@ public class CFFFontSubset extends CFFFont {
     /**     
      * C'tor for CFFFontSubset
      * @param rf - The font file
-     * @param GlyphsUsed - a HashMap that contains the glyph used in the subset 
+     * @param GlyphsUsed - a map that contains the glyph used in the subset 
+     */
+    CFFFontSubset(RandomAccessFileOrArray rf, IntObjectHashtable<int[]> GlyphsUsed){
+        this(rf, GlyphsUsed, null);
+    }
+
+    /**     
+     * C'tor for CFFFontSubset
+     * @param rf - The font file
+     * @param GlyphsUsed - a map that contains the glyph used in the subset 
+     * @param subrCalls - the subroutine calls found by earlier subsets of the same font program, or null
      */
-    public CFFFontSubset(RandomAccessFileOrArray rf, HashMap<Integer, int[]> GlyphsUsed){
+    CFFFontSubset(RandomAccessFileOrArray rf, IntObjectHashtable<int[]> GlyphsUsed, SubrCalls subrCalls){
         // Use CFFFont c'tor in order to parse the font file.
         super(rf);
         this.GlyphsUsed = GlyphsUsed;
-        //Put the glyphs into a list
-        glyphsInList = new ArrayList<>(GlyphsUsed.keySet());
+        this.subrCalls = subrCalls;
+        //Put the glyphs into a set
+        glyphsInList = new UsageSet(GlyphsUsed);
         
         
         for (int i=0;i<fonts.length;++i)
@@ -315,20 +317,19 @@ public class CFFFontSubset extends CFFFont {
     }
     
     /**
-     * Function reads the FDSelect and builds the FDArrayUsed HashMap According to the glyphs used
+     * Function reads the FDSelect and builds the FDArrayUsed set According to the glyphs used
      * @param Font the Number of font being processed
      */
     protected void BuildFDArrayUsed(int Font)
     {
         int[] FDSelect = fonts[Font].FDSelect;
         // For each glyph used
-        for (Object o : glyphsInList) {
-            // Pop the glyphs index
-            int glyph = (Integer) o;
+        for (int i = 0; i < glyphsInList.size(); i++) {
+            int glyph = glyphsInList.get(i);
             // Pop the glyph's FD
             int FD = FDSelect[glyph];
-            // Put the FD index into the FDArrayUsed HashMap
-            FDArrayUsed.put(FD, null);
+            // Put the FD index into the FDArrayUsed set
+            FDArrayUsed.put(FD, 0);
         }
     }
 
@@ -419,7 +420,7 @@ public class CFFFontSubset extends CFFFont {
      */
     protected void BuildNewCharString(int FontIndex) throws IOException 
     {
-        NewCharStringsIndex = BuildNewIndex(fonts[FontIndex].charstringsOffsets,GlyphsUsed,ENDCHAR_OP);
+        NewCharStringsIndex = BuildNewIndex(fonts[FontIndex].charstringsOffsets,glyphsInList,ENDCHAR_OP);
     }
     
     /**
@@ -428,19 +429,14 @@ public class CFFFontSubset extends CFFFont {
      * @param Font the font
      * @throws IOException
      */
-    @SuppressWarnings("unchecked")
     protected void BuildNewLGSubrs(int Font)throws IOException
     {
         // If the font is CID then the lsubrs are divided into FontDicts.
         // for each FD array the lsubrs will be subsetted.
         if(fonts[Font].isCID)
         {
-            // Init the hashmap-array and the arraylist-array to hold the subrs used
-            // in each private dict.
-            HashMap<Integer, int[]> mapClazz = new HashMap<>();
-            hSubrsUsed = (HashMap<Integer, int[]>[]) Array.newInstance(mapClazz.getClass(), fonts[Font].fdprivateOffsets.length);
-            ArrayList<Integer> listClass = new ArrayList<>();
-            lSubrsUsed = (ArrayList<Integer>[]) Array.newInstance(listClass.getClass(), fonts[Font].fdprivateOffsets.length);
+            // Init the set-array to hold the subrs used in each private dict.
+            hSubrsUsed = new UsageSet[fonts[Font].fdprivateOffsets.length];
             // A [][] which will store the byte array for each new FD Array lsubs index
             NewLSubrsIndex = new byte[fonts[Font].fdprivateOffsets.length][];
             // An array to hold the offset for each Lsubr index 
@@ -449,12 +445,11 @@ public class CFFFontSubset extends CFFFont {
             fonts[Font].PrivateSubrsOffsetsArray = new int[fonts[Font].fdprivateOffsets.length][];
             
             // Put the FDarrayUsed into a list
-            List<Integer> FDInList = new ArrayList<>(FDArrayUsed.keySet());
+            int[] FDInList = FDArrayUsed.getKeys();
             // For each FD array which is used subset the lsubr 
             for (int FD : FDInList) {
                 // The FDArray index, Hash Map, Array List to work on
-                hSubrsUsed[FD] = new HashMap<>();
-                lSubrsUsed[FD] = new ArrayList<>();
+                hSubrsUsed[FD] = new UsageSet();
                 //Reads the private dicts looking for the subr operator and 
                 // store both the offset for the index and its offset array
                 BuildFDSubrsOffsets(Font, FD);
@@ -462,7 +457,7 @@ public class CFFFontSubset extends CFFFont {
                 if (fonts[Font].PrivateSubrsOffset[FD] >= 0) {
                     //Scans the Charstring data storing the used Local and Global subroutines 
                     // by the glyphs. Scans the Subrs recursively. 
-                    BuildSubrUsed(Font, FD, fonts[Font].PrivateSubrsOffset[FD], fonts[Font].PrivateSubrsOffsetsArray[FD], hSubrsUsed[FD], lSubrsUsed[FD]);
+                    BuildSubrUsed(Font, FD, fonts[Font].PrivateSubrsOffset[FD], fonts[Font].PrivateSubrsOffsetsArray[FD], hSubrsUsed[FD]);
                     // Builds the New Local Subrs index
                     NewLSubrsIndex[FD] = BuildNewIndex(fonts[Font].PrivateSubrsOffsetsArray[FD], hSubrsUsed[FD], RETURN_OP);
                 }
@@ -475,7 +470,7 @@ public class CFFFontSubset extends CFFFont {
             fonts[Font].SubrsOffsets = getIndex(fonts[Font].privateSubrs);
             //Scans the Charstring data storing the used Local and Global subroutines 
             // by the glyphs. Scans the Subrs recursively.
-            BuildSubrUsed(Font,-1,fonts[Font].privateSubrs,fonts[Font].SubrsOffsets,hSubrsUsedNonCID,lSubrsUsedNonCID);
+            BuildSubrUsed(Font,-1,fonts[Font].privateSubrs,fonts[Font].SubrsOffsets,hSubrsUsedNonCID);
         }
         // For all fonts subset the Global Subroutines
         // Scan the Global Subr Hashmap recursively on the Gsubrs
@@ -513,25 +508,25 @@ public class CFFFontSubset extends CFFFont {
     }
 
     /**
-     * Function uses ReadAsubr on the glyph used to build the LSubr and Gsubr HashMap.
-     * The HashMap (of the lsubr only) is then scanned recursively for Lsubr and Gsubrs
+     * Function uses ReadAsubr on the glyph used to build the LSubr and Gsubr sets.
+     * The set (of the lsubr only) is then scanned recursively for Lsubr and Gsubrs
      * calls.  
      * @param Font the font
      * @param FD FD array processed. 0 indicates function was called by non CID font
      * @param SubrOffset the offset to the subr index to calc the bias
      * @param SubrsOffsets the offset array of the subr index
-     * @param hSubr HashMap of the subrs used
-     * @param lSubr ArrayList of the subrs used
+     * @param hSubr set of the subrs used, in the order they were found
      */
-    protected void BuildSubrUsed(int Font,int FD,int SubrOffset,int[] SubrsOffsets, Map<Integer, int[]> hSubr, List<Integer> lSubr)
+    protected void BuildSubrUsed(int Font,int FD,int SubrOffset,int[] SubrsOffsets, UsageSet hSubr)
     {
 
         // Calc the Bias for the subr index
         int LBias = CalcBias(SubrOffset,Font);
+        int context = SubrCalls.context(Font, FD);
         
         // For each glyph used find its GID, start & end pos
-        for (Object o : glyphsInList) {
-            int glyph = (Integer) o;
+        for (int g = 0; g < glyphsInList.size(); g++) {
+            int glyph = glyphsInList.get(g);
             int Start = fonts[Font].charstringsOffsets[glyph];
             int End = fonts[Font].charstringsOffsets[glyph + 1];
 
@@ -543,32 +538,32 @@ public class CFFFontSubset extends CFFFont {
                 int GlyphFD = fonts[Font].FDSelect[glyph];
                 // If the Glyph is part of the FD being processed 
                 if (GlyphFD == FD)
-                    // Find the Subrs called by the glyph and insert to hash:
-                    ReadASubr(Start, End, GBias, LBias, hSubr, lSubr, SubrsOffsets);
+                    // Find the Subrs called by the glyph and insert to set:
+                    ReadASubr(Start, End, GBias, LBias, hSubr, SubrsOffsets, context);
             } else
                 // If the font is not CID 
-                //Find the Subrs called by the glyph and insert to hash:
-                ReadASubr(Start, End, GBias, LBias, hSubr, lSubr, SubrsOffsets);
+                //Find the Subrs called by the glyph and insert to set:
+                ReadASubr(Start, End, GBias, LBias, hSubr, SubrsOffsets, context);
         }
         // For all Lsubrs used, check recursively for Lsubr & Gsubr used
-        for (int i=0;i<lSubr.size();i++)
+        for (int i=0;i<hSubr.size();i++)
         {
-            // Pop the subr value from the hash
-            int Subr = lSubr.get(i);
+            // Pop the subr value from the set
+            int Subr = hSubr.get(i);
             // Ensure the Lsubr call is valid
             if (Subr < SubrsOffsets.length-1 && Subr>=0)
             {
                 // Read and process the subr
                 int Start = SubrsOffsets[Subr];
                 int End = SubrsOffsets[Subr+1];
-                ReadASubr(Start,End,GBias,LBias,hSubr,lSubr,SubrsOffsets);
+                ReadASubr(Start,End,GBias,LBias,hSubr,SubrsOffsets,context);
             }
         }
     }
     
     /**
-     * Function scans the Glsubr used ArrayList to find recursive calls 
-     * to Gsubrs and adds to Hashmap and ArrayList
+     * Function scans the Glsubr used set to find recursive calls 
+     * to Gsubrs and adds to the set
      * @param Font the font
      */
     protected void BuildGSubrsUsed(int Font)
@@ -578,14 +573,15 @@ public class CFFFontSubset extends CFFFont {
         if (fonts[Font].privateSubrs>=0)
         {
             LBias = CalcBias(fonts[Font].privateSubrs,Font);
-            SizeOfNonCIDSubrsUsed = lSubrsUsedNonCID.size();
+            SizeOfNonCIDSubrsUsed = hSubrsUsedNonCID.size();
         }
+        int context = SubrCalls.context(Font, fonts[Font].isCID ? -2 : -1);
         
         // For each global subr used 
-        for (int i=0;i<lGSubrsUsed.size();i++)
+        for (int i=0;i<hGSubrsUsed.size();i++)
         {
             //Pop the value + check valid 
-            int Subr = lGSubrsUsed.get(i);
+            int Subr = hGSubrsUsed.get(i);
             if (Subr < gsubrOffsets.length-1 && Subr>=0)
             {
                 // Read the subr and process
@@ -593,25 +589,25 @@ public class CFFFontSubset extends CFFFont {
                 int End = gsubrOffsets[Subr+1];
                 
                 if (fonts[Font].isCID)
-                    ReadASubr(Start,End,GBias,0,hGSubrsUsed,lGSubrsUsed,null);
+                    ReadASubr(Start,End,GBias,0,hGSubrsUsed,null,context);
                 else
                 {
-                    ReadASubr(Start,End,GBias,LBias,hSubrsUsedNonCID,lSubrsUsedNonCID,fonts[Font].SubrsOffsets);
-                    if (SizeOfNonCIDSubrsUsed < lSubrsUsedNonCID.size())
+                    ReadASubr(Start,End,GBias,LBias,hSubrsUsedNonCID,fonts[Font].SubrsOffsets,context);
+                    if (SizeOfNonCIDSubrsUsed < hSubrsUsedNonCID.size())
                     {
-                        for (int j=SizeOfNonCIDSubrsUsed;j<lSubrsUsedNonCID.size();j++)
+                        for (int j=SizeOfNonCIDSubrsUsed;j<hSubrsUsedNonCID.size();j++)
                         {
                             //Pop the value + check valid 
-                            int LSubr = lSubrsUsedNonCID.get(j);
+                            int LSubr = hSubrsUsedNonCID.get(j);
                             if (LSubr < fonts[Font].SubrsOffsets.length-1 && LSubr>=0)
                             {
                                 // Read the subr and process
                                 int LStart = fonts[Font].SubrsOffsets[LSubr];
                                 int LEnd = fonts[Font].SubrsOffsets[LSubr+1];
-                                ReadASubr(LStart,LEnd,GBias,LBias,hSubrsUsedNonCID,lSubrsUsedNonCID,fonts[Font].SubrsOffsets);
+                                ReadASubr(LStart,LEnd,GBias,LBias,hSubrsUsedNonCID,fonts[Font].SubrsOffsets,context);
                             }
                         }
-                        SizeOfNonCIDSubrsUsed = lSubrsUsedNonCID.size();
+                        SizeOfNonCIDSubrsUsed = hSubrsUsedNonCID.size();
                     }
                 }
             }
@@ -620,17 +616,47 @@ public class CFFFontSubset extends CFFFont {
 
     /**
      * The function reads a subrs (glyph info) between begin and end.
-     * Adds calls to a Lsubr to the hSubr and lSubrs.
-     * Adds calls to a Gsubr to the hGSubr and lGSubrs.
+     * Adds calls to a Lsubr to the hSubr.
+     * Adds calls to a Gsubr to the hGSubrsUsed.
+     * The calls found in a charstring are remembered in the shared SubrCalls, so the
+     * charstring is read only once for all the subsets of the font.
      * @param begin the start point of the subr
      * @param end the end point of the subr
      * @param GBias the bias of the Global Subrs
      * @param LBias the bias of the Local Subrs
-     * @param hSubr the HashMap for the lSubrs
-     * @param lSubr the ArrayList for the lSubrs
+     * @param hSubr the set for the lSubrs
+     * @param LSubrsOffsets the offset array of the lSubrs index
+     * @param context the FontDict and bias the charstring is read with, see SubrCalls.context
      */
-    protected void ReadASubr(int begin,int end,int GBias,int LBias, Map<Integer, int[]> hSubr, List<Integer> lSubr, int[] LSubrsOffsets)
+    protected void ReadASubr(int begin,int end,int GBias,int LBias, UsageSet hSubr, int[] LSubrsOffsets, int context)
     {
+        int[] calls = subrCalls == null ? null : subrCalls.get(context, begin);
+        if (calls == null) {
+            calls = ReadSubrCalls(begin, end, GBias, LBias, LSubrsOffsets);
+            if (subrCalls != null)
+                subrCalls.put(context, begin, calls);
+        }
+        for (int i = 0; i < calls.length; i += 2) {
+            if (calls[i] == SubrCalls.LOCAL)
+                hSubr.add(calls[i + 1]);
+            else
+                hGSubrsUsed.add(calls[i + 1]);
+        }
+    }
+
+    /**
+     * Reads a charstring between begin and end and lists the subroutines it calls.
+     * @param begin the start point of the subr
+     * @param end the end point of the subr
+     * @param GBias the bias of the Global Subrs
+     * @param LBias the bias of the Local Subrs
+     * @param LSubrsOffsets the offset array of the lSubrs index
+     * @return pairs of SubrCalls.LOCAL or SubrCalls.GLOBAL and the index of the subr
+     */
+    private int[] ReadSubrCalls(int begin,int end,int GBias,int LBias, int[] LSubrsOffsets)
+    {
+        int[] calls = new int[8];
+        int numOfCalls = 0;
         // Clear the stack for the subrs
         EmptyStack();
         NumOfHints = 0;
@@ -658,12 +684,10 @@ public class CFFFontSubset extends CFFFont {
                 {
                     // Calc the index of the Subrs
                     int Subr = (Integer) TopElement + LBias;
-                    // If the subr isn't in the HashMap -> Put in
-                    if (!hSubr.containsKey(Subr))
-                    {
-                        hSubr.put(Subr,null);
-                        lSubr.add(Subr);
-                    }
+                    if (numOfCalls + 2 > calls.length)
+                        calls = Arrays.copyOf(calls, calls.length * 2);
+                    calls[numOfCalls++] = SubrCalls.LOCAL;
+                    calls[numOfCalls++] = Subr;
                     if (LSubrsOffsets != null) {
                         CalcHints(LSubrsOffsets[Subr], LSubrsOffsets[Subr + 1], LBias, GBias, LSubrsOffsets);
                     }
@@ -678,12 +702,10 @@ public class CFFFontSubset extends CFFFont {
                 {
                     // Calc the index of the Subrs
                     int Subr = (Integer) TopElement + GBias;
-                    // If the subr isn't in the HashMap -> Put in
-                    if (!hGSubrsUsed.containsKey(Subr))
-                    {
-                        hGSubrsUsed.put(Subr,null);
-                        lGSubrsUsed.add(Subr);
-                    }
+                    if (numOfCalls + 2 > calls.length)
+                        calls = Arrays.copyOf(calls, calls.length * 2);
+                    calls[numOfCalls++] = SubrCalls.GLOBAL;
+                    calls[numOfCalls++] = Subr;
                     CalcHints(gsubrOffsets[Subr],gsubrOffsets[Subr+1],LBias,GBias,LSubrsOffsets);
                     seek(pos);
                 }
@@ -704,6 +726,7 @@ public class CFFFontSubset extends CFFFont {
                     getCard8();
             }
         }
+        return Arrays.copyOf(calls, numOfCalls);
     }
 
     /**
@@ -926,12 +949,12 @@ public class CFFFontSubset extends CFFFont {
      * Function builds the new offset array, object array and assembles the index.
      * used for creating the glyph and subrs subsetted index 
      * @param Offsets the offset array of the original index  
-     * @param Used the hashmap of the used objects
+     * @param Used the set of the used objects
      * @param OperatorForUnusedEntries the operator inserted into the data stream for unused entries
      * @return the new index subset version 
      * @throws IOException
      */
-    protected byte[] BuildNewIndex(int[] Offsets, Map<Integer, int[]> Used,byte OperatorForUnusedEntries) throws IOException
+    protected byte[] BuildNewIndex(int[] Offsets, UsageSet Used,byte OperatorForUnusedEntries) throws IOException
     {
         int unusedCount = 0;
         int Offset=0;
@@ -941,8 +964,8 @@ public class CFFFontSubset extends CFFFont {
         {
             NewOffsets[i] = Offset;
             // If the object in the offset is also present in the used
-            // HashMap then increment the offset var by its size
-            if (Used.containsKey(i)) {
+            // set then increment the offset var by its size
+            if (Used.contains(i)) {
                 if (Offsets.length > i + 1) {
                     Offset += Offsets[i + 1] - Offsets[i];
                 }
@@ -1612,4 +1635,44 @@ public class CFFFontSubset extends CFFFont {
             OutputList.addLast(new RangeItem(new RandomAccessFileOrArray(NewSubrsIndexNonCID), 0, NewSubrsIndexNonCID.length));
         }
     }    
+
+    /**
+     * The subroutine calls of the charstrings of one font program. The calls found in a charstring
+     * depend only on the font program and on the FontDict it is read with, so they are kept with
+     * the font and reused when it is subsetted again, for another document or after more glyphs
+     * were used.
+     */
+    static final class SubrCalls {
+
+        /** Marks a call to a local subroutine. */
+        static final int LOCAL = 0;
+        /** Marks a call to a global subroutine. */
+        static final int GLOBAL = 1;
+
+        private final IntObjectHashtable<IntObjectHashtable<int[]>> contexts = new IntObjectHashtable<>();
+
+        /**
+         * Gets the context a charstring is read with.
+         * @param font the font in the font set
+         * @param fd the FontDict, -1 for the private dict of a non CID font, -2 for the global subrs of a CID font
+         * @return the context
+         */
+        static int context(int font, int fd) {
+            return (font << 16) | ((fd + 2) & 0xffff);
+        }
+
+        synchronized int[] get(int context, int begin) {
+            IntObjectHashtable<int[]> calls = contexts.get(context);
+            return calls == null ? null : calls.get(begin);
+        }
+
+        synchronized void put(int context, int begin, int[] calls) {
+            IntObjectHashtable<int[]> map = contexts.get(context);
+            if (map == null) {
+                map = new IntObjectHashtable<>(256);
+                contexts.put(context, map);
+            }
+            map.put(begin, calls);
+        }
+    }
 }
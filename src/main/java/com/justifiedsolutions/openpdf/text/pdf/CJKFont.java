@@ -222,6 +222,28 @@ class CJKFont extends BaseFont {
                 && (enc.equals("Identity-H") || enc.equals("Identity-V") || encodings.contains("_" + enc + "_"));
     }
 
+    /**
+     * Builds the characters the font has a glyph for from the CMap of its
+     * encoding. With an Identity encoding the text is made of CIDs and every
+     * code is covered.
+     *
+     * @return a new set with the characters
+     */
+    @Override
+    BitSet createCoverage() {
+        BitSet set = new BitSet();
+        if (cidDirect) {
+            set.set(0, 0x10000);
+        } else {
+            for (int c = 0; c < translationMap.length; ++c) {
+                if (translationMap[c] != 0) {
+                    set.set(c);
+                }
+            }
+        }
+        return set;
+    }
+
     /**
      * Gets the width of a <CODE>char</CODE> in normalized 1000 units.
      * 
@@ -52,8 +52,12 @@ package com.justifiedsolutions.openpdf.text.pdf;
 import com.justifiedsolutions.openpdf.text.*;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Formats text in a columnwise form. The text is bound on the left and on the right by a sequence of lines. This allows
@@ -137,6 +141,36 @@ public class ColumnText {
      */
     private BidiLine bidiLine;
 
+    /**
+     * The line caches of the text by the width of its first line, shared with the copies that start at the same text.
+     */
+    private Map<Float, LineCache> lineCaches;
+
+    /**
+     * The cache the lines of the text are taken from, or null.
+     */
+    private LineCache lineCache;
+
+    /**
+     * The number of lines of the text broken so far.
+     */
+    private int lineIndex;
+
+    /**
+     * The number of lines taken from the line cache that <CODE>bidiLine</CODE> hasn't been moved past yet.
+     */
+    private int pendingLines;
+
+    /**
+     * Tells if the last line was taken from the line cache.
+     */
+    private boolean lastLineCached;
+
+    /**
+     * The line caches of the paragraphs in composite mode, shared with the copies.
+     */
+    private Map<Element, Map<Float, LineCache>> elementLineCaches;
+
     /**
      * The current y line location. Text will be written at this line minus the leading.
      */
@@ -195,6 +229,12 @@ public class ColumnText {
     private float rectangularWidth = -1;
 
     private boolean rectangularMode = false;
+
+    /**
+     * How a line that doesn't fit in the rectangular column is cut off, one of the <CODE>PdfPCell.OVERFLOW_</CODE>
+     * constants.
+     */
+    private int overflow = PdfPCell.OVERFLOW_VISIBLE;
     private float descender;
     private boolean composite = false;
     private ColumnText compositeColumn;
@@ -311,6 +351,8 @@ public class ColumnText {
      */
     void setText(Phrase phrase) {
         bidiLine = null;
+        resetLineCache();
+        elementLineCaches = null;
         composite = false;
         compositeColumn = null;
         compositeElements = null;
@@ -341,7 +383,9 @@ public class ColumnText {
         if (!composite) {
             composite = true;
             compositeElements = new LinkedList<>();
+            elementLineCaches = new IdentityHashMap<>(1);
             bidiLine = null;
+            resetLineCache();
             waitPhrase = null;
         }
         compositeElements.add(element);
@@ -368,6 +412,16 @@ public class ColumnText {
         rectangularMode = true;
     }
 
+    /**
+     * Sets the width the lines of a rectangular column are broken at. Used when the lines have to be broken at exactly
+     * the width the text was measured at.
+     *
+     * @param width the width of the lines
+     */
+    void setRectangularWidth(float width) {
+        rectangularWidth = Math.max(width, 0);
+    }
+
     /**
      * Sets the leading fixed and variable. The resultant leading will be fixedLeading+multipliedLeading*maxFontSize
      * where maxFontSize is the size of the biggest font in the line.
@@ -434,6 +488,11 @@ public class ColumnText {
         if (bidiLine == null) {
             return NO_MORE_TEXT;
         }
+        if (!rectangularMode) {
+            syncLines();
+            lineCaches = null;
+            lineCache = null;
+        }
         descender = 0;
         linesWritten = 0;
         boolean dirty = false;
@@ -469,21 +528,28 @@ public class ColumnText {
             if (rectangularMode) {
                 if (rectangularWidth <= firstIndent + rightIndent) {
                     status = NO_MORE_COLUMN;
-                    if (bidiLine.isEmpty()) {
+                    if (isTextEmpty()) {
                         status |= NO_MORE_TEXT;
                     }
                     break;
                 }
-                if (bidiLine.isEmpty()) {
+                if (isTextEmpty()) {
                     status = NO_MORE_TEXT;
                     break;
                 }
-                line = bidiLine.processLine(rectangularWidth - firstIndent - rightIndent, alignment
-                );
+                float lineWidth = rectangularWidth - firstIndent - rightIndent;
+                if (overflow == PdfPCell.OVERFLOW_VISIBLE) {
+                    line = processLine(lineWidth);
+                } else {
+                    line = processLine(PdfPRow.RIGHT_LIMIT);
+                }
                 if (line == null) {
                     status = NO_MORE_TEXT;
                     break;
                 }
+                if (overflow != PdfPCell.OVERFLOW_VISIBLE) {
+                    line = fitLine(line, lineWidth);
+                }
                 float[] maxSize = line.getMaxSize();
                 if (isUseAscender() && Float.isNaN(firstLineY)) {
                     currentLeading = line.getAscender();
@@ -493,7 +559,7 @@ public class ColumnText {
                 }
                 if (yLine > maxY || yLine - currentLeading < minY) {
                     status = NO_MORE_COLUMN;
-                    bidiLine.restore();
+                    restoreLine();
                     break;
                 }
                 yLine -= currentLeading;
@@ -558,6 +624,194 @@ public class ColumnText {
         return status;
     }
 
+    /**
+     * Tells if all the text was broken into lines. Uses the line cache while it has lines.
+     *
+     * @return true if there is no more text
+     */
+    private boolean isTextEmpty() {
+        if (lineCache != null && lineIndex < lineCache.size()) {
+            return false;
+        }
+        if (pendingLines > 0 && lineCache.isEnd()) {
+            return true;
+        }
+        syncLines();
+        boolean empty = bidiLine.isEmpty();
+        if (empty && lineCache != null && lineIndex == lineCache.size()) {
+            lineCache.setEnd();
+        }
+        return empty;
+    }
+
+    /**
+     * Breaks the next line of the text. The line is taken from the line cache if the cache has it for the same width,
+     * otherwise it is broken by <CODE>bidiLine</CODE> and added to the cache.
+     *
+     * @param width the width of the line
+     * @return the line, or null if there is no more text
+     */
+    private PdfLine processLine(float width) {
+        if (lineCache == null && lineIndex == 0 && lineCaches != null) {
+            synchronized (lineCaches) {
+                lineCache = lineCaches.computeIfAbsent(width, w -> new LineCache());
+            }
+        }
+        if (lineCache != null && lineIndex < lineCache.size()) {
+            if (lineCache.getWidth(lineIndex) == width) {
+                lastLineCached = true;
+                ++pendingLines;
+                return lineCache.getLine(lineIndex++);
+            }
+            // broken at another width from here on
+            syncLines();
+            lineCache = null;
+        }
+        syncLines();
+        lastLineCached = false;
+        PdfLine line = bidiLine.processLine(width, alignment);
+        if (line == null) {
+            return null;
+        }
+        if (lineCache != null) {
+            lineCache.add(lineIndex, line, width);
+        }
+        ++lineIndex;
+        return line;
+    }
+
+    /**
+     * Fits a line that was broken only at the newlines into the width of the column. A line that fits is aligned in
+     * the width. A line that is too wide is left aligned and, with <CODE>OVERFLOW_ELLIPSIS</CODE>, cut off at the
+     * last character that still leaves room for an ellipsis.
+     *
+     * @param line  the line
+     * @param width the width of the column
+     * @return the line fitted into the width
+     */
+    private PdfLine fitLine(PdfLine line, float width) {
+        float used = line.getOriginalWidth() - line.widthLeft();
+        ArrayList<PdfChunk> chunks = new ArrayList<>(line.size());
+        if (used <= width) {
+            line.iterator().forEachRemaining(chunks::add);
+            int fitAlignment = alignment == Element.ALIGN_JUSTIFIED ? Element.ALIGN_LEFT : alignment;
+            return new PdfLine(0, width, width - used, fitAlignment, line.isNewlineSplit(), chunks);
+        }
+        if (overflow == PdfPCell.OVERFLOW_CLIP) {
+            line.iterator().forEachRemaining(chunks::add);
+            return new PdfLine(0, width, 0, Element.ALIGN_LEFT, line.isNewlineSplit(), chunks);
+        }
+        used = 0;
+        for (Iterator<PdfChunk> it = line.iterator(); it.hasNext(); ) {
+            PdfChunk chunk = it.next();
+            String value = chunk.toString();
+            String ellipsis = chunk.font().getFont().getCoverage().get('\u2026') ? "\u2026" : "...";
+            float room = width - used - getWidth(chunk, ellipsis);
+            int end = 0;
+            while (end < value.length()) {
+                float charWidth = chunk.getCharWidth(value.charAt(end));
+                if (charWidth > room) {
+                    break;
+                }
+                room -= charWidth;
+                ++end;
+            }
+            if (end == value.length() && it.hasNext()) {
+                chunks.add(chunk);
+                used += chunk.width();
+                continue;
+            }
+            if (end > 0 && Character.isHighSurrogate(value.charAt(end - 1))) {
+                --end;
+            }
+            while (end > 0 && Character.isWhitespace(value.charAt(end - 1))) {
+                --end;
+            }
+            chunks.add(new PdfChunk(value.substring(0, end) + ellipsis, chunk));
+            break;
+        }
+        return new PdfLine(0, width, 0, Element.ALIGN_LEFT, false, chunks);
+    }
+
+    private static float getWidth(PdfChunk chunk, String s) {
+        float width = 0;
+        for (int k = 0; k < s.length(); ++k) {
+            width += chunk.getCharWidth(s.charAt(k));
+        }
+        return width;
+    }
+
+    /**
+     * Takes back the last line broken because it doesn't fit in the column.
+     */
+    private void restoreLine() {
+        --lineIndex;
+        if (lastLineCached) {
+            --pendingLines;
+        } else {
+            bidiLine.restore();
+        }
+    }
+
+    /**
+     * Moves <CODE>bidiLine</CODE> past the lines taken from the line cache, by breaking them again at the same widths.
+     */
+    private void syncLines() {
+        for (int k = lineIndex - pendingLines; k < lineIndex; ++k) {
+            bidiLine.processLine(lineCache.getWidth(k), alignment);
+        }
+        pendingLines = 0;
+    }
+
+    private void resetLineCache() {
+        lineCaches = null;
+        lineCache = null;
+        lineIndex = 0;
+        pendingLines = 0;
+    }
+
+    /**
+     * Tells if the text is written the same way on any page. Text with generic tags or new pages depends on the page,
+     * and so does any element other than a paragraph.
+     *
+     * @return true if the text doesn't depend on the page
+     */
+    boolean isPageIndependent() {
+        if (bidiLine != null || compositeColumn != null) {
+            return false;
+        }
+        if (composite) {
+            for (Element element : compositeElements) {
+                if (element.type() != Element.PARAGRAPH || !isPageIndependent(element.getChunks())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return waitPhrase == null || isPageIndependent(waitPhrase.getChunks());
+    }
+
+    private static boolean isPageIndependent(List<Chunk> chunks) {
+        for (Chunk chunk : chunks) {
+            Map<String, Object> attributes = chunk.getChunkAttributes();
+            if (attributes != null
+                    && (attributes.containsKey(Chunk.GENERICTAG) || attributes.containsKey(Chunk.NEWPAGE))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets how a line that doesn't fit in the rectangular column is cut off. With an overflow other than
+     * <CODE>PdfPCell.OVERFLOW_VISIBLE</CODE> the text is only broken into lines at the newlines.
+     *
+     * @param overflow one of the <CODE>PdfPCell.OVERFLOW_</CODE> constants
+     */
+    void setOverflow(int overflow) {
+        this.overflow = overflow;
+    }
+
     /**
      * Gets the biggest descender value of the last line written.
      *
@@ -623,6 +877,9 @@ public class ColumnText {
             waitPhrase = phrase;
             return;
         }
+        // the lines of the text change
+        syncLines();
+        resetLineCache();
         for (Object o : phrase.getChunks()) {
             bidiLine.addChunk(new PdfChunk((Chunk) o));
         }
@@ -639,6 +896,10 @@ public class ColumnText {
         if (org.bidiLine != null) {
             bidiLine = new BidiLine(org.bidiLine);
         }
+        lineCaches = org.lineCaches;
+        lineCache = org.lineCache;
+        lineIndex = org.lineIndex;
+        pendingLines = org.pendingLines;
         return this;
     }
 
@@ -667,12 +928,14 @@ public class ColumnText {
         extraParagraphSpace = org.extraParagraphSpace;
         rectangularWidth = org.rectangularWidth;
         rectangularMode = org.rectangularMode;
+        overflow = org.overflow;
         spaceCharRatio = org.spaceCharRatio;
         lastWasNewline = org.lastWasNewline;
         linesWritten = org.linesWritten;
         descender = org.descender;
         composite = org.composite;
         splittedRow = org.splittedRow;
+        elementLineCaches = org.elementLineCaches;
         if (org.composite) {
             compositeElements = new LinkedList<>(org.compositeElements);
             if (splittedRow) {
@@ -696,6 +959,9 @@ public class ColumnText {
 
     private void addWaitingPhrase() {
         if (bidiLine == null && waitPhrase != null) {
+            if (lineCaches == null) {
+                lineCaches = new HashMap<>();
+            }
             bidiLine = new BidiLine();
             for (Object o : waitPhrase.getChunks()) {
                 bidiLine.addChunk(new PdfChunk((Chunk) o));
@@ -899,6 +1165,12 @@ public class ColumnText {
                         compositeColumn.setRightIndent(para.getIndentationRight());
                         compositeColumn.setLeading(para.getLeading(), para.getMultipliedLeading());
                         compositeColumn.setSpaceCharRatio(spaceCharRatio);
+                        if (elementLineCaches != null) {
+                            synchronized (elementLineCaches) {
+                                compositeColumn.lineCaches = elementLineCaches
+                                        .computeIfAbsent(para, e -> new HashMap<>());
+                            }
+                        }
                         compositeColumn.addText(para);
                         if (!firstPass) {
                             yLine -= para.getSpacingBefore();
@@ -910,6 +1182,7 @@ public class ColumnText {
                     compositeColumn.yLine = yLine;
                     compositeColumn.rectangularWidth = rectangularWidth;
                     compositeColumn.rectangularMode = rectangularMode;
+                    compositeColumn.overflow = overflow;
                     compositeColumn.minY = minY;
                     compositeColumn.maxY = maxY;
                     boolean keepCandidate = (para.getKeepTogether() && createHere && !firstPass);
@@ -1072,8 +1345,13 @@ public class ColumnText {
                     PdfPTable nt = PdfPTable.shallowCopy(table);
                     List<PdfPRow> sub = nt.getRows();
 
-                    // first we add the real header rows (if necessary)
-                    if (!skipHeader && realHeaderRows > 0) {
+                    // first we add the real header rows (if necessary), laid out once if they don't depend on the page
+                    PdfContentByte headerCanvas = canvases != null ? canvases[PdfPTable.TEXTCANVAS] : canvas;
+                    PdfTemplate header = null;
+                    if (!skipHeader && realHeaderRows > 0 && k > listIdx) {
+                        header = table.getHeaderTemplate(headerCanvas, realHeaderRows);
+                    }
+                    if (!skipHeader && realHeaderRows > 0 && header == null) {
                         sub.addAll(table.getRows(0, realHeaderRows));
                     } else {
                         nt.setHeaderRows(footerRows);
@@ -1108,6 +1386,11 @@ public class ColumnText {
                     }
 
                     // now we render the rows of the new table
+                    if (header != null) {
+                        float height = header.getBoundingBox().getHeight();
+                        headerCanvas.addTemplate(header, x1, yLineWrite - height);
+                        yLineWrite -= height;
+                    }
                     if (canvases != null) {
                         nt.writeSelectedRows(0, -1, x1, yLineWrite, canvases);
                     } else {
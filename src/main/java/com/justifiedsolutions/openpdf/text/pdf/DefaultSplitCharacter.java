@@ -74,7 +74,16 @@ public class DefaultSplitCharacter implements SplitCharacter {
      * @return    <CODE>true</CODE> if the character can be used to split a string, <CODE>false</CODE> otherwise
      */
     public boolean isSplitCharacter(int current, char[] cc, PdfChunk[] ck) {
-        char c = getCurrentCharacter(current, cc, ck);
+        return isDefaultSplitCharacter(getCurrentCharacter(current, cc, ck));
+    }
+
+    /**
+     * Checks if a character is a split character of {@link #DEFAULT}.
+     *
+     * @param c the character
+     * @return <CODE>true</CODE> if the character can be used to split a string, <CODE>false</CODE> otherwise
+     */
+    static boolean isDefaultSplitCharacter(char c) {
         if (c <= ' ' || c == '-' || c == '\u2010') {
             return true;
         }
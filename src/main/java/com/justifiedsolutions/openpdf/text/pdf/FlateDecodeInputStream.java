@@ -0,0 +1,154 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decodes the FlateDecode filter while the data is read. The <CODE>Inflater</CODE> is taken from a pool when the
+ * stream is created and returned to it when the stream is closed or fully read, so decoding many streams doesn't
+ * create an <CODE>Inflater</CODE> and its native memory for each.
+ */
+final class FlateDecodeInputStream extends FilterInputStream {
+
+    /**
+     * The maximum number of idle inflaters kept in the pool.
+     */
+    private static final int MAX_POOLED = 8;
+
+    private static final Queue<Inflater> POOL = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final boolean strict;
+    private final byte[] input = new byte[4096];
+    private final byte[] single = new byte[1];
+    private Inflater inflater;
+    private boolean finished;
+
+    /**
+     * Creates a stream decoding compressed data.
+     *
+     * @param in     the compressed data
+     * @param strict <CODE>true</CODE> to throw an exception on corrupted data, <CODE>false</CODE> to end the stream
+     *               where the corruption starts
+     */
+    FlateDecodeInputStream(InputStream in, boolean strict) {
+        super(in);
+        this.strict = strict;
+        this.inflater = acquire();
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (finished) {
+            return -1;
+        }
+        try {
+            while (true) {
+                // a corrupted stream is inflated a byte at a time to keep everything before the damage
+                int n = inflater.inflate(b, off, strict ? len : 1);
+                if (n > 0) {
+                    return n;
+                }
+                if (inflater.finished() || inflater.needsDictionary()) {
+                    return end();
+                }
+                if (inflater.needsInput()) {
+                    int count = in.read(input, 0, input.length);
+                    if (count < 0) {
+                        if (strict) {
+                            throw new EOFException();
+                        }
+                        return end();
+                    }
+                    inflater.setInput(input, 0, count);
+                }
+            }
+        } catch (DataFormatException e) {
+            if (strict) {
+                end();
+                throw new ZipException(e.getMessage());
+            }
+            return end();
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return finished ? 0 : 1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] b = new byte[(int) Math.min(n, 512)];
+        long skipped = 0;
+        while (skipped < n) {
+            int count = read(b, 0, (int) Math.min(n - skipped, b.length));
+            if (count < 0) {
+                break;
+            }
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        end();
+        super.close();
+    }
+
+    private int end() {
+        finished = true;
+        if (inflater != null) {
+            release(inflater);
+            inflater = null;
+        }
+        return -1;
+    }
+
+    private static Inflater acquire() {
+        Inflater inflater = POOL.poll();
+        if (inflater == null) {
+            return new Inflater();
+        }
+        POOLED.decrementAndGet();
+        return inflater;
+    }
+
+    private static void release(Inflater inflater) {
+        inflater.reset();
+        if (POOLED.incrementAndGet() <= MAX_POOLED) {
+            POOL.offer(inflater);
+        } else {
+            POOLED.decrementAndGet();
+            inflater.end();
+        }
+    }
+}
@@ -51,8 +51,6 @@ package com.justifiedsolutions.openpdf.text.pdf;
 
 import com.justifiedsolutions.openpdf.text.ExceptionConverter;
 import com.justifiedsolutions.openpdf.text.Utilities;
-import java.io.UnsupportedEncodingException;
-import java.util.HashMap;
 
 /**
  * Each font in the document will have an instance of this class where the characters used will be
@@ -92,10 +90,10 @@ class FontDetails {
      */
     byte[] shortTag;
     /**
-     * The map used with double byte encodings. The key is Integer(glyph) and the value is
+     * The map used with double byte encodings. The key is the glyph and the value is
      * int[]{glyph, width, Unicode code}
      */
-    HashMap<Integer, int[]> longTag;
+    IntObjectHashtable<int[]> longTag;
     /**
      * IntHashtable with CIDs of CJK glyphs that are used in the text.
      */
@@ -108,6 +106,10 @@ class FontDetails {
      * <CODE>true</CODE> if the font is symbolic
      */
     boolean symbolic;
+    /**
+     * <CODE>true</CODE> if the font definition has already been written to the document
+     */
+    boolean written;
 
     /**
      * Each font used in a document has an instance of this class. This class stores the characters
@@ -132,7 +134,7 @@ class FontDetails {
                 cjkFont = (CJKFont) baseFont;
                 break;
             case BaseFont.FONT_TYPE_TTUNI:
-                longTag = new HashMap<>();
+                longTag = new IntObjectHashtable<>(256);
                 ttu = (TrueTypeFontUnicode) baseFont;
                 symbolic = baseFont.isFontSpecific();
                 break;
@@ -165,15 +167,28 @@ class FontDetails {
      * @return the conversion
      */
     byte[] convertToBytes(String text) {
-        byte[] b = null;
+        ByteBuffer out = new ByteBuffer(text.length() * 2);
+        convertToBytes(text, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Converts the text into bytes to be placed in the document and appends them to a buffer. The
+     * conversion is done according to the font and the encoding and the characters used are stored.
+     *
+     * @param text the text to convert
+     * @param out  the buffer the bytes are appended to
+     */
+    void convertToBytes(String text, ByteBuffer out) {
         switch (fontType) {
-            case BaseFont.FONT_TYPE_T3:
-                return baseFont.convertToBytes(text);
             case BaseFont.FONT_TYPE_T1:
             case BaseFont.FONT_TYPE_TT: {
-                b = baseFont.convertToBytes(text);
-                for (byte b1 : b) {
-                    shortTag[b1 & 0xff] = 1;
+                int start = out.size();
+                baseFont.convertToBytes(text, out);
+                byte[] b = out.getBuffer();
+                int end = out.size();
+                for (int k = start; k < end; ++k) {
+                    shortTag[b[k] & 0xff] = 1;
                 }
                 break;
             }
@@ -182,51 +197,34 @@ class FontDetails {
                 for (int k = 0; k < len; ++k) {
                     cjkTag.put(cjkFont.getCidCode(text.charAt(k)), 0);
                 }
-                b = baseFont.convertToBytes(text);
-                break;
-            }
-            case BaseFont.FONT_TYPE_DOCUMENT: {
-                b = baseFont.convertToBytes(text);
+                baseFont.convertToBytes(text, out);
                 break;
             }
             case BaseFont.FONT_TYPE_TTUNI: {
-                try {
-                    int len = text.length();
-                    int[] metrics;
-                    char[] glyph = new char[len];
-                    int i = 0;
-                    if (symbolic) {
-                        b = PdfEncodings.convertToBytes(text, "symboltt");
-                        len = b.length;
-                        for (int k = 0; k < len; ++k) {
-                            metrics = ttu.getMetricsTT(b[k] & 0xff);
-                            if (metrics == null) {
-                                continue;
-                            }
-                            longTag.put(metrics[0], new int[]{metrics[0], metrics[1],
-                                    ttu.getUnicodeDifferences(b[k] & 0xff)});
-                            glyph[i++] = (char) metrics[0];
+                if (symbolic) {
+                    byte[] b = PdfEncodings.convertToBytes(text, "symboltt");
+                    for (byte c : b) {
+                        int[] metrics = ttu.getMetricsTT(c & 0xff);
+                        if (metrics == null) {
+                            continue;
                         }
-                        String s = new String(glyph, 0, i);
-                        b = s.getBytes(CJKFont.CJK_ENCODING);
-
-                    } else {
-                        return convertToBytesWithGlyphs(text);
+                        longTag.put(metrics[0], new int[]{metrics[0], metrics[1],
+                                ttu.getUnicodeDifferences(c & 0xff)});
+                        appendGlyph(metrics[0], out);
                     }
-                } catch (UnsupportedEncodingException e) {
-                    throw new ExceptionConverter(e);
+                } else {
+                    convertToBytesWithGlyphs(text, out);
                 }
                 break;
             }
+            default:
+                baseFont.convertToBytes(text, out);
+                break;
         }
-        return b;
     }
 
-    private byte[] convertToBytesWithGlyphs(String text) throws UnsupportedEncodingException {
+    private void convertToBytesWithGlyphs(String text, ByteBuffer out) {
         int len = text.length();
-        int[] metrics;
-        char[] glyph = new char[len];
-        int i = 0;
         for (int k = 0; k < len; ++k) {
             int val;
             if (Utilities.isSurrogatePair(text, k)) {
@@ -235,28 +233,47 @@ class FontDetails {
             } else {
                 val = text.charAt(k);
             }
-            metrics = ttu.getMetricsTT(val);
+            int[] metrics = ttu.getMetricsTT(val);
             if (metrics == null) {
                 continue;
             }
             int m0 = metrics[0];
-            Integer gl = m0;
-            if (!longTag.containsKey(gl)) {
-                longTag.put(gl, new int[]{m0, metrics[1], val});
+            if (!longTag.containsKey(m0)) {
+                longTag.put(m0, new int[]{m0, metrics[1], val});
             }
-            glyph[i++] = (char) m0;
+            appendGlyph(m0, out);
         }
-        String s = new String(glyph, 0, i);
-        return s.getBytes(CJKFont.CJK_ENCODING);
+    }
+
+    /**
+     * Appends a glyph index in the two byte Identity-H encoding.
+     */
+    private static void appendGlyph(int glyph, ByteBuffer out) {
+        out.append_i(glyph >> 8);
+        out.append_i(glyph);
     }
 
 
     /**
-     * Writes the font definition to the document.
+     * Specifies if the font definition can be written before the document is complete, that is
+     * when it doesn't depend on the characters used in the text.
+     *
+     * @return <CODE>true</CODE> if the font can be written early
+     */
+    boolean canWriteEarly() {
+        return baseFont.isUsageIndependent();
+    }
+
+    /**
+     * Writes the font definition to the document. The definition is only written once.
      *
      * @param writer the <CODE>PdfWriter</CODE> of this document
      */
     void writeFont(PdfWriter writer) {
+        if (written) {
+            return;
+        }
+        written = true;
         try {
             switch (fontType) {
                 case BaseFont.FONT_TYPE_T3:
@@ -0,0 +1,180 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the pages imported from PDF files, together with every object they depend on, in serialized form so the same
+ * page can be added to many documents without reading and parsing the source file again. A page is identified by its
+ * file, the modification time and size of the file, and the page number, so a changed file is read again. The least
+ * recently used pages are evicted when the cache grows past its maximum size.
+ */
+public final class ImportedPageCache {
+
+    /**
+     * The default maximum size of the cache in bytes.
+     */
+    public static final long DEFAULT_MAX_SIZE = 32L * 1024 * 1024;
+
+    private static final ImportedPageCache DEFAULT = new ImportedPageCache(DEFAULT_MAX_SIZE);
+
+    private final long maxSize;
+    private final LinkedHashMap<Key, ImportedPageGraph> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize the maximum size of the cache in bytes. A page larger than the cache is still used but not kept.
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    public ImportedPageCache(long maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The maximum size must not be negative.");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the cache shared by the whole process.
+     *
+     * @return the shared cache
+     */
+    public static ImportedPageCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets a page of a PDF file for use in a document. The file is only read if the page is not in the cache or the
+     * file has changed since it was read. The page is written to the document once, however many times it is used.
+     *
+     * @param writer     the document the page is used in
+     * @param path       the PDF file
+     * @param pageNumber the page number. The first page is 1
+     * @return the template representing the imported page
+     * @throws IOException if the file could not be read
+     */
+    public PdfImportedPage getImportedPage(PdfWriter writer, Path path, int pageNumber) throws IOException {
+        return writer.getImportedPage(getGraph(path, pageNumber), pageNumber);
+    }
+
+    /**
+     * Removes all the pages from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the number of pages in the cache.
+     *
+     * @return the number of pages
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    ImportedPageGraph getGraph(Path path, int pageNumber) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Object fileKey = attributes.fileKey();
+        if (fileKey == null) {
+            fileKey = path.toRealPath();
+        }
+        Key key = new Key(fileKey, attributes.lastModifiedTime().toMillis(), attributes.size(), pageNumber);
+        synchronized (this) {
+            ImportedPageGraph graph = entries.get(key);
+            if (graph != null) {
+                return graph;
+            }
+        }
+        // read outside the lock, two threads may read the same page but only one is kept
+        ImportedPageGraph graph;
+        try (PdfReader reader = new PdfReader(path.toString())) {
+            graph = ImportedPageGraph.create(reader, pageNumber);
+        }
+        synchronized (this) {
+            ImportedPageGraph existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (graph.getSize() <= maxSize) {
+                removeStale(key);
+                entries.put(key, graph);
+                size += graph.getSize();
+                evict();
+            }
+        }
+        return graph;
+    }
+
+    private void removeStale(Key key) {
+        Iterator<Map.Entry<Key, ImportedPageGraph>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Key, ImportedPageGraph> entry = it.next();
+            if (entry.getKey().isOlderVersionOf(key)) {
+                size -= entry.getValue().getSize();
+                it.remove();
+            }
+        }
+    }
+
+    private void evict() {
+        Iterator<ImportedPageGraph> it = entries.values().iterator();
+        while (size > maxSize && it.hasNext()) {
+            size -= it.next().getSize();
+            it.remove();
+        }
+    }
+
+    private static final class Key {
+
+        private final Object fileKey;
+        private final long lastModified;
+        private final long fileSize;
+        private final int pageNumber;
+
+        private Key(Object fileKey, long lastModified, long fileSize, int pageNumber) {
+            this.fileKey = fileKey;
+            this.lastModified = lastModified;
+            this.fileSize = fileSize;
+            this.pageNumber = pageNumber;
+        }
+
+        private boolean isOlderVersionOf(Key other) {
+            return pageNumber == other.pageNumber && fileKey.equals(other.fileKey) && !equals(other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return lastModified == key.lastModified &&
+                    fileSize == key.fileSize &&
+                    pageNumber == key.pageNumber &&
+                    fileKey.equals(key.fileKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fileKey, lastModified, fileSize, pageNumber);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import com.justifiedsolutions.openpdf.text.Rectangle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The serialized objects of an imported page: the form XObject of the page followed by every object it refers to,
+ * directly or indirectly. The references between the objects are left out of the bytes and recorded as positions, so
+ * the same graph can be written to any number of documents by inserting the object numbers of each document. The
+ * graph holds no reference to the <CODE>PdfReader</CODE> it was read from.
+ */
+final class ImportedPageGraph {
+
+    private static final byte[] REFERENCE_END = PdfEncodings.convertToBytes(" 0 R", null);
+
+    private final Rectangle boundingBox;
+    private final byte[][] bodies;
+    /**
+     * For each object, pairs of the position of a reference in the body and the index of the object it refers to.
+     */
+    private final int[][] references;
+    private final long size;
+
+    private ImportedPageGraph(Rectangle boundingBox, byte[][] bodies, int[][] references) {
+        this.boundingBox = boundingBox;
+        this.bodies = bodies;
+        this.references = references;
+        long total = 0;
+        for (int k = 0; k < bodies.length; ++k) {
+            total += bodies[k].length + references[k].length * 4L;
+        }
+        this.size = total;
+    }
+
+    /**
+     * Reads a page and every object it depends on.
+     *
+     * @param reader     the document where the page is
+     * @param pageNumber the page number. The first page is 1
+     * @return the graph of the page
+     * @throws IOException on error
+     */
+    static ImportedPageGraph create(PdfReader reader, int pageNumber) throws IOException {
+        PdfReaderInstance instance = new PdfReaderInstance(reader, null);
+        PdfImportedPage page = instance.getImportedPage(pageNumber);
+        Recorder recorder = new Recorder();
+        List<byte[]> bodies = new ArrayList<>();
+        List<int[]> references = new ArrayList<>();
+        try {
+            instance.file.reOpen();
+            PdfObject object = instance.getFormXObject(pageNumber, PdfStream.DEFAULT_COMPRESSION);
+            for (int next = 0; ; ++next) {
+                copy(object, recorder).toPdf(null, recorder);
+                bodies.add(recorder.toByteArray());
+                references.add(recorder.getReferences());
+                recorder.reset();
+                if (next == recorder.pending.size()) {
+                    break;
+                }
+                object = reader.getPdfObjectRelease(recorder.pending.get(next));
+                if (object == null) {
+                    object = PdfNull.PDFNULL;
+                }
+            }
+        } finally {
+            instance.file.close();
+        }
+        return new ImportedPageGraph(page.getBoundingBox(), bodies.toArray(new byte[0][]),
+                references.toArray(new int[0][]));
+    }
+
+    /**
+     * Copies the direct part of an object of the source document, with its references to other objects replaced by
+     * references that are recorded when they are written. The object itself is not changed, it can be shared by the
+     * reader.
+     *
+     * @param object   the object to copy
+     * @param recorder the recorder the references of the copy are written to
+     * @return the copy, or the object itself when it cannot hold references
+     */
+    private static PdfObject copy(PdfObject object, Recorder recorder) {
+        if (object instanceof PRIndirectReference) {
+            return new RecordedReference(recorder, ((PRIndirectReference) object).getNumber());
+        }
+        if (object.isArray()) {
+            PdfArray copy = new PdfArray();
+            for (PdfObject element : ((PdfArray) object).getElements()) {
+                copy.add(copy(element, recorder));
+            }
+            return copy;
+        }
+        if (object.isDictionary() || object instanceof PRStream) {
+            PdfDictionary copy = new PdfDictionary();
+            ((PdfDictionary) object).forEachEntry((key, value) -> copy.put(key, copy(value, recorder)));
+            return object.isDictionary() ? copy : new PRStream((PRStream) object, copy);
+        }
+        return object;
+    }
+
+    /**
+     * Gets the bounding box of the page.
+     *
+     * @return the bounding box
+     */
+    Rectangle getBoundingBox() {
+        return boundingBox;
+    }
+
+    /**
+     * Gets the approximate number of bytes held by this graph.
+     *
+     * @return the size in bytes
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Writes the form XObject and its dependencies to a document.
+     *
+     * @param writer     the document to write to
+     * @param formNumber the object number reserved for the form XObject
+     * @throws IOException on error
+     */
+    void writeTo(PdfWriter writer, int formNumber) throws IOException {
+        int[] numbers = new int[bodies.length];
+        numbers[0] = formNumber;
+        for (int k = 1; k < numbers.length; ++k) {
+            numbers[k] = writer.getIndirectReferenceNumber();
+        }
+        for (int k = 0; k < bodies.length; ++k) {
+            writer.addToBody(new PdfLiteral(relocate(k, numbers)), numbers[k]);
+        }
+    }
+
+    private byte[] relocate(int index, int[] numbers) {
+        byte[] body = bodies[index];
+        int[] refs = references[index];
+        if (refs.length == 0) {
+            return body;
+        }
+        ByteBuffer buf = new ByteBuffer(body.length + refs.length * 6);
+        int start = 0;
+        for (int k = 0; k < refs.length; k += 2) {
+            buf.append(body, start, refs[k] - start);
+            buf.append(numbers[refs[k + 1]]);
+            buf.append(REFERENCE_END);
+            start = refs[k];
+        }
+        buf.append(body, start, body.length - start);
+        return buf.toByteArray();
+    }
+
+    /**
+     * Collects the bytes of one object at a time, with the references to other objects recorded by their
+     * {@link RecordedReference}s instead of written.
+     */
+    private static final class Recorder extends ByteArrayOutputStream {
+
+        private final IntHashtable localNumbers = new IntHashtable();
+        private final List<Integer> pending = new ArrayList<>();
+        private final List<Integer> references = new ArrayList<>();
+
+        /**
+         * Records a reference to an object of the source document at the current position, and the object as one
+         * that still has to be read.
+         *
+         * @param number the object number in the source document
+         */
+        private void writeReference(int number) {
+            int local = localNumbers.get(number);
+            if (local == 0) {
+                pending.add(number);
+                local = pending.size();
+                localNumbers.put(number, local);
+            }
+            references.add(size());
+            references.add(local);
+        }
+
+        private int[] getReferences() {
+            int[] refs = new int[references.size()];
+            for (int k = 0; k < refs.length; ++k) {
+                refs[k] = references.get(k);
+            }
+            references.clear();
+            return refs;
+        }
+    }
+
+    /**
+     * A reference to an object of the source document in a copy made by {@link #copy(PdfObject, Recorder)}. It is not
+     * written, its position is recorded instead.
+     */
+    private static final class RecordedReference extends PdfIndirectReference {
+
+        private final Recorder recorder;
+
+        private RecordedReference(Recorder recorder, int number) {
+            this.recorder = recorder;
+            this.type = INDIRECT;
+            this.number = number;
+        }
+
+        @Override
+        public void toPdf(PdfWriter writer, OutputStream os) {
+            recorder.writeReference(number);
+        }
+    }
+}
@@ -29,16 +29,14 @@
 
 package com.justifiedsolutions.openpdf.text.pdf;
 
-import com.justifiedsolutions.openpdf.text.MessageLocalization;
-
 import java.util.Arrays;
 
 /***
  * <p>A hash map that uses primitive ints for the key rather than objects.</p>
  *
- * <p>Note that this class is for internal optimization purposes only, and may
- * not be supported in future releases of Jakarta Commons Lang.  Utilities of
- * this sort may be included in future releases of Jakarta Commons Collections.</p>
+ * <p>The mappings are kept in flat arrays with an open addressing index, see
+ * {@link IntKeyTable}; {@link #getKeys()} returns the keys in the order they
+ * were added.</p>
  *
  * @author Justin Couch
  * @author Alex Chaffee (alex@apache.org)
@@ -46,36 +44,16 @@ import java.util.Arrays;
  * @author Bruno Lowagie (change Objects as keys into int values)
  * @author Paulo Soares (added extra methods)
  */
-public class IntHashtable implements Cloneable {
-
-    /***
-     * The hash table data.
-     */
-    private transient Entry[] table;
-
-    /***
-     * The total number of entries in the hash table.
-     */
-    private transient int count;
-
-    /***
-     * The table is rehashed when its size exceeds this threshold.  (The
-     * value of this field is (int)(capacity * loadFactor).)
-     *
-     * @serial
-     */
-    private int threshold;
+public class IntHashtable extends IntKeyTable {
 
     /***
-     * The load factor for the hashtable.
-     *
-     * @serial
+     * The values, parallel to the keys.
      */
-    private float loadFactor;
+    private int[] values;
 
     /***
      * <p>Constructs a new, empty hashtable with a default capacity and load
-     * factor, which is <code>20</code> and <code>0.75</code> respectively.</p>
+     * factor, which is <code>150</code> and <code>0.75</code> respectively.</p>
      */
     public IntHashtable() {
         this(150, 0.75f);
@@ -91,39 +69,8 @@ public class IntHashtable implements Cloneable {
      *             than zero, or if the load factor is nonpositive.
      */
     public IntHashtable(int initialCapacity, float loadFactor) {
-        super();
-        if (initialCapacity < 0) {
-            throw new IllegalArgumentException(MessageLocalization.getComposedMessage("illegal.capacity.1", initialCapacity));
-        }
-        if (loadFactor <= 0) {
-            throw new IllegalArgumentException(MessageLocalization.getComposedMessage("illegal.load.1", String.valueOf(loadFactor)));
-        }
-        if (initialCapacity == 0) {
-            initialCapacity = 1;
-        }
-        this.loadFactor = loadFactor;
-        table = new Entry[initialCapacity];
-        threshold = (int) (initialCapacity * loadFactor);
-    }
-
-    /***
-     * <p>Tests if the specified int is a key in this hashtable.</p>
-     *
-     * @param  key  possible key.
-     * @return <code>true</code> if and only if the specified int is a
-     *    key in this hashtable, as determined by the <tt>equals</tt>
-     *    method; <code>false</code> otherwise.
-     */
-    public boolean containsKey(int key) {
-        Entry[] tab = table;
-        int hash = key;
-        int index = (hash & 0x7FFFFFFF) % tab.length;
-        for (Entry e = tab[index]; e != null; e = e.next) {
-            if (e.hash == hash && e.key == key) {
-                return true;
-            }
-        }
-        return false;
+        super(initialCapacity, loadFactor);
+        values = new int[keys.length];
     }
 
     /***
@@ -131,56 +78,17 @@ public class IntHashtable implements Cloneable {
      *
      * @param   key   a key in the hashtable.
      * @return  the value to which the key is mapped in this hashtable;
-     *          <code>null</code> if the key is not mapped to any value in
+     *          <code>0</code> if the key is not mapped to any value in
      *          this hashtable.
      */
     public int get(int key) {
-        Entry[] tab = table;
-        int hash = key;
-        int index = (hash & 0x7FFFFFFF) % tab.length;
-        for (Entry e = tab[index]; e != null; e = e.next) {
-            if (e.hash == hash && e.key == key) {
-                return e.value;
-            }
-        }
-        return 0;
-    }
-
-    /***
-     * <p>Increases the capacity of and internally reorganizes this
-     * hashtable, in order to accommodate and access its entries more
-     * efficiently.</p>
-     *
-     * <p>This method is called automatically when the number of keys
-     * in the hashtable exceeds this hashtable's capacity and load
-     * factor.</p>
-     */
-    protected void rehash() {
-        int oldCapacity = table.length;
-        Entry[] oldMap = table;
-
-        int newCapacity = oldCapacity * 2 + 1;
-        Entry[] newMap = new Entry[newCapacity];
-
-        threshold = (int) (newCapacity * loadFactor);
-        table = newMap;
-
-        for (int i = oldCapacity; i-- > 0;) {
-            for (Entry old = oldMap[i]; old != null;) {
-                Entry e = old;
-                old = old.next;
-
-                int index = (e.hash & 0x7FFFFFFF) % newCapacity;
-                e.next = newMap[index];
-                newMap[index] = e;
-            }
-        }
+        int index = indexOf(key);
+        return index < 0 ? 0 : values[index];
     }
 
     /***
      * <p>Maps the specified <code>key</code> to the specified
-     * <code>value</code> in this hashtable. The key cannot be
-     * <code>null</code>. </p>
+     * <code>value</code> in this hashtable.</p>
      *
      * <p>The value can be retrieved by calling the <code>get</code> method
      * with a key that is equal to the original key.</p>
@@ -188,107 +96,28 @@ public class IntHashtable implements Cloneable {
      * @param key     the hashtable key.
      * @param value   the value.
      * @return the previous value of the specified key in this hashtable,
-     *         or <code>null</code> if it did not have one.
-     * @throws  NullPointerException  if the key is <code>null</code>.
+     *         or <code>0</code> if it did not have one.
      */
     public int put(int key, int value) {
-        // Makes sure the key is not already in the hashtable.
-        Entry[] tab = table;
-        int hash = key;
-        int index = (hash & 0x7FFFFFFF) % tab.length;
-        for (Entry e = tab[index]; e != null; e = e.next) {
-            if (e.hash == hash && e.key == key) {
-                int old = e.value;
-                e.value = value;
-                return old;
-            }
-        }
-
-        if (count >= threshold) {
-            // Rehash the table if the threshold is exceeded
-            rehash();
-
-            tab = table;
-            index = (hash & 0x7FFFFFFF) % tab.length;
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return 0;
         }
- 
-         // Creates the new entry.
-         Entry e = new Entry(hash, key, value, tab[index]);
-         tab[index] = e;
-         count++;
-         return 0;
+        int old = values[index];
+        values[index] = value;
+        return old;
     }
 
-    /***
-     * <p>Innerclass that acts as a datastructure to create a new entry in the
-     * table.</p>
-     */
-    static class Entry {
-        int hash;
-        int key;
-        int value;
-        Entry next;
-
-        /***
-         * <p>Create a new entry with the given values.</p>
-         *
-         * @param hash The code used to hash the int with
-         * @param key The key used to enter this in the table
-         * @param value The value for this key
-         * @param next A reference to the next entry in the table
-         */
-        protected Entry(int hash, int key, int value, Entry next) {
-            this.hash = hash;
-            this.key = key;
-            this.value = value;
-            this.next = next;
-        }
-        
-        // extra methods for inner class Entry by Paulo
-
-        protected Object clone() {
-            Entry entry = new Entry(hash, key, value, (next != null) ? (Entry)next.clone() : null);
-            return entry;
-        }
-    }
-
-    // extra methods by Paulo Soares:
-
-    public int[] toOrderedKeys() {
-        int[] res = getKeys();
-        Arrays.sort(res);
-        return res;
-    }
-    
-    public int[] getKeys() {
-        int[] res = new int[count];
-        int ptr = 0;
-        int index = table.length;
-        Entry entry = null;
-        while (true) {
-            if (entry == null)
-                while ((index-- > 0) && ((entry = table[index]) == null));
-            if (entry == null)
-                break;
-            Entry e = entry;
-            entry = e.next;
-            res[ptr++] = e.key;
-        }
-        return res;
+    @Override
+    void resizeValues(int capacity) {
+        values = Arrays.copyOf(values, capacity);
     }
 
+    @Override
     public Object clone() {
-        try {
-            IntHashtable t = (IntHashtable)super.clone();
-            t.table = new Entry[table.length];
-            for (int i = table.length ; i-- > 0 ; ) {
-                t.table[i] = (table[i] != null)
-                ? (Entry)table[i].clone() : null;
-            }
-            return t;
-        } catch (CloneNotSupportedException e) {
-            // this shouldn't happen, since we are Cloneable
-            throw new InternalError();
-        }
+        IntHashtable t = (IntHashtable) super.clone();
+        t.values = values.clone();
+        return t;
     }
 }
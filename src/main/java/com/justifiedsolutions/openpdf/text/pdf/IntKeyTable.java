@@ -0,0 +1,222 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import com.justifiedsolutions.openpdf.text.MessageLocalization;
+
+import java.util.Arrays;
+
+/**
+ * The keys of a hash map with primitive int keys. The keys are kept in the order they were added in a flat array and
+ * found through an open addressing index with linear probing, so a mapping costs two array slots instead of an entry
+ * object. The subclasses keep the values in an array parallel to the keys. Mappings can't be removed.
+ */
+abstract class IntKeyTable implements Cloneable {
+
+    /**
+     * The keys in the order they were added.
+     */
+    int[] keys;
+
+    /**
+     * The number of keys.
+     */
+    int count;
+
+    /**
+     * The index of the keys: the position of a key plus one, 0 for a free slot. The length is a power of two.
+     */
+    private int[] slots;
+
+    /**
+     * The number of keys at which the index is doubled.
+     */
+    private int threshold;
+
+    /**
+     * The load factor of the index.
+     */
+    private final float loadFactor;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param initialCapacity the number of keys the table holds before it grows
+     * @param loadFactor      the load factor of the index
+     * @throws IllegalArgumentException if the initial capacity is less than zero, or if the load factor is nonpositive
+     */
+    IntKeyTable(int initialCapacity, float loadFactor) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(MessageLocalization.getComposedMessage("illegal.capacity.1", initialCapacity));
+        }
+        if (loadFactor <= 0) {
+            throw new IllegalArgumentException(MessageLocalization.getComposedMessage("illegal.load.1", String.valueOf(loadFactor)));
+        }
+        initialCapacity = Math.max(initialCapacity, 1);
+        this.loadFactor = Math.min(loadFactor, 0.75f);
+        this.keys = new int[initialCapacity];
+        int length = Integer.highestOneBit(Math.max(2, (int) Math.ceil(initialCapacity / this.loadFactor)) - 1) << 1;
+        resizeIndex(length);
+    }
+
+    /**
+     * Gets the number of keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Tests if there are no keys.
+     *
+     * @return <code>true</code> if there are no keys
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Tests if the specified int is a key.
+     *
+     * @param key possible key
+     * @return <code>true</code> if the key is in the table
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Gets the keys in the order they were added.
+     *
+     * @return a new array with the keys
+     */
+    public int[] getKeys() {
+        return Arrays.copyOf(keys, count);
+    }
+
+    /**
+     * Gets a key by its position in the order the keys were added.
+     *
+     * @param index the position, from 0 to <code>size() - 1</code>
+     * @return the key
+     */
+    public int keyAt(int index) {
+        if (index >= count) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return keys[index];
+    }
+
+    /**
+     * Gets the keys in ascending order.
+     *
+     * @return a new array with the keys
+     */
+    public int[] toOrderedKeys() {
+        int[] res = getKeys();
+        Arrays.sort(res);
+        return res;
+    }
+
+    /**
+     * Gets the position of a key.
+     *
+     * @param key the key
+     * @return the position of the key in {@link #keys}, or -1 if it isn't there
+     */
+    final int indexOf(int key) {
+        int[] tab = slots;
+        int mask = tab.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int slot = tab[i];
+            if (slot == 0) {
+                return -1;
+            }
+            if (keys[slot - 1] == key) {
+                return slot - 1;
+            }
+        }
+    }
+
+    /**
+     * Gets the position of a key, adding the key if it isn't there yet.
+     *
+     * @param key the key
+     * @return the position of the key in {@link #keys}, or the complement of the position when the key was added
+     */
+    final int insert(int key) {
+        int[] tab = slots;
+        int mask = tab.length - 1;
+        int i = hash(key) & mask;
+        for (int slot; (slot = tab[i]) != 0; i = (i + 1) & mask) {
+            if (keys[slot - 1] == key) {
+                return slot - 1;
+            }
+        }
+        if (count == keys.length) {
+            int capacity = Math.max(count * 2, 8);
+            keys = Arrays.copyOf(keys, capacity);
+            resizeValues(capacity);
+        }
+        int index = count++;
+        keys[index] = key;
+        tab[i] = index + 1;
+        if (count > threshold) {
+            rehash();
+        }
+        return ~index;
+    }
+
+    /**
+     * Doubles the index. This method is called automatically when the number of keys exceeds the capacity of the index
+     * and the load factor.
+     */
+    protected void rehash() {
+        resizeIndex(slots.length * 2);
+    }
+
+    /**
+     * Grows the array of the values to a new capacity.
+     *
+     * @param capacity the new capacity
+     */
+    abstract void resizeValues(int capacity);
+
+    private void resizeIndex(int length) {
+        int[] tab = new int[length];
+        int mask = length - 1;
+        for (int k = 0; k < count; ++k) {
+            int i = hash(keys[k]) & mask;
+            while (tab[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            tab[i] = k + 1;
+        }
+        slots = tab;
+        threshold = Math.min((int) (length * loadFactor), length - 1);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public Object clone() {
+        try {
+            IntKeyTable t = (IntKeyTable) super.clone();
+            t.keys = keys.clone();
+            t.slots = slots.clone();
+            return t;
+        } catch (CloneNotSupportedException e) {
+            // this shouldn't happen, since we are Cloneable
+            throw new InternalError();
+        }
+    }
+}
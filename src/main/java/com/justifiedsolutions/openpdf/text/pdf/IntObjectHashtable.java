@@ -0,0 +1,107 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive ints to objects, the counterpart of {@link IntHashtable} for the maps of the font
+ * subsetting that used boxed <code>Integer</code> keys. A key can be mapped to <code>null</code>, which is not the same
+ * as a missing key. {@link #getKeys()} returns the keys in the order they were added.
+ *
+ * @param <V> the type of the values
+ */
+class IntObjectHashtable<V> extends IntKeyTable {
+
+    private Object[] values;
+
+    /**
+     * Constructs a new, empty hashtable with a default capacity of 16.
+     */
+    IntObjectHashtable() {
+        this(16);
+    }
+
+    /**
+     * Constructs a new, empty hashtable.
+     *
+     * @param initialCapacity the number of keys the hashtable holds before it grows
+     */
+    IntObjectHashtable(int initialCapacity) {
+        super(initialCapacity, 0.75f);
+        values = new Object[keys.length];
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped.
+     *
+     * @param key a key in the hashtable
+     * @return the value, <code>null</code> if the key is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    /**
+     * Maps the specified key to the specified value.
+     *
+     * @param key   the key
+     * @param value the value, may be <code>null</code>
+     * @return the previous value of the key, <code>null</code> if it did not have one
+     */
+    @SuppressWarnings("unchecked")
+    V put(int key, V value) {
+        int index = insert(key);
+        if (index < 0) {
+            values[~index] = value;
+            return null;
+        }
+        V old = (V) values[index];
+        values[index] = value;
+        return old;
+    }
+
+    /**
+     * Adds a key mapped to <code>null</code> if it isn't there yet.
+     *
+     * @param key the key
+     * @return <code>true</code> if the key was added
+     */
+    boolean add(int key) {
+        return insert(key) < 0;
+    }
+
+    /**
+     * Gets the values in the order their keys were added.
+     *
+     * @param a an array of the type of the values, used when it is large enough
+     * @return the values, followed by the rest of <code>a</code> when it is longer
+     */
+    @SuppressWarnings("unchecked")
+    V[] getValues(V[] a) {
+        if (a.length < count) {
+            return (V[]) Arrays.copyOf(values, count, a.getClass());
+        }
+        System.arraycopy(values, 0, a, 0, count);
+        return a;
+    }
+
+    @Override
+    void resizeValues(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    public Object clone() {
+        @SuppressWarnings("unchecked")
+        IntObjectHashtable<V> t = (IntObjectHashtable<V>) super.clone();
+        t.values = values.clone();
+        return t;
+    }
+}
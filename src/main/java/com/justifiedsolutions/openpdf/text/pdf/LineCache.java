@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Keeps the lines a {@link BidiLine} broke a text into, together with the width each line was broken at. The copies
+ * of a {@link ColumnText} share the cache of the text they start at, so a text that is measured, split and written is
+ * only broken into lines once: the copies take the lines from the cache as long as they ask for the same widths. The
+ * lines are only added to, never changed, because a copy can be at any line of the cache. The copies can be laid out
+ * concurrently: a line is only added by the first copy that breaks it.
+ */
+final class LineCache {
+
+    private final ArrayList<PdfLine> lines = new ArrayList<>();
+    private float[] widths = new float[8];
+    private boolean end;
+
+    /**
+     * Gets the number of lines in the cache.
+     *
+     * @return the number of lines
+     */
+    synchronized int size() {
+        return lines.size();
+    }
+
+    /**
+     * Gets a line.
+     *
+     * @param idx the index of the line
+     * @return the line
+     */
+    synchronized PdfLine getLine(int idx) {
+        return lines.get(idx);
+    }
+
+    /**
+     * Gets the width a line was broken at.
+     *
+     * @param idx the index of the line
+     * @return the width
+     */
+    synchronized float getWidth(int idx) {
+        return widths[idx];
+    }
+
+    /**
+     * Adds a line of the text if it is the next line of the cache. A line another copy added first is kept.
+     *
+     * @param idx   the index of the line
+     * @param line  the line
+     * @param width the width the line was broken at
+     */
+    synchronized void add(int idx, PdfLine line, float width) {
+        if (idx != lines.size()) {
+            return;
+        }
+        if (idx == widths.length) {
+            widths = Arrays.copyOf(widths, idx * 2);
+        }
+        widths[idx] = width;
+        lines.add(line);
+    }
+
+    /**
+     * Tells if the text ends after the last line in the cache.
+     *
+     * @return true if there is no text after the last line
+     */
+    synchronized boolean isEnd() {
+        return end;
+    }
+
+    /**
+     * Marks that the text ends after the last line in the cache.
+     */
+    synchronized void setEnd() {
+        end = true;
+    }
+}
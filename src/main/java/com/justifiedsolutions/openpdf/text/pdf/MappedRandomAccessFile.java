@@ -48,39 +48,69 @@
  */
 package com.justifiedsolutions.openpdf.text.pdf;
 
+import com.justifiedsolutions.openpdf.text.MessageLocalization;
+
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.concurrent.locks.StampedLock;
 
 /**
- * A {@link java.nio.MappedByteBuffer} wrapped as a {@link java.io.RandomAccessFile}
+ * A {@link java.nio.MappedByteBuffer} wrapped as a {@link java.io.RandomAccessFile}. The file is mapped in segments of
+ * at most 1 GB, so files larger than 2 GB can be read with <CODE>long</CODE> positions. The segments are unmapped
+ * when the file is closed, so the file isn't held open until they are garbage collected. Every read holds a read lock
+ * while it uses the segments and {@link #close()} waits for the reads in progress, so a segment is never read after it
+ * was unmapped.
  *
  * @author Joakim Sandstroem
  * Created on 6.9.2006
  */
 public class MappedRandomAccessFile {
-    
-    private MappedByteBuffer mappedByteBuffer = null;
+
+    /**
+     * The size of the mapped segments is <CODE>1 &lt;&lt; SEGMENT_SHIFT</CODE> bytes.
+     */
+    static final int SEGMENT_SHIFT = 30;
+
+    private final int segmentShift;
+    private final long segmentMask;
+    private MappedByteBuffer[] segments;
+    /**
+     * Held for reading while the segments are used and for writing while they are unmapped.
+     */
+    private final StampedLock lock = new StampedLock();
     private FileChannel channel = null;
+    private long length;
+    private long position;
     
     /**
      * Constructs a new MappedRandomAccessFile instance
      * @param filename String
      * @param mode String r, w or rw
-     * @throws FileNotFoundException
-     * @throws IOException
+     * @throws IOException if the file could not be opened or mapped
      */
     public MappedRandomAccessFile(String filename, String mode)
     throws IOException {
-        
+        this(filename, mode, SEGMENT_SHIFT);
+    }
+
+    /**
+     * Constructs a new MappedRandomAccessFile instance with segments of a given size.
+     * @param filename String
+     * @param mode String r, w or rw
+     * @param segmentShift the size of the segments is <CODE>1 &lt;&lt; segmentShift</CODE> bytes
+     * @throws IOException if the file could not be opened or mapped
+     */
+    MappedRandomAccessFile(String filename, String mode, int segmentShift)
+    throws IOException {
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
         if (mode.equals("rw"))
             init(
                     new java.io.RandomAccessFile(filename, mode).getChannel(),
@@ -93,33 +123,55 @@ public class MappedRandomAccessFile {
     }
     
     /**
-     * initializes the channel and mapped bytebuffer
+     * initializes the channel and the mapped segments
      * @param channel FileChannel
      * @param mapMode FileChannel.MapMode
      * @throws IOException
      */
     private void init(FileChannel channel, FileChannel.MapMode mapMode)
     throws IOException {
-
-        if (channel.size() > Integer.MAX_VALUE) throw new PdfException("The PDF file is too large. Max 2GB. Size: " + channel.size());
-
         this.channel = channel;
-        this.mappedByteBuffer = channel.map(mapMode, 0L, channel.size());
-        mappedByteBuffer.load();
+        this.length = channel.size();
+        int count = (int) ((length + segmentMask) >>> segmentShift);
+        MappedByteBuffer[] mapped = new MappedByteBuffer[count];
+        try {
+            for (int k = 0; k < count; ++k) {
+                long start = (long) k << segmentShift;
+                mapped[k] = channel.map(mapMode, start, Math.min(length - start, segmentMask + 1));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (MappedByteBuffer buffer : mapped) {
+                clean(buffer);
+            }
+            channel.close();
+            throw e;
+        }
+        this.segments = mapped;
+    }
+
+    private MappedByteBuffer[] getSegments() throws IOException {
+        MappedByteBuffer[] mapped = segments;
+        if (mapped == null)
+            throw new IOException(MessageLocalization.getComposedMessage("the.file.is.closed"));
+        return mapped;
     }
 
     /**
      * @see java.io.RandomAccessFile#read()
      * @return int next integer or -1 on EOF
+     * @throws IOException if the file is closed
      */
-    public int read() {
+    public int read() throws IOException {
+        long stamp = lock.readLock();
         try {
-            byte b = mappedByteBuffer.get();
-            int n = b & 0xff;
-            
+            MappedByteBuffer[] mapped = getSegments();
+            if (position >= length)
+                return -1; // EOF
+            int n = mapped[(int) (position >>> segmentShift)].get((int) (position & segmentMask)) & 0xff;
+            ++position;
             return n;
-        } catch (BufferUnderflowException e) {
-            return -1; // EOF
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
     
@@ -129,18 +181,30 @@ public class MappedRandomAccessFile {
      * @param off int offset
      * @param len int length
      * @return int bytes read or -1 on EOF
+     * @throws IOException if the file is closed
      */
-    public int read(byte[] bytes, int off, int len) {
-        int pos = mappedByteBuffer.position();
-        int limit = mappedByteBuffer.limit();
-        if (pos == limit)
-            return -1; // EOF
-        int newlimit = pos + len - off;
-        if (newlimit > limit) {
-            len = limit - pos; // don't read beyond EOF
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        long stamp = lock.readLock();
+        try {
+            MappedByteBuffer[] mapped = getSegments();
+            if (position >= length)
+                return -1; // EOF
+            if (len > length - position)
+                len = (int) (length - position); // don't read beyond EOF
+            int read = 0;
+            while (read < len) {
+                int inSegment = (int) (position & segmentMask);
+                int count = (int) Math.min(len - read, segmentMask + 1 - inSegment);
+                MappedByteBuffer segment = mapped[(int) (position >>> segmentShift)];
+                segment.position(inSegment);
+                segment.get(bytes, off + read, count);
+                position += count;
+                read += count;
+            }
+            return len;
+        } finally {
+            lock.unlockRead(stamp);
         }
-        mappedByteBuffer.get(bytes, off, len);
-        return len;
     }
     
     /**
@@ -148,7 +212,7 @@ public class MappedRandomAccessFile {
      * @return long
      */
     public long getFilePointer() {
-        return mappedByteBuffer.position();
+        return position;
     }
     
     /**
@@ -156,7 +220,7 @@ public class MappedRandomAccessFile {
      * @param pos long position
      */
     public void seek(long pos) {
-        mappedByteBuffer.position((int) pos);
+        position = pos;
     }
     
     /**
@@ -164,38 +228,42 @@ public class MappedRandomAccessFile {
      * @return long length
      */
     public long length() {
-        return mappedByteBuffer.limit();
+        return length;
     }
     
     /**
      * @see java.io.RandomAccessFile#close()
-     * Cleans the mapped bytebuffer and closes the channel
+     * Waits for the reads in progress, unmaps the segments and closes the channel. A read after this throws an
+     * <CODE>IOException</CODE>.
      */
     public void close() throws IOException {
-        clean(mappedByteBuffer);
-        mappedByteBuffer = null;
-        if (channel != null)
-            channel.close();
-        channel = null;
+        long stamp = lock.writeLock();
+        try {
+            MappedByteBuffer[] mapped = segments;
+            segments = null;
+            if (mapped != null) {
+                for (MappedByteBuffer buffer : mapped) {
+                    clean(buffer);
+                }
+            }
+            if (channel != null)
+                channel.close();
+            channel = null;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
-    
+
     /**
-     * invokes the clean method on the ByteBuffer's cleaner
-     * @param buffer ByteBuffer
-     * @return boolean true on success
+     * Unmaps a buffer. The buffer must not be used afterwards.
+     * @param buffer the buffer to unmap
+     * @return <CODE>true</CODE> if the buffer was unmapped, <CODE>false</CODE> if it is left to the garbage collector
      */
-    public static boolean clean(final java.nio.ByteBuffer buffer) {
+    static boolean clean(final ByteBuffer buffer) {
         if (buffer == null || !buffer.isDirect()) {
             return false;
         }
-        if (cleanJava9(buffer)) {
-            return true;
-        }
-        return cleanOldsJDK(buffer);
-    }
-    
-    private static boolean cleanJava9(final java.nio.ByteBuffer buffer) {
-        Boolean b = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
+        return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
             Boolean success = Boolean.FALSE;
             try {
                 final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
@@ -207,31 +275,10 @@ public class MappedRandomAccessFile {
                 invokeCleanerMethod.invoke(theUnsafe, buffer);
                 success = Boolean.TRUE;
             } catch (Exception ignore) {
-                // Ignore
+                // the mapping is released when the buffer is garbage collected
             }
             return success;
         });
-        
-        return b;
     }
 
-    private static boolean cleanOldsJDK(final java.nio.ByteBuffer buffer) {
-        Boolean b = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
-            Boolean success = Boolean.FALSE;
-            try {
-                Method getCleanerMethod = buffer.getClass()
-                        .getMethod("cleaner", (Class[]) null);
-                Object cleaner = getCleanerMethod.invoke(buffer, (Object[])null);
-                Method clean = cleaner.getClass().getMethod("clean", (Class[])null);
-                clean.invoke(cleaner, (Object[])null);
-                success = Boolean.TRUE;
-            } catch (Exception e) {
-                // Ignore
-            }
-            return success;
-        });
-        
-        return b;
-    }
-    
 }
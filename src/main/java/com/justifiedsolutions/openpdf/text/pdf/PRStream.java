@@ -56,20 +56,59 @@ import java.io.OutputStream;
 public class PRStream extends PdfStream {
     
     protected PdfReader reader;
-    protected int offset;
+    protected long offset;
     protected int length;
 
-    public PRStream(PdfReader reader, int offset) {
+    public PRStream(PdfReader reader, long offset) {
         this.reader = reader;
         this.offset = offset;
     }
 
+    /**
+     * Creates a stream with the same content as another stream but a different dictionary.
+     *
+     * @param stream the stream to take the content from
+     * @param newDic the dictionary of the new stream or <CODE>null</CODE> to copy the dictionary
+     *               of <CODE>stream</CODE>
+     */
+    public PRStream(PRStream stream, PdfDictionary newDic) {
+        reader = stream.reader;
+        bytes = stream.bytes;
+        offset = stream.offset;
+        length = stream.length;
+        compressed = stream.compressed;
+        compressionLevel = stream.compressionLevel;
+        if (newDic != null)
+            putAll(newDic);
+        else
+            putAll(stream);
+    }
+
+    /**
+     * Creates a stream holding the given content.
+     *
+     * @param reader           the reader the content comes from
+     * @param conts            the content of the stream, not encoded
+     * @param compressionLevel the compression level for the content
+     */
+    public PRStream(PdfReader reader, byte[] conts, int compressionLevel) {
+        this.reader = reader;
+        this.offset = -1;
+        bytes = conts;
+        flateCompress(compressionLevel);
+        if (streamBytes != null) {
+            bytes = streamBytes.toByteArray();
+            streamBytes = null;
+        }
+        setLength(bytes.length);
+    }
+
     public void setLength(int length) {
         this.length = length;
         put(PdfName.LENGTH, new PdfNumber(length));
     }
     
-    public int getOffset() {
+    public long getOffset() {
         return offset;
     }
     
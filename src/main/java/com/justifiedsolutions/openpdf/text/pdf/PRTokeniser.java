@@ -99,32 +99,62 @@ public class PRTokeniser {
     
     static final String EMPTY = "";
 
-    
+    /**
+     * The largest number of digits parsed directly from the token bytes. A <CODE>long</CODE> holds the mantissa exactly
+     * and a <CODE>double</CODE> holds it without rounding.
+     */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    /**
+     * The powers of ten a <CODE>double</CODE> holds exactly.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
     protected RandomAccessFileOrArray file;
     protected int type;
+    /**
+     * The string value of the current token, created from the token bytes when it is asked for.
+     */
     protected String stringValue;
     protected int reference;
     protected int generation;
     protected boolean hexString;
 
+    /**
+     * The bytes of the current token. The buffer is reused for every token, so only the first
+     * <CODE>tokenLength</CODE> bytes are valid and only until the next token is read.
+     */
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    /**
+     * Holds the first number of a possible indirect reference while the next tokens are read.
+     */
+    private byte[] savedToken = new byte[64];
+    private int savedLength;
+
     public PRTokeniser(byte[] pdfIn) {
         file = new RandomAccessFileOrArray(pdfIn);
     }
 
-    public void seek(int pos) throws IOException {
+    public PRTokeniser(RandomAccessFileOrArray file) {
+        this.file = file;
+    }
+
+    public void seek(long pos) throws IOException {
         file.seek(pos);
     }
     
-    public int getFilePointer() throws IOException {
-        return file.getFilePointer();
+    public long getFilePointer() throws IOException {
+        return file.getLongFilePointer();
     }
 
     public void close() throws IOException {
         file.close();
     }
     
-    public int length() throws IOException {
-        return file.length();
+    public long length() throws IOException {
+        return file.getLongLength();
     }
 
     public int read() throws IOException {
@@ -151,6 +181,39 @@ public class PRTokeniser {
         return buf.toString();
     }
 
+    /**
+     * Looks for the PDF header and makes the positions relative to it.
+     *
+     * @return the minor version of the PDF
+     * @throws IOException if the header is not found
+     */
+    public char checkPdfHeader() throws IOException {
+        file.setStartOffset(0);
+        String str = readString(1024);
+        int idx = str.indexOf("%PDF-");
+        if (idx < 0)
+            throw new InvalidPdfException(MessageLocalization.getComposedMessage("pdf.header.not.found"));
+        file.setStartOffset(idx);
+        return str.charAt(idx + 7);
+    }
+
+    /**
+     * Gets the position of the last <CODE>startxref</CODE> keyword.
+     *
+     * @return the position of the keyword
+     * @throws IOException if the keyword is not found
+     */
+    public long getStartxref() throws IOException {
+        long length = file.getLongLength();
+        long pos = length - Math.min(1024, length);
+        file.seek(pos);
+        String str = readString(1024);
+        int idx = str.lastIndexOf("startxref");
+        if (idx < 0)
+            throw new InvalidPdfException(MessageLocalization.getComposedMessage("pdf.startxref.not.found"));
+        return pos + idx;
+    }
+
     public static boolean isWhitespace(int ch) {
         return (ch == 0 || ch == 9 || ch == 10 || ch == 12 || ch == 13 || ch == 32);
     }
@@ -160,8 +223,80 @@ public class PRTokeniser {
     }
     
     public String getStringValue() {
+        if (stringValue == null) {
+            if (tokenLength == 0) {
+                return EMPTY;
+            }
+            char[] chars = new char[tokenLength];
+            for (int k = 0; k < tokenLength; ++k) {
+                chars[k] = (char) (token[k] & 0xff);
+            }
+            stringValue = new String(chars);
+        }
         return stringValue;
     }
+
+    /**
+     * Gets the bytes of the current token. For names and strings the escapes are already resolved. The array is
+     * reused for the next token and only the first {@link #getTokenLength()} bytes belong to the current token.
+     *
+     * @return the buffer holding the current token
+     */
+    public byte[] getTokenBytes() {
+        return token;
+    }
+
+    /**
+     * Gets the number of bytes of the current token.
+     *
+     * @return the length of the current token
+     */
+    public int getTokenLength() {
+        return tokenLength;
+    }
+
+    /**
+     * Checks if the current token is the given keyword without creating a <CODE>String</CODE> for the token.
+     *
+     * @param keyword the keyword, only US-ASCII characters
+     * @return <CODE>true</CODE> if the token has the same characters as the keyword
+     */
+    public boolean tokenEquals(String keyword) {
+        int length = keyword.length();
+        if (length != tokenLength) {
+            return false;
+        }
+        for (int k = 0; k < length; ++k) {
+            if (token[k] != keyword.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void append(int ch) {
+        if (tokenLength == token.length) {
+            byte[] larger = new byte[token.length << 1];
+            System.arraycopy(token, 0, larger, 0, tokenLength);
+            token = larger;
+        }
+        token[tokenLength++] = (byte) ch;
+    }
+
+    private void saveToken() {
+        byte[] b = savedToken;
+        savedToken = token;
+        savedLength = tokenLength;
+        token = b;
+    }
+
+    private void restoreToken() {
+        byte[] b = token;
+        token = savedToken;
+        tokenLength = savedLength;
+        savedToken = b;
+        stringValue = null;
+    }
     
     public int getReference() {
         return reference;
@@ -177,7 +312,7 @@ public class PRTokeniser {
     }
     
     public void throwError(String error) throws IOException {
-        throw new InvalidPdfException(MessageLocalization.getComposedMessage("1.at.file.pointer.2", error, String.valueOf(file.getFilePointer())));
+        throw new InvalidPdfException(MessageLocalization.getComposedMessage("1.at.file.pointer.2", error, String.valueOf(file.getLongFilePointer())));
     }
 
     public static int getHex(int v) {
@@ -192,9 +327,8 @@ public class PRTokeniser {
     
     public void nextValidToken() throws IOException {
         int level = 0;
-        String n1 = null;
-        String n2 = null;
-        int ptr = 0;
+        int n2 = 0;
+        long ptr = 0;
         while (nextToken() || level == 2) {
             if (type == TK_COMMENT)
                 continue;
@@ -203,34 +337,34 @@ public class PRTokeniser {
                 {
                     if (type != TK_NUMBER)
                         return;
-                    ptr = file.getFilePointer();
-                    n1 = stringValue;
+                    ptr = file.getLongFilePointer();
+                    saveToken();
                     ++level;
                     break;
                 }
                 case 1:
                 {
-                    if (type != TK_NUMBER) {
+                    if (type != TK_NUMBER || !isInteger(token, tokenLength)) {
                         file.seek(ptr);
                         type = TK_NUMBER;
-                        stringValue = n1;
+                        restoreToken();
                         return;
                     }
-                    n2 = stringValue;
+                    n2 = parseInt(token, tokenLength);
                     ++level;
                     break;
                 }
                 default:
                 {
-                    if (type != TK_OTHER || !stringValue.equals("R")) {
+                    if (type != TK_OTHER || !tokenEquals("R") || !isInteger(savedToken, savedLength)) {
                         file.seek(ptr);
                         type = TK_NUMBER;
-                        stringValue = n1;
+                        restoreToken();
                         return;
                     }
                     type = TK_REF;
-                    reference = Integer.parseInt(n1);
-                    generation = Integer.parseInt(n2);
+                    reference = parseInt(savedToken, savedLength);
+                    generation = n2;
                     return;
                 }
             }
@@ -239,7 +373,7 @@ public class PRTokeniser {
         if (level > 0) {
             type = TK_NUMBER;
             file.seek(ptr);
-            stringValue = n1;
+            restoreToken();
             return;
         }
 //                if (type == TK_ENDOFFILE && level > 0)
@@ -265,11 +399,11 @@ public class PRTokeniser {
             return false;
         }
 
-        // Note:  We have to initialize stringValue here, after we've looked for the end of the stream,
+        // Note:  We have to initialize the token here, after we've looked for the end of the stream,
         // to ensure that we don't lose the value of a token that might end exactly at the end
         // of the stream
-        StringBuffer outBuf = null;
-        stringValue = EMPTY;
+        tokenLength = 0;
+        stringValue = null;
 
         switch (ch) {
             case '[':
@@ -280,7 +414,6 @@ public class PRTokeniser {
                 break;
             case '/':
             {
-                outBuf = new StringBuffer();
                 type = TK_NAME;
                 while (true) {
                     ch = file.read();
@@ -289,7 +422,7 @@ public class PRTokeniser {
                     if (ch == '#') {
                         ch = (getHex(file.read()) << 4) + getHex(file.read());
                     }
-                    outBuf.append((char)ch);
+                    append(ch);
                 }
                 backOnePosition(ch);
                 break;
@@ -310,7 +443,6 @@ public class PRTokeniser {
                     type = TK_START_DIC;
                     break;
                 }
-                outBuf = new StringBuffer();
                 type = TK_STRING;
                 hexString = true;
                 int v2 = 0;
@@ -327,14 +459,14 @@ public class PRTokeniser {
                         v2 = file.read();
                     if (v2 == '>') {
                         ch = v1 << 4;
-                        outBuf.append((char)ch);
+                        append(ch);
                         break;
                     }
                     v2 = getHex(v2);
                     if (v2 < 0)
                         break;
                     ch = (v1 << 4) + v2;
-                    outBuf.append((char)ch);
+                    append(ch);
                     v1 = file.read();
                 }
                 if (v1 < 0 || v2 < 0)
@@ -349,7 +481,6 @@ public class PRTokeniser {
                 break;
             case '(':
             {
-                outBuf = new StringBuffer();
                 type = TK_STRING;
                 hexString = false;
                 int nesting = 0;
@@ -435,7 +566,7 @@ public class PRTokeniser {
                     }
                     if (nesting == -1)
                         break;
-                    outBuf.append((char)ch);
+                    append(ch);
                 }
                 if (ch == -1)
                     throwError(MessageLocalization.getComposedMessage("error.reading.string"));
@@ -443,18 +574,17 @@ public class PRTokeniser {
             }
             default:
             {
-                outBuf = new StringBuffer();
                 if (ch == '-' || ch == '+' || ch == '.' || (ch >= '0' && ch <= '9')) {
                     type = TK_NUMBER;
                     do {
-                        outBuf.append((char)ch);
+                        append(ch);
                         ch = file.read();
                     } while (ch != -1 && ((ch >= '0' && ch <= '9') || ch == '.'));
                 }
                 else {
                     type = TK_OTHER;
                     do {
-                        outBuf.append((char)ch);
+                        append(ch);
                         ch = file.read();
                     } while (!delims[ch + 1]);
                 }
@@ -462,13 +592,104 @@ public class PRTokeniser {
                 break;
             }
         }
-        if (outBuf != null)
-            stringValue = outBuf.toString();
         return true;
     }
     
     public int intValue() {
-        return Integer.parseInt(stringValue);
+        if (isInteger(token, tokenLength)) {
+            return parseInt(token, tokenLength);
+        }
+        return Integer.parseInt(getStringValue());
+    }
+
+    /**
+     * Gets the value of the current number token as a <CODE>long</CODE>, for the positions in files larger than
+     * 2 GB.
+     *
+     * @return the value of the number
+     * @throws NumberFormatException if the token is not an integer
+     */
+    public long longValue() {
+        if (isInteger(token, tokenLength)) {
+            return parseInt(token, tokenLength);
+        }
+        return Long.parseLong(getStringValue());
+    }
+
+    /**
+     * Gets the value of the current number token, parsed from the token bytes where this gives the same result as
+     * <CODE>Double.parseDouble</CODE>.
+     *
+     * @return the value of the number
+     * @throws NumberFormatException if the token is not a number
+     */
+    public double doubleValue() {
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        int k = 0;
+        boolean negative = false;
+        if (tokenLength > 0 && (token[0] == '-' || token[0] == '+')) {
+            negative = token[0] == '-';
+            k = 1;
+        }
+        for (; k < tokenLength; ++k) {
+            int b = token[k];
+            if (b == '.') {
+                if (decimals >= 0) {
+                    return Double.parseDouble(getStringValue());
+                }
+                decimals = 0;
+                continue;
+            }
+            if (b < '0' || b > '9' || ++digits > MAX_FAST_DIGITS) {
+                return Double.parseDouble(getStringValue());
+            }
+            mantissa = mantissa * 10 + (b - '0');
+            if (decimals >= 0) {
+                ++decimals;
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(getStringValue());
+        }
+        double value = decimals > 0 ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Checks if the bytes are a number that <CODE>Integer.parseInt</CODE> accepts.
+     */
+    private static boolean isInteger(byte[] b, int length) {
+        int k = 0;
+        if (length > 0 && (b[0] == '-' || b[0] == '+')) {
+            k = 1;
+        }
+        if (k == length || length - k > 10) {
+            return false;
+        }
+        long value = 0;
+        for (int i = k; i < length; ++i) {
+            if (b[i] < '0' || b[i] > '9') {
+                return false;
+            }
+            value = value * 10 + (b[i] - '0');
+        }
+        return b[0] == '-' ? -value >= Integer.MIN_VALUE : value <= Integer.MAX_VALUE;
+    }
+
+    private static int parseInt(byte[] b, int length) {
+        int k = 0;
+        boolean negative = false;
+        if (b[0] == '-' || b[0] == '+') {
+            negative = b[0] == '-';
+            k = 1;
+        }
+        int value = 0;
+        for (; k < length; ++k) {
+            value = value * 10 - (b[k] - '0');
+        }
+        return negative ? value : -value;
     }
     
     public boolean readLineSegment(byte[] input) throws IOException {
@@ -490,7 +711,7 @@ public class PRTokeniser {
                     break;
                 case '\r':
                     eol = true;
-                    int cur = getFilePointer();
+                    long cur = getFilePointer();
                     if ((read()) != '\n') {
                         seek(cur);
                     }
@@ -517,7 +738,7 @@ public class PRTokeniser {
                         break;
                     case '\r':
                         eol = true;
-                        int cur = getFilePointer();
+                        long cur = getFilePointer();
                         if ((read()) != '\n') {
                             seek(cur);
                         }
@@ -66,6 +66,11 @@ class PageResources {
         return name;
     }
 
+    PdfName addXObject(PdfName name, PdfIndirectReference reference) {
+        xObjectDictionary.put(name, reference);
+        return name;
+    }
+
     PdfName addColor(PdfName name, PdfIndirectReference reference) {
         colorDictionary.put(name, reference);
         return name;
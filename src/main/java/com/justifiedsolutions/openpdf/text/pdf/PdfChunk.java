@@ -67,7 +67,6 @@ import java.util.Map;
 class PdfChunk {
 
     private static final char[] singleSpace = {' '};
-    private static final PdfChunk[] thisChunk = new PdfChunk[1];
     private static final float ITALIC_ANGLE = 0.21256f;
 /** The allowed attributes in variable <CODE>attributes</CODE>. */
     private static final Map<String, Object> keysAttributes = new HashMap<>();
@@ -94,6 +93,14 @@ class PdfChunk {
 
     /** The value of this object. */
     protected String value;
+
+    /**
+     * The text the value of a chunk split off another one starts in, and the index it starts at. The value is only
+     * copied out of it when it is needed, so splitting a long text into lines doesn't copy the rest of the text for
+     * every line. <CODE>null</CODE> once the value is set.
+     */
+    private String source;
+    private int start;
     
     /** The encoding. */
     protected String encoding;
@@ -111,7 +118,7 @@ class PdfChunk {
  * This attributes require the measurement of characters widths when rendering
  * such as underline.
  */
-    protected Map<String, Object> attributes = new HashMap<>();
+    protected Map<String, Object> attributes;
     
 /**
  * Non metric attributes.
@@ -119,7 +126,7 @@ class PdfChunk {
  * This attributes do not require the measurement of characters widths when rendering
  * such as Color.
  */
-    protected Map<String, Object> noStroke = new HashMap<>();
+    protected Map<String, Object> noStroke;
     
 /** <CODE>true</CODE> if the chunk split was cause by a newline. */
     protected boolean newlineSplit;
@@ -134,16 +141,31 @@ class PdfChunk {
  */
     
     PdfChunk(String string, PdfChunk other) {
-        thisChunk[0] = this;
+        this(other);
         value = string;
+    }
+
+/**
+ * Constructs a <CODE>PdfChunk</CODE>-object with the end of a text.
+ *
+ * @param source the text
+ * @param start the index the text of the new <CODE>PdfChunk</CODE> starts at
+ * @param other Chunk with the same style you want for the new Chunk
+ */
+
+    private PdfChunk(String source, int start, PdfChunk other) {
+        this(other);
+        this.source = source;
+        this.start = start;
+    }
+
+    private PdfChunk(PdfChunk other) {
         this.font = other.font;
         this.attributes = other.attributes;
         this.noStroke = other.noStroke;
         this.baseFont = other.baseFont;
-        encoding = font.getFont().getEncoding();
-        splitCharacter = (SplitCharacter)noStroke.get(Chunk.SPLITCHARACTER);
-        if (splitCharacter == null)
-            splitCharacter = DefaultSplitCharacter.DEFAULT;
+        this.encoding = other.encoding;
+        this.splitCharacter = other.splitCharacter;
     }
     
 /**
@@ -153,8 +175,9 @@ class PdfChunk {
  */
     
     PdfChunk(Chunk chunk) {
-        thisChunk[0] = this;
         value = chunk.getContent();
+        attributes = new HashMap<>();
+        noStroke = new HashMap<>();
         
         Font f = chunk.getFont();
         float size = f.getSize();
@@ -249,7 +272,16 @@ class PdfChunk {
     PdfChunk split(float width) {
         newlineSplit = false;
         HyphenationEvent hyphenationEvent = (HyphenationEvent)noStroke.get(Chunk.HYPHENATION);
-        int currentPosition = 0;
+        BaseFont ft = font.getFont();
+        boolean cjk = ft.getFontType() == BaseFont.FONT_TYPE_CJK && ft.getUnicodeEquivalent(' ') != ' ';
+        // only a split character other than the default one needs the characters in an array
+        char[] valueArray = null;
+        if (cjk || splitCharacter != DefaultSplitCharacter.DEFAULT)
+            valueArray = text().toCharArray();
+        // the text is split where it is, the rest of it isn't copied
+        String text = value != null ? value : source;
+        int begin = value != null ? 0 : start;
+        int currentPosition = begin;
         int splitPosition = -1;
         float currentWidth = 0;
         
@@ -257,12 +289,11 @@ class PdfChunk {
         // or until the totalWidth is reached
         int lastSpace = -1;
         float lastSpaceWidth = 0;
-        int length = value.length();
-        char[] valueArray = value.toCharArray();
+        int length = text.length();
         char character;
-        BaseFont ft = font.getFont();
         boolean surrogate;
-        if (ft.getFontType() == BaseFont.FONT_TYPE_CJK && ft.getUnicodeEquivalent(' ') != ' ') {
+        if (cjk) {
+            PdfChunk[] thisChunk = {this};
             while (currentPosition < length) {
                 // the width of every character is added to the currentWidth
                 char cidChar = valueArray[currentPosition];
@@ -270,12 +301,12 @@ class PdfChunk {
                 // if a newLine or carriageReturn is encountered
                 if (character == '\n') {
                     newlineSplit = true;
-                    String returnValue = value.substring(currentPosition + 1);
-                    value = value.substring(0, currentPosition);
+                    source = null;
+                    value = text.substring(0, currentPosition);
                     if (value.length() < 1) {
                         value = "\u0001";
                     }
-                    return new PdfChunk(returnValue, this);
+                    return new PdfChunk(text, currentPosition + 1, this);
                 }
                 currentWidth += getCharWidth(cidChar);
                 if (character == ' ') {
@@ -293,23 +324,23 @@ class PdfChunk {
         else {
             while (currentPosition < length) {
                 // the width of every character is added to the currentWidth
-                character = valueArray[currentPosition];
+                character = text.charAt(currentPosition);
                 // if a newLine or carriageReturn is encountered
                 if (character == '\r' || character == '\n') {
                     newlineSplit = true;
                     int inc = 1;
-                    if (character == '\r' && currentPosition + 1 < length && valueArray[currentPosition + 1] == '\n')
+                    if (character == '\r' && currentPosition + 1 < length && text.charAt(currentPosition + 1) == '\n')
                         inc = 2;
-                    String returnValue = value.substring(currentPosition + inc);
-                    value = value.substring(0, currentPosition);
+                    source = null;
+                    value = text.substring(begin, currentPosition);
                     if (value.length() < 1) {
                         value = " ";
                     }
-                    return new PdfChunk(returnValue, this);
+                    return new PdfChunk(text, currentPosition + inc, this);
                 }
-                surrogate = Utilities.isSurrogatePair(valueArray, currentPosition);
+                surrogate = Utilities.isSurrogatePair(text, currentPosition);
                 if (surrogate)
-                    currentWidth += getCharWidth(Utilities.convertToUtf32(valueArray[currentPosition], valueArray[currentPosition + 1]));
+                    currentWidth += getCharWidth(Utilities.convertToUtf32(text, currentPosition));
                 else
                     currentWidth += getCharWidth(character);
                 if (character == ' ') {
@@ -321,7 +352,8 @@ class PdfChunk {
                 if (currentWidth > width)
                     break;
                 // if a split-character is encountered, the splitPosition is altered
-                if (splitCharacter.isSplitCharacter(currentPosition, valueArray, null))
+                if (valueArray == null ? DefaultSplitCharacter.isDefaultSplitCharacter(text.charAt(currentPosition))
+                        : splitCharacter.isSplitCharacter(currentPosition, valueArray, null))
                     splitPosition = currentPosition + 1;
                 currentPosition++;
             }
@@ -332,28 +364,27 @@ class PdfChunk {
             return null;
         }
         // otherwise, the string has to be truncated
+        source = null;
         if (splitPosition < 0) {
-            String returnValue = value;
             value = "";
-            return new PdfChunk(returnValue, this);
+            return new PdfChunk(text, begin, this);
         }
         if (lastSpace > splitPosition && splitCharacter.isSplitCharacter(0, singleSpace, null))
             splitPosition = lastSpace;
         if (hyphenationEvent != null && lastSpace >= 0 && lastSpace < currentPosition) {
-            int wordIdx = getWord(value, lastSpace);
+            int wordIdx = getWord(text, lastSpace);
             if (wordIdx > lastSpace) {
-                String pre = hyphenationEvent.getHyphenatedWordPre(value.substring(lastSpace, wordIdx), font.getFont(), font.size(), width - lastSpaceWidth);
+                String pre = hyphenationEvent.getHyphenatedWordPre(text.substring(lastSpace, wordIdx), font.getFont(), font.size(), width - lastSpaceWidth);
                 String post = hyphenationEvent.getHyphenatedWordPost();
                 if (pre.length() > 0) {
-                    String returnValue = post + value.substring(wordIdx);
-                    value = trim(value.substring(0, lastSpace) + pre);
+                    String returnValue = post + text.substring(wordIdx);
+                    value = trim(text.substring(begin, lastSpace) + pre);
                     return new PdfChunk(returnValue, this);
                 }
             }
         }
-        String returnValue = value.substring(splitPosition);
-        value = trim(value.substring(0, splitPosition));
-        return new PdfChunk(returnValue, this);
+        value = text.substring(begin, trimmedEnd(text, begin, splitPosition));
+        return new PdfChunk(text, splitPosition, this);
     }
     
 /**
@@ -366,6 +397,7 @@ class PdfChunk {
  */
     
     PdfChunk truncate(float width) {
+        text();
         int currentPosition = 0;
         float currentWidth = 0;
         
@@ -443,9 +475,9 @@ class PdfChunk {
     float width() {
         if (isAttribute(Chunk.CHAR_SPACING)) {
             Float cs = (Float) getAttribute(Chunk.CHAR_SPACING);
-            return font.width(value) + value.length() * cs;
+            return font.width(text()) + length() * cs;
         }
-        return font.width(value);
+        return font.width(text());
     }
     
 /**
@@ -468,6 +500,7 @@ class PdfChunk {
     
     float getWidthCorrected(float charSpacing, float wordSpacing)
     {
+        text();
         int numberOfSpaces = 0;
         int idx = -1;
         while ((idx = value.indexOf(' ', idx + 1)) >= 0)
@@ -494,6 +527,7 @@ class PdfChunk {
     
     float trimLastSpace()
     {
+        text();
         BaseFont ft = font.getFont();
         if (ft.getFontType() == BaseFont.FONT_TYPE_CJK && ft.getUnicodeEquivalent(' ') != ' ') {
             if (value.length() > 1 && value.endsWith("\u0001")) {
@@ -512,15 +546,14 @@ class PdfChunk {
     void trimFirstSpace()
     {
         BaseFont ft = font.getFont();
-        if (ft.getFontType() == BaseFont.FONT_TYPE_CJK && ft.getUnicodeEquivalent(' ') != ' ') {
-            if (value.length() > 1 && value.startsWith("\u0001")) {
-                value = value.substring(1);
+        char space = ft.getFontType() == BaseFont.FONT_TYPE_CJK && ft.getUnicodeEquivalent(' ') != ' ' ? '\u0001' : ' ';
+        if (value == null) {
+            if (source.length() - start > 1 && source.charAt(start) == space) {
+                ++start;
             }
         }
-        else {
-            if (value.length() > 1 && value.startsWith(" ")) {
-                value = value.substring(1);
-            }
+        else if (value.length() > 1 && value.charAt(0) == space) {
+            value = value.substring(1);
         }
     }
     
@@ -578,6 +611,19 @@ class PdfChunk {
      * @see java.lang.Object#toString()
      */
     public String toString() {
+        return text();
+    }
+
+    /**
+     * Gets the value, copying it out of the text it was split from if it isn't copied yet.
+     *
+     * @return the value
+     */
+    private String text() {
+        if (value == null) {
+            value = source.substring(start);
+            source = null;
+        }
         return value;
     }
 
@@ -591,12 +637,13 @@ class PdfChunk {
     }
 
     int length() {
-        return value.length();
+        return value != null ? value.length() : source.length() - start;
     }
     
     int lengthUtf32() {
         if (!BaseFont.IDENTITY_H.equals(encoding))
-            return value.length();
+            return length();
+        text();
         int total = 0;
         int len = value.length();
         for (int k = 0; k < len; ++k) {
@@ -618,18 +665,30 @@ class PdfChunk {
  * @return    the trimmed <CODE>String</CODE>
  */    
     String trim(String string) {
+        return string.substring(0, trimmedEnd(string, 0, string.length()));
+    }
+
+/**
+ * Gets the end of a part of a <CODE>String</CODE> without the spaces on its right.
+ *
+ * @param string the <CODE>String</CODE>
+ * @param begin the index the part starts at
+ * @param end the index the part ends at
+ * @return the index the trimmed part ends at
+ */
+    private int trimmedEnd(String string, int begin, int end) {
         BaseFont ft = font.getFont();
         if (ft.getFontType() == BaseFont.FONT_TYPE_CJK && ft.getUnicodeEquivalent(' ') != ' ') {
-            while (string.endsWith("\u0001")) {
-                string = string.substring(0, string.length() - 1);
+            while (end > begin && string.charAt(end - 1) == '\u0001') {
+                --end;
             }
         }
         else {
-            while (string.endsWith(" ") || string.endsWith("\t")) {
-                string = string.substring(0, string.length() - 1);
+            while (end > begin && (string.charAt(end - 1) == ' ' || string.charAt(end - 1) == '\t')) {
+                --end;
             }
         }
-        return string;
+        return end;
     }
 
     float getCharWidth(int c) {
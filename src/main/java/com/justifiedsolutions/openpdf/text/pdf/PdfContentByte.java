@@ -170,6 +170,10 @@ public class PdfContentByte {
     protected int separator = '\n';
 
     private boolean inText = false;
+
+    /** The buffer the text is converted into before it is escaped. */
+    private ByteBuffer textBuffer;
+
     /** The list were we save/restore the layer depth */
     protected List<Integer> layerDepth;
 
@@ -881,8 +885,12 @@ public class PdfContentByte {
     private void showText2(String text) {
         if (state.fontDetails == null)
             throw new NullPointerException(MessageLocalization.getComposedMessage("font.and.size.must.be.set.before.writing.any.text"));
-        byte[] b = state.fontDetails.convertToBytes(text);
-        escapeString(b, content);
+        if (textBuffer == null) {
+            textBuffer = new ByteBuffer();
+        }
+        textBuffer.reset();
+        state.fontDetails.convertToBytes(text, textBuffer);
+        escapeString(textBuffer.getBuffer(), textBuffer.size(), content);
     }
 
     /**
@@ -967,8 +975,20 @@ public class PdfContentByte {
      * @param content the content
      */
     static void escapeString(byte[] b, ByteBuffer content) {
+        escapeString(b, b.length, content);
+    }
+
+    /**
+     * Escapes the first bytes of a <CODE>byte</CODE> array according to the PDF conventions.
+     *
+     * @param b the <CODE>byte</CODE> array to escape
+     * @param len the number of bytes to escape
+     * @param content the content
+     */
+    static void escapeString(byte[] b, int len, ByteBuffer content) {
         content.append_i('(');
-        for (byte c : b) {
+        for (int k = 0; k < len; ++k) {
+            byte c = b[k];
             switch (c) {
                 case '\r':
                     content.append("\\r");
@@ -1303,6 +1323,43 @@ public class PdfContentByte {
             prs.addColor(details.getColorName(), details.getIndirectReference());
     }
 
+    /**
+     * Adds a template to this content.
+     *
+     * @param template the template
+     * @param a an element of the transformation matrix
+     * @param b an element of the transformation matrix
+     * @param c an element of the transformation matrix
+     * @param d an element of the transformation matrix
+     * @param e an element of the transformation matrix
+     * @param f an element of the transformation matrix
+     */
+    public void addTemplate(PdfTemplate template, float a, float b, float c, float d, float e, float f) {
+        checkWriter();
+        PdfName name = writer.addDirectTemplateSimple(template, null);
+        PageResources prs = getPageResources();
+        name = prs.addXObject(name, template.getIndirectReference());
+        content.append("q ");
+        content.append(a).append(' ');
+        content.append(b).append(' ');
+        content.append(c).append(' ');
+        content.append(d).append(' ');
+        content.append(e).append(' ');
+        content.append(f).append(" cm ");
+        content.append(name.getBytes()).append(" Do Q").append_i(separator);
+    }
+
+    /**
+     * Adds a template to this content.
+     *
+     * @param template the template
+     * @param x the x location of this template
+     * @param y the y location of this template
+     */
+    public void addTemplate(PdfTemplate template, float x, float y) {
+        addTemplate(template, 1, 0, 0, 1, x, y);
+    }
+
     /** Check if we have a valid PdfWriter.
      *
      */
@@ -86,15 +86,19 @@ class PdfContents extends PdfStream {
             OutputStream out = null;
             Deflater deflater = null;
             streamBytes = new ByteArrayOutputStream();
-            if (PdfWriter.isCompressionEnabled())
+            PdfWriter writer = secondContent.getPdfWriter();
+            if (PdfWriter.isCompressionEnabled() && !writer.isPipelined())
             {
                 compressed = true;
-                compressionLevel = text.getPdfWriter().getCompressionLevel();
+                compressionLevel = writer.getCompressionLevel();
                 deflater = new Deflater(compressionLevel);
                 out = new DeflaterOutputStream(streamBytes, deflater);
             }
-            else
+            else {
+                // a pipelined writer compresses the page contents on its own thread
+                compressionLevel = writer.getCompressionLevel();
                 out = streamBytes;
+            }
             int rotation = page.getRotation();
             switch (rotation) {
                 case 90:
@@ -51,8 +51,10 @@ package com.justifiedsolutions.openpdf.text.pdf;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 /**
  * <CODE>PdfDictionary</CODE> is the Pdf dictionary object.
@@ -94,8 +96,26 @@ public class PdfDictionary extends PdfObject {
     /** This is the type of this dictionary */
     private PdfName dictionaryType = null;
 
-    /** This is the hashmap that contains all the values and keys of the dictionary */
-    protected Map<PdfName, PdfObject> hashMap;
+    /**
+     * The largest number of entries kept in the flat arrays. Most dictionaries,
+     * like annotations, font descriptors and pages, have fewer entries than this.
+     */
+    private static final int MAX_FLAT_SIZE = 8;
+
+    /** The keys of a small dictionary in the order they were added */
+    private PdfName[] keys;
+
+    /** The values of a small dictionary, at the same index as their keys */
+    private PdfObject[] values;
+
+    /** The number of entries in the flat arrays */
+    private int flatSize;
+
+    /**
+     * This is the hashmap that contains all the values and keys of the dictionary
+     * once it has grown past {@link #MAX_FLAT_SIZE} entries; <CODE>null</CODE> before that
+     */
+    private Map<PdfName, PdfObject> hashMap;
 
     // CONSTRUCTORS
 
@@ -104,7 +124,6 @@ public class PdfDictionary extends PdfObject {
      */
     public PdfDictionary() {
         super(DICTIONARY);
-        hashMap = new HashMap<>();
     }
 
     /**
@@ -131,19 +150,27 @@ public class PdfDictionary extends PdfObject {
     public void toPdf(PdfWriter writer, OutputStream os) throws IOException {
         os.write('<');
         os.write('<');
-        // loop over all the object-pairs in the HashMap
-        for (PdfName pdfName : hashMap.keySet()) {
-            PdfObject value = hashMap.get(pdfName);
-            pdfName.toPdf(writer, os);
-            int type = value.type();
-            if (type != PdfObject.ARRAY && type != PdfObject.DICTIONARY && type != PdfObject.NAME && type != PdfObject.STRING)
-                os.write(' ');
-            value.toPdf(writer, os);
+        // loop over all the object-pairs in the order they were added
+        if (hashMap == null) {
+            for (int k = 0; k < flatSize; ++k)
+                writeEntry(writer, os, keys[k], values[k]);
+        }
+        else {
+            for (Map.Entry<PdfName, PdfObject> entry : hashMap.entrySet())
+                writeEntry(writer, os, entry.getKey(), entry.getValue());
         }
         os.write('>');
         os.write('>');
     }
 
+    private static void writeEntry(PdfWriter writer, OutputStream os, PdfName pdfName, PdfObject value) throws IOException {
+        pdfName.toPdf(writer, os);
+        int type = value.type();
+        if (type != PdfObject.ARRAY && type != PdfObject.DICTIONARY && type != PdfObject.NAME && type != PdfObject.STRING)
+            os.write(' ');
+        value.toPdf(writer, os);
+    }
+
     /**
      * Returns a string representation of this <CODE>PdfDictionary</CODE>.
      *
@@ -176,9 +203,54 @@ public class PdfDictionary extends PdfObject {
      */
     public void put(PdfName key, PdfObject object) {
         if (object == null || object.isNull())
-            hashMap.remove(key);
+            remove(key);
         else
+            putEntry(key, object);
+    }
+
+    private void putEntry(PdfName key, PdfObject object) {
+        if (hashMap != null) {
+            hashMap.put(key, object);
+            return;
+        }
+        int index = indexOf(key);
+        if (index >= 0) {
+            values[index] = object;
+            return;
+        }
+        if (flatSize == MAX_FLAT_SIZE) {
+            hashMap = new LinkedHashMap<>(MAX_FLAT_SIZE * 4);
+            for (int k = 0; k < flatSize; ++k)
+                hashMap.put(keys[k], values[k]);
             hashMap.put(key, object);
+            keys = null;
+            values = null;
+            flatSize = 0;
+            return;
+        }
+        if (keys == null) {
+            keys = new PdfName[4];
+            values = new PdfObject[4];
+        }
+        else if (flatSize == keys.length) {
+            keys = Arrays.copyOf(keys, MAX_FLAT_SIZE);
+            values = Arrays.copyOf(values, MAX_FLAT_SIZE);
+        }
+        keys[flatSize] = key;
+        values[flatSize] = object;
+        ++flatSize;
+    }
+
+    private int indexOf(PdfName key) {
+        for (int k = 0; k < flatSize; ++k) {
+            if (keys[k] == key)
+                return k;
+        }
+        for (int k = 0; k < flatSize; ++k) {
+            if (keys[k].equals(key))
+                return k;
+        }
+        return -1;
     }
 
     /**
@@ -192,7 +264,14 @@ public class PdfDictionary extends PdfObject {
      *   copied over
      */
     public void putAll(PdfDictionary dic) {
-        hashMap.putAll(dic.hashMap);
+        if (dic.hashMap == null) {
+            for (int k = 0; k < dic.flatSize; ++k)
+                putEntry(dic.keys[k], dic.values[k]);
+        }
+        else {
+            for (Map.Entry<PdfName, PdfObject> entry : dic.hashMap.entrySet())
+                putEntry(entry.getKey(), entry.getValue());
+        }
     }
 
     /**
@@ -202,7 +281,18 @@ public class PdfDictionary extends PdfObject {
      * @param key a <CODE>PdfName</CODE>
      */
     public void remove(PdfName key) {
-        hashMap.remove(key);
+        if (hashMap != null) {
+            hashMap.remove(key);
+            return;
+        }
+        int index = indexOf(key);
+        if (index < 0)
+            return;
+        --flatSize;
+        System.arraycopy(keys, index + 1, keys, index, flatSize - index);
+        System.arraycopy(values, index + 1, values, index, flatSize - index);
+        keys[flatSize] = null;
+        values[flatSize] = null;
     }
 
     /**
@@ -214,7 +304,10 @@ public class PdfDictionary extends PdfObject {
      *   <VAR>key</VAR>
      */
     public PdfObject get(PdfName key) {
-        return hashMap.get(key);
+        if (hashMap != null)
+            return hashMap.get(key);
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
     }
 
     /**
@@ -240,17 +333,41 @@ public class PdfDictionary extends PdfObject {
      *   <CODE>PdfDictionary</CODE>.
      */
     public int size() {
-        return hashMap.size();
+        return hashMap == null ? flatSize : hashMap.size();
     }
 
     // DICTIONARY TYPE METHODS
 
+    /**
+     * Performs an action for every entry of this <CODE>PdfDictionary</CODE>,
+     * in the order the entries were added.
+     *
+     * @param action the action to perform with the key and the value of an entry
+     */
+    void forEachEntry(BiConsumer<PdfName, PdfObject> action) {
+        if (hashMap == null) {
+            for (int k = 0; k < flatSize; ++k)
+                action.accept(keys[k], values[k]);
+        }
+        else {
+            hashMap.forEach(action);
+        }
+    }
+
     // OTHER METHODS
 
     public void mergeDifferent(PdfDictionary other) {
-        for (PdfName key : other.hashMap.keySet()) {
-            if (!hashMap.containsKey(key))
-                hashMap.put(key, other.hashMap.get(key));
+        if (other.hashMap == null) {
+            for (int k = 0; k < other.flatSize; ++k) {
+                if (get(other.keys[k]) == null)
+                    putEntry(other.keys[k], other.values[k]);
+            }
+        }
+        else {
+            for (Map.Entry<PdfName, PdfObject> entry : other.hashMap.entrySet()) {
+                if (get(entry.getKey()) == null)
+                    putEntry(entry.getKey(), entry.getValue());
+            }
         }
     }
 
@@ -299,4 +416,25 @@ public class PdfDictionary extends PdfObject {
         return number;
     }
 
+    /**
+     * Returns a <CODE>PdfObject</CODE> as a <CODE>PdfArray</CODE>,
+     * resolving indirect references.
+     *
+     * The object associated with the <CODE>PdfName</CODE> given is retrieved
+     * and resolved to a direct object.
+     * If it is a <CODE>PdfArray</CODE>, it is cast down and returned as such.
+     * Otherwise <CODE>null</CODE> is returned.
+     *
+     * @param key A <CODE>PdfName</CODE>
+     * @return the associated <CODE>PdfArray</CODE> object,
+     *   or <CODE>null</CODE>
+     */
+    public PdfArray getAsArray(PdfName key) {
+        PdfArray array = null;
+        PdfObject orig = getDirectObject(key);
+        if (orig != null && orig.isArray())
+            array = (PdfArray) orig;
+        return array;
+    }
+
 }
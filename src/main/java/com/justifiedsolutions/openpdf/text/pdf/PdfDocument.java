@@ -302,7 +302,11 @@ class PdfDocument extends Document implements DocListener {
         }
     }
 
-    private void add(PdfPTable ptable) {
+    private void add(PdfPTable ptable) throws DocumentException {
+        if (ptable instanceof StreamingPdfPTable) {
+            add((StreamingPdfPTable) ptable);
+            return;
+        }
         if (ptable.size() <= ptable.getHeaderRows()) {
             return;
         }
@@ -316,6 +320,42 @@ class PdfDocument extends Document implements DocListener {
         newLine();
     }
 
+    /**
+     * Adds a table whose body rows are pulled from a source. About a page of rows
+     * is pulled, laid out and flushed at a time, each part continuing the table
+     * where the previous one ended, so that only the header rows and the rows of
+     * one page are held.
+     *
+     * @param ptable the table
+     * @throws DocumentException on error
+     */
+    private void add(StreamingPdfPTable ptable) throws DocumentException {
+        ensureNewLine();
+        flushLines();
+        float spacingBefore = ptable.spacingBefore();
+        float spacingAfter = ptable.spacingAfter();
+        boolean added = false;
+        do {
+            ptable.fetchRows((indentRight() - indentLeft()) * ptable.getWidthPercentage() / 100f,
+                    indentTop() - indentBottom());
+            if (ptable.size() > ptable.getHeaderRows()) {
+                ptable.setSpacingBefore(added ? 0 : spacingBefore);
+                ptable.setSpacingAfter(ptable.isComplete() ? spacingAfter : 0);
+                addPTable(ptable);
+                pageEmpty = false;
+                added = true;
+            }
+            if (!ptable.isComplete()) {
+                ptable.flushContent();
+            }
+        } while (!ptable.isComplete());
+        ptable.setSpacingBefore(spacingBefore);
+        ptable.setSpacingAfter(spacingAfter);
+        if (added) {
+            newLine();
+        }
+    }
+
     private void add(Section section) {
         PdfPageEvent pageEvent = writer.getPageEvent();
 
@@ -758,7 +798,7 @@ class PdfDocument extends Document implements DocListener {
             text.moveText(-moveTextX, 0);
 
         }
-        lines = new ArrayList<>();
+        lines.clear();
         return displacement;
     }
 
@@ -833,8 +873,9 @@ class PdfDocument extends Document implements DocListener {
         boolean adjustMatrix = false;
 
         // looping over all the chunks in 1 line
-        for (Iterator j = line.iterator(); j.hasNext(); ) {
-            chunk = (PdfChunk) j.next();
+        int size = line.size();
+        for (int k = 0; k < size; ++k) {
+            chunk = line.getChunk(k);
             Color color = chunk.color();
             hScale = 1;
 
@@ -1028,7 +1069,27 @@ class PdfDocument extends Document implements DocListener {
                     text.setCharacterSpacing(
                             baseCharacterSpacing / hScale + text.getCharacterSpacing());
                 }
-                text.showText(chunk.toString());
+                // the plain chunks after it that look the same are written with the same operator
+                int last = k;
+                while (last + 1 < size && isSameRun(chunk, line.getChunk(last + 1))) {
+                    ++last;
+                }
+                if (last == k) {
+                    text.showText(chunk.toString());
+                } else {
+                    StringBuilder run = new StringBuilder(chunk.toString());
+                    for (; k < last; ++k) {
+                        PdfChunk next = line.getChunk(k + 1);
+                        run.append(next.toString());
+                        if (chunkStrokeIdx <= lastChunkStroke) {
+                            xMarker += isJustified
+                                    ? next.getWidthCorrected(baseCharacterSpacing, baseWordSpacing)
+                                    : next.width();
+                            ++chunkStrokeIdx;
+                        }
+                    }
+                    text.showText(run.toString());
+                }
             }
 
             if (rise != 0) {
@@ -1068,6 +1129,28 @@ class PdfDocument extends Document implements DocListener {
         currentValues[1] = lastBaseFactor;
     }
 
+    /**
+     * Tells if a chunk can be written with the same text operator as the plain chunk before it in a line: neither of
+     * them has attributes, a text rise or special spacing, and they have the same font and color. The text is then
+     * placed exactly where the chunks would be placed one after the other.
+     *
+     * @param chunk the chunk
+     * @param next  the chunk after it
+     * @return true if the chunks are one run of text
+     */
+    private static boolean isSameRun(PdfChunk chunk, PdfChunk next) {
+        if (chunk.isStroked() || next.isStroked() || next.getTextRise() != 0
+                || next.font().compareTo(chunk.font()) != 0) {
+            return false;
+        }
+        Color color = chunk.color();
+        Color nextColor = next.color();
+        if (color == null || nextColor == null) {
+            return color == nextColor;
+        }
+        return color.getClass() == nextColor.getClass() && color.equals(nextColor);
+    }
+
     /**
      * Gets the indentation on the left side.
      *
@@ -146,68 +146,7 @@ public class PdfEncodings {
         if (text == null) {
             return new byte[0];
         }
-        if (encoding == null || encoding.length() == 0) {
-            int len = text.length();
-            byte[] b = new byte[len];
-            for (int k = 0; k < len; ++k) {
-                b[k] = (byte) text.charAt(k);
-            }
-            return b;
-        }
-        ExtraEncoding extra = extraEncodings.get(encoding.toLowerCase(Locale.ROOT));
-        if (extra != null) {
-            byte[] b = extra.charToByte(text);
-            if (b != null) {
-                return b;
-            }
-        }
-        IntHashtable hash = null;
-        if (encoding.equals(BaseFont.WINANSI)) {
-            hash = winansi;
-        } else if (encoding.equals(PdfObject.TEXT_PDFDOCENCODING)) {
-            hash = pdfEncoding;
-        }
-        if (hash != null) {
-            char[] cc = text.toCharArray();
-            int len = cc.length;
-            int ptr = 0;
-            byte[] b = new byte[len];
-            int c = 0;
-            for (char char1 : cc) {
-                if (char1 < 128 || char1 > 160 && char1 <= 255) {
-                    c = char1;
-                } else {
-                    c = hash.get(char1);
-                }
-                if (c != 0) {
-                    b[ptr++] = (byte) c;
-                }
-            }
-            if (ptr == len) {
-                return b;
-            }
-            byte[] b2 = new byte[ptr];
-            System.arraycopy(b, 0, b2, 0, ptr);
-            return b2;
-        }
-        if (encoding.equals(PdfObject.TEXT_UNICODE)) {
-            // workaround for jdk 1.2.2 bug
-            char[] cc = text.toCharArray();
-            byte[] b = new byte[cc.length * 2 + 2];
-            b[0] = -2;
-            b[1] = -1;
-            int bptr = 2;
-            for (char c : cc) {
-                b[bptr++] = (byte) (c >> 8);
-                b[bptr++] = (byte) (c & 0xff);
-            }
-            return b;
-        }
-        try {
-            return text.getBytes(encoding);
-        } catch (UnsupportedEncodingException e) {
-            throw new ExceptionConverter(e);
-        }
+        return TextEncoder.forEncoding(encoding).encode(text);
     }
 
     /**
@@ -351,6 +290,7 @@ public class PdfEncodings {
      */
     public static void addExtraEncoding(String name, ExtraEncoding enc) {
         extraEncodings.putIfAbsent(name.toLowerCase(Locale.ROOT), enc);
+        TextEncoder.clearCache();
     }
 
     private static class WingdingsConversion implements ExtraEncoding {
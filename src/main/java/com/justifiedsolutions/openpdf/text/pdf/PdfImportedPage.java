@@ -60,6 +60,36 @@ import java.io.IOException;
  */
 public class PdfImportedPage extends PdfTemplate {
 
+    PdfReaderInstance readerInstance;
+    int pageNumber;
+    ImportedPageGraph graph;
+
+    PdfImportedPage(PdfReaderInstance readerInstance, PdfWriter writer, int pageNumber) {
+        this.readerInstance = readerInstance;
+        this.pageNumber = pageNumber;
+        this.writer = writer;
+        bBox = readerInstance.getReader().getCropBox(pageNumber);
+        setMatrix(1, 0, 0, 1, -bBox.getLeft(), -bBox.getBottom());
+        type = TYPE_IMPORTED;
+    }
+
+    PdfImportedPage(ImportedPageGraph graph, PdfWriter writer, int pageNumber) {
+        this.graph = graph;
+        this.pageNumber = pageNumber;
+        this.writer = writer;
+        bBox = graph.getBoundingBox();
+        setMatrix(1, 0, 0, 1, -bBox.getLeft(), -bBox.getBottom());
+        type = TYPE_IMPORTED;
+    }
+
+    /**
+     * Gets the number of the page in the source document.
+     *
+     * @return the page number. 1 is the first
+     */
+    public int getPageNumber() {
+        return pageNumber;
+    }
 
     /**
      * Always throws an error. This operation is not allowed.
@@ -79,7 +109,7 @@ public class PdfImportedPage extends PdfTemplate {
      * @since 2.1.3    (replacing the method without param compressionLevel)
      */
     PdfStream getFormXObject(int compressionLevel) throws IOException {
-        return null;
+        return readerInstance.getFormXObject(pageNumber, compressionLevel);
     }
 
     public void setColorFill(PdfSpotColor sp, float tint) {
@@ -91,7 +121,20 @@ public class PdfImportedPage extends PdfTemplate {
     }
 
     PdfObject getResources() {
-        return null;
+        return readerInstance.getResources(pageNumber);
+    }
+
+    PdfReaderInstance getPdfReaderInstance() {
+        return readerInstance;
+    }
+
+    /**
+     * Gets the cached objects of this page.
+     *
+     * @return the cached objects or <CODE>null</CODE> if the page is read from a <CODE>PdfReader</CODE>
+     */
+    ImportedPageGraph getGraph() {
+        return graph;
     }
 
     /**
@@ -169,7 +169,7 @@ class PdfLine {
 
     PdfChunk add(PdfChunk chunk) {
         // nothing happens if the chunk is null.
-        if (chunk == null || chunk.toString().equals("")) {
+        if (chunk == null || chunk.length() == 0) {
             return null;
         }
 
@@ -288,12 +288,14 @@ class PdfLine {
      * @return a value
      */
     int numberOfSpaces() {
-        String string = toString();
-        int length = string.length();
         int numberOfSpaces = 0;
-        for (int i = 0; i < length; i++) {
-            if (string.charAt(i) == ' ') {
-                numberOfSpaces++;
+        for (PdfChunk chunk : line) {
+            String string = chunk.toString();
+            int length = string.length();
+            for (int i = 0; i < length; i++) {
+                if (string.charAt(i) == ' ') {
+                    numberOfSpaces++;
+                }
             }
         }
         return numberOfSpaces;
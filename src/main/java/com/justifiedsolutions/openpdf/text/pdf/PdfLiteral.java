@@ -61,4 +61,8 @@ public class PdfLiteral extends PdfObject {
     public PdfLiteral(int type, String text) {
         super(type, text);
     }
+
+    public PdfLiteral(byte[] b) {
+        super(0, b);
+    }
 }
\ No newline at end of file
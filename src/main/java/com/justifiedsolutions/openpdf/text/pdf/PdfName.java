@@ -53,8 +53,11 @@ import com.justifiedsolutions.openpdf.text.MessageLocalization;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * <CODE>PdfName</CODE> is an object that can be used as a name in a PDF-file.
@@ -202,6 +205,8 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
     public static final PdfName DW = new PdfName("DW");
     /** A name */
     public static final PdfName ENCODING = new PdfName("Encoding");
+    /** A name */
+    public static final PdfName ENCRYPT = new PdfName("Encrypt");
     /**
      * A name
      * @since    2.1.6
@@ -493,6 +498,8 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
     /** A name */
     public static final PdfName XREF = new PdfName("XRef");
     /** A name */
+    public static final PdfName XREFSTM = new PdfName("XRefStm");
+    /** A name */
     public static final PdfName YSTEP = new PdfName("YStep");
     /** A name of a base 14 type 1 font */
     public static final PdfName ZAPFDINGBATS = new PdfName("ZapfDingbats");
@@ -505,6 +512,27 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
      */
     public static Map<String, PdfName> staticNames;
 
+    /**
+     * The maximum number of names kept by {@link #valueOf(String)}.
+     */
+    private static final int MAX_CACHED_NAMES = 4096;
+
+    /**
+     * map strings to the names created by {@link #valueOf(String)}
+     */
+    private static final Map<String, PdfName> cachedNames = new ConcurrentHashMap<>();
+
+    /**
+     * The names last returned by {@link #valueOf(byte[], int, int)}, indexed by their hash code, so the names read
+     * from a PDF file are found without creating a <CODE>String</CODE>.
+     */
+    private static final AtomicReferenceArray<PdfName> parsedNames = new AtomicReferenceArray<>(1024);
+
+    /**
+     * The hash code of the name, computed once when the name is created.
+     */
+    private final int hash;
+
     /*
      * Use reflection to cache all the static public final names so
      * future <code>PdfName</code> additions don't have to be "added twice".
@@ -551,6 +579,7 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
         if (lengthCheck && length > 127)
             throw new IllegalArgumentException(MessageLocalization.getComposedMessage("the.name.1.is.too.long.2.characters", name, String.valueOf(length)));
         bytes = encodeName(name);
+        hash = computeHash(bytes);
     }
 
     /**
@@ -560,6 +589,95 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
      */
     public PdfName(byte[] bytes) {
         super(PdfObject.NAME, bytes);
+        hash = computeHash(bytes);
+    }
+
+    /**
+     * Returns a <CODE>PdfName</CODE> for the given name. The predefined names and
+     * the names created by earlier calls are shared, so names that are created over
+     * and over again, like the resource names on every page, are encoded only once.
+     *
+     * @param name the name
+     * @return a <CODE>PdfName</CODE> that may be shared
+     */
+    public static PdfName valueOf(String name) {
+        PdfName pdfName = staticNames.get(name);
+        if (pdfName == null) {
+            pdfName = cachedNames.get(name);
+        }
+        if (pdfName == null) {
+            pdfName = new PdfName(name);
+            if (cachedNames.size() < MAX_CACHED_NAMES) {
+                PdfName previous = cachedNames.putIfAbsent(name, pdfName);
+                if (previous != null) {
+                    pdfName = previous;
+                }
+            }
+        }
+        return pdfName;
+    }
+
+    /**
+     * Returns a <CODE>PdfName</CODE> for the given decoded name bytes, as read from a PDF file. Names that don't need
+     * escaping are looked up without creating a <CODE>String</CODE>; otherwise this is the same as
+     * {@link #valueOf(String)}, except that long names are accepted.
+     *
+     * @param b      the buffer with the decoded name, one character per byte
+     * @param offset the position of the name in the buffer
+     * @param length the number of bytes of the name
+     * @return a <CODE>PdfName</CODE> that may be shared
+     */
+    public static PdfName valueOf(byte[] b, int offset, int length) {
+        int h = '/';
+        boolean plain = length <= 127;
+        for (int k = offset; k < offset + length && plain; ++k) {
+            int c = b[k] & 0xff;
+            plain = c > 32 && c <= 126 && !PRTokeniser.delims[c + 1] && c != '{' && c != '}' && c != '#';
+            h = 31 * h + c;
+        }
+        if (!plain) {
+            char[] chars = new char[length];
+            for (int k = 0; k < length; ++k) {
+                chars[k] = (char) (b[offset + k] & 0xff);
+            }
+            String name = new String(chars);
+            return length <= 127 ? valueOf(name) : new PdfName(name, false);
+        }
+        int slot = h & (parsedNames.length() - 1);
+        PdfName pdfName = parsedNames.get(slot);
+        if (pdfName != null && pdfName.hash == h && pdfName.matches(b, offset, length)) {
+            return pdfName;
+        }
+        byte[] encoded = new byte[length + 1];
+        encoded[0] = '/';
+        System.arraycopy(b, offset, encoded, 1, length);
+        pdfName = staticNames.get(new String(encoded, 1, length, StandardCharsets.ISO_8859_1));
+        if (pdfName == null) {
+            pdfName = new PdfName(encoded);
+        }
+        parsedNames.set(slot, pdfName);
+        return pdfName;
+    }
+
+    private boolean matches(byte[] b, int offset, int length) {
+        byte[] myBytes = bytes;
+        if (myBytes.length != length + 1) {
+            return false;
+        }
+        for (int k = 0; k < length; ++k) {
+            if (myBytes[k + 1] != b[offset + k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int computeHash(byte[] bytes) {
+        int h = 0;
+        for (byte b : bytes) {
+            h = 31 * h + (b & 0xff);
+        }
+        return h;
     }
 
     // CLASS METHODS
@@ -588,6 +706,31 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
         return Integer.compare(myBytes.length, objBytes.length);
     }
 
+    /**
+     * Indicates whether some other object is "equal to" this one.
+     *
+     * @param   obj   the reference object with which to compare.
+     * @return  <CODE>true</CODE> if this object is the same as the obj
+     * argument; <CODE>false</CODE> otherwise.
+     */
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof PdfName))
+            return false;
+        PdfName other = (PdfName) obj;
+        return hash == other.hash && compareTo(other) == 0;
+    }
+
+    /**
+     * Returns a hash code value for the object, computed when the name was created.
+     *
+     * @return  a hash code value for this object.
+     */
+    public int hashCode() {
+        return hash;
+    }
+
     /**
      * Encodes a plain name given in the unescaped form "AB CD" into "/AB#20CD".
      *
@@ -597,6 +740,9 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
      */
     public static byte[] encodeName(String name) {
         int length = name.length();
+        byte[] plain = encodePlainName(name, length);
+        if (plain != null)
+            return plain;
         ByteBuffer buf = new ByteBuffer(length + 20);
         buf.append('/');
         char c;
@@ -635,6 +781,41 @@ public class PdfName extends PdfObject implements Comparable<PdfName> {
         return buf.toByteArray();
     }
 
+    /**
+     * Encodes a name that doesn't need escaping, which is true for almost all names,
+     * without any intermediate buffers.
+     *
+     * @param name the name to encode
+     * @param length the length of the name
+     * @return the encoded name or <CODE>null</CODE> if some character must be escaped
+     */
+    private static byte[] encodePlainName(String name, int length) {
+        byte[] bytes = new byte[length + 1];
+        bytes[0] = '/';
+        for (int k = 0; k < length; k++) {
+            char c = name.charAt(k);
+            if (c <= 32 || c > 126)
+                return null;
+            switch (c) {
+                case '%':
+                case '(':
+                case ')':
+                case '<':
+                case '>':
+                case '[':
+                case ']':
+                case '{':
+                case '}':
+                case '/':
+                case '#':
+                    return null;
+                default:
+                    bytes[k + 1] = (byte) c;
+            }
+        }
+        return bytes;
+    }
+
     /**
      * Decodes an escaped name given in the form "/AB#20CD" into "AB CD".
      *
@@ -88,6 +88,17 @@ public class PdfNumber extends PdfObject implements Comparable<PdfNumber> {
         }
     }
     
+    /**
+     * Constructs a <CODE>PdfNumber</CODE>-object read from a PDF file.
+     *
+     * @param content the bytes of the number as they appear in the file
+     * @param value   the value of the number
+     */
+    PdfNumber(byte[] content, double value) {
+        super(NUMBER, content);
+        this.value = value;
+    }
+
     /**
      * Constructs a new <CODE>PdfNumber</CODE>-object of type integer.
      *
@@ -50,10 +50,13 @@
 package com.justifiedsolutions.openpdf.text.pdf;
 
 import com.justifiedsolutions.openpdf.pdf.content.Cell.Border;
+import com.justifiedsolutions.openpdf.pdf.content.CellStyle;
 import com.justifiedsolutions.openpdf.text.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
 
 import static com.justifiedsolutions.openpdf.text.AlignmentConverter.convertHorizontalAlignment;
 import static com.justifiedsolutions.openpdf.text.AlignmentConverter.convertVerticalAlignment;
@@ -64,6 +67,28 @@ import static com.justifiedsolutions.openpdf.text.AlignmentConverter.convertVert
 
 public class PdfPCell extends Rectangle {
 
+    /**
+     * The cell is as high as its content and its lines are wrapped.
+     */
+    public static final int OVERFLOW_VISIBLE = 0;
+
+    /**
+     * The cell has a fixed layout: it isn't measured, its lines aren't wrapped and the text is clipped at the edges
+     * of the cell.
+     */
+    public static final int OVERFLOW_CLIP = 1;
+
+    /**
+     * The cell has a fixed layout: it isn't measured, its lines aren't wrapped and a line that is too wide is cut off
+     * with an ellipsis.
+     */
+    public static final int OVERFLOW_ELLIPSIS = 2;
+
+    /**
+     * The cells without content of the styles of the model cells, held as long as the styles are used.
+     */
+    private static final Map<CellStyle, PdfPCell> STYLES = new WeakHashMap<>();
+
     private ColumnText column = new ColumnText(null);
 
     /**
@@ -106,6 +131,11 @@ public class PdfPCell extends Rectangle {
      */
     private boolean noWrap = false;
 
+    /**
+     * Holds value of property overflow.
+     */
+    private int overflow = OVERFLOW_VISIBLE;
+
     /**
      * Holds value of property table.
      */
@@ -175,6 +205,7 @@ public class PdfPCell extends Rectangle {
         fixedHeight = cell.fixedHeight;
         minimumHeight = cell.minimumHeight;
         noWrap = cell.noWrap;
+        overflow = cell.overflow;
         colspan = cell.colspan;
         rowspan = cell.rowspan;
         if (cell.table != null) {
@@ -455,6 +486,35 @@ public class PdfPCell extends Rectangle {
         return minimumHeight;
     }
 
+    /**
+     * Gets how the text that doesn't fit in the cell is cut off.
+     *
+     * @return one of the <CODE>OVERFLOW_</CODE> constants
+     */
+    public int getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Sets how the text that doesn't fit in the cell is cut off. A cell with an overflow other than
+     * <CODE>OVERFLOW_VISIBLE</CODE> and a fixed height has a fixed layout: its height is the fixed height without
+     * measuring the content.
+     *
+     * @param overflow one of the <CODE>OVERFLOW_</CODE> constants
+     */
+    public void setOverflow(int overflow) {
+        this.overflow = overflow;
+    }
+
+    /**
+     * Tells if the cell has a fixed layout.
+     *
+     * @return true if the cell has a fixed height and an overflow other than <CODE>OVERFLOW_VISIBLE</CODE>
+     */
+    boolean hasFixedLayout() {
+        return overflow != OVERFLOW_VISIBLE && hasFixedHeight();
+    }
+
     /**
      * Getter for property noWrap.
      *
@@ -503,6 +563,15 @@ public class PdfPCell extends Rectangle {
     }
 
 
+    /**
+     * Sets the cell event for this cell.
+     *
+     * @param cellEvent the cell event
+     */
+    void setCellEvent(PdfPCellEvent cellEvent) {
+        this.cellEvent = cellEvent;
+    }
+
     /**
      * Gets the cell event for this cell.
      *
@@ -579,7 +648,7 @@ public class PdfPCell extends Rectangle {
      */
     public float getMaxHeight() {
         boolean pivoted = (getRotation() == 90 || getRotation() == 270);
-            if ((pivoted && hasFixedHeight()) || getColumn() == null) {
+            if ((pivoted && hasFixedHeight()) || hasFixedLayout() || getColumn() == null) {
                 setBottom(getTop() - getFixedHeight());
             } else {
                 ColumnText ct = ColumnText.duplicate(getColumn());
@@ -624,20 +693,61 @@ public class PdfPCell extends Rectangle {
         return height;
     }
 
+    /**
+     * Gets the height of the content of a cell with a fixed layout, as far as it fits in the cell, including the
+     * paddings. The lines are laid out the way they are written.
+     *
+     * @param height the height of the cell
+     * @return the height of the content
+     */
+    float getFixedLayoutHeight(float height) {
+        ColumnText ct = ColumnText.duplicate(getColumn());
+        ct.setOverflow(overflow);
+        float top = getTop() - getEffectivePaddingTop();
+        PdfPRow.setColumn(ct, getLeft() + getEffectivePaddingLeft(), top - height + getEffectivePaddingTop()
+                + getEffectivePaddingBottom(), getRight() - getEffectivePaddingRight(), top);
+        try {
+            ct.go(true);
+        } catch (DocumentException e) {
+            throw new ExceptionConverter(e);
+        }
+        float yLine = ct.getYLine();
+        if (isUseDescender()) {
+            yLine += ct.getDescender();
+        }
+        return getTop() - yLine + getEffectivePaddingBottom();
+    }
+
+    /**
+     * Gets the cell without content that has a style. The cells of the same style are copied from it, so they share
+     * its background color.
+     *
+     * @param style the style
+     * @return the cell of the style
+     */
+    private static PdfPCell getStyle(CellStyle style) {
+        synchronized (STYLES) {
+            return STYLES.computeIfAbsent(style, s -> {
+                PdfPCell result = new PdfPCell();
+                result.setBorder(convertBorder(s.getBorders()));
+                result.setHorizontalAlignment(convertHorizontalAlignment(s.getHorizontalAlignment()));
+                result.setVerticalAlignment(convertVerticalAlignment(s.getVerticalAlignment()));
+                result.setMinimumHeight(s.getMinimumHeight());
+                result.setPaddingTop(s.getPaddingTop());
+                result.setPaddingBottom(s.getPaddingBottom());
+                result.setPaddingLeft(s.getPaddingLeft());
+                result.setPaddingRight(s.getPaddingRight());
+                result.setGrayFill(s.getGreyFill());
+                return result;
+            });
+        }
+    }
+
     public static PdfPCell getInstance(com.justifiedsolutions.openpdf.pdf.content.Cell cell) {
         Objects.requireNonNull(cell);
-        PdfPCell result = new PdfPCell();
-        result.setBorder(convertBorder(cell.getBorders()));
+        PdfPCell result = new PdfPCell(getStyle(cell.getStyle()));
         result.setRowspan(cell.getRowSpan());
         result.setColspan(cell.getColumnSpan());
-        result.setHorizontalAlignment(convertHorizontalAlignment(cell.getHorizontalAlignment()));
-        result.setVerticalAlignment(convertVerticalAlignment(cell.getVerticalAlignment()));
-        result.setMinimumHeight(cell.getMinimumHeight());
-        result.setPaddingTop(cell.getPaddingTop());
-        result.setPaddingBottom(cell.getPaddingBottom());
-        result.setPaddingLeft(cell.getPaddingLeft());
-        result.setPaddingRight(cell.getPaddingRight());
-        result.setGrayFill(cell.getGreyFill());
         if (cell.getContent() instanceof com.justifiedsolutions.openpdf.pdf.content.Paragraph) {
             Paragraph paragraph = Paragraph.getInstance((com.justifiedsolutions.openpdf.pdf.content.Paragraph) cell.getContent());
             if (paragraph.getAlignment() == ALIGN_UNDEFINED) {
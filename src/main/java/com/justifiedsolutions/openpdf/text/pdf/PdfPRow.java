@@ -284,6 +284,23 @@ public class PdfPRow {
      * @param    yPos The y-coordinate where the table starts on the canvas
      */
     public void writeCells(int colStart, int colEnd, float xPos, float yPos, PdfContentByte[] canvases) {
+        writeCells(colStart, colEnd, xPos, yPos, canvases, null);
+    }
+
+    /**
+     * Writes a number of cells (not necessarily all cells), collecting the backgrounds and borders in a grid.
+     *
+     * @param    colStart The first column to be written.
+     * Remember that the column index starts with 0.
+     * @param    colEnd The last column to be written.
+     * Remember that the column index starts with 0.
+     * If -1, all the columns to the end are written.
+     * @param    xPos The x-coordinate where the table starts on the canvas
+     * @param    yPos The y-coordinate where the table starts on the canvas
+     * @param    canvases the canvases of the table
+     * @param    grid the grid the backgrounds and borders are added to, or null to draw them right away
+     */
+    void writeCells(int colStart, int colEnd, float xPos, float yPos, PdfContentByte[] canvases, TableGrid grid) {
         if (!calculated)
             calculateHeights();
         if (colEnd < 0)
@@ -314,17 +331,29 @@ public class PdfPRow {
                 continue;
             float currentMaxHeight = maxHeight + extraHeights[k];
 
-            writeBorderAndBackground(xPos, yPos, currentMaxHeight, cell, canvases);
+            if (grid == null) {
+                writeBorderAndBackground(xPos, yPos, currentMaxHeight, cell, canvases);
+            } else {
+                float top = cell.getTop() + yPos;
+                grid.add(cell, cell.getLeft() + xPos, top - currentMaxHeight, cell.getRight() + xPos, top);
+            }
 
+            boolean fixedLayout = cell.hasFixedLayout() && cell.getRotation() != 90 && cell.getRotation() != 270;
+            float contentHeight = cell.getHeight();
+            if (fixedLayout && (cell.getVerticalAlignment() == Element.ALIGN_BOTTOM
+                    || cell.getVerticalAlignment() == Element.ALIGN_MIDDLE)) {
+                // the cell wasn't measured, so its height is the fixed height
+                contentHeight = cell.getFixedLayoutHeight(currentMaxHeight);
+            }
             float tly = cell.getTop() + yPos - cell.getEffectivePaddingTop();
-            if (cell.getHeight() <= currentMaxHeight) {
+            if (contentHeight <= currentMaxHeight) {
                 switch (cell.getVerticalAlignment()) {
                 case Element.ALIGN_BOTTOM:
-                    tly = cell.getTop() + yPos - currentMaxHeight + cell.getHeight()
+                    tly = cell.getTop() + yPos - currentMaxHeight + contentHeight
                             - cell.getEffectivePaddingTop();
                     break;
                 case Element.ALIGN_MIDDLE:
-                    tly = cell.getTop() + yPos + (cell.getHeight() - currentMaxHeight) / 2
+                    tly = cell.getTop() + yPos + (contentHeight - currentMaxHeight) / 2
                             - cell.getEffectivePaddingTop();
                     break;
                 default:
@@ -399,7 +428,7 @@ public class PdfPRow {
                             - cell.getEffectivePaddingRight();
                     float leftLimit = cell.getLeft() + xPos
                             + cell.getEffectivePaddingLeft();
-                    if (cell.isNoWrap()) {
+                    if (cell.isNoWrap() && !fixedLayout) {
                         switch (cell.getHorizontalAlignment()) {
                             case Element.ALIGN_CENTER:
                                 rightLimit += 10000;
@@ -425,6 +454,9 @@ public class PdfPRow {
                     }
                     ColumnText ct = ColumnText.duplicate(cell.getColumn());
                     ct.setCanvases(canvases);
+                    if (fixedLayout) {
+                        ct.setOverflow(cell.getOverflow());
+                    }
                     float bry = tly
                             - (currentMaxHeight
                             - cell.getEffectivePaddingTop() - cell.getEffectivePaddingBottom());
@@ -436,6 +468,20 @@ public class PdfPRow {
                     }
                     if ((tly > bry) && leftLimit < rightLimit) {
                         ct.setSimpleColumn(leftLimit, bry - 0.001f,    rightLimit, tly);
+                        if (!cell.isNoWrap() || fixedLayout) {
+                            // the width the cell was measured at, so the lines are taken from its line cache
+                            ct.setRectangularWidth(cell.getRight() - cell.getEffectivePaddingRight()
+                                    - (cell.getLeft() + cell.getEffectivePaddingLeft()));
+                        }
+                        boolean clip = fixedLayout && cell.getOverflow() == PdfPCell.OVERFLOW_CLIP;
+                        if (clip) {
+                            PdfContentByte text = canvases[PdfPTable.TEXTCANVAS];
+                            text.saveState();
+                            text.rectangle(cell.getLeft() + xPos, cell.getTop() + yPos - currentMaxHeight,
+                                    cell.getWidth(), currentMaxHeight);
+                            text.clip();
+                            text.newPath();
+                        }
                         if (cell.getRotation() == 180) {
                             float shx = leftLimit + rightLimit;
                             float shy = yPos + yPos - currentMaxHeight + cell.getEffectivePaddingBottom() - cell.getEffectivePaddingTop();
@@ -449,12 +495,19 @@ public class PdfPRow {
                             if (cell.getRotation() == 180) {
                                 restoreCanvases(canvases);
                             }
+                            if (clip) {
+                                canvases[PdfPTable.TEXTCANVAS].restoreState();
+                            }
                         }
                     }
                 }
 
             PdfPCellEvent evt = cell.getCellEvent();
             if (evt != null) {
+                if (grid != null) {
+                    // the event draws over what was written before it
+                    grid.write(canvases);
+                }
                 Rectangle rect = new Rectangle(cell.getLeft() + xPos, cell.getTop()
                         + yPos - currentMaxHeight, cell.getRight() + xPos, cell.getTop()
                         + yPos);
@@ -535,7 +588,12 @@ public class PdfPRow {
                         y = setColumn(ct, bottom, left, top, right);
                         break;
                     default:
-                        y = setColumn(ct, left, bottom, cell.isNoWrap() ? RIGHT_LIMIT : right, top);
+                        if (cell.hasFixedLayout()) {
+                            ct.setOverflow(cell.getOverflow());
+                            y = setColumn(ct, left, bottom, right, top);
+                        } else {
+                            y = setColumn(ct, left, bottom, cell.isNoWrap() ? RIGHT_LIMIT : right, top);
+                        }
                         break;
                 }
                 int status;
@@ -574,6 +632,7 @@ public class PdfPRow {
             return null;
         }
         calculateHeights();
+        table.invalidateRowHeights(rowIndex);
         PdfPRow split = new PdfPRow(newCells);
         split.widths = widths.clone();
         split.calculateHeights();
@@ -50,12 +50,16 @@
 package com.justifiedsolutions.openpdf.text.pdf;
 
 import com.justifiedsolutions.openpdf.pdf.content.Cell;
+import com.justifiedsolutions.openpdf.pdf.content.StreamingTable;
 import com.justifiedsolutions.openpdf.pdf.content.Table;
 import com.justifiedsolutions.openpdf.text.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * This is a table that can be put at an absolute position but can also
@@ -92,6 +96,34 @@ public class PdfPTable implements LargeElement{
     
     protected ArrayList<PdfPRow> rows = new ArrayList<>();
     protected float totalHeight = 0;
+
+    /**
+     * The number of rows, counted from the top, whose heights include the rowspans ending in them.
+     */
+    private int resolvedRows = 0;
+
+    /**
+     * The tops of the resolved rows: rowTops[k] is the height of the rows above row k.
+     */
+    private double[] rowTops = new double[1];
+
+    /**
+     * For each column, the index of the row of the cell with a rowspan that continues below the resolved rows, or -1.
+     * null if it has to be looked up again.
+     */
+    private int[] openRowspans;
+
+    /**
+     * The real header rows laid out once, to be written the same way on every page. null until they are laid out.
+     */
+    private PdfTemplate headerTemplate;
+    private int headerTemplateRows;
+
+    /**
+     * Measures the rows concurrently before their heights are resolved.
+     */
+    private boolean parallelMeasurement;
+
     protected PdfPCell[] currentRow;
     protected int currentRowIdx = 0;
     protected float totalWidth = 0;
@@ -240,6 +272,10 @@ public class PdfPTable implements LargeElement{
                 row = new PdfPRow(row);
             rows.add(row);
         }
+        resolvedRows = table.resolvedRows;
+        rowTops = table.rowTops.clone();
+        if (table.openRowspans != null)
+            openRowspans = table.openRowspans.clone();
     }
     
     /**
@@ -285,6 +321,9 @@ public class PdfPTable implements LargeElement{
         horizontalAlignment = sourceTable.horizontalAlignment;
         keepTogether = sourceTable.keepTogether;
         complete = sourceTable.complete;
+        headerTemplate = sourceTable.headerTemplate;
+        headerTemplateRows = sourceTable.headerTemplateRows;
+        parallelMeasurement = sourceTable.parallelMeasurement;
     }
 
     /**
@@ -338,9 +377,18 @@ public class PdfPTable implements LargeElement{
     public float calculateHeights(boolean firsttime) {
         if (totalWidth <= 0)
             return 0;
+        if (firsttime) {
+            for (PdfPRow row : rows) {
+                if (row != null)
+                    row.setWidths(absoluteWidths);
+            }
+            invalidateRowHeights(0);
+            if (parallelMeasurement)
+                measureRows(0, rows.size());
+        }
         totalHeight = 0;
         for (int k = 0; k < rows.size(); ++k) {
-            totalHeight += getRowHeight(k, firsttime);
+            totalHeight += getRowHeight(k);
         }
         return totalHeight;
     }
@@ -351,9 +399,18 @@ public class PdfPTable implements LargeElement{
      * @param cell the cell element
      */    
     public void addCell(PdfPCell cell) {
+        addOwnedCell(new PdfPCell(cell));
+    }
+
+    /**
+     * Adds a cell that belongs to the table. Unlike {@link #addCell(PdfPCell)} the cell isn't copied, so it must not be
+     * used for anything else.
+     *
+     * @param ncell the cell
+     */
+    void addOwnedCell(PdfPCell ncell) {
         rowCompleted = false;
-        PdfPCell ncell = new PdfPCell(cell);
-        
+
         int colspan = ncell.getColspan();
         colspan = Math.max(colspan, 1);
         colspan = Math.min(colspan, currentRow.length - currentRowIdx);
@@ -526,13 +583,15 @@ public class PdfPTable implements LargeElement{
         else
             colEnd = Math.min(colEnd, totalCols);
 
+        TableGrid grid = new TableGrid();
         for (int k = rowStart; k < rowEnd; ++k) {
             PdfPRow row = rows.get(k);
             if (row != null) {
-                row.writeCells(colStart, colEnd, xPos, yPos, canvases);
+                row.writeCells(colStart, colEnd, xPos, yPos, canvases, grid);
                 yPos -= row.getMaxHeights();
             }
         }
+        grid.write(canvases);
 
         return yPos;
     }
@@ -607,6 +666,52 @@ public class PdfPTable implements LargeElement{
         return y;
     }
     
+    /**
+     * Gets the first header rows laid out in a template. The rows are laid out once, at the first call, and the
+     * template is written to the document once: every page the rows are on refers to it. Only rows that are written
+     * the same way on every page are laid out in a template: their cells have no cell events, no rowspan into the
+     * rows below and no text that depends on the page.
+     *
+     * @param canvas the canvas the template is added to
+     * @param rows   the number of header rows
+     * @return the template, or null if the rows can't be laid out in a template
+     */
+    PdfTemplate getHeaderTemplate(PdfContentByte canvas, int rows) {
+        PdfWriter writer = canvas.getPdfWriter();
+        if (headerTemplate != null && headerTemplateRows == rows && headerTemplate.getPdfWriter() == writer
+                && headerTemplate.getBoundingBox().getWidth() == totalWidth) {
+            return headerTemplate;
+        }
+        if (writer == null || !isPageIndependent(rows)) {
+            return null;
+        }
+        float height = 0;
+        for (int k = 0; k < rows; ++k) {
+            height += getRowHeight(k);
+        }
+        PdfTemplate template = PdfTemplate.createTemplate(writer, totalWidth, height);
+        writeSelectedRows(0, rows, 0, height, template);
+        headerTemplate = template;
+        headerTemplateRows = rows;
+        return template;
+    }
+
+    private boolean isPageIndependent(int rowCount) {
+        for (int k = 0; k < rowCount; ++k) {
+            PdfPRow row = rows.get(k);
+            if (row == null) {
+                return false;
+            }
+            for (PdfPCell cell : row.getCells()) {
+                if (cell != null && (cell.getCellEvent() != null || k + cell.getRowspan() > rowCount
+                        || !cell.getColumn().isPageIndependent())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Gets and initializes the 4 layers where the table is written to. The text or graphics are added to
      * one of the 4 <CODE>PdfContentByte</CODE> returned with the following order:<p>
@@ -693,33 +798,112 @@ public class PdfPTable implements LargeElement{
         PdfPRow row = rows.get(idx);
         if (row == null)
             return 0;
-        if (firsttime)
+        if (firsttime) {
             row.setWidths(absoluteWidths);
-        float height = row.getMaxHeights();
-        PdfPCell cell;
-        PdfPRow tmprow;
-        for (int i = 0; i < relativeWidths.length; i++) {
-            if(!rowSpanAbove(idx, i))
-                continue;
-            int rs = 1;
-            while (rowSpanAbove(idx - rs, i)) {
-                rs++;
+            invalidateRowHeights(idx);
+        }
+        resolveRowHeights(idx);
+        return row.getMaxHeights();
+    }
+
+    /**
+     * Measures rows in blocks on the common fork/join pool. Each row is measured on its own, the rowspans are left to
+     * {@link #resolveRowHeights(int)}, which takes the measured heights of the rows as they are. A cell is laid out
+     * with a copy of its column, and the fonts and the line caches the copies share can be used concurrently, so the
+     * heights are the same as the ones measured one row after the other.
+     *
+     * @param start the index of the first row to measure
+     * @param end   the index after the last row to measure
+     */
+    private void measureRows(int start, int end) {
+        if (end - start <= RowMeasure.BLOCK_SIZE) {
+            new RowMeasure(rows, start, end).compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowMeasure(rows, start, end));
+        }
+    }
+
+    /**
+     * Resolves the heights of the rows up to and including a row in a single pass from the last resolved row. A cell
+     * with a rowspan is resolved once, in the last row it spans: that row is made high enough for the cell, using the
+     * tops of the rows above to get the height the cell already has.
+     *
+     * @param last the index of the last row to resolve
+     */
+    private void resolveRowHeights(int last) {
+        if (last < resolvedRows)
+            return;
+        if (openRowspans == null)
+            openRowspans = findOpenRowspans(resolvedRows);
+        if (rowTops.length < last + 2)
+            rowTops = Arrays.copyOf(rowTops, Math.max(last + 2, rowTops.length * 2));
+        for (int k = resolvedRows; k <= last; ++k) {
+            PdfPRow row = rows.get(k);
+            float height = 0;
+            if (row == null) {
+                Arrays.fill(openRowspans, -1);
+            } else {
+                height = row.getMaxHeights();
+                for (int i = 0; i < openRowspans.length; ++i) {
+                    int start = openRowspans[i];
+                    if (start < 0)
+                        continue;
+                    // the rows written to a previous page are removed from a split table
+                    PdfPRow startRow = rows.get(start);
+                    PdfPCell cell = startRow == null ? null : startRow.getCells()[i];
+                    if (cell == null) {
+                        openRowspans[i] = -1;
+                    } else if (start + cell.getRowspan() - 1 == k) {
+                        float tmp = (float) (cell.getMaxHeight() - (rowTops[k] - rowTops[start]));
+                        if (tmp > height)
+                            height = tmp;
+                        openRowspans[i] = -1;
+                    }
+                }
+                row.setMaxHeights(height);
+                PdfPCell[] cells = row.getCells();
+                for (int i = 0; i < cells.length; ++i) {
+                    if (cells[i] != null && cells[i].getRowspan() > 1)
+                        openRowspans[i] = k;
+                }
             }
-            tmprow = rows.get(idx - rs);
-            cell = tmprow.getCells()[i];
-            float tmp = 0;
-            if (cell != null && cell.getRowspan() == rs + 1) {
-                tmp = cell.getMaxHeight();
-                while (rs > 0) {
-                    tmp -= getRowHeight(idx - rs);
-                    rs--;
+            rowTops[k + 1] = rowTops[k] + height;
+        }
+        resolvedRows = last + 1;
+    }
+
+    /**
+     * Looks up the cells with a rowspan that start above a row and continue into it.
+     *
+     * @param idx the index of the row
+     * @return for each column, the index of the row of the cell, or -1
+     */
+    private int[] findOpenRowspans(int idx) {
+        int[] open = new int[getNumberOfColumns()];
+        Arrays.fill(open, -1);
+        for (int i = 0; i < open.length; ++i) {
+            for (int k = idx - 1; k >= 0 && rows.get(k) != null; --k) {
+                PdfPCell cell = obtainCell(k, i);
+                if (cell != null) {
+                    if (cell == rows.get(k).getCells()[i] && k + cell.getRowspan() > idx)
+                        open[i] = k;
+                    break;
                 }
             }
-            if (tmp > height)
-                height = tmp;
         }
-        row.setMaxHeights(height);
-        return height;
+        return open;
+    }
+
+    /**
+     * Forgets the resolved heights of a row and the rows below it, because the row or its height changed.
+     *
+     * @param idx the index of the row
+     */
+    void invalidateRowHeights(int idx) {
+        if (idx < resolvedRows) {
+            resolvedRows = Math.max(idx, 0);
+            openRowspans = null;
+        }
     }
     
     /**
@@ -740,11 +924,9 @@ public class PdfPTable implements LargeElement{
         PdfPCell cell = row.getCells()[cellIndex];
         if (cell == null)
             return 0;
-        float rowspanHeight = 0;
-        for (int j = 0; j < cell.getRowspan(); j++) {
-            rowspanHeight += getRowHeight(rowIndex + j);
-        }
-        return rowspanHeight;
+        int end = Math.min(rowIndex + cell.getRowspan(), rows.size());
+        resolveRowHeights(end - 1);
+        return (float) (rowTops[end] - rowTops[rowIndex]);
     }
     
     /**
@@ -791,6 +973,7 @@ public class PdfPTable implements LargeElement{
         for (int k = 0; k < headerRows; ++k)
             rows2.add(rows.get(k));
         rows = rows2;
+        invalidateRowHeights(headerRows);
         totalHeight = 0;
         if (totalWidth > 0)
             totalHeight = getHeaderHeight();
@@ -1157,6 +1340,25 @@ public class PdfPTable implements LargeElement{
         this.keepTogether = keepTogether;
     }
     
+    /**
+     * Specifies if the heights of the rows are measured concurrently when the width of the table is set. The written
+     * document is identical to the one written without this option.
+     *
+     * @param parallelMeasurement true if the rows should be measured concurrently
+     */
+    public void setParallelMeasurement(boolean parallelMeasurement) {
+        this.parallelMeasurement = parallelMeasurement;
+    }
+
+    /**
+     * Tells if the heights of the rows are measured concurrently.
+     *
+     * @return true if the rows are measured concurrently
+     */
+    public boolean isParallelMeasurement() {
+        return parallelMeasurement;
+    }
+
     /**
      * Getter for property keepTogether
      * 
@@ -1194,16 +1396,83 @@ public class PdfPTable implements LargeElement{
 
     public static PdfPTable getInstance(Table table) {
         Objects.requireNonNull(table);
-        PdfPTable result = new PdfPTable(table.getRelativeColumnWidths());
+        PdfPTable result;
+        if (table instanceof StreamingTable) {
+            result = new StreamingPdfPTable((StreamingTable) table);
+        } else {
+            result = new PdfPTable(table.getRelativeColumnWidths());
+        }
         result.setKeepTogether(table.isKeepTogether());
         result.setWidthPercentage(table.getWidthPercentage());
         result.setSpacingBefore(table.getSpacingBefore());
         result.setSpacingAfter(table.getSpacingAfter());
+        result.setParallelMeasurement(table.isParallelMeasurement());
 
         for (Cell cell : table.getCells()) {
-            result.addCell(PdfPCell.getInstance(cell));
+            result.addOwnedCell(getCell(table, cell));
+        }
+        if (result instanceof StreamingPdfPTable) {
+            ((StreamingPdfPTable) result).checkRowSpans(0);
+            result.setHeaderRows(result.size());
+        } else {
+            result.setHeaderRows(table.getHeaderRows());
         }
 
         return result;
     }
+
+    /**
+     * Gets the cell of a Cell in a Table. The cells of a Table with a fixed layout have the fixed height of the rows
+     * they span and the overflow of the Table.
+     *
+     * @param table the Table
+     * @param cell  the Cell
+     * @return the cell
+     */
+    static PdfPCell getCell(Table table, Cell cell) {
+        PdfPCell result = PdfPCell.getInstance(cell);
+        if (table.getFixedRowHeight() > 0) {
+            result.setFixedHeight(table.getFixedRowHeight() * Math.max(cell.getRowSpan(), 1));
+            result.setOverflow(table.getOverflow() == Table.Overflow.ELLIPSIS ? PdfPCell.OVERFLOW_ELLIPSIS
+                    : PdfPCell.OVERFLOW_CLIP);
+        }
+        return result;
+    }
+
+    /**
+     * Measures a range of rows, split in blocks that are measured concurrently.
+     */
+    private static final class RowMeasure extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The number of rows measured by one task.
+         */
+        private static final int BLOCK_SIZE = 64;
+
+        private final List<PdfPRow> rows;
+        private final int start;
+        private final int end;
+
+        private RowMeasure(List<PdfPRow> rows, int start, int end) {
+            this.rows = rows;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > BLOCK_SIZE) {
+                int middle = (start + end) >>> 1;
+                invokeAll(new RowMeasure(rows, start, middle), new RowMeasure(rows, middle, end));
+                return;
+            }
+            for (int k = start; k < end; ++k) {
+                PdfPRow row = rows.get(k);
+                if (row != null)
+                    row.getMaxHeights();
+            }
+        }
+    }
 }
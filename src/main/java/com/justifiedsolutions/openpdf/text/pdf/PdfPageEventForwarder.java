@@ -40,7 +40,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param document the document
      */
     public void onOpenDocument(PdfWriter writer, Document document) {
-        events.forEach(event -> onOpenDocument(writer, document));
+        events.forEach(event -> event.onOpenDocument(writer, document));
     }
 
     /**
@@ -53,7 +53,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param document the document
      */
     public void onStartPage(PdfWriter writer, Document document) {
-        events.forEach(event -> onStartPage(writer, document));
+        events.forEach(event -> event.onStartPage(writer, document));
     }
 
     /**
@@ -63,7 +63,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param document the document
      */
     public void onEndPage(PdfWriter writer, Document document) {
-        events.forEach(event -> onEndPage(writer, document));
+        events.forEach(event -> event.onEndPage(writer, document));
     }
 
     /**
@@ -75,7 +75,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param document the document
      */
     public void onCloseDocument(PdfWriter writer, Document document) {
-        events.forEach(event -> onCloseDocument(writer, document));
+        events.forEach(event -> event.onCloseDocument(writer, document));
     }
 
     /**
@@ -89,7 +89,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param paragraphPosition the position the paragraph will be written to
      */
     public void onParagraph(PdfWriter writer, Document document, float paragraphPosition) {
-        events.forEach(event -> onParagraph(writer, document, paragraphPosition));
+        events.forEach(event -> event.onParagraph(writer, document, paragraphPosition));
     }
 
     /**
@@ -103,7 +103,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param paragraphPosition the position of the end of the paragraph
      */
     public void onParagraphEnd(PdfWriter writer, Document document, float paragraphPosition) {
-        events.forEach(event -> onParagraphEnd(writer, document, paragraphPosition));
+        events.forEach(event -> event.onParagraphEnd(writer, document, paragraphPosition));
     }
 
     /**
@@ -119,7 +119,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      */
     public void onChapter(PdfWriter writer, Document document, float paragraphPosition,
             Paragraph title) {
-        events.forEach(event -> onChapter(writer, document, paragraphPosition, title));
+        events.forEach(event -> event.onChapter(writer, document, paragraphPosition, title));
     }
 
     /**
@@ -132,7 +132,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param position the position of the end of the chapter.
      */
     public void onChapterEnd(PdfWriter writer, Document document, float position) {
-        events.forEach(event -> onChapterEnd(writer, document, position));
+        events.forEach(event -> event.onChapterEnd(writer, document, position));
     }
 
     /**
@@ -149,7 +149,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      */
     public void onSection(PdfWriter writer, Document document, float paragraphPosition, int depth,
             Paragraph title) {
-        events.forEach(event -> onSection(writer, document, paragraphPosition, depth, title));
+        events.forEach(event -> event.onSection(writer, document, paragraphPosition, depth, title));
     }
 
     /**
@@ -162,7 +162,7 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param position the position of the end of the section
      */
     public void onSectionEnd(PdfWriter writer, Document document, float position) {
-        events.forEach(event -> onSectionEnd(writer, document, position));
+        events.forEach(event -> event.onSectionEnd(writer, document, position));
     }
 
     /**
@@ -177,6 +177,6 @@ public class PdfPageEventForwarder implements PdfPageEvent {
      * @param text     the text of the tag
      */
     public void onGenericTag(PdfWriter writer, Document document, Rectangle rect, String text) {
-        events.forEach(event -> onGenericTag(writer, document, rect, text));
+        events.forEach(event -> event.onGenericTag(writer, document, rect, text));
     }
 }
\ No newline at end of file
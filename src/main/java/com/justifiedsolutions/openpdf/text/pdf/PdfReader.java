@@ -51,22 +51,34 @@ package com.justifiedsolutions.openpdf.text.pdf;
 
 import com.justifiedsolutions.openpdf.text.ExceptionConverter;
 import com.justifiedsolutions.openpdf.text.MessageLocalization;
+import com.justifiedsolutions.openpdf.text.Rectangle;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.zip.InflaterInputStream;
+import java.util.Map;
+import java.util.zip.ZipException;
 
 /**
- * Reads a PDF document.
+ * Reads a PDF document. The cross-reference table is read when the reader is created but the
+ * objects themselves are only parsed when they are requested, so importing a page reads little
+ * more than the objects the page uses.
  * 
  * @author Paulo Soares (psoares@consiste.pt)
  * @author Kazuya Ujihara
  */
-public class PdfReader {
+public class PdfReader implements AutoCloseable {
+
+  /** The attributes a page inherits from its parents in the page tree. */
+  private static final PdfName[] pageInhCandidates = {
+      PdfName.MEDIABOX, PdfName.ROTATE, PdfName.RESOURCES, PdfName.CROPBOX };
 
   private static final byte[] endstream = PdfEncodings
           .convertToBytes("endstream", null);
@@ -76,14 +88,469 @@ public class PdfReader {
   // type 0 -> -1, 0
   // type 1 -> offset, 0
   // type 2 -> index, obj num
-  protected int[] xref;
-  protected IntHashtable objStmToOffset;
+  protected long[] xref;
+  /** The positions of the object streams, by object number. */
+  protected Map<Integer, Long> objStmToOffset;
   private List<PdfObject> xrefObj;
 
   protected List<PdfObject> strings = new ArrayList<>();
+  protected PdfDictionary trailer;
+  protected PdfDictionary rootPages;
+  protected char pdfVersion;
   private int objNum;
   private int objGen;
 
+  /**
+   * Reads and parses a PDF document. The file is memory mapped and only the
+   * cross-reference table is read until objects are requested.
+   *
+   * @param filename
+   *          the file name of the document
+   * @throws IOException
+   *           on error
+   */
+  public PdfReader(String filename) throws IOException {
+    this(new RandomAccessFileOrArray(filename, false, false));
+  }
+
+  /**
+   * Reads and parses a PDF document.
+   *
+   * @param pdfIn
+   *          the byte array with the document
+   * @throws IOException
+   *           on error
+   */
+  public PdfReader(byte[] pdfIn) throws IOException {
+    this(new RandomAccessFileOrArray(pdfIn));
+  }
+
+  /**
+   * Reads and parses a PDF document.
+   *
+   * @param raf
+   *          the document location
+   * @throws IOException
+   *           on error
+   */
+  public PdfReader(RandomAccessFileOrArray raf) throws IOException {
+    tokens = new PRTokeniser(raf);
+    try {
+      pdfVersion = tokens.checkPdfHeader();
+      readXref();
+      readDocObjPartial();
+    } catch (IOException | RuntimeException e) {
+      try {
+        tokens.close();
+      } catch (IOException ioe) {
+        // ignore, the original exception is more useful
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the trailer dictionary.
+   *
+   * @return the trailer dictionary
+   */
+  public PdfDictionary getTrailer() {
+    return trailer;
+  }
+
+  /**
+   * Gets the PDF version. Only the last version char is returned. For example
+   * version 1.4 is returned as '4'.
+   *
+   * @return the PDF version
+   */
+  public char getPdfVersion() {
+    return pdfVersion;
+  }
+
+  /**
+   * Gets the number of pages in the document.
+   *
+   * @return the number of pages in the document
+   */
+  public int getNumberOfPages() {
+    PdfNumber count = rootPages.getAsNumber(PdfName.COUNT);
+    return count == null ? 0 : count.intValue();
+  }
+
+  /**
+   * Gets the dictionary that represents a page. Only the nodes of the page tree
+   * on the way to the page and their direct kids are read. The attributes the
+   * page inherits from its parents are copied into the page dictionary.
+   *
+   * @param pageNum
+   *          the page number. 1 is the first
+   * @return the page dictionary
+   */
+  public PdfDictionary getPageN(int pageNum) {
+    if (pageNum < 1 || pageNum > getNumberOfPages())
+      throw new IllegalArgumentException(MessageLocalization
+          .getComposedMessage("invalid.page.number.1", pageNum));
+    PdfDictionary node = rootPages;
+    PdfObject[] inherited = new PdfObject[pageInhCandidates.length];
+    int skip = pageNum - 1;
+    while (true) {
+      for (int k = 0; k < pageInhCandidates.length; ++k) {
+        PdfObject obj = node.get(pageInhCandidates[k]);
+        if (obj != null)
+          inherited[k] = obj;
+      }
+      PdfArray kids = node.getAsArray(PdfName.KIDS);
+      if (kids == null)
+        break;
+      PdfDictionary next = null;
+      for (PdfObject kid : kids.getElements()) {
+        PdfDictionary kidDic = (PdfDictionary) getPdfObject(kid);
+        if (kidDic == null)
+          continue;
+        PdfNumber count = kidDic.getAsArray(PdfName.KIDS) == null ? null
+            : kidDic.getAsNumber(PdfName.COUNT);
+        int pages = count == null ? 1 : count.intValue();
+        if (skip < pages) {
+          next = kidDic;
+          break;
+        }
+        skip -= pages;
+      }
+      if (next == null)
+        throw new IllegalArgumentException(MessageLocalization
+            .getComposedMessage("page.not.found"));
+      node = next;
+    }
+    for (int k = 0; k < pageInhCandidates.length; ++k) {
+      if (inherited[k] != null && node.get(pageInhCandidates[k]) == null)
+        node.put(pageInhCandidates[k], inherited[k]);
+    }
+    return node;
+  }
+
+  /**
+   * Gets the page size, taking a crop box into account.
+   *
+   * @param index
+   *          the page number. The first page is 1
+   * @return the page size
+   */
+  public Rectangle getCropBox(int index) {
+    PdfDictionary page = getPageN(index);
+    PdfArray cropBox = (PdfArray) getPdfObject(page.get(PdfName.CROPBOX));
+    if (cropBox == null)
+      return getPageSize(page);
+    return getNormalizedRectangle(cropBox);
+  }
+
+  /**
+   * Gets the page size without taking rotation into account. This is the value
+   * of the /MediaBox key.
+   *
+   * @param index
+   *          the page number. The first page is 1
+   * @return the page size
+   */
+  public Rectangle getPageSize(int index) {
+    return getPageSize(getPageN(index));
+  }
+
+  private Rectangle getPageSize(PdfDictionary page) {
+    PdfArray mediaBox = (PdfArray) getPdfObject(page.get(PdfName.MEDIABOX));
+    return getNormalizedRectangle(mediaBox);
+  }
+
+  /**
+   * Normalizes a <CODE>Rectangle</CODE> so that llx and lly are smaller than
+   * urx and ury.
+   *
+   * @param box
+   *          the original rectangle
+   * @return a normalized <CODE>Rectangle</CODE>
+   */
+  public static Rectangle getNormalizedRectangle(PdfArray box) {
+    List<PdfObject> elements = box.getElements();
+    double llx = ((PdfNumber) getPdfObject(elements.get(0))).doubleValue();
+    double lly = ((PdfNumber) getPdfObject(elements.get(1))).doubleValue();
+    double urx = ((PdfNumber) getPdfObject(elements.get(2))).doubleValue();
+    double ury = ((PdfNumber) getPdfObject(elements.get(3))).doubleValue();
+    return new Rectangle((float) Math.min(llx, urx), (float) Math.min(lly, ury),
+        (float) Math.max(llx, urx), (float) Math.max(lly, ury));
+  }
+
+  /**
+   * Gets the contents of the page, decoded and with several content streams
+   * joined into one.
+   *
+   * @param pageNum
+   *          the page number. 1 is the first
+   * @param file
+   *          the location of the PDF document
+   * @throws IOException
+   *           on error
+   * @return the content
+   */
+  public byte[] getPageContent(int pageNum, RandomAccessFileOrArray file)
+      throws IOException {
+    PdfDictionary page = getPageN(pageNum);
+    PdfObject contents = getPdfObject(page.get(PdfName.CONTENTS));
+    if (contents == null)
+      return new byte[0];
+    if (contents.isStream())
+      return getStreamBytes((PRStream) contents, file);
+    if (!contents.isArray())
+      return new byte[0];
+    List<PdfObject> array = ((PdfArray) contents).getElements();
+    ByteArrayOutputStream bout = new ByteArrayOutputStream();
+    for (int k = 0; k < array.size(); ++k) {
+      PdfObject item = getPdfObject(array.get(k));
+      if (item == null || !item.isStream())
+        continue;
+      bout.write(getStreamBytes((PRStream) item, file));
+      if (k != array.size() - 1)
+        bout.write('\n');
+    }
+    return bout.toByteArray();
+  }
+
+  /**
+   * Closes the reader.
+   */
+  public void close() {
+    try {
+      tokens.close();
+    } catch (IOException e) {
+      throw new ExceptionConverter(e);
+    }
+  }
+
+  protected void readDocObjPartial() throws IOException {
+    xrefObj = new ArrayList<>(xref.length / 2);
+    for (int k = 0; k < xref.length / 2; ++k)
+      xrefObj.add(null);
+    if (objStmToOffset != null) {
+      for (int n : objStmToOffset.keySet()) {
+        objStmToOffset.put(n, xref[n * 2]);
+        xref[n * 2] = -1;
+      }
+    }
+    if (trailer.get(PdfName.ENCRYPT) != null)
+      throw new UnsupportedPdfException(MessageLocalization
+          .getComposedMessage("encrypted.documents.are.not.supported"));
+    PdfDictionary catalog = trailer.getAsDict(PdfName.ROOT);
+    rootPages = catalog == null ? null : catalog.getAsDict(PdfName.PAGES);
+    if (rootPages == null)
+      throw new InvalidPdfException(MessageLocalization
+          .getComposedMessage("the.document.has.no.pages"));
+  }
+
+  protected void readXref() throws IOException {
+    tokens.seek(tokens.getStartxref());
+    tokens.nextToken();
+    if (!tokens.tokenEquals("startxref"))
+      throw new InvalidPdfException(MessageLocalization
+          .getComposedMessage("startxref.not.found"));
+    tokens.nextToken();
+    if (tokens.getTokenType() != PRTokeniser.TK_NUMBER)
+      throw new InvalidPdfException(MessageLocalization
+          .getComposedMessage("startxref.is.not.followed.by.a.number"));
+    long startxref = tokens.longValue();
+    try {
+      if (readXRefStream(startxref))
+        return;
+    } catch (Exception e) {
+      // not a cross-reference stream, try a table
+    }
+    xref = null;
+    trailer = null;
+    objStmToOffset = null;
+    tokens.seek(startxref);
+    trailer = readXrefSection();
+    PdfDictionary trailer2 = trailer;
+    while (true) {
+      PdfNumber prev = (PdfNumber) trailer2.get(PdfName.PREV);
+      if (prev == null)
+        break;
+      tokens.seek((long) prev.doubleValue());
+      trailer2 = readXrefSection();
+    }
+  }
+
+  protected PdfDictionary readXrefSection() throws IOException {
+    tokens.nextValidToken();
+    if (!tokens.tokenEquals("xref"))
+      tokens.throwError(MessageLocalization
+          .getComposedMessage("xref.subsection.not.found"));
+    int start;
+    int end;
+    long pos;
+    int gen;
+    while (true) {
+      tokens.nextValidToken();
+      if (tokens.tokenEquals("trailer"))
+        break;
+      if (tokens.getTokenType() != PRTokeniser.TK_NUMBER)
+        tokens.throwError(MessageLocalization
+            .getComposedMessage("object.number.of.the.first.object.in.this.xref.subsection.not.found"));
+      start = tokens.intValue();
+      tokens.nextValidToken();
+      if (tokens.getTokenType() != PRTokeniser.TK_NUMBER)
+        tokens.throwError(MessageLocalization
+            .getComposedMessage("number.of.entries.in.this.xref.subsection.not.found"));
+      end = tokens.intValue() + start;
+      if (start == 1) { // fix incorrect start number
+        long back = tokens.getFilePointer();
+        tokens.nextValidToken();
+        pos = tokens.longValue();
+        tokens.nextValidToken();
+        gen = tokens.intValue();
+        if (pos == 0 && gen == PdfWriter.GENERATION_MAX) {
+          --start;
+          --end;
+        }
+        tokens.seek(back);
+      }
+      ensureXrefSize(end * 2);
+      for (int k = start; k < end; ++k) {
+        tokens.nextValidToken();
+        pos = tokens.longValue();
+        tokens.nextValidToken();
+        tokens.nextValidToken();
+        int p = k * 2;
+        if (tokens.tokenEquals("n")) {
+          if (xref[p] == 0 && xref[p + 1] == 0)
+            xref[p] = pos;
+        } else if (tokens.tokenEquals("f")) {
+          if (xref[p] == 0 && xref[p + 1] == 0)
+            xref[p] = -1;
+        } else
+          tokens.throwError(MessageLocalization
+              .getComposedMessage("invalid.cross.reference.entry.in.this.xref.subsection"));
+      }
+    }
+    PdfDictionary trailer = (PdfDictionary) readPRObject();
+    PdfNumber xrefSize = (PdfNumber) trailer.get(PdfName.SIZE);
+    ensureXrefSize(xrefSize.intValue() * 2);
+    PdfObject xrs = trailer.get(PdfName.XREFSTM);
+    if (xrs != null && xrs.isNumber()) {
+      long loc = (long) ((PdfNumber) xrs).doubleValue();
+      try {
+        readXRefStream(loc);
+      } catch (IOException e) {
+        xref = null;
+        throw e;
+      }
+    }
+    return trailer;
+  }
+
+  protected boolean readXRefStream(long ptr) throws IOException {
+    tokens.seek(ptr);
+    if (!tokens.nextToken())
+      return false;
+    if (tokens.getTokenType() != PRTokeniser.TK_NUMBER)
+      return false;
+    int thisStream = tokens.intValue();
+    if (!tokens.nextToken() || tokens.getTokenType() != PRTokeniser.TK_NUMBER)
+      return false;
+    if (!tokens.nextToken() || !tokens.tokenEquals("obj"))
+      return false;
+    PdfObject object = readPRObject();
+    PRStream stm;
+    if (object.isStream()) {
+      stm = (PRStream) object;
+      if (!PdfName.XREF.equals(stm.get(PdfName.TYPE)))
+        return false;
+    } else
+      return false;
+    if (trailer == null) {
+      trailer = new PdfDictionary();
+      trailer.putAll(stm);
+    }
+    stm.setLength(((PdfNumber) stm.get(PdfName.LENGTH)).intValue());
+    int size = ((PdfNumber) stm.get(PdfName.SIZE)).intValue();
+    List<PdfObject> index;
+    PdfObject obj = stm.get(PdfName.INDEX);
+    if (obj == null) {
+      index = new ArrayList<>();
+      index.add(new PdfNumber(0));
+      index.add(new PdfNumber(size));
+    } else
+      index = ((PdfArray) obj).getElements();
+    List<PdfObject> w = ((PdfArray) stm.get(PdfName.W)).getElements();
+    long prev = -1;
+    obj = stm.get(PdfName.PREV);
+    if (obj != null)
+      prev = (long) ((PdfNumber) obj).doubleValue();
+    // Each xref pair is a position
+    // type 0 -> -1, 0
+    // type 1 -> offset, 0
+    // type 2 -> index, obj num
+    ensureXrefSize(size * 2);
+    if (objStmToOffset == null)
+      objStmToOffset = new HashMap<>();
+    byte[] b = getStreamBytes(stm, tokens.getFile());
+    int bptr = 0;
+    int[] wc = new int[3];
+    for (int k = 0; k < 3; ++k)
+      wc[k] = ((PdfNumber) w.get(k)).intValue();
+    for (int idx = 0; idx < index.size(); idx += 2) {
+      int start = ((PdfNumber) index.get(idx)).intValue();
+      int length = ((PdfNumber) index.get(idx + 1)).intValue();
+      ensureXrefSize((start + length) * 2);
+      while (length-- > 0) {
+        int type = 1;
+        if (wc[0] > 0) {
+          type = 0;
+          for (int k = 0; k < wc[0]; ++k)
+            type = (type << 8) + (b[bptr++] & 0xff);
+        }
+        long field2 = 0;
+        for (int k = 0; k < wc[1]; ++k)
+          field2 = (field2 << 8) + (b[bptr++] & 0xff);
+        long field3 = 0;
+        for (int k = 0; k < wc[2]; ++k)
+          field3 = (field3 << 8) + (b[bptr++] & 0xff);
+        int base = start * 2;
+        if (xref[base] == 0 && xref[base + 1] == 0) {
+          switch (type) {
+          case 0:
+            xref[base] = -1;
+            break;
+          case 1:
+            xref[base] = field2;
+            break;
+          case 2:
+            xref[base] = field3;
+            xref[base + 1] = field2;
+            objStmToOffset.put((int) field2, 0L);
+            break;
+          }
+        }
+        ++start;
+      }
+    }
+    thisStream *= 2;
+    if (thisStream < xref.length)
+      xref[thisStream] = -1;
+    if (prev == -1)
+      return true;
+    return readXRefStream(prev);
+  }
+
+  private void ensureXrefSize(int size) {
+    if (size == 0)
+      return;
+    if (xref == null)
+      xref = new long[size];
+    else if (xref.length < size) {
+      long[] xref2 = new long[size];
+      System.arraycopy(xref, 0, xref2, 0, xref.length);
+      xref = xref2;
+    }
+  }
+
   /**
    * Gets a new file instance of the original PDF document.
    * 
@@ -156,11 +623,11 @@ public class PdfReader {
   protected PdfObject readSingleObject(int k) throws IOException {
     strings.clear();
     int k2 = k * 2;
-    int pos = xref[k2];
+    long pos = xref[k2];
     if (pos < 0)
       return null;
     if (xref[k2 + 1] > 0)
-      pos = objStmToOffset.get(xref[k2 + 1]);
+      pos = objStmToOffset.getOrDefault((int) xref[k2 + 1], 0L);
     if (pos == 0)
       return null;
     tokens.seek(pos);
@@ -175,7 +642,7 @@ public class PdfReader {
           .getComposedMessage("invalid.generation.number"));
     objGen = tokens.intValue();
     tokens.nextValidToken();
-    if (!tokens.getStringValue().equals("obj"))
+    if (!tokens.tokenEquals("obj"))
       tokens.throwError(MessageLocalization
           .getComposedMessage("token.obj.expected"));
     PdfObject obj;
@@ -188,7 +655,7 @@ public class PdfReader {
       obj = null;
     }
     if (xref[k2 + 1] > 0) {
-      obj = readOneObjStm((PRStream) obj, xref[k2]);
+      obj = readOneObjStm((PRStream) obj, (int) xref[k2]);
     }
     xrefObj.set(k, obj);
     return obj;
@@ -232,8 +699,8 @@ public class PdfReader {
   }
 
   private void checkPRStreamLength(PRStream stream) throws IOException {
-    int fileLength = tokens.length();
-    int start = stream.getOffset();
+    long fileLength = tokens.length();
+    long start = stream.getOffset();
     boolean calc = false;
     int streamLength = 0;
     PdfObject obj = getPdfObjectRelease(stream.get(PdfName.LENGTH));
@@ -255,11 +722,11 @@ public class PdfReader {
       byte[] tline = new byte[16];
       tokens.seek(start);
       while (true) {
-        int pos = tokens.getFilePointer();
+        long pos = tokens.getFilePointer();
         if (!tokens.readLineSegment(tline))
           break;
         if (equalsn(tline, endstream)) {
-          streamLength = pos - start;
+          streamLength = (int) (pos - start);
           break;
         }
         if (equalsn(tline, endobj)) {
@@ -268,7 +735,7 @@ public class PdfReader {
           int index = s.indexOf("endstream");
           if (index >= 0)
             pos = pos - 16 + index;
-          streamLength = pos - start;
+          streamLength = (int) (pos - start);
           break;
         }
       }
@@ -285,7 +752,7 @@ public class PdfReader {
       if (tokens.getTokenType() != PRTokeniser.TK_NAME)
         tokens.throwError(MessageLocalization
             .getComposedMessage("dictionary.key.is.not.a.name"));
-      PdfName name = new PdfName(tokens.getStringValue(), false);
+      PdfName name = PdfName.valueOf(tokens.getTokenBytes(), 0, tokens.getTokenLength());
       PdfObject obj = readPRObject();
       int type = obj.type();
       if (-type == PRTokeniser.TK_END_DIC)
@@ -327,14 +794,14 @@ public class PdfReader {
       ++readDepth;
       PdfDictionary dic = readDictionary();
       --readDepth;
-      int pos = tokens.getFilePointer();
+      long pos = tokens.getFilePointer();
       // be careful in the trailer. May not be a "next" token.
       boolean hasNext;
       do {
         hasNext = tokens.nextToken();
       } while (hasNext && tokens.getTokenType() == PRTokeniser.TK_COMMENT);
 
-      if (hasNext && tokens.getStringValue().equals("stream")) {
+      if (hasNext && tokens.tokenEquals("stream")) {
         // skip whitespaces
         int ch;
         do {
@@ -360,7 +827,13 @@ public class PdfReader {
       return arr;
     }
     case PRTokeniser.TK_NUMBER:
-      return new PdfNumber(tokens.getStringValue());
+      try {
+        return new PdfNumber(Arrays.copyOf(tokens.getTokenBytes(), tokens.getTokenLength()),
+            tokens.doubleValue());
+      } catch (NumberFormatException e) {
+        // let PdfNumber report the invalid number
+        return new PdfNumber(tokens.getStringValue());
+      }
     case PRTokeniser.TK_STRING:
       PdfString str = new PdfString(tokens.getStringValue(), null)
           .setHexWriting(tokens.isHexString());
@@ -369,12 +842,10 @@ public class PdfReader {
 
       return str;
     case PRTokeniser.TK_NAME: {
-      PdfName cachedName = PdfName.staticNames.get(tokens
-          .getStringValue());
-      if (readDepth > 0 && cachedName != null) {
-        return cachedName;
+      if (readDepth > 0) {
+        return PdfName.valueOf(tokens.getTokenBytes(), 0, tokens.getTokenLength());
       } else {
-        // an indirect name (how odd...), or a non-standard one
+        // an indirect name (how odd...), it must not be shared
         return new PdfName(tokens.getStringValue(), false);
       }
     }
@@ -386,18 +857,17 @@ public class PdfReader {
       throw new IOException(
           MessageLocalization.getComposedMessage("unexpected.end.of.file"));
     default:
-      String sv = tokens.getStringValue();
-      if ("null".equals(sv)) {
+      if (tokens.tokenEquals("null")) {
         if (readDepth == 0) {
           return new PdfNull();
         } // else
         return PdfNull.PDFNULL;
-      } else if ("true".equals(sv)) {
+      } else if (tokens.tokenEquals("true")) {
         if (readDepth == 0) {
           return new PdfBoolean(true);
         } // else
         return PdfBoolean.PDFTRUE;
-      } else if ("false".equals(sv)) {
+      } else if (tokens.tokenEquals("false")) {
         if (readDepth == 0) {
           return new PdfBoolean(false);
         } // else
@@ -422,9 +892,38 @@ public class PdfReader {
   }
 
   /**
+   * Reverses the predictor of a decoded FlateDecode stream.
+   *
+   * @param in
+   *          the data with the predictor applied
+   * @param dicPar
+   *          the decode parameters of the filter
    * @return a byte array
    */
   public static byte[] decodePredictor(byte[] in, PdfObject dicPar) {
+    InputStream stream = new ByteArrayInputStream(in);
+    InputStream decoded = decodePredictor(stream, dicPar);
+    if (decoded == stream)
+      return in;
+    try {
+      return readAll(decoded, in.length);
+    } catch (IOException e) {
+      // never happens on a byte array
+      throw new ExceptionConverter(e);
+    }
+  }
+
+  /**
+   * Reverses the predictor of a decoded stream while it is read. Only two rows
+   * of the data are held at any time.
+   *
+   * @param in
+   *          the data with the predictor applied
+   * @param dicPar
+   *          the decode parameters of the filter
+   * @return the decoded data, or <CODE>in</CODE> if there is no predictor
+   */
+  static InputStream decodePredictor(InputStream in, PdfObject dicPar) {
     if (dicPar == null || !dicPar.isDictionary())
       return in;
     PdfDictionary dic = (PdfDictionary) dicPar;
@@ -432,7 +931,7 @@ public class PdfReader {
     if (obj == null || !obj.isNumber())
       return in;
     int predictor = ((PdfNumber) obj).intValue();
-    if (predictor < 10)
+    if (!PredictorInputStream.isSupported(predictor))
       return in;
     int width = 1;
     obj = getPdfObject(dic.get(PdfName.COLUMNS));
@@ -446,92 +945,7 @@ public class PdfReader {
     obj = getPdfObject(dic.get(PdfName.BITSPERCOMPONENT));
     if (obj != null && obj.isNumber())
       bpc = ((PdfNumber) obj).intValue();
-    DataInputStream dataStream = new DataInputStream(new ByteArrayInputStream(
-        in));
-    ByteArrayOutputStream fout = new ByteArrayOutputStream(in.length);
-    int bytesPerPixel = colors * bpc / 8;
-    int bytesPerRow = (colors * width * bpc + 7) / 8;
-    byte[] curr = new byte[bytesPerRow];
-    byte[] prior = new byte[bytesPerRow];
-
-    // Decode the (sub)image row-by-row
-    while (true) {
-      // Read the filter type byte and a row of data
-      int filter;
-      try {
-        filter = dataStream.read();
-        if (filter < 0) {
-          return fout.toByteArray();
-        }
-        dataStream.readFully(curr, 0, bytesPerRow);
-      } catch (Exception e) {
-        return fout.toByteArray();
-      }
-
-      switch (filter) {
-      case 0: // PNG_FILTER_NONE
-        break;
-      case 1: // PNG_FILTER_SUB
-        for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-          curr[i] += curr[i - bytesPerPixel];
-        }
-        break;
-      case 2: // PNG_FILTER_UP
-        for (int i = 0; i < bytesPerRow; i++) {
-          curr[i] += prior[i];
-        }
-        break;
-      case 3: // PNG_FILTER_AVERAGE
-        for (int i = 0; i < bytesPerPixel; i++) {
-          curr[i] += prior[i] / (byte) 2;
-        }
-        for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-          curr[i] += ((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / (byte) 2;
-        }
-        break;
-      case 4: // PNG_FILTER_PAETH
-        for (int i = 0; i < bytesPerPixel; i++) {
-          curr[i] += prior[i];
-        }
-
-        for (int i = bytesPerPixel; i < bytesPerRow; i++) {
-          int a = curr[i - bytesPerPixel] & 0xff;
-          int b = prior[i] & 0xff;
-          int c = prior[i - bytesPerPixel] & 0xff;
-
-          int p = a + b - c;
-          int pa = Math.abs(p - a);
-          int pb = Math.abs(p - b);
-          int pc = Math.abs(p - c);
-
-          int ret;
-
-          if ((pa <= pb) && (pa <= pc)) {
-            ret = a;
-          } else if (pb <= pc) {
-            ret = b;
-          } else {
-            ret = c;
-          }
-          curr[i] += (byte) (ret);
-        }
-        break;
-      default:
-        // Error -- unknown filter type
-        throw new RuntimeException(
-            MessageLocalization.getComposedMessage("png.filter.unknown"));
-      }
-      try {
-        fout.write(curr);
-      } catch (IOException ioe) {
-        // Never happens
-      }
-
-      // Swap curr and prior
-      byte[] tmp = prior;
-      prior = curr;
-      curr = tmp;
-    }
+    return new PredictorInputStream(in, predictor, colors, bpc, width);
   }
 
   /**
@@ -545,17 +959,9 @@ public class PdfReader {
    * @return the decoded data
    */
   public static byte[] FlateDecode(byte[] in, boolean strict) {
-    ByteArrayInputStream stream = new ByteArrayInputStream(in);
-    InflaterInputStream zip = new InflaterInputStream(stream);
-    ByteArrayOutputStream out = new ByteArrayOutputStream();
-    byte[] b = new byte[strict ? 4092 : 1];
-    try {
-      int n;
-      while ((n = zip.read(b)) >= 0) {
-        out.write(b, 0, n);
-      }
-      zip.close();
-      out.close();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(in.length * 2);
+    try (InputStream zip = new FlateDecodeInputStream(new ByteArrayInputStream(in), strict)) {
+      copy(zip, out);
       return out.toByteArray();
     } catch (Exception e) {
       if (strict)
@@ -564,6 +970,20 @@ public class PdfReader {
     }
   }
 
+  private static void copy(InputStream in, OutputStream out) throws IOException {
+    byte[] b = new byte[8192];
+    int n;
+    while ((n = in.read(b)) >= 0) {
+      out.write(b, 0, n);
+    }
+  }
+
+  private static byte[] readAll(InputStream in, int sizeHint) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, sizeHint));
+    copy(in, out);
+    return out.toByteArray();
+  }
+
   /**
    * Decodes a stream that has the ASCIIHexDecode filter.
    * 
@@ -676,8 +1096,46 @@ public class PdfReader {
    */
   public static byte[] getStreamBytes(PRStream stream,
       RandomAccessFileOrArray file) throws IOException {
+    int sizeHint = stream.getOffset() < 0 ? stream.getBytes().length : stream.getLength();
+    try (InputStream in = getStreamInputStream(stream, file, true)) {
+      return readAll(in, sizeHint * 2);
+    } catch (ZipException | EOFException e) {
+      // a corrupted stream, read what can be read
+      try (InputStream in = getStreamInputStream(stream, file, false)) {
+        return readAll(in, sizeHint * 2);
+      }
+    }
+  }
+
+  /**
+   * Gets the content from a stream, decoded while it is read. Neither the
+   * encoded nor the decoded content is held in memory as a whole. The
+   * <CODE>file</CODE> must not be used for anything else until the returned
+   * stream is closed.
+   * 
+   * @param stream
+   *          the stream
+   * @param file
+   *          the location where the stream is
+   * @throws IOException
+   *           on error
+   * @return the decoded content
+   */
+  public static InputStream getStreamInputStream(PRStream stream,
+      RandomAccessFileOrArray file) throws IOException {
+    return getStreamInputStream(stream, file, true);
+  }
+
+  private static InputStream getStreamInputStream(PRStream stream,
+      RandomAccessFileOrArray file, boolean strict) throws IOException {
     PdfObject filter = getPdfObjectRelease(stream.get(PdfName.FILTER));
-    byte[] b = getStreamBytesRaw(stream, file);
+    InputStream in;
+    if (stream.getOffset() < 0)
+      in = new ByteArrayInputStream(stream.getBytes());
+    else {
+      file.seek(stream.getOffset());
+      in = file.getInputStream(stream.getLength());
+    }
     List<PdfObject> filters = new ArrayList<>();
     filters = addFilters(filters, filter);
     List<PdfObject> dp = new ArrayList<>();
@@ -697,31 +1155,30 @@ public class PdfReader {
         switch (name) {
             case "/FlateDecode":
             case "/Fl": {
-                b = FlateDecode(b);
-                PdfObject dicParam;
+                in = new FlateDecodeInputStream(in, strict);
                 if (j < dp.size()) {
-                    dicParam = dp.get(j);
-                    b = decodePredictor(b, dicParam);
+                    in = decodePredictor(in, getPdfObjectRelease(dp.get(j)));
                 }
                 break;
             }
             case "/ASCIIHexDecode":
             case "/AHx":
-                b = ASCIIHexDecode(b);
+                in = new ByteArrayInputStream(ASCIIHexDecode(readAll(in, 0)));
                 break;
             case "/ASCII85Decode":
             case "/A85":
-                b = ASCII85Decode(b);
+                in = new ByteArrayInputStream(ASCII85Decode(readAll(in, 0)));
                 break;
             case "/Crypt":
                 break;
             default:
+                in.close();
                 throw new UnsupportedPdfException(
                         MessageLocalization.getComposedMessage(
                                 "the.filter.1.is.not.supported", name));
         }
     }
-    return b;
+    return in;
   }
 
   /**
@@ -48,6 +48,8 @@
  */
 
 package com.justifiedsolutions.openpdf.text.pdf;
+import com.justifiedsolutions.openpdf.text.MessageLocalization;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -59,6 +61,8 @@ import java.util.List;
  * @author Paulo Soares (psoares@consiste.pt)
  */
 class PdfReaderInstance {
+    static final PdfLiteral IDENTITYMATRIX = new PdfLiteral("[1 0 0 1 0 0]");
+    static final PdfNumber ONE = new PdfNumber(1);
 
     int[] myXref;
     PdfReader reader;
@@ -75,6 +79,77 @@ class PdfReaderInstance {
         myXref = new int[reader.getXrefSize()];
     }
 
+    PdfReader getReader() {
+        return reader;
+    }
+
+    /**
+     * Gets the imported page. The page is created once per output document, so every use of
+     * the same page refers to the same form XObject.
+     *
+     * @param pageNumber the page number in the source document. 1 is the first
+     * @return the imported page
+     */
+    PdfImportedPage getImportedPage(int pageNumber) {
+        if (pageNumber < 1 || pageNumber > reader.getNumberOfPages())
+            throw new IllegalArgumentException(MessageLocalization.getComposedMessage("invalid.page.number.1", pageNumber));
+        PdfImportedPage pageT = importedPages.get(pageNumber);
+        if (pageT == null) {
+            pageT = new PdfImportedPage(this, writer, pageNumber);
+            importedPages.put(pageNumber, pageT);
+        }
+        return pageT;
+    }
+
+    PdfObject getResources(int pageNumber) {
+        PdfObject obj = PdfReader.getPdfObjectRelease(reader.getPageN(pageNumber).get(PdfName.RESOURCES));
+        return obj;
+    }
+
+    /**
+     * Gets the content stream of a page as a form XObject. A page with a single content stream
+     * is copied as it is without decoding it.
+     *
+     * @param pageNumber the page number in the source document. 1 is the first
+     * @param compressionLevel the compression level for joined content streams
+     * @return the form XObject
+     * @throws IOException on error
+     */
+    PdfStream getFormXObject(int pageNumber, int compressionLevel) throws IOException {
+        PdfDictionary page = reader.getPageN(pageNumber);
+        PdfObject contents = PdfReader.getPdfObjectRelease(page.get(PdfName.CONTENTS));
+        PdfDictionary dic = new PdfDictionary();
+        byte[] bout = null;
+        if (contents != null) {
+            if (contents.isStream())
+                dic.putAll((PRStream) contents);
+            else
+                bout = reader.getPageContent(pageNumber, file);
+        }
+        else
+            bout = new byte[0];
+        dic.put(PdfName.RESOURCES, PdfReader.getPdfObjectRelease(page.get(PdfName.RESOURCES)));
+        dic.put(PdfName.TYPE, PdfName.XOBJECT);
+        dic.put(PdfName.SUBTYPE, PdfName.FORM);
+        PdfImportedPage impPage = importedPages.get(pageNumber);
+        dic.put(PdfName.BBOX, new PdfRectangle(impPage.getBoundingBox()));
+        PdfArray matrix = impPage.getMatrix();
+        if (matrix == null)
+            dic.put(PdfName.MATRIX, IDENTITYMATRIX);
+        else
+            dic.put(PdfName.MATRIX, matrix);
+        dic.put(PdfName.FORMTYPE, ONE);
+        PRStream stream;
+        if (bout == null) {
+            stream = new PRStream((PRStream) contents, dic);
+        }
+        else {
+            stream = new PRStream(reader, bout, compressionLevel);
+            stream.putAll(dic);
+        }
+        return stream;
+    }
+
     int getNewObjectNumber(int number) {
         if (myXref[number] == 0) {
             myXref[number] = writer.getIndirectReferenceNumber();
@@ -100,8 +175,7 @@ class PdfReaderInstance {
     void writeAllPages() throws IOException {
         try {
             file.reOpen();
-            for (Object o : importedPages.values()) {
-                PdfImportedPage ip = (PdfImportedPage) o;
+            for (PdfImportedPage ip : importedPages.values()) {
                 writer.addToBody(ip.getFormXObject(writer.getCompressionLevel()), ip.getIndirectReference());
             }
             writeAllVisited();
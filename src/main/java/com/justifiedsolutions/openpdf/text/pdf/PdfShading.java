@@ -84,7 +84,7 @@ public class PdfShading {
     }
     
     void setName(int number) {
-        shadingName = new PdfName("Sh" + number);
+        shadingName = PdfName.valueOf("Sh" + number);
     }
     
     void addToBody() throws IOException {
@@ -79,7 +79,7 @@ public class PdfShadingPattern extends PdfDictionary {
     }
     
     void setName(int number) {
-        patternName = new PdfName("P" + number);
+        patternName = PdfName.valueOf("P" + number);
     }
     
     void addToBody() throws IOException {
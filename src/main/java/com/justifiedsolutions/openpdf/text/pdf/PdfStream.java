@@ -109,6 +109,7 @@ public class PdfStream extends PdfDictionary {
     protected ByteArrayOutputStream streamBytes = null;
     protected InputStream inputStream;
     protected PdfIndirectReference ref;
+    protected PdfWriter writer;
     protected long inputStreamLength = -1;
     protected long rawLength;
 
@@ -131,6 +132,29 @@ public class PdfStream extends PdfDictionary {
         put(PdfName.LENGTH, new PdfNumber(bytes.length));
     }
 
+    /**
+     * Creates an efficient stream. No temporary array is ever created. The <CODE>InputStream</CODE>
+     * is totally consumed but is not closed. The general usage is:
+     * <pre>
+     * InputStream in = ...;
+     * PdfStream stream = new PdfStream(in, writer);
+     * stream.flateCompress(compressionLevel);
+     * writer.addToBody(stream);
+     * stream.writeLength();
+     * in.close();
+     * </pre>
+     * @param inputStream the data to write to this stream
+     * @param writer the <CODE>PdfWriter</CODE> for this stream
+     */
+    public PdfStream(InputStream inputStream, PdfWriter writer) {
+        super();
+        type = STREAM;
+        this.inputStream = inputStream;
+        this.writer = writer;
+        ref = writer.getPdfIndirectReference();
+        put(PdfName.LENGTH, ref);
+    }
+
     /**
  * Constructs a <CODE>PdfStream</CODE>-object.
  */
@@ -202,6 +226,22 @@ public class PdfStream extends PdfDictionary {
         }
     }
     
+    /**
+     * Writes the stream length to the <CODE>PdfWriter</CODE>.
+     * <p>
+     * This method must be called and can only be called if the constructor {@link #PdfStream(InputStream,PdfWriter)}
+     * is used to create the stream.
+     * @throws IOException on error
+     * @see #PdfStream(InputStream,PdfWriter)
+     */
+    public void writeLength() throws IOException {
+        if (inputStream == null)
+            throw new UnsupportedOperationException(MessageLocalization.getComposedMessage("writelength.can.only.be.called.in.a.contructed.pdfstream.inputstream.pdfwriter"));
+        if (inputStreamLength == -1)
+            throw new IOException(MessageLocalization.getComposedMessage("writelength.can.only.be.called.after.output.of.the.stream.body"));
+        writer.addToBody(new PdfNumber(inputStreamLength), ref);
+    }
+
     protected void superToPdf(PdfWriter writer, OutputStream os) throws IOException {
         super.toPdf(writer, os);
     }
@@ -225,7 +265,7 @@ public class PdfStream extends PdfDictionary {
                 fout = def = new DeflaterOutputStream(fout, deflater, 0x8000);
             }
 
-            byte[] buf = new byte[4192];
+            byte[] buf = new byte[8192];
             while (true) {
                 int n = inputStream.read(buf);
                 if (n <= 0)
@@ -58,6 +58,7 @@ import java.io.IOException;
 
 public class PdfTemplate extends PdfContentByte {
     public static final int TYPE_TEMPLATE = 1;
+    public static final int TYPE_IMPORTED = 2;
     public static final int TYPE_PATTERN = 3;
     protected int type;
     /** The indirect reference to this template */
@@ -83,6 +84,32 @@ public class PdfTemplate extends PdfContentByte {
         type = TYPE_TEMPLATE;
     }
 
+    /**
+     * Creates a <CODE>PdfTemplate</CODE> with its own resources.
+     *
+     * @param writer the writer the template is written to
+     */
+    PdfTemplate(PdfWriter writer) {
+        super(writer);
+        type = TYPE_TEMPLATE;
+        pageResources = new PageResources();
+        thisReference = writer.getPdfIndirectReference();
+    }
+
+    /**
+     * Creates a template that is written to the document as a form XObject once it is added to a page.
+     *
+     * @param writer the writer
+     * @param width  the width of the template
+     * @param height the height of the template
+     * @return the template
+     */
+    static PdfTemplate createTemplate(PdfWriter writer, float width, float height) {
+        PdfTemplate template = new PdfTemplate(writer);
+        template.bBox = new Rectangle(width, height);
+        return template;
+    }
+
     public Rectangle getBoundingBox() {
         return bBox;
     }
@@ -95,6 +122,26 @@ public class PdfTemplate extends PdfContentByte {
         return layer;
     }
 
+    /**
+     * Sets the transformation matrix of this template.
+     *
+     * @param a an element of the transformation matrix
+     * @param b an element of the transformation matrix
+     * @param c an element of the transformation matrix
+     * @param d an element of the transformation matrix
+     * @param e an element of the transformation matrix
+     * @param f an element of the transformation matrix
+     */
+    public void setMatrix(float a, float b, float c, float d, float e, float f) {
+        matrix = new PdfArray();
+        matrix.add(new PdfNumber(a));
+        matrix.add(new PdfNumber(b));
+        matrix.add(new PdfNumber(c));
+        matrix.add(new PdfNumber(d));
+        matrix.add(new PdfNumber(e));
+        matrix.add(new PdfNumber(f));
+    }
+
     PdfArray getMatrix() {
         return matrix;
     }
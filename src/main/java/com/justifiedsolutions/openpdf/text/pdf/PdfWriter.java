@@ -217,6 +217,30 @@ public class PdfWriter {
      * @since 2.1.3
      */
     protected int compressionLevel = PdfStream.DEFAULT_COMPRESSION;
+    /**
+     * The number of pages between flushes of the outputstream. 0 disables flushing by page.
+     */
+    protected int flushPageInterval = 0;
+    /**
+     * The number of bytes between flushes of the outputstream. 0 disables flushing by size.
+     */
+    protected long flushByteInterval = 0;
+    /**
+     * Write the first page and the fonts it uses as soon as the page is complete.
+     */
+    protected boolean earlyFirstPage = false;
+    /**
+     * The position of the outputstream when it was last flushed.
+     */
+    private long flushedPosition = 0;
+    /**
+     * Compress the page contents and write the objects on separate threads.
+     */
+    protected boolean pipelined = false;
+    /**
+     * The threads compressing and writing the objects when the writer is pipelined.
+     */
+    private PdfWriterPipeline pipeline;
     /**
      * The fonts of this document
      */
@@ -230,7 +254,15 @@ public class PdfWriter {
      * template}.
      */
     protected LinkedHashMap<PdfIndirectReference, Object[]> formXObjects = new LinkedHashMap<>();
-    protected HashMap<PdfReader, PdfReaderInstance> importedPages = new HashMap<>();
+    /**
+     * The name counter for the form XObjects.
+     */
+    protected int formXObjectsCounter = 1;
+    protected LinkedHashMap<PdfReader, PdfReaderInstance> importedPages = new LinkedHashMap<>();
+    /**
+     * The pages imported from an {@link ImportedPageCache}.
+     */
+    protected LinkedHashMap<ImportedPageGraph, PdfImportedPage> cachedImportedPages = new LinkedHashMap<>();
     protected PdfReaderInstance currentPdfReaderInstance;
     /**
      * The colors of this document
@@ -393,7 +425,7 @@ public class PdfWriter {
      *
      * @return the direct content
      */
-    PdfContentByte getDirectContentUnder() {
+    public PdfContentByte getDirectContentUnder() {
         if (!open) {
             throw new RuntimeException(
                     MessageLocalization.getComposedMessage("the.document.is.not.open"));
@@ -561,6 +593,104 @@ public class PdfWriter {
         page.add(object.getIndirectReference());
         root.addPage(page);
         currentPageNumber++;
+        try {
+            if (earlyFirstPage && currentPageNumber == 2) {
+                writeUsageIndependentFonts();
+                flushOutput();
+            } else if (isFlushRequired()) {
+                flushOutput();
+            }
+        } catch (IOException ioe) {
+            throw new ExceptionConverter(ioe);
+        }
+    }
+
+    /**
+     * Sets when the outputstream is flushed while pages are added to the document. Without a
+     * flush policy the written data is only forced to the outputstream when the document is
+     * closed.
+     *
+     * @param pageInterval   the number of pages between flushes, 0 disables flushing by page
+     * @param byteInterval   the number of bytes between flushes, 0 disables flushing by size
+     * @param earlyFirstPage write the header, the first page and the fonts it uses as soon as
+     *                       possible and flush them
+     */
+    public void setFlushPolicy(int pageInterval, long byteInterval, boolean earlyFirstPage) {
+        this.flushPageInterval = pageInterval;
+        this.flushByteInterval = byteInterval;
+        this.earlyFirstPage = earlyFirstPage;
+    }
+
+    /**
+     * Specifies if the page contents are compressed and the objects are written on separate
+     * threads while the next pages are laid out. Only the deflating of the page contents and the
+     * output leave the calling thread, the other objects are still serialized on it. The objects
+     * are written in the same order and at the same offsets as without the pipeline. This has to
+     * be set before the document is opened. A document that fails before it is closed has to be
+     * {@linkplain #abort() aborted} to stop the threads.
+     *
+     * @param pipelined <CODE>true</CODE> to use separate threads for compression and output
+     */
+    public void setPipelined(boolean pipelined) {
+        if (open) {
+            throw new IllegalStateException(
+                    MessageLocalization.getComposedMessage("the.document.is.already.open"));
+        }
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Specifies if the page contents are compressed and the objects are written on separate
+     * threads.
+     *
+     * @return <CODE>true</CODE> if the writer is pipelined
+     */
+    boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Stops writing a document that could not be completed. The threads of a pipelined writer are
+     * stopped and the objects they did not write yet are dropped. The output is left incomplete.
+     * Nothing happens when the document was already closed.
+     */
+    public void abort() {
+        if (pipeline != null) {
+            pipeline.abort();
+            pipeline = null;
+        }
+    }
+
+    private boolean isFlushRequired() {
+        if (flushPageInterval > 0 && (currentPageNumber - 1) % flushPageInterval == 0) {
+            return true;
+        }
+        return flushByteInterval > 0 && getWrittenPosition() - flushedPosition >= flushByteInterval;
+    }
+
+    private long getWrittenPosition() {
+        return (pipeline != null) ? pipeline.getWritten() : os.getCounter();
+    }
+
+    private void flushOutput() throws IOException {
+        if (pipeline != null) {
+            pipeline.flush();
+        } else {
+            os.flush();
+        }
+        flushedPosition = getWrittenPosition();
+    }
+
+    /**
+     * Writes the fonts whose definition doesn't depend on the characters used, such as the
+     * standard Type 1 fonts, so they don't have to wait until the document is closed.
+     */
+    private void writeUsageIndependentFonts() {
+        for (FontDetails details : documentFonts.values()) {
+            if (details.canWriteEarly()) {
+                details.writeFont(this);
+            }
+        }
     }
 
     /**
@@ -632,6 +762,7 @@ public class PdfWriter {
                 PdfIndirectObject infoObj = addToBody(getInfo(), false);
 
                 body.flushObjStm();
+                body.finishPipeline();
 
                 // write the cross-reference table of the body
                 body.writeCrossReferenceTable(os, indirectCatalog.getIndirectReference(),
@@ -647,6 +778,9 @@ public class PdfWriter {
                 }
             } catch (IOException ioe) {
                 throw new ExceptionConverter(ioe);
+            } finally {
+                // the pipeline is only left when the document could not be finished
+                abort();
             }
         }
     }
@@ -666,6 +800,9 @@ public class PdfWriter {
             if (template != null && template.getType() == PdfTemplate.TYPE_TEMPLATE) {
                 addToBody(template.getFormXObject(compressionLevel),
                         template.getIndirectReference());
+            } else if (template != null && template.getType() == PdfTemplate.TYPE_IMPORTED) {
+                ((PdfImportedPage) template).getGraph()
+                        .writeTo(this, template.getIndirectReference().getNumber());
             }
         }
         // [F5] add all the dependencies in the imported pages
@@ -724,6 +861,12 @@ public class PdfWriter {
         try {
             writeHeader(os);
             body = new PdfBody(this);
+            if (earlyFirstPage) {
+                flushOutput();
+            }
+            if (pipelined) {
+                pipeline = new PdfWriterPipeline(os);
+            }
         } catch (IOException ioe) {
             throw new ExceptionConverter(ioe);
         }
@@ -740,11 +883,11 @@ public class PdfWriter {
 
     FontDetails addSimple(BaseFont bf) {
         if (bf.getFontType() == BaseFont.FONT_TYPE_DOCUMENT) {
-            return new FontDetails(new PdfName("F" + (fontNumber++)), null, bf);
+            return new FontDetails(PdfName.valueOf("F" + (fontNumber++)), null, bf);
         }
         FontDetails ret = documentFonts.get(bf);
         if (ret == null) {
-            ret = new FontDetails(new PdfName("F" + (fontNumber++)), body.getPdfIndirectReference(), bf);
+            ret = new FontDetails(PdfName.valueOf("F" + (fontNumber++)), body.getPdfIndirectReference(), bf);
             documentFonts.put(bf, ret);
         }
         return ret;
@@ -771,11 +914,75 @@ public class PdfWriter {
 
     PdfObject[] addSimpleExtGState(PdfDictionary gstate) {
         if (!documentExtGState.containsKey(gstate)) {
-            documentExtGState.put(gstate, new PdfObject[]{new PdfName("GS" + (documentExtGState.size() + 1)), getPdfIndirectReference()});
+            documentExtGState.put(gstate, new PdfObject[]{PdfName.valueOf("GS" + (documentExtGState.size() + 1)), getPdfIndirectReference()});
         }
         return documentExtGState.get(gstate);
     }
 
+    /**
+     * Use this method to get a page from other PDF document. The page can be used as any other
+     * PdfTemplate. It is written to this document once, together with the objects it refers to,
+     * however many times it is used.
+     *
+     * @param reader     the PDF document where the page is
+     * @param pageNumber the page number. The first page is 1
+     * @return the template representing the imported page
+     */
+    public PdfImportedPage getImportedPage(PdfReader reader, int pageNumber) {
+        PdfReaderInstance inst = importedPages.get(reader);
+        if (inst == null) {
+            inst = reader.getPdfReaderInstance(this);
+            importedPages.put(reader, inst);
+        }
+        return inst.getImportedPage(pageNumber);
+    }
+
+    /**
+     * Gets the page for cached objects. The objects are written once per document.
+     *
+     * @param graph      the cached objects of the page
+     * @param pageNumber the page number in the source document
+     * @return the template representing the imported page
+     */
+    PdfImportedPage getImportedPage(ImportedPageGraph graph, int pageNumber) {
+        return cachedImportedPages.computeIfAbsent(graph, g -> new PdfImportedPage(g, this, pageNumber));
+    }
+
+    /**
+     * Adds a template to the document but not to the page resources.
+     *
+     * @param template   the template to add
+     * @param forcedName the template name, rather than a generated one. Can be null
+     * @return the <CODE>PdfName</CODE> for this template
+     */
+    PdfName addDirectTemplateSimple(PdfTemplate template, PdfName forcedName) {
+        PdfIndirectReference ref = template.getIndirectReference();
+        Object[] obj = formXObjects.get(ref);
+        PdfName name;
+        if (obj == null) {
+            if (forcedName == null) {
+                name = PdfName.valueOf("Xf" + formXObjectsCounter);
+                ++formXObjectsCounter;
+            } else {
+                name = forcedName;
+            }
+            if (template.getType() == PdfTemplate.TYPE_IMPORTED
+                    && ((PdfImportedPage) template).getGraph() == null) {
+                // the imported pages are written with the objects of their reader
+                PdfImportedPage ip = (PdfImportedPage) template;
+                PdfReader r = ip.getPdfReaderInstance().getReader();
+                if (!importedPages.containsKey(r)) {
+                    importedPages.put(r, ip.getPdfReaderInstance());
+                }
+                template = null;
+            }
+            formXObjects.put(ref, new Object[]{name, template});
+        } else {
+            name = (PdfName) obj[0];
+        }
+        return name;
+    }
+
     int getNewObjectNumber(PdfReader reader, int number) {
         if (currentPdfReaderInstance == null && importedPages.get(reader) == null) {
             importedPages.put(reader, reader.getPdfReaderInstance(this));
@@ -787,7 +994,7 @@ public class PdfWriter {
     }
 
     private PdfName getColorspaceName() {
-        return new PdfName("CS" + (colorNumber++));
+        return PdfName.valueOf("CS" + (colorNumber++));
     }
 
     /**
@@ -810,7 +1017,7 @@ public class PdfWriter {
         PdfName name = documentPatterns.get(painter);
         try {
             if (name == null) {
-                name = new PdfName("P" + patternNumber);
+                name = PdfName.valueOf("P" + patternNumber);
                 ++patternNumber;
                 documentPatterns.put(painter, name);
             }
@@ -1150,6 +1357,11 @@ public class PdfWriter {
                     xrefs.add(pxref);
                 }
                 return indirect;
+            } else if (writer.pipeline != null) {
+                // the offset is recorded when the pipeline writes the object
+                PdfIndirectObject indirect = new PdfIndirectObject(refNumber, object, writer);
+                writer.pipeline.add(indirect);
+                return indirect;
             } else {
                 PdfIndirectObject indirect = new PdfIndirectObject(refNumber, object, writer);
                 PdfCrossReference pxref = new PdfCrossReference(refNumber, position);
@@ -1163,6 +1375,25 @@ public class PdfWriter {
             }
         }
 
+        /**
+         * Waits for the pipeline to write all the objects and adds their offsets to the
+         * cross-reference table.
+         *
+         * @throws IOException
+         */
+        private void finishPipeline() throws IOException {
+            if (writer.pipeline == null) {
+                return;
+            }
+            for (long[] offset : writer.pipeline.finish()) {
+                PdfCrossReference pxref = new PdfCrossReference((int) offset[0], offset[1]);
+                xrefs.remove(pxref);
+                xrefs.add(pxref);
+            }
+            writer.pipeline = null;
+            position = writer.getOs().getCounter();
+        }
+
         /**
          * Returns the offset of the Cross-Reference table.
          *
@@ -0,0 +1,224 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import com.justifiedsolutions.openpdf.text.ExceptionConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Moves the compression of the page contents and the output of the objects of a
+ * <CODE>PdfWriter</CODE> off the thread that lays out the pages. Only the deflating and the I/O
+ * leave that thread: the objects are still serialized on the calling thread, except for the page
+ * contents which are compressed and serialized on a separate thread. A third thread writes the
+ * serialized objects in the order they were added and records their offsets for the
+ * cross-reference table. The queue between the stages is bounded so the layout waits when the
+ * output falls behind. A pipeline that is not finished has to be aborted, or its threads wait for
+ * objects forever.
+ */
+class PdfWriterPipeline {
+
+    /**
+     * The maximum number of objects waiting to be written.
+     */
+    private static final int QUEUE_CAPACITY = 32;
+    private static final PendingObject END = new PendingObject(0, null);
+    private static final PendingObject FLUSH = new PendingObject(0, null);
+
+    private final BlockingQueue<PendingObject> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final ExecutorService compressor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "PdfWriter-compress");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<long[]> offsets = new ArrayList<>();
+    private final OutputStreamCounter os;
+    private final Thread output;
+    private volatile long written;
+    private volatile Throwable failure;
+
+    /**
+     * Creates the pipeline and starts its threads.
+     *
+     * @param os the stream the objects are written to. It must not be used by anybody else until
+     *           the pipeline is finished.
+     */
+    PdfWriterPipeline(OutputStreamCounter os) {
+        this.os = os;
+        this.written = os.getCounter();
+        output = new Thread(this::writeObjects, "PdfWriter-output");
+        output.setDaemon(true);
+        output.start();
+    }
+
+    /**
+     * Queues an indirect object to be written. The object is serialized before this method returns
+     * so it can be changed afterwards, unless it is page content that still needs compressing.
+     *
+     * @param indirect the object to write
+     * @throws IOException if a previous object could not be written
+     */
+    void add(PdfIndirectObject indirect) throws IOException {
+        checkFailure();
+        CompletableFuture<byte[]> bytes;
+        if (indirect.object instanceof PdfContents && !((PdfContents) indirect.object).compressed) {
+            PdfContents contents = (PdfContents) indirect.object;
+            bytes = CompletableFuture.supplyAsync(() -> {
+                contents.flateCompress(contents.compressionLevel);
+                return serialize(indirect);
+            }, compressor);
+        } else {
+            bytes = CompletableFuture.completedFuture(serialize(indirect));
+        }
+        put(new PendingObject(indirect.number, bytes));
+    }
+
+    /**
+     * Asks for the output to be flushed once every object queued so far has been written.
+     *
+     * @throws IOException if a previous object could not be written
+     */
+    void flush() throws IOException {
+        checkFailure();
+        put(FLUSH);
+    }
+
+    /**
+     * Gets the number of bytes written to the stream so far.
+     *
+     * @return the position of the stream
+     */
+    long getWritten() {
+        return written;
+    }
+
+    /**
+     * Stops the threads without writing the objects that are still queued. The output is left
+     * incomplete. Objects added afterwards are not written either.
+     */
+    void abort() {
+        if (failure == null) {
+            failure = new InterruptedIOException("The pipeline was aborted.");
+        }
+        output.interrupt();
+        compressor.shutdownNow();
+        queue.clear();
+    }
+
+    /**
+     * Waits for every queued object to be written and stops the threads.
+     *
+     * @return the object numbers and their offsets as <CODE>long[]{number, offset}</CODE>
+     * @throws IOException if an object could not be written
+     */
+    List<long[]> finish() throws IOException {
+        put(END);
+        try {
+            output.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort();
+            throw new InterruptedIOException();
+        } finally {
+            compressor.shutdown();
+        }
+        checkFailure();
+        return offsets;
+    }
+
+    private void put(PendingObject pending) throws IOException {
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable t = failure;
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        if (t != null) {
+            throw new IOException(t);
+        }
+    }
+
+    private static byte[] serialize(PdfIndirectObject indirect) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            indirect.writeTo(out);
+            return out.toByteArray();
+        } catch (IOException ioe) {
+            throw new ExceptionConverter(ioe);
+        }
+    }
+
+    private void writeObjects() {
+        while (true) {
+            PendingObject pending;
+            try {
+                pending = queue.take();
+            } catch (InterruptedException e) {
+                // aborted
+                return;
+            }
+            if (pending == END) {
+                return;
+            }
+            if (failure != null) {
+                // keep taking objects so the producer never blocks
+                continue;
+            }
+            try {
+                if (pending == FLUSH) {
+                    os.flush();
+                } else {
+                    byte[] bytes = pending.bytes.get();
+                    offsets.add(new long[]{pending.number, os.getCounter()});
+                    os.write(bytes);
+                    written = os.getCounter();
+                }
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (InterruptedException e) {
+                // aborted while waiting for the compression
+                return;
+            } catch (IOException | RuntimeException e) {
+                failure = e;
+            }
+        }
+    }
+
+    private static class PendingObject {
+
+        private final int number;
+        private final CompletableFuture<byte[]> bytes;
+
+        private PendingObject(int number, CompletableFuture<byte[]> bytes) {
+            this.number = number;
+            this.bytes = bytes;
+        }
+    }
+}
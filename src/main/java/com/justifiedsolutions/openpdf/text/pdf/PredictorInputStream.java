@@ -0,0 +1,252 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import com.justifiedsolutions.openpdf.text.MessageLocalization;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reverses the PNG and TIFF predictors of the FlateDecode and LZWDecode filters while the data is read. Only the
+ * current and the previous row are held; each row is decoded in place. A row that is cut short ends the stream.
+ */
+final class PredictorInputStream extends FilterInputStream {
+
+    private final int predictor;
+    private final int colors;
+    private final int bitsPerComponent;
+    private final int bytesPerPixel;
+    private final int bytesPerRow;
+    private final int samplesPerRow;
+    private byte[] curr;
+    private byte[] prior;
+    private int rowPosition;
+    private boolean finished;
+
+    /**
+     * Creates a stream that reverses a predictor.
+     *
+     * @param in               the data with the predictor applied
+     * @param predictor        2 for the TIFF predictor, 10 or more for the PNG predictors
+     * @param colors           the number of color components per sample
+     * @param bitsPerComponent the number of bits per color component
+     * @param columns          the number of samples per row
+     * @throws RuntimeException if the TIFF predictor is used with other than 1, 2, 4, 8 or 16 bits per component
+     */
+    PredictorInputStream(InputStream in, int predictor, int colors, int bitsPerComponent, int columns) {
+        super(in);
+        if (predictor == 2 && bitsPerComponent != 1 && bitsPerComponent != 2 && bitsPerComponent != 4
+                && bitsPerComponent != 8 && bitsPerComponent != 16) {
+            throw new RuntimeException(MessageLocalization.getComposedMessage(
+                    "1.bit.samples.are.not.supported.for.horizontal.differencing.predictor", bitsPerComponent));
+        }
+        this.predictor = predictor;
+        this.colors = colors;
+        this.bitsPerComponent = bitsPerComponent;
+        this.bytesPerPixel = Math.max(1, colors * bitsPerComponent / 8);
+        this.bytesPerRow = (colors * columns * bitsPerComponent + 7) / 8;
+        this.samplesPerRow = colors * columns;
+        this.curr = new byte[bytesPerRow];
+        this.prior = new byte[bytesPerRow];
+        this.rowPosition = bytesPerRow;
+    }
+
+    /**
+     * Checks if a predictor is one this stream reverses.
+     *
+     * @param predictor the value of the /Predictor entry
+     * @return <CODE>true</CODE> if the predictor must be reversed
+     */
+    static boolean isSupported(int predictor) {
+        return predictor == 2 || predictor >= 10;
+    }
+
+    /**
+     * Gets the number of bytes in a row of the decoded data.
+     *
+     * @return the number of bytes per row
+     */
+    int getBytesPerRow() {
+        return bytesPerRow;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (rowPosition == bytesPerRow && !nextRow()) {
+            return -1;
+        }
+        return curr[rowPosition++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int read = 0;
+        while (read < len) {
+            if (rowPosition == bytesPerRow && !nextRow()) {
+                break;
+            }
+            int count = Math.min(len - read, bytesPerRow - rowPosition);
+            System.arraycopy(curr, rowPosition, b, off + read, count);
+            rowPosition += count;
+            read += count;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return bytesPerRow - rowPosition;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            if (rowPosition == bytesPerRow && !nextRow()) {
+                break;
+            }
+            int count = (int) Math.min(n - skipped, bytesPerRow - rowPosition);
+            rowPosition += count;
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private boolean nextRow() throws IOException {
+        if (finished) {
+            return false;
+        }
+        byte[] tmp = prior;
+        prior = curr;
+        curr = tmp;
+        int filter = 0;
+        if (predictor >= 10) {
+            filter = in.read();
+            if (filter < 0) {
+                return end();
+            }
+        }
+        for (int n = 0; n < bytesPerRow; ) {
+            int count = in.read(curr, n, bytesPerRow - n);
+            if (count < 0) {
+                return end();
+            }
+            n += count;
+        }
+        if (predictor == 2) {
+            decodeTiffRow();
+        } else {
+            decodePngRow(filter);
+        }
+        rowPosition = 0;
+        return true;
+    }
+
+    private boolean end() {
+        finished = true;
+        rowPosition = bytesPerRow;
+        return false;
+    }
+
+    private void decodeTiffRow() {
+        if (bitsPerComponent == 8) {
+            for (int i = colors; i < bytesPerRow; i++) {
+                curr[i] += curr[i - colors];
+            }
+        } else if (bitsPerComponent == 16) {
+            int step = colors * 2;
+            for (int i = step; i + 1 < bytesPerRow; i += 2) {
+                int value = ((curr[i] & 0xff) << 8) + (curr[i + 1] & 0xff)
+                        + ((curr[i - step] & 0xff) << 8) + (curr[i + 1 - step] & 0xff);
+                curr[i] = (byte) (value >> 8);
+                curr[i + 1] = (byte) value;
+            }
+        } else {
+            // 1, 2 or 4 bits: the samples are packed from the high bits of each byte down
+            int mask = (1 << bitsPerComponent) - 1;
+            for (int s = colors; s < samplesPerRow; s++) {
+                setSample(s, (getSample(s) + getSample(s - colors)) & mask);
+            }
+        }
+    }
+
+    private int getSample(int sample) {
+        int bit = sample * bitsPerComponent;
+        int shift = 8 - bitsPerComponent - (bit & 7);
+        return (curr[bit >> 3] >> shift) & ((1 << bitsPerComponent) - 1);
+    }
+
+    private void setSample(int sample, int value) {
+        int bit = sample * bitsPerComponent;
+        int shift = 8 - bitsPerComponent - (bit & 7);
+        int mask = ((1 << bitsPerComponent) - 1) << shift;
+        curr[bit >> 3] = (byte) ((curr[bit >> 3] & ~mask) | (value << shift));
+    }
+
+    private void decodePngRow(int filter) {
+        switch (filter) {
+            case 0: // PNG_FILTER_NONE
+                break;
+            case 1: // PNG_FILTER_SUB
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += curr[i - bytesPerPixel];
+                }
+                break;
+            case 2: // PNG_FILTER_UP
+                for (int i = 0; i < bytesPerRow; i++) {
+                    curr[i] += prior[i];
+                }
+                break;
+            case 3: // PNG_FILTER_AVERAGE
+                for (int i = 0; i < bytesPerPixel && i < bytesPerRow; i++) {
+                    curr[i] += (prior[i] & 0xff) / 2;
+                }
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    curr[i] += ((curr[i - bytesPerPixel] & 0xff) + (prior[i] & 0xff)) / 2;
+                }
+                break;
+            case 4: // PNG_FILTER_PAETH
+                for (int i = 0; i < bytesPerPixel && i < bytesPerRow; i++) {
+                    curr[i] += prior[i];
+                }
+                for (int i = bytesPerPixel; i < bytesPerRow; i++) {
+                    int a = curr[i - bytesPerPixel] & 0xff;
+                    int b = prior[i] & 0xff;
+                    int c = prior[i - bytesPerPixel] & 0xff;
+
+                    int p = a + b - c;
+                    int pa = Math.abs(p - a);
+                    int pb = Math.abs(p - b);
+                    int pc = Math.abs(p - c);
+
+                    int ret;
+                    if ((pa <= pb) && (pa <= pc)) {
+                        ret = a;
+                    } else if (pb <= pc) {
+                        ret = b;
+                    } else {
+                        ret = c;
+                    }
+                    curr[i] += (byte) (ret);
+                }
+                break;
+            default:
+                // Error -- unknown filter type
+                throw new RuntimeException(MessageLocalization.getComposedMessage("png.filter.unknown"));
+        }
+    }
+}
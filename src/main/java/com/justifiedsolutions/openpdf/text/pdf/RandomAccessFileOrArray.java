@@ -199,6 +199,42 @@ public class RandomAccessFileOrArray implements DataInput, Closeable {
         }
     }
 
+    /**
+     * Gets a stream that reads the next bytes from the current position. Reading the stream moves the position, so
+     * nothing else may use this object until the stream is no longer read. Closing the stream doesn't close this
+     * object.
+     *
+     * @param length the number of bytes the stream reads
+     * @return the stream
+     */
+    public InputStream getInputStream(int length) {
+        return new InputStream() {
+            private int remaining = length;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0)
+                    return -1;
+                int b = RandomAccessFileOrArray.this.read();
+                if (b >= 0)
+                    --remaining;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0)
+                    return 0;
+                if (remaining <= 0)
+                    return -1;
+                int n = RandomAccessFileOrArray.this.read(b, off, Math.min(len, remaining));
+                if (n > 0)
+                    remaining -= n;
+                return n;
+            }
+        };
+    }
+
     public void readFully(byte[] b) throws IOException {
         readFully(b, 0, b.length);
     }
@@ -228,12 +264,12 @@ public class RandomAccessFileOrArray implements DataInput, Closeable {
                 adj = 1;
             }
         }
-        int pos;
-        int len;
-        int newpos;
+        long pos;
+        long len;
+        long newpos;
         
-        pos = getFilePointer();
-        len = length();
+        pos = getLongFilePointer();
+        len = getLongLength();
         newpos = pos + n;
         if (newpos > len) {
             newpos = len;
@@ -241,7 +277,7 @@ public class RandomAccessFileOrArray implements DataInput, Closeable {
         seek(newpos);
         
         /* return the actual number of bytes skipped */
-        return newpos - pos + adj;
+        return (int) (newpos - pos) + adj;
     }
     
     public void reOpen() throws IOException {
@@ -277,15 +313,35 @@ public class RandomAccessFileOrArray implements DataInput, Closeable {
     }
     
     public int length() throws IOException {
+        return toInt(getLongLength());
+    }
+
+    /**
+     * Gets the length of the data, which may be larger than 2 GB for a file.
+     *
+     * @return the length
+     * @throws IOException on error
+     */
+    public long getLongLength() throws IOException {
         if (arrayIn == null) {
             insureOpen();
-            return (int)(plainRandomAccess ? trf.length() : rf.length()) - startOffset;
+            return (plainRandomAccess ? trf.length() : rf.length()) - startOffset;
         }
         else
             return arrayIn.length - startOffset;
     }
     
     public void seek(int pos) throws IOException {
+        seek((long) pos);
+    }
+
+    /**
+     * Sets the position, which may be beyond 2 GB for a file.
+     *
+     * @param pos the position
+     * @throws IOException on error
+     */
+    public void seek(long pos) throws IOException {
         pos += startOffset;
         isBack = false;
         if (arrayIn == null) {
@@ -296,18 +352,52 @@ public class RandomAccessFileOrArray implements DataInput, Closeable {
                 rf.seek(pos);
         }
         else
-            arrayInPtr = pos;
+            arrayInPtr = (int) Math.min(pos, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Getter for property startOffset.
+     *
+     * @return Value of property startOffset.
+     */
+    public int getStartOffset() {
+        return this.startOffset;
+    }
+
+    /**
+     * Setter for property startOffset.
+     *
+     * @param startOffset New value of property startOffset.
+     */
+    public void setStartOffset(int startOffset) {
+        this.startOffset = startOffset;
     }
 
     public int getFilePointer() throws IOException {
+        return toInt(getLongFilePointer());
+    }
+
+    /**
+     * Gets the position, which may be beyond 2 GB for a file.
+     *
+     * @return the position
+     * @throws IOException on error
+     */
+    public long getLongFilePointer() throws IOException {
         insureOpen();
         int n = isBack ? 1 : 0;
         if (arrayIn == null) {
-            return (int)(plainRandomAccess ? trf.getFilePointer() : rf.getFilePointer()) - n - startOffset;
+            return (plainRandomAccess ? trf.getFilePointer() : rf.getFilePointer()) - n - startOffset;
         }
         else
             return arrayInPtr - n - startOffset;
     }
+
+    private static int toInt(long value) throws IOException {
+        if (value > Integer.MAX_VALUE)
+            throw new IOException(MessageLocalization.getComposedMessage("the.position.1.does.not.fit.in.an.int", String.valueOf(value)));
+        return (int) value;
+    }
     
     public boolean readBoolean() throws IOException {
         int ch = this.read();
@@ -478,7 +568,7 @@ public class RandomAccessFileOrArray implements DataInput, Closeable {
                     break;
                 case '\r':
                     eol = true;
-                    int cur = getFilePointer();
+                    long cur = getLongFilePointer();
                     if ((read()) != '\n') {
                         seek(cur);
                     }
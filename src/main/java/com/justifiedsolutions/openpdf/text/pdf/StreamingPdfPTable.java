@@ -0,0 +1,104 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import com.justifiedsolutions.openpdf.pdf.content.Cell;
+import com.justifiedsolutions.openpdf.pdf.content.StreamingTable;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A table that pulls its body rows from the source of a {@link StreamingTable} while it is laid out. The document
+ * pulls about a page of rows with {@link #fetchRows(float, float)}, lays them out and drops them with
+ * {@link #flushContent()}, until the source has no more rows and the table is complete.
+ */
+class StreamingPdfPTable extends PdfPTable {
+
+    private final StreamingTable table;
+    private final Iterator<? extends List<Cell>> source;
+    private int bodyRows;
+
+    /**
+     * Creates the table of a StreamingTable, without any rows.
+     *
+     * @param table the StreamingTable
+     */
+    StreamingPdfPTable(StreamingTable table) {
+        super(table.getRelativeColumnWidths());
+        this.table = table;
+        this.source = table.getRows();
+        setComplete(false);
+    }
+
+    /**
+     * Pulls body rows from the source until their height reaches the height of a page. The table is complete once
+     * the source has no more rows.
+     *
+     * @param width  the width of the table
+     * @param height the height of a page
+     * @throws IllegalArgumentException if a body row doesn't fill exactly the columns of the table or one of its
+     *                                  cells spans more than its own row
+     */
+    void fetchRows(float width, float height) {
+        setTotalWidth(width);
+        float filled = 0;
+        int k = size();
+        while (filled < height && source.hasNext()) {
+            List<Cell> row = source.next();
+            checkColumns(row);
+            for (Cell cell : row) {
+                addOwnedCell(getCell(table, cell));
+            }
+            checkRowSpans(k);
+            for (; k < size(); ++k) {
+                filled += getRowHeight(k);
+            }
+        }
+        if (!source.hasNext()) {
+            setComplete(true);
+        }
+    }
+
+    /**
+     * Checks that a body row fills exactly the columns of the table. A row with fewer columns would be completed by
+     * the cells of the next row, shifting all the cells after it.
+     *
+     * @param row the cells of the body row
+     * @throws IllegalArgumentException if the cells don't span the number of columns of the table
+     */
+    private void checkColumns(List<Cell> row) {
+        int columns = 0;
+        for (Cell cell : row) {
+            columns += Math.max(cell.getColumnSpan(), 1);
+        }
+        if (columns != getNumberOfColumns()) {
+            throw new IllegalArgumentException("Body row " + bodyRows + " of a StreamingTable spans " + columns
+                    + " columns instead of " + getNumberOfColumns());
+        }
+        ++bodyRows;
+    }
+
+    /**
+     * Checks that the cells of the rows from a row on end in the last row of the table at the latest. The rows below
+     * are pulled later, or are the body rows below the header rows, so a rowspan past the last row would be dropped.
+     *
+     * @param start the first row to check
+     * @throws IllegalArgumentException if a cell spans past the last row
+     */
+    void checkRowSpans(int start) {
+        int size = size();
+        for (int k = start; k < size; ++k) {
+            for (PdfPCell cell : getRow(k).getCells()) {
+                if (cell != null && k + cell.getRowspan() > size) {
+                    throw new IllegalArgumentException("A cell of a StreamingTable spans past row " + (size - 1)
+                            + ": " + cell.getRowspan() + " rows from row " + k);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import com.justifiedsolutions.openpdf.text.Rectangle;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+
+/**
+ * Collects the backgrounds and borders of the cells of a table while its rows are written, and writes them to the
+ * background and line canvases at once. The backgrounds are filled with one fill per color. The borders are drawn
+ * with one stroke per width and color: a border two cells share is drawn once, and borders on the same line are
+ * joined into one segment. The table is drawn with projecting line caps, so the joined segments cover what the
+ * borders of the single cells covered.
+ * <p>
+ * Where cells of different border colors share an edge, the cell added last used to be drawn over the other one. The
+ * strokes are kept in that order: a border is only joined to the stroke of its width and color when nothing drawn
+ * after that stroke lies on the same edge in another color. Otherwise it starts a new stroke.
+ */
+final class TableGrid {
+
+    /**
+     * The distance below which two coordinates are taken for the same.
+     */
+    private static final float TOLERANCE = 0.001f;
+
+    private final ArrayList<Color> fillColors = new ArrayList<>();
+    private final ArrayList<ArrayList<float[]>> fills = new ArrayList<>();
+    private final ArrayList<Border> borders = new ArrayList<>();
+
+    /**
+     * The width of the borders of the cells with an undefined border width, these take the width of the cell drawn
+     * before. <CODE>NaN</CODE> until a cell with a border width was added.
+     */
+    private float lineWidth = Float.NaN;
+
+    /**
+     * Adds the background and the borders of a cell.
+     *
+     * @param cell   the cell
+     * @param left   the left side of the cell on the page
+     * @param bottom the bottom side of the cell on the page
+     * @param right  the right side of the cell on the page
+     * @param top    the top side of the cell on the page
+     */
+    void add(PdfPCell cell, float left, float bottom, float right, float top) {
+        Color background = cell.getBackgroundColor();
+        if (background != null) {
+            getFills(background).add(new float[]{left, bottom, right - left, top - bottom});
+        }
+        if (!cell.hasBorders()) {
+            return;
+        }
+        if (cell.isUseVariableBorders()) {
+            Rectangle rect = new Rectangle(left, bottom, right, top);
+            rect.cloneNonPositionParameters(cell);
+            rect.setBackgroundColor(null);
+            borders.add(new VariableBorder(rect));
+            return;
+        }
+        if (cell.getBorderWidth() != Rectangle.UNDEFINED) {
+            lineWidth = cell.getBorderWidth();
+        }
+        ArrayList<Segment> horizontal = new ArrayList<>(2);
+        ArrayList<Segment> vertical = new ArrayList<>(2);
+        if (cell.hasBorder(Rectangle.TOP)) {
+            horizontal.add(new Segment(top, left, right));
+        }
+        if (cell.hasBorder(Rectangle.BOTTOM)) {
+            horizontal.add(new Segment(bottom, left, right));
+        }
+        if (cell.hasBorder(Rectangle.LEFT)) {
+            vertical.add(new Segment(left, bottom, top));
+        }
+        if (cell.hasBorder(Rectangle.RIGHT)) {
+            vertical.add(new Segment(right, bottom, top));
+        }
+        BorderStyle style = getBorderStyle(lineWidth, cell.getBorderColor(), horizontal, vertical);
+        style.horizontal.addAll(horizontal);
+        style.vertical.addAll(vertical);
+    }
+
+    /**
+     * Writes the backgrounds and borders added since the last call and forgets them.
+     *
+     * @param canvases the canvases of the table
+     */
+    void write(PdfContentByte[] canvases) {
+        PdfContentByte background = canvases[PdfPTable.BACKGROUNDCANVAS];
+        if (!fillColors.isEmpty()) {
+            // the fill colors don't carry over to what a cell event draws on the canvas afterwards
+            background.saveState();
+            for (int k = 0; k < fillColors.size(); ++k) {
+                background.setColorFill(fillColors.get(k));
+                for (float[] r : fills.get(k)) {
+                    background.rectangle(r[0], r[1], r[2], r[3]);
+                }
+                background.fill();
+            }
+            background.restoreState();
+        }
+        PdfContentByte lineCanvas = canvases[PdfPTable.LINECANVAS];
+        // the borders without a width of their own come from the cells before the first width, so they are drawn
+        // while the width of the canvas is still unchanged
+        for (Border border : borders) {
+            border.write(lineCanvas);
+        }
+        fillColors.clear();
+        fills.clear();
+        borders.clear();
+    }
+
+    private ArrayList<float[]> getFills(Color color) {
+        for (int k = 0; k < fillColors.size(); ++k) {
+            if (isSameColor(fillColors.get(k), color)) {
+                return fills.get(k);
+            }
+        }
+        ArrayList<float[]> list = new ArrayList<>();
+        fillColors.add(color);
+        fills.add(list);
+        return list;
+    }
+
+    /**
+     * Gets the stroke the borders of a cell are joined to: the last stroke of their width and color, unless a border
+     * drawn after it lies on the same edge as one of them in another color.
+     */
+    private BorderStyle getBorderStyle(float width, Color color, ArrayList<Segment> horizontal,
+            ArrayList<Segment> vertical) {
+        for (int k = borders.size() - 1; k >= 0; --k) {
+            Border border = borders.get(k);
+            if (border instanceof BorderStyle) {
+                BorderStyle style = (BorderStyle) border;
+                if (Float.compare(style.width, width) == 0 && isSameColor(style.color, color)) {
+                    return style;
+                }
+            }
+            if (border.overlaps(horizontal, vertical, color)) {
+                break;
+            }
+        }
+        BorderStyle style = new BorderStyle(width, color);
+        borders.add(style);
+        return style;
+    }
+
+    /**
+     * Tells if two colors are written the same way. Colors of different color spaces can be equal as
+     * <CODE>java.awt.Color</CODE>s.
+     */
+    private static boolean isSameColor(Color c1, Color c2) {
+        if (c1 == null || c2 == null) {
+            return c1 == c2;
+        }
+        return c1.getClass() == c2.getClass() && c1.equals(c2);
+    }
+
+    /**
+     * The borders drawn in one go.
+     */
+    private interface Border {
+
+        void write(PdfContentByte canvas);
+
+        /**
+         * Tells if these borders lie on the same edge as one of the segments, in another color than the one given.
+         */
+        boolean overlaps(ArrayList<Segment> horizontal, ArrayList<Segment> vertical, Color color);
+    }
+
+    /**
+     * The borders drawn with the same width and color.
+     */
+    private static final class BorderStyle implements Border {
+
+        private final float width;
+        private final Color color;
+        private final ArrayList<Segment> horizontal = new ArrayList<>();
+        private final ArrayList<Segment> vertical = new ArrayList<>();
+
+        private BorderStyle(float width, Color color) {
+            this.width = width;
+            this.color = color;
+        }
+
+        @Override
+        public void write(PdfContentByte canvas) {
+            if (!Float.isNaN(width)) {
+                canvas.setLineWidth(width);
+            }
+            if (color != null) {
+                canvas.setColorStroke(color);
+            }
+            for (Segment s : join(horizontal)) {
+                canvas.moveTo(s.from, s.at);
+                canvas.lineTo(s.to, s.at);
+            }
+            for (Segment s : join(vertical)) {
+                canvas.moveTo(s.at, s.from);
+                canvas.lineTo(s.at, s.to);
+            }
+            canvas.stroke();
+            if (color != null) {
+                canvas.resetRGBColorStroke();
+            }
+        }
+
+        @Override
+        public boolean overlaps(ArrayList<Segment> horizontal, ArrayList<Segment> vertical, Color color) {
+            return !isSameColor(this.color, color)
+                    && (Segment.overlaps(this.horizontal, horizontal) || Segment.overlaps(this.vertical, vertical));
+        }
+
+        /**
+         * Joins the segments on the same line that overlap or touch.
+         */
+        private static ArrayList<Segment> join(ArrayList<Segment> segments) {
+            Collections.sort(segments);
+            ArrayList<Segment> joined = new ArrayList<>();
+            Segment last = null;
+            for (Segment s : segments) {
+                if (last != null && Math.abs(s.at - last.at) < TOLERANCE && s.from <= last.to + TOLERANCE) {
+                    last.to = Math.max(last.to, s.to);
+                } else {
+                    last = s;
+                    joined.add(s);
+                }
+            }
+            return joined;
+        }
+    }
+
+    /**
+     * The borders of a cell with variable borders, drawn on their own.
+     */
+    private static final class VariableBorder implements Border {
+
+        private final Rectangle rect;
+
+        private VariableBorder(Rectangle rect) {
+            this.rect = rect;
+        }
+
+        @Override
+        public void write(PdfContentByte canvas) {
+            canvas.rectangle(rect);
+        }
+
+        @Override
+        public boolean overlaps(ArrayList<Segment> horizontal, ArrayList<Segment> vertical, Color color) {
+            // the sides of the cell may have colors of their own, so any side on the same edge counts
+            for (Segment s : horizontal) {
+                if (s.overlaps(new Segment(rect.getTop(), rect.getLeft(), rect.getRight()))
+                        || s.overlaps(new Segment(rect.getBottom(), rect.getLeft(), rect.getRight()))) {
+                    return true;
+                }
+            }
+            for (Segment s : vertical) {
+                if (s.overlaps(new Segment(rect.getLeft(), rect.getBottom(), rect.getTop()))
+                        || s.overlaps(new Segment(rect.getRight(), rect.getBottom(), rect.getTop()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A horizontal or vertical border, from <CODE>from</CODE> to <CODE>to</CODE> along the line at <CODE>at</CODE>.
+     */
+    private static final class Segment implements Comparable<Segment> {
+
+        private final float at;
+        private final float from;
+        private float to;
+
+        private Segment(float at, float from, float to) {
+            this.at = at;
+            this.from = Math.min(from, to);
+            this.to = Math.max(from, to);
+        }
+
+        /**
+         * Tells if two segments on the same line overlap or touch.
+         */
+        private boolean overlaps(Segment other) {
+            return Math.abs(at - other.at) < TOLERANCE && from <= other.to + TOLERANCE
+                    && other.from <= to + TOLERANCE;
+        }
+
+        private static boolean overlaps(ArrayList<Segment> segments, ArrayList<Segment> others) {
+            for (Segment other : others) {
+                for (Segment s : segments) {
+                    if (s.overlaps(other)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int compareTo(Segment other) {
+            int c = Float.compare(at, other.at);
+            return c != 0 ? c : Float.compare(from, other.from);
+        }
+    }
+}
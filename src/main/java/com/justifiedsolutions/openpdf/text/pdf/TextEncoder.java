@@ -0,0 +1,268 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import com.justifiedsolutions.openpdf.text.ExceptionConverter;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts text to the bytes of an encoding. An encoder is looked up once for a font or an encoding and then writes
+ * the bytes of all the text straight into a <CODE>ByteBuffer</CODE>. Single byte encodings use a lookup array indexed
+ * by the character.
+ */
+abstract class TextEncoder {
+
+    /**
+     * The encoders of the named encodings.
+     */
+    private static final Map<String, TextEncoder> encoders = new ConcurrentHashMap<>();
+
+    /**
+     * Writes each character as its low byte.
+     */
+    static final TextEncoder DIRECT = new TextEncoder() {
+        @Override
+        void encode(CharSequence text, ByteBuffer out) {
+            int len = text.length();
+            for (int k = 0; k < len; ++k) {
+                out.append_i(text.charAt(k));
+            }
+        }
+    };
+
+    /**
+     * Writes the characters as UTF-16 with a byte order mark.
+     */
+    private static final TextEncoder UNICODE = new TextEncoder() {
+        @Override
+        void encode(CharSequence text, ByteBuffer out) {
+            out.append_i(0xfe);
+            out.append_i(0xff);
+            int len = text.length();
+            for (int k = 0; k < len; ++k) {
+                char c = text.charAt(k);
+                out.append_i(c >> 8);
+                out.append_i(c);
+            }
+        }
+    };
+
+    /**
+     * Writes the characters as UTF-16 big-endian without a byte order mark, as the CJK fonts do. A lone surrogate
+     * becomes U+FFFD like it does with the encoder of the Java platform.
+     */
+    private static final TextEncoder UNICODE_UNMARKED = new TextEncoder() {
+        @Override
+        void encode(CharSequence text, ByteBuffer out) {
+            int len = text.length();
+            for (int k = 0; k < len; ++k) {
+                char c = text.charAt(k);
+                if (Character.isHighSurrogate(c) && k + 1 < len && Character.isLowSurrogate(text.charAt(k + 1))) {
+                    char low = text.charAt(++k);
+                    out.append_i(c >> 8);
+                    out.append_i(c);
+                    c = low;
+                } else if (Character.isSurrogate(c)) {
+                    c = '\ufffd';
+                }
+                out.append_i(c >> 8);
+                out.append_i(c);
+            }
+        }
+    };
+
+    /**
+     * Appends the bytes of the text to a buffer.
+     *
+     * @param text the text to convert
+     * @param out  the buffer the bytes are appended to
+     */
+    abstract void encode(CharSequence text, ByteBuffer out);
+
+    /**
+     * Converts the text to a new array.
+     *
+     * @param text the text to convert
+     * @return the bytes of the text
+     */
+    byte[] encode(String text) {
+        ByteBuffer out = new ByteBuffer(text.length());
+        encode(text, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Gets the encoder of a named encoding.
+     *
+     * @param encoding the encoding, <CODE>null</CODE> or empty to write each character as a byte
+     * @return the encoder
+     */
+    static TextEncoder forEncoding(String encoding) {
+        if (encoding == null || encoding.length() == 0) {
+            return DIRECT;
+        }
+        TextEncoder encoder = encoders.get(encoding);
+        if (encoder == null) {
+            encoder = createEncoder(encoding);
+            encoders.put(encoding, encoder);
+        }
+        return encoder;
+    }
+
+    /**
+     * Forgets the encoders of the named encodings, after an extra encoding was added.
+     */
+    static void clearCache() {
+        encoders.clear();
+    }
+
+    /**
+     * Gets an encoder for the characters in a map. Characters that are not in the map are left out.
+     *
+     * @param map the map from the characters to the bytes
+     * @return the encoder
+     */
+    static TextEncoder forMap(IntHashtable map) {
+        int[] keys = map.toOrderedKeys();
+        short[] table = new short[keys.length == 0 ? 0 : keys[keys.length - 1] + 1];
+        Arrays.fill(table, (short) -1);
+        for (int key : keys) {
+            table[key] = (short) (map.get(key) & 0xff);
+        }
+        return new SingleByte(table);
+    }
+
+    private static TextEncoder createEncoder(String encoding) {
+        TextEncoder encoder;
+        if (encoding.equals(BaseFont.WINANSI)) {
+            encoder = forByteToChar(PdfEncodings.winansiByteToChar);
+        } else if (encoding.equals(PdfObject.TEXT_PDFDOCENCODING)) {
+            encoder = forByteToChar(PdfEncodings.pdfEncodingByteToChar);
+        } else if (encoding.equals(PdfObject.TEXT_UNICODE)) {
+            encoder = UNICODE;
+        } else if (encoding.equals(CJKFont.CJK_ENCODING)) {
+            encoder = UNICODE_UNMARKED;
+        } else {
+            encoder = new Named(encoding);
+        }
+        ExtraEncoding extra = PdfEncodings.extraEncodings.get(encoding.toLowerCase(Locale.ROOT));
+        if (extra != null) {
+            encoder = new Extra(extra, encoder);
+        }
+        return encoder;
+    }
+
+    /**
+     * Creates the lookup array of WinAnsiEncoding or PDFDocEncoding. The characters below 128 and from 161 to 255 are
+     * the same as their bytes, character 0 and the characters without a byte are left out.
+     */
+    private static TextEncoder forByteToChar(char[] byteToChar) {
+        int size = 256;
+        for (int k = 128; k < 161; ++k) {
+            if (byteToChar[k] != 65533) {
+                size = Math.max(size, byteToChar[k] + 1);
+            }
+        }
+        short[] table = new short[size];
+        Arrays.fill(table, (short) -1);
+        for (int k = 1; k < 256; ++k) {
+            if (k < 128 || k > 160) {
+                table[k] = (short) k;
+            }
+        }
+        for (int k = 128; k < 161; ++k) {
+            char c = byteToChar[k];
+            if (c != 65533 && (c >= 128 && c <= 160 || c > 255)) {
+                table[c] = (short) k;
+            }
+        }
+        return new SingleByte(table);
+    }
+
+    /**
+     * A single byte encoding with a lookup array, -1 marks the characters that are left out.
+     */
+    private static final class SingleByte extends TextEncoder {
+
+        private final short[] table;
+
+        private SingleByte(short[] table) {
+            this.table = table;
+        }
+
+        @Override
+        void encode(CharSequence text, ByteBuffer out) {
+            short[] t = table;
+            int len = text.length();
+            for (int k = 0; k < len; ++k) {
+                char c = text.charAt(k);
+                if (c < t.length) {
+                    int b = t[c];
+                    if (b >= 0) {
+                        out.append_i(b);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * An encoding of the Java platform.
+     */
+    private static final class Named extends TextEncoder {
+
+        private final String encoding;
+
+        private Named(String encoding) {
+            this.encoding = encoding;
+        }
+
+        @Override
+        void encode(CharSequence text, ByteBuffer out) {
+            out.append(encode(text.toString()));
+        }
+
+        @Override
+        byte[] encode(String text) {
+            try {
+                return text.getBytes(encoding);
+            } catch (UnsupportedEncodingException e) {
+                throw new ExceptionConverter(e);
+            }
+        }
+    }
+
+    /**
+     * One of the extra encodings of {@link PdfEncodings}, which may leave the text to another encoder.
+     */
+    private static final class Extra extends TextEncoder {
+
+        private final ExtraEncoding extra;
+        private final TextEncoder fallback;
+
+        private Extra(ExtraEncoding extra, TextEncoder fallback) {
+            this.extra = extra;
+            this.fallback = fallback;
+        }
+
+        @Override
+        void encode(CharSequence text, ByteBuffer out) {
+            out.append(encode(text.toString()));
+        }
+
+        @Override
+        byte[] encode(String text) {
+            byte[] b = extra.charToByte(text);
+            return b != null ? b : fallback.encode(text);
+        }
+    }
+}
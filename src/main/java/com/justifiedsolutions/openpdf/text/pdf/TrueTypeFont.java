@@ -54,11 +54,12 @@ import com.justifiedsolutions.openpdf.text.ExceptionConverter;
 import com.justifiedsolutions.openpdf.text.MessageLocalization;
 
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 
 /** Reads a Truetype font
@@ -118,7 +119,7 @@ class TrueTypeFont extends BaseFont {
      * is the glyph number and position 1 is the glyph width normalized to 1000
      * units.
      */
-    protected HashMap<Integer, int[]> cmap10;
+    protected IntObjectHashtable<int[]> cmap10;
     /** The map containing the code information for the table 'cmap', encoding 3.1
      * in Unicode.
      * <P>
@@ -126,9 +127,9 @@ class TrueTypeFont extends BaseFont {
      * is the glyph number and position 1 is the glyph width normalized to 1000
      * units.
      */
-    protected HashMap<Integer, int[]> cmap31;
+    protected IntObjectHashtable<int[]> cmap31;
 
-    protected HashMap<Integer, int[]> cmapExt;
+    protected IntObjectHashtable<int[]> cmapExt;
 
     /** The map containing the kerning information. It represents the content of
      * table 'kern'. The key is an <CODE>Integer</CODE> where the top 16 bits
@@ -807,8 +808,8 @@ class TrueTypeFont extends BaseFont {
         }
     }
 
-    HashMap<Integer, int[]> readFormat12() throws IOException {
-        HashMap<Integer, int[]> h = new HashMap<>();
+    IntObjectHashtable<int[]> readFormat12() throws IOException {
+        IntObjectHashtable<int[]> h = new IntObjectHashtable<>();
         rf.skipBytes(2);
         rf.readInt();
         rf.skipBytes(4);
@@ -833,8 +834,8 @@ class TrueTypeFont extends BaseFont {
      * @return a <CODE>HashMap</CODE> representing this map
      * @throws IOException the font file could not be read
      */
-    HashMap<Integer, int[]> readFormat0() throws IOException {
-        HashMap<Integer, int[]> h = new HashMap<>();
+    IntObjectHashtable<int[]> readFormat0() throws IOException {
+        IntObjectHashtable<int[]> h = new IntObjectHashtable<>(256);
         rf.skipBytes(4);
         for (int k = 0; k < 256; ++k) {
             int[] r = new int[2];
@@ -850,8 +851,8 @@ class TrueTypeFont extends BaseFont {
      * @return a <CODE>HashMap</CODE> representing this map
      * @throws IOException the font file could not be read
      */
-    HashMap<Integer, int[]> readFormat4() throws IOException {
-        HashMap<Integer, int[]> h = new HashMap<>();
+    IntObjectHashtable<int[]> readFormat4() throws IOException {
+        IntObjectHashtable<int[]> h = new IntObjectHashtable<>();
         int table_lenght = rf.readUnsignedShort();
         rf.skipBytes(2);
         int segCount = rf.readUnsignedShort() / 2;
@@ -904,8 +905,8 @@ class TrueTypeFont extends BaseFont {
      * @return a <CODE>HashMap</CODE> representing this map
      * @throws IOException the font file could not be read
      */
-    HashMap<Integer, int[]> readFormat6() throws IOException {
-        HashMap<Integer, int[]> h = new HashMap<>();
+    IntObjectHashtable<int[]> readFormat6() throws IOException {
+        IntObjectHashtable<int[]> h = new IntObjectHashtable<>();
         rf.skipBytes(4);
         int start_code = rf.readUnsignedShort();
         int code_count = rf.readUnsignedShort();
@@ -1044,7 +1045,7 @@ class TrueTypeFont extends BaseFont {
                             dif.add(new PdfNumber(k));
                             gap = false;
                         }
-                        dif.add(new PdfName(differences[k]));
+                        dif.add(PdfName.valueOf(differences[k]));
                     }
                     else
                         gap = true;
@@ -1068,6 +1069,42 @@ class TrueTypeFont extends BaseFont {
         return dic;
     }
     
+    /**
+     * Opens another handle of the font file, to read it while it is written to the document.
+     *
+     * @return the font file, open
+     * @throws IOException the font file could not be opened
+     */
+    protected RandomAccessFileOrArray openFontFile() throws IOException {
+        RandomAccessFileOrArray rf2 = new RandomAccessFileOrArray(rf);
+        rf2.reOpen();
+        return rf2;
+    }
+
+    /**
+     * Gets a stream reading a part of the font file. Closing the stream closes the file.
+     *
+     * @param file   the font file, open
+     * @param offset the start of the part
+     * @param length the number of bytes in the part
+     * @return the stream
+     * @throws IOException the font file could not be read
+     */
+    static InputStream getInputStream(RandomAccessFileOrArray file, int offset, int length) throws IOException {
+        try {
+            file.seek(offset);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        return new FilterInputStream(file.getInputStream(length)) {
+            @Override
+            public void close() throws IOException {
+                file.close();
+            }
+        };
+    }
+
     protected byte[] getFullFont() throws IOException {
         RandomAccessFileOrArray rf2 = null;
         try {
@@ -1113,10 +1150,10 @@ class TrueTypeFont extends BaseFont {
         return s;
     }
     
-    protected void addRangeUni(Map<Integer, int[]> longTag, boolean includeMetrics, boolean subsetp) {
+    protected void addRangeUni(IntObjectHashtable<int[]> longTag, boolean includeMetrics, boolean subsetp) {
         if (!subsetp && (subsetRanges != null || directoryOffset > 0)) {
             int[] rg = (subsetRanges == null && directoryOffset > 0) ? new int[]{0, 0xffff} : compactRanges(subsetRanges);
-            Map<Integer, int[]> usemap;
+            IntObjectHashtable<int[]> usemap;
             if (!fontSpecific && cmap31 != null) 
                 usemap = cmap31;
             else if (fontSpecific && cmap10 != null) 
@@ -1125,12 +1162,14 @@ class TrueTypeFont extends BaseFont {
                 usemap = cmap31;
             else 
                 usemap = cmap10;
-            for (Map.Entry<Integer, int[]> e : usemap.entrySet()) {
-                int[] v = e.getValue();
-                Integer gi = v[0];
+            int[] codes = usemap.getKeys();
+            int[][] values = usemap.getValues(new int[codes.length][]);
+            for (int i = 0; i < codes.length; ++i) {
+                int[] v = values[i];
+                int gi = v[0];
                 if (longTag.containsKey(gi))
                     continue;
-                int c = e.getKey();
+                int c = codes[i];
                 boolean skip = true;
                 for (int k = 0; k < rg.length; k += 2) {
                     if (c >= rg[k] && rg.length > k + 1 && c <= rg[k + 1]) {
@@ -1169,14 +1208,13 @@ class TrueTypeFont extends BaseFont {
         String subsetPrefix = "";
         if (embedded) {
             if (cff) {
-                pobj = new StreamFont(readCffFont(), "Type1C", compressionLevel);
-                obj = writer.addToBody(pobj);
-                ind_font = obj.getIndirectReference();
+                InputStream in = getInputStream(openFontFile(), cffOffset, cffLength);
+                ind_font = new StreamFont(in, new int[0], "Type1C", compressionLevel, writer).addToBody(writer);
             }
             else {
                 if (subsetp)
                     subsetPrefix = createSubsetPrefix();
-                HashMap<Integer, int[]> glyphs = new HashMap<>();
+                IntObjectHashtable<int[]> glyphs = new IntObjectHashtable<>();
                 for (int k = firstChar; k <= lastChar; ++k) {
                     if (shortTag[k] != 0) {
                         int[] metrics = null;
@@ -1196,18 +1234,19 @@ class TrueTypeFont extends BaseFont {
                     }
                 }
                 addRangeUni(glyphs, false, subsetp);
-                byte[] b = null;
+                InputStream in;
+                int length;
                 if (subsetp || directoryOffset != 0 || subsetRanges != null) {
                     TrueTypeFontSubSet sb = new TrueTypeFontSubSet(fileName, new RandomAccessFileOrArray(rf), glyphs, directoryOffset, true, !subsetp);
-                    b = sb.process();
+                    in = sb.process();
+                    length = sb.getSubsetLength();
                 }
                 else {
-                    b = getFullFont();
+                    RandomAccessFileOrArray rf2 = openFontFile();
+                    length = rf2.length();
+                    in = getInputStream(rf2, 0, length);
                 }
-                int[] lengths = new int[]{b.length};
-                pobj = new StreamFont(b, lengths, compressionLevel);
-                obj = writer.addToBody(pobj);
-                ind_font = obj.getIndirectReference();
+                ind_font = new StreamFont(in, new int[]{length}, null, compressionLevel, writer).addToBody(writer);
             }
         }
         pobj = getFontDescriptor(ind_font, subsetPrefix, null);
@@ -1352,7 +1391,7 @@ class TrueTypeFont extends BaseFont {
     }
 
     protected int[] getRawCharBBox(int c, String name) {
-        Map<Integer, int[]> map;
+        IntObjectHashtable<int[]> map;
         if (name == null || cmap31 == null)
             map = cmap10;
         else
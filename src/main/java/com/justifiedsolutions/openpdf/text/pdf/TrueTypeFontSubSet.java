@@ -54,9 +54,11 @@ import com.justifiedsolutions.openpdf.text.ExceptionConverter;
 import com.justifiedsolutions.openpdf.text.MessageLocalization;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 
 /**
@@ -104,8 +106,7 @@ class TrueTypeFontSubSet {
     protected boolean includeExtras;
     protected boolean locaShortTable;
     protected int[] locaTable;
-    protected HashMap<Integer, int[]> glyphsUsed;
-    protected ArrayList<Integer> glyphsInList;
+    protected UsageSet glyphsUsed;
     protected int tableGlyphOffset;
     protected int[] newLocaTable;
     protected byte[] newLocaTableOut;
@@ -114,6 +115,13 @@ class TrueTypeFontSubSet {
     protected int locaTableRealSize;
     protected byte[] outFont;
     protected int fontPtr;
+    protected int fullFontSize;
+    /**
+     * The parts of the subset font: a <CODE>byte[]</CODE> for the table
+     * directory and the new tables, the location of a table in the font file
+     * for the others.
+     */
+    private List<Object> parts;
     protected int directoryOffset;
 
     /**
@@ -124,24 +132,27 @@ class TrueTypeFontSubSet {
      * @param glyphsUsed      the glyphs used
      * @param includeCmap     <CODE>true</CODE> if the table cmap is to be included in the generated font
      */
-    TrueTypeFontSubSet(String fileName, RandomAccessFileOrArray rf, HashMap<Integer, int[]> glyphsUsed, int directoryOffset, boolean includeCmap, boolean includeExtras) {
+    TrueTypeFontSubSet(String fileName, RandomAccessFileOrArray rf, IntObjectHashtable<int[]> glyphsUsed, int directoryOffset, boolean includeCmap, boolean includeExtras) {
         this.fileName = fileName;
         this.rf = rf;
-        this.glyphsUsed = glyphsUsed;
+        this.glyphsUsed = new UsageSet(glyphsUsed);
         this.includeCmap = includeCmap;
         this.includeExtras = includeExtras;
         this.directoryOffset = directoryOffset;
-        glyphsInList = new ArrayList<>(glyphsUsed.keySet());
     }
 
     /**
-     * Does the actual work of subsetting the font.
+     * Does the actual work of subsetting the font. Only the table directory and the new
+     * <CODE>glyf</CODE> and <CODE>loca</CODE> tables are held in memory, the other tables
+     * are copied from the font file while the returned stream is read. The stream must
+     * be closed, which closes the font file.
      *
      * @return the subset font
      * @throws IOException       on error
      * @throws DocumentException on error
      */
-    byte[] process() throws IOException, DocumentException {
+    InputStream process() throws IOException, DocumentException {
+        boolean done = false;
         try {
             rf.reOpen();
             createTableDirectory();
@@ -150,19 +161,31 @@ class TrueTypeFontSubSet {
             createNewGlyphTables();
             locaTobytes();
             assembleFont();
-            return outFont;
+            done = true;
+            return new SubsetStream();
         } finally {
-            try {
-                rf.close();
-            } catch (Exception e) {
-                // empty on purpose
+            if (!done) {
+                try {
+                    rf.close();
+                } catch (Exception e) {
+                    // empty on purpose
+                }
             }
         }
     }
 
+    /**
+     * Gets the number of bytes of the subset font, once it is processed.
+     *
+     * @return the number of bytes
+     */
+    int getSubsetLength() {
+        return fullFontSize;
+    }
+
     protected void assembleFont() throws IOException {
         int[] tableLocation;
-        int fullFontSize = 0;
+        fullFontSize = 0;
         String[] tableNames;
         if (includeExtras)
             tableNames = tableNamesExtra;
@@ -187,7 +210,7 @@ class TrueTypeFontSubSet {
         fullFontSize += newGlyfTable.length;
         int ref = 16 * tablesUsed + 12;
         fullFontSize += ref;
-        outFont = new byte[fullFontSize];
+        outFont = new byte[ref];
         fontPtr = 0;
         writeFontInt(0x00010000);
         writeFontShort(tablesUsed);
@@ -214,23 +237,80 @@ class TrueTypeFontSubSet {
             writeFontInt(len);
             ref += (len + 3) & (~3);
         }
+        parts = new ArrayList<>();
+        parts.add(outFont);
         for (String name : tableNames) {
             tableLocation = tableDirectory.get(name);
             if (tableLocation == null)
                 continue;
             if (name.equals("glyf")) {
-                System.arraycopy(newGlyfTable, 0, outFont, fontPtr, newGlyfTable.length);
-                fontPtr += newGlyfTable.length;
+                parts.add(newGlyfTable);
                 newGlyfTable = null;
             } else if (name.equals("loca")) {
-                System.arraycopy(newLocaTableOut, 0, outFont, fontPtr, newLocaTableOut.length);
-                fontPtr += newLocaTableOut.length;
+                parts.add(newLocaTableOut);
                 newLocaTableOut = null;
             } else {
-                rf.seek(tableLocation[TABLE_OFFSET]);
-                rf.readFully(outFont, fontPtr, tableLocation[TABLE_LENGTH]);
-                fontPtr += (tableLocation[TABLE_LENGTH] + 3) & (~3);
+                parts.add(tableLocation);
+            }
+        }
+    }
+
+    /**
+     * Reads the parts of the subset font in order: the tables built in memory
+     * as they are, the other tables from the font file, padded to four bytes.
+     */
+    private class SubsetStream extends InputStream {
+        private int part = -1;
+        private byte[] bytes;
+        private int pos;
+        private int limit;
+        private int fileRemaining;
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0)
+                return 0;
+            while (pos == limit) {
+                if (++part >= parts.size())
+                    return -1;
+                Object p = parts.get(part);
+                pos = 0;
+                if (p instanceof byte[]) {
+                    bytes = (byte[]) p;
+                    limit = bytes.length;
+                    fileRemaining = 0;
+                } else {
+                    int[] tableLocation = (int[]) p;
+                    bytes = null;
+                    fileRemaining = tableLocation[TABLE_LENGTH];
+                    limit = (fileRemaining + 3) & (~3);
+                    rf.seek(tableLocation[TABLE_OFFSET]);
+                }
+            }
+            int n = Math.min(len, limit - pos);
+            if (bytes != null) {
+                System.arraycopy(bytes, pos, b, off, n);
+            } else if (pos < fileRemaining) {
+                n = Math.min(n, fileRemaining - pos);
+                rf.readFully(b, off, n);
+            } else {
+                Arrays.fill(b, off, off + n, (byte) 0);
             }
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            part = parts.size();
+            pos = limit = 0;
+            rf.close();
         }
     }
 
@@ -278,10 +358,7 @@ class TrueTypeFontSubSet {
 
     protected void createNewGlyphTables() throws IOException {
         newLocaTable = new int[locaTable.length];
-        int[] activeGlyphs = new int[glyphsInList.size()];
-        for (int k = 0; k < activeGlyphs.length; ++k)
-            activeGlyphs[k] = glyphsInList.get(k);
-        Arrays.sort(activeGlyphs);
+        int[] activeGlyphs = glyphsUsed.toOrderedArray();
         int glyfSize = 0;
         for (int glyph : activeGlyphs) {
             glyfSize += locaTable[glyph + 1] - locaTable[glyph];
@@ -332,15 +409,11 @@ class TrueTypeFontSubSet {
         tableLocation = tableDirectory.get("glyf");
         if (tableLocation == null)
             throw new DocumentException(MessageLocalization.getComposedMessage("table.1.does.not.exist.in.2", "glyf", fileName));
-        Integer glyph0 = 0;
-        if (!glyphsUsed.containsKey(glyph0)) {
-            glyphsUsed.put(glyph0, null);
-            glyphsInList.add(glyph0);
-        }
+        glyphsUsed.add(0);
         tableGlyphOffset = tableLocation[TABLE_OFFSET];
-        for (int k = 0; k < glyphsInList.size(); ++k) {    // TODO: concurrent List modification error in checkGlyphComposite(glyph)
-            int glyph = glyphsInList.get(k);
-            checkGlyphComposite(glyph);
+        // the components of composite glyphs are added to the end while the glyphs are checked
+        for (int k = 0; k < glyphsUsed.size(); ++k) {
+            checkGlyphComposite(glyphsUsed.get(k));
         }
     }
 
@@ -355,11 +428,7 @@ class TrueTypeFontSubSet {
         rf.skipBytes(8);
         for (; ; ) {
             int flags = rf.readUnsignedShort();
-            Integer cGlyph = rf.readUnsignedShort();
-            if (!glyphsUsed.containsKey(cGlyph)) {
-                glyphsUsed.put(cGlyph, null);
-                glyphsInList.add(cGlyph);
-            }
+            glyphsUsed.add(rf.readUnsignedShort());
             if ((flags & MORE_COMPONENTS) == 0)
                 return;
             int skip;
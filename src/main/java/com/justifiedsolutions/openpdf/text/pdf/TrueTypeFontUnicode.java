@@ -54,6 +54,7 @@ import com.justifiedsolutions.openpdf.text.MessageLocalization;
 import com.justifiedsolutions.openpdf.text.Utilities;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 /** Represents a True Type font with Unicode encoding. All the character
@@ -69,7 +70,12 @@ class TrueTypeFontUnicode extends TrueTypeFont implements Comparator{
      */    
     boolean vertical = false;
     
-    Map<Integer, Integer> inverseCmap;
+    IntHashtable inverseCmap;
+
+    /**
+     * The subroutine calls of the charstrings of a CFF font program, kept for the next subset.
+     */
+    private final CFFFontSubset.SubrCalls cffSubrCalls = new CFFFontSubset.SubrCalls();
     
     /**
      * Creates a new TrueType font addressed by Unicode characters. The font
@@ -120,7 +126,7 @@ class TrueTypeFontUnicode extends TrueTypeFont implements Comparator{
     void readCMaps() throws DocumentException, IOException {
         super.readCMaps();
 
-        Map cmap = null;
+        IntObjectHashtable<int[]> cmap = null;
         if (cmapExt != null) {
             cmap = cmapExt;
         } else if (cmap31 != null) {
@@ -128,12 +134,11 @@ class TrueTypeFontUnicode extends TrueTypeFont implements Comparator{
         }
 
         if (cmap != null) {
-            inverseCmap = new HashMap<>();
-            for (Object o : cmap.entrySet()) {
-                Map.Entry entry = (Map.Entry) o;
-                Integer code = (Integer) entry.getKey();
-                int[] metrics = (int[]) entry.getValue();
-                inverseCmap.put(metrics[0], code);
+            int[] codes = cmap.getKeys();
+            inverseCmap = new IntHashtable(codes.length, 0.75f);
+            int[][] metrics = cmap.getValues(new int[codes.length][]);
+            for (int k = 0; k < codes.length; ++k) {
+                inverseCmap.put(metrics[k][0], codes[k]);
             }
         }
     }
@@ -378,9 +383,9 @@ class TrueTypeFontUnicode extends TrueTypeFont implements Comparator{
      */
     @SuppressWarnings("unchecked")
     void writeFont(PdfWriter writer, PdfIndirectReference ref, Object[] params) throws DocumentException, IOException {
-        HashMap<Integer, int[]> longTag = (HashMap<Integer, int[]>)params[0];
+        IntObjectHashtable<int[]> longTag = (IntObjectHashtable<int[]>)params[0];
         addRangeUni(longTag, true, subset);
-        int[][] metrics = longTag.values().toArray(new int[0][]);
+        int[][] metrics = longTag.getValues(new int[longTag.size()][]);
         Arrays.sort(metrics, this);
         PdfIndirectReference ind_font = null;
         PdfObject pobj = null;
@@ -388,27 +393,30 @@ class TrueTypeFontUnicode extends TrueTypeFont implements Comparator{
         PdfIndirectReference cidset = null;
         // sivan: cff
         if (cff) {
-            byte[] b = readCffFont();
             if (subset || subsetRanges != null) {
-                CFFFontSubset cff = new CFFFontSubset(new RandomAccessFileOrArray(b),longTag);
-                b = cff.Process(cff.getNames()[0]);
+                CFFFontSubset cff = new CFFFontSubset(new RandomAccessFileOrArray(readCffFont()), longTag, cffSubrCalls);
+                byte[] b = cff.Process(cff.getNames()[0]);
+                pobj = new StreamFont(b, "CIDFontType0C", compressionLevel);
+                obj = writer.addToBody(pobj);
+                ind_font = obj.getIndirectReference();
+            } else {
+                InputStream in = getInputStream(openFontFile(), cffOffset, cffLength);
+                ind_font = new StreamFont(in, new int[0], "CIDFontType0C", compressionLevel, writer).addToBody(writer);
             }
-            pobj = new StreamFont(b, "CIDFontType0C", compressionLevel);
-            obj = writer.addToBody(pobj);
-            ind_font = obj.getIndirectReference();
         } else {
-            byte[] b;
+            InputStream in;
+            int length;
             if (subset || directoryOffset != 0) {
                 TrueTypeFontSubSet sb = new TrueTypeFontSubSet(fileName, new RandomAccessFileOrArray(rf), longTag, directoryOffset, false, false);
-                b = sb.process();
+                in = sb.process();
+                length = sb.getSubsetLength();
             }
             else {
-                b = getFullFont();
+                RandomAccessFileOrArray rf2 = openFontFile();
+                length = rf2.length();
+                in = getInputStream(rf2, 0, length);
             }
-            int[] lengths = new int[]{b.length};
-            pobj = new StreamFont(b, lengths, compressionLevel);
-            obj = writer.addToBody(pobj);
-            ind_font = obj.getIndirectReference();
+            ind_font = new StreamFont(in, new int[]{length}, null, compressionLevel, writer).addToBody(writer);
         }
         String subsetPrefix = "";
         if (subset)
@@ -464,7 +472,7 @@ class TrueTypeFontUnicode extends TrueTypeFont implements Comparator{
     public int[] getMetricsTT(int c) {
         if (cmapExt != null)
             return cmapExt.get(c);
-        Map<Integer, int[]> map;
+        IntObjectHashtable<int[]> map;
         if (fontSpecific)
             map = cmap10;
         else
@@ -481,4 +489,35 @@ class TrueTypeFontUnicode extends TrueTypeFont implements Comparator{
             return map.get(c);
     }
 
+
+    /**
+     * Builds the characters the font has a glyph for from the cmap used by
+     * {@link #getMetricsTT(int)}. A symbolic font covers its codes both as
+     * they are and in the private use area from U+F000.
+     *
+     * @return a new set with the characters
+     */
+    @Override
+    BitSet createCoverage() {
+        BitSet set = new BitSet();
+        IntObjectHashtable<int[]> map = cmapExt != null ? cmapExt : fontSpecific ? cmap10 : cmap31;
+        if (map == null) {
+            return set;
+        }
+        for (int k = 0; k < map.size(); ++k) {
+            int c = map.keyAt(k);
+            if (map.get(c)[0] == 0) {
+                continue;
+            }
+            if (cmapExt == null && fontSpecific) {
+                if (c < 256) {
+                    set.set(c);
+                    set.set(0xf000 | c);
+                }
+            } else {
+                set.set(c);
+            }
+        }
+        return set;
+    }
 }
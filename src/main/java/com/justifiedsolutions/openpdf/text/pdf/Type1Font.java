@@ -560,7 +560,7 @@ class Type1Font extends BaseFont
         dic.put(PdfName.CAPHEIGHT, new PdfNumber(CapHeight));
         dic.put(PdfName.DESCENT, new PdfNumber(Descender));
         dic.put(PdfName.FONTBBOX, new PdfRectangle(llx, lly, urx, ury));
-        dic.put(PdfName.FONTNAME, new PdfName(FontName));
+        dic.put(PdfName.FONTNAME, PdfName.valueOf(FontName));
         dic.put(PdfName.ITALICANGLE, new PdfNumber(ItalicAngle));
         dic.put(PdfName.STEMV, new PdfNumber(StdVW));
         if (fontStream != null)
@@ -591,7 +591,7 @@ class Type1Font extends BaseFont
     {
         PdfDictionary dic = new PdfDictionary(PdfName.FONT);
         dic.put(PdfName.SUBTYPE, PdfName.TYPE1);
-        dic.put(PdfName.BASEFONT, new PdfName(FontName));
+        dic.put(PdfName.BASEFONT, PdfName.valueOf(FontName));
         boolean stdEncoding = encoding.equals("Cp1252") || encoding.equals("MacRoman");
         if (!fontSpecific || specialMap != null) {
             for (int k = firstChar; k <= lastChar; ++k) {
@@ -612,7 +612,7 @@ class Type1Font extends BaseFont
                             dif.add(new PdfNumber(k));
                             gap = false;
                         }
-                        dif.add(new PdfName(differences[k]));
+                        dif.add(PdfName.valueOf(differences[k]));
                     }
                     else
                         gap = true;
@@ -638,6 +638,16 @@ class Type1Font extends BaseFont
         return dic;
     }
     
+    /** A built-in font with a standard or symbolic encoding writes neither widths
+     * nor differences, so its dictionary does not depend on the characters used.
+     * @return <CODE>true</CODE> if the font can be written before the document is complete
+     */
+    @Override
+    boolean isUsageIndependent() {
+        boolean stdEncoding = encoding.equals("Cp1252") || encoding.equals("MacRoman");
+        return builtinFont && specialMap == null && !forceWidthsOutput && (fontSpecific || stdEncoding);
+    }
+
     /** Outputs to the writer the font dictionaries and streams.
      * @param writer the writer for this document
      * @param ref the font indirect reference
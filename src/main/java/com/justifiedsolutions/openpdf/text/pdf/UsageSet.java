@@ -0,0 +1,98 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The glyphs or subroutines used by a font subset. A dense bit set answers the lookups, and the ids are also kept in
+ * the order they were added, which is the work list when the closure over composite glyphs or subroutine calls is
+ * computed: the ids added while the list is walked are walked too. Negative ids are ignored.
+ */
+final class UsageSet {
+
+    private final BitSet bits = new BitSet();
+    private int[] order = new int[64];
+    private int count;
+
+    /**
+     * Creates an empty set.
+     */
+    UsageSet() {
+    }
+
+    /**
+     * Creates a set with the keys of a map, in the order they were added to the map.
+     *
+     * @param keys the map
+     */
+    UsageSet(IntKeyTable keys) {
+        for (int k = 0; k < keys.size(); ++k) {
+            add(keys.keyAt(k));
+        }
+    }
+
+    /**
+     * Adds an id.
+     *
+     * @param id the id
+     * @return <CODE>true</CODE> if the id wasn't in the set yet
+     */
+    boolean add(int id) {
+        if (id < 0 || bits.get(id)) {
+            return false;
+        }
+        bits.set(id);
+        if (count == order.length) {
+            order = Arrays.copyOf(order, count * 2);
+        }
+        order[count++] = id;
+        return true;
+    }
+
+    /**
+     * Tests if an id is in the set.
+     *
+     * @param id the id
+     * @return <CODE>true</CODE> if the id is in the set
+     */
+    boolean contains(int id) {
+        return id >= 0 && bits.get(id);
+    }
+
+    /**
+     * Gets the number of ids.
+     *
+     * @return the number of ids
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Gets an id by the position in the order the ids were added.
+     *
+     * @param index the position, from 0 to <CODE>size() - 1</CODE>
+     * @return the id
+     */
+    int get(int index) {
+        if (index >= count) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+        return order[index];
+    }
+
+    /**
+     * Gets the ids in ascending order.
+     *
+     * @return a new array with the ids
+     */
+    int[] toOrderedArray() {
+        return bits.stream().toArray();
+    }
+}
@@ -7,11 +7,24 @@
 package com.justifiedsolutions.openpdf.pdf;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.justifiedsolutions.openpdf.pdf.content.Cell;
 import com.justifiedsolutions.openpdf.pdf.content.Chunk;
 import com.justifiedsolutions.openpdf.pdf.content.Paragraph;
+import com.justifiedsolutions.openpdf.pdf.content.Phrase;
+import com.justifiedsolutions.openpdf.pdf.content.StreamingTable;
+import com.justifiedsolutions.openpdf.pdf.font.PDFFont;
+import com.justifiedsolutions.openpdf.text.pdf.PdfReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -57,4 +70,78 @@ public class DocumentTest {
         assertThrows(DocumentException.class, () -> document.add(new Chunk()));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void pipelinedWritingMatchesSerial() throws DocumentException {
+        assertFalse(document.isPipelinedWriting());
+        addChapters();
+        String serial = writeWithoutDates();
+        document.setPipelinedWriting(true);
+        assertEquals(serial, writeWithoutDates());
+    }
+
+    @Test
+    public void chunksWrittenAsOneText() throws DocumentException, IOException {
+        Paragraph paragraph = new Paragraph();
+        paragraph.setFont(new PDFFont());
+        for (int i = 0; i < 10; i++) {
+            paragraph.add(new Chunk("word" + i, new PDFFont()));
+            paragraph.add(new Chunk(" ", new PDFFont()));
+        }
+        document.add(paragraph);
+        PdfReader reader = new PdfReader(writeWithoutDates().getBytes(StandardCharsets.ISO_8859_1));
+        try {
+            String content = new String(reader.getPageContent(1, reader.getSafeFile()), StandardCharsets.ISO_8859_1);
+            assertTrue(content.contains("(word0 word1 word2 word3 word4 word5 word6 word7 word8 word9 )Tj"));
+            assertEquals(1, content.split("Tj").length - 1);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void pipelinedWritingStopsThreadsOnFailure() throws DocumentException, InterruptedException {
+        int[] count = {0};
+        StreamingTable table = new StreamingTable(1, () -> {
+            if (count[0] == 300) {
+                throw new IllegalStateException("row source failed");
+            }
+            return Collections.singletonList(new Cell(new Phrase("row " + count[0]++)));
+        });
+        document.add(table);
+        document.setPipelinedWriting(true);
+        assertThrows(RuntimeException.class, () -> document.write(new ByteArrayOutputStream()));
+        assertEquals(300, count[0]);
+        long end = System.currentTimeMillis() + 5000;
+        while (!pipelineThreads().isEmpty() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(Collections.emptyList(), pipelineThreads());
+    }
+
+    private static List<String> pipelineThreads() {
+        List<String> names = new ArrayList<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().startsWith("PdfWriter-")) {
+                names.add(thread.getName());
+            }
+        }
+        return names;
+    }
+
+    private void addChapters() throws DocumentException {
+        document.setFooter(new PageNumberFooter(true, HorizontalAlignment.CENTER, new PDFFont()));
+        for (int i = 1; i <= 8; i++) {
+            Chapter chapter = document.createChapter(new Paragraph("Chapter " + i));
+            chapter.addContent(new Paragraph("Content of chapter " + i));
+            chapter.addSection(new Paragraph("Section of chapter " + i))
+                    .addContent(new Paragraph("Content of section " + i));
+        }
+    }
+
+    private String writeWithoutDates() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        return new String(out.toByteArray(), StandardCharsets.ISO_8859_1)
+                .replaceAll("/(CreationDate|ModDate)\\([^)]*\\)", "");
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.justifiedsolutions.openpdf.pdf.content.Chunk;
+import com.justifiedsolutions.openpdf.pdf.content.Paragraph;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class FlushPolicyTest {
+
+    @Test
+    public void negativeInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new FlushPolicy(-1, 0, false));
+        assertThrows(IllegalArgumentException.class, () -> new FlushPolicy(0, -1, false));
+    }
+
+    @Test
+    public void setFlushPolicyNull() {
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.setFlushPolicy(FlushPolicy.EVERY_PAGE);
+        assertEquals(FlushPolicy.EVERY_PAGE, document.getFlushPolicy());
+        document.setFlushPolicy(null);
+        assertEquals(FlushPolicy.NONE, document.getFlushPolicy());
+    }
+
+    @Test
+    public void noneFlushesOnlyOnClose() throws DocumentException {
+        FlushRecorder out = new FlushRecorder();
+        createDocument(FlushPolicy.NONE, 3).write(out);
+        assertEquals(1, out.flushes.size());
+    }
+
+    @Test
+    public void everyPageEmitsFirstPageEarly() throws DocumentException {
+        FlushRecorder out = new FlushRecorder();
+        createDocument(FlushPolicy.EVERY_PAGE, 3).write(out);
+
+        // header, then one flush per page, then close
+        assertEquals(5, out.flushes.size());
+        assertTrue(out.flushes.get(0) > 0);
+        String firstPage = new String(out.toByteArray(), 0, out.flushes.get(1), StandardCharsets.ISO_8859_1);
+        assertTrue(firstPage.contains("/BaseFont/Helvetica"));
+    }
+
+    @Test
+    public void byteIntervalFlushes() throws DocumentException {
+        FlushRecorder out = new FlushRecorder();
+        createDocument(new FlushPolicy(0, 1, false), 3).write(out);
+        assertEquals(4, out.flushes.size());
+    }
+
+    private Document createDocument(FlushPolicy policy, int pages) throws DocumentException {
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.setFlushPolicy(policy);
+        for (int i = 1; i <= pages; i++) {
+            Paragraph paragraph = new Paragraph("Page content " + i);
+            if (i < pages) {
+                paragraph.add(Chunk.PAGE_BREAK);
+            }
+            document.add(paragraph);
+        }
+        return document;
+    }
+
+    private static class FlushRecorder extends ByteArrayOutputStream {
+
+        private final List<Integer> flushes = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            if (flushes.isEmpty() || flushes.get(flushes.size() - 1) != size()) {
+                flushes.add(size());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.justifiedsolutions.openpdf.pdf.content.Chunk;
+import com.justifiedsolutions.openpdf.pdf.content.Paragraph;
+import com.justifiedsolutions.openpdf.text.pdf.PdfDictionary;
+import com.justifiedsolutions.openpdf.text.pdf.PdfName;
+import com.justifiedsolutions.openpdf.text.pdf.PdfReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+public class PageTemplateTest {
+
+    @Test
+    public void invalidPageNumber() {
+        assertThrows(IllegalArgumentException.class, () -> new PageTemplate(Paths.get("letterhead.pdf"), 0));
+        assertThrows(NullPointerException.class, () -> new PageTemplate(null));
+    }
+
+    @Test
+    public void templateWrittenOnce() throws DocumentException, IOException {
+        Path letterhead = Files.createTempFile("letterhead", ".pdf");
+        try {
+            writeWithTemplate(letterhead);
+        } finally {
+            Files.delete(letterhead);
+        }
+    }
+
+    private void writeWithTemplate(Path letterhead) throws DocumentException, IOException {
+        Document template = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        template.add(new Paragraph("Letterhead"));
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            template.write(out);
+            Files.write(letterhead, out.toByteArray());
+        }
+
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.setPageTemplate(new PageTemplate(letterhead));
+        for (int i = 1; i <= 3; i++) {
+            Paragraph paragraph = new Paragraph("Page content " + i);
+            if (i < 3) {
+                paragraph.add(Chunk.PAGE_BREAK);
+            }
+            document.add(paragraph);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        String pdf = new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+
+        assertEquals(1, count(pdf, "/Subtype/Form"));
+
+        PdfReader reader = new PdfReader(out.toByteArray());
+        try {
+            assertEquals(3, reader.getNumberOfPages());
+            for (int page = 1; page <= 3; page++) {
+                PdfDictionary resources = reader.getPageN(page).getAsDict(PdfName.RESOURCES);
+                assertNotNull(resources.getAsDict(PdfName.XOBJECT).get(PdfName.valueOf("Xf1")));
+                String content = new String(reader.getPageContent(page, reader.getSafeFile()),
+                        StandardCharsets.ISO_8859_1);
+                assertTrue(content.startsWith("q\nq 1 0 0 1 0 0 cm /Xf1 Do Q\n"));
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static int count(String text, String value) {
+        Matcher matcher = Pattern.compile(Pattern.quote(value)).matcher(text);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+}
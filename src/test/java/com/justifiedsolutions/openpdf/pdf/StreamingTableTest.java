@@ -0,0 +1,185 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.justifiedsolutions.openpdf.pdf.content.Cell;
+import com.justifiedsolutions.openpdf.pdf.content.Phrase;
+import com.justifiedsolutions.openpdf.pdf.content.StreamingTable;
+import com.justifiedsolutions.openpdf.text.pdf.PRIndirectReference;
+import com.justifiedsolutions.openpdf.text.pdf.PRStream;
+import com.justifiedsolutions.openpdf.text.pdf.PdfName;
+import com.justifiedsolutions.openpdf.text.pdf.PdfReader;
+import com.justifiedsolutions.openpdf.text.pdf.RandomAccessFileOrArray;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+public class StreamingTableTest {
+
+    private static final int ROWS = 500;
+    private static final Pattern ROW = Pattern.compile("\\(row (\\d+) a\\)");
+    private static final Pattern XOBJECT = Pattern.compile("/(\\w+) Do Q");
+
+    @Test
+    public void supplierEndsWithNull() {
+        int[] count = {0};
+        StreamingTable table = new StreamingTable(2, () -> count[0] < 2 ? row(count[0]++) : null);
+        assertTrue(table.getRows().hasNext());
+        assertEquals(2, table.getRows().next().size());
+        table.getRows().next();
+        assertFalse(table.getRows().hasNext());
+        assertFalse(table.isKeepTogether());
+    }
+
+    @Test
+    public void rowsArePulledWhileWriting() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int[] count = {0};
+        int[] writtenAtRow100 = {0};
+        int[] writtenBeforeLastRow = {0};
+        StreamingTable table = new StreamingTable(2, () -> {
+            if (count[0] == ROWS) {
+                return null;
+            }
+            if (count[0] == 100) {
+                writtenAtRow100[0] = out.size();
+            } else if (count[0] == ROWS - 1) {
+                writtenBeforeLastRow[0] = out.size();
+            }
+            return row(count[0]++);
+        });
+        table.createCell(new Phrase("HEADER A"));
+        table.createCell(new Phrase("HEADER B"));
+        table.setSpacingBefore(20);
+
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.setFlushPolicy(FlushPolicy.EVERY_PAGE);
+        document.add(table);
+        document.write(out);
+
+        assertEquals(ROWS, count[0]);
+        // the pages are written while the rows are pulled
+        assertTrue(writtenAtRow100[0] > 0);
+        assertTrue(writtenBeforeLastRow[0] > 4 * writtenAtRow100[0]);
+
+        byte[] pdf = out.toByteArray();
+        PdfReader reader = new PdfReader(pdf);
+        int pages = reader.getNumberOfPages();
+        assertTrue(pages > 5);
+        int rows = 0;
+        int previous = -1;
+        int header = -1;
+        for (int page = 1; page <= pages; page++) {
+            String content = new String(reader.getPageContent(page, new RandomAccessFileOrArray(pdf)),
+                    StandardCharsets.ISO_8859_1);
+            // the header is laid out once and every page refers to it
+            assertEquals(0, occurrences(content, "(HEADER A)"), "page " + page);
+            Matcher xObject = XOBJECT.matcher(content);
+            assertTrue(xObject.find(), "page " + page);
+            PRIndirectReference ref = (PRIndirectReference) reader.getPageN(page).getAsDict(PdfName.RESOURCES)
+                    .getAsDict(PdfName.XOBJECT).get(new PdfName(xObject.group(1)));
+            if (header < 0) {
+                header = ref.getNumber();
+                PRStream stream = (PRStream) PdfReader.getPdfObject(ref);
+                String headerContent = new String(PdfReader.getStreamBytes(stream, new RandomAccessFileOrArray(pdf)),
+                        StandardCharsets.ISO_8859_1);
+                assertEquals(1, occurrences(headerContent, "(HEADER A)"));
+            }
+            assertEquals(header, ref.getNumber(), "page " + page);
+            Matcher matcher = ROW.matcher(content);
+            while (matcher.find()) {
+                int row = Integer.parseInt(matcher.group(1));
+                assertEquals(previous + 1, row);
+                previous = row;
+                rows++;
+            }
+        }
+        assertEquals(ROWS, rows);
+    }
+
+    @Test
+    public void emptySource() throws Exception {
+        StreamingTable table = new StreamingTable(new float[]{1, 2}, Collections.<List<Cell>>emptyIterator());
+        table.createCell(new Phrase("HEADER A"));
+        table.createCell(new Phrase("HEADER B"));
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.add(new com.justifiedsolutions.openpdf.pdf.content.Paragraph("before"));
+        document.add(table);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        PdfReader reader = new PdfReader(out.toByteArray());
+        assertEquals(1, reader.getNumberOfPages());
+    }
+
+    @Test
+    public void bodyRowSpanIsRejected() throws Exception {
+        int[] count = {0};
+        StreamingTable table = new StreamingTable(2, () -> {
+            if (count[0] == 3) {
+                return null;
+            }
+            List<Cell> row = row(count[0]++);
+            if (count[0] == 2) {
+                row.get(0).setRowSpan(2);
+            }
+            return row;
+        });
+        assertRejected(table);
+    }
+
+    @Test
+    public void shortBodyRowIsRejected() throws Exception {
+        List<Cell> wide = row(0);
+        wide.get(0).setColumnSpan(2);
+        wide.remove(1);
+        List<Cell> narrow = row(1);
+        narrow.remove(1);
+        StreamingTable table = new StreamingTable(2, Arrays.asList(wide, narrow, row(2)).iterator());
+        IllegalArgumentException thrown = assertRejected(table);
+        assertTrue(thrown.getMessage().contains("row 1 "), thrown.getMessage());
+    }
+
+    @Test
+    public void headerRowSpanIsRejected() throws Exception {
+        StreamingTable table = new StreamingTable(2, Collections.singletonList(row(0)).iterator());
+        table.createCell(new Phrase("HEADER A")).setRowSpan(2);
+        table.createCell(new Phrase("HEADER B"));
+        assertRejected(table);
+    }
+
+    private static IllegalArgumentException assertRejected(StreamingTable table) throws Exception {
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.add(table);
+        Throwable thrown = assertThrows(RuntimeException.class, () -> document.write(new ByteArrayOutputStream()));
+        while (!(thrown instanceof IllegalArgumentException) && thrown.getCause() != null) {
+            thrown = thrown.getCause();
+        }
+        assertTrue(thrown instanceof IllegalArgumentException, thrown.toString());
+        return (IllegalArgumentException) thrown;
+    }
+
+    private static List<Cell> row(int k) {
+        return new ArrayList<>(Arrays.asList(new Cell(new Phrase("row " + k + " a")),
+                new Cell(new Phrase("row " + k + " b"))));
+    }
+
+    private static int occurrences(String text, String s) {
+        int n = 0;
+        for (int index = text.indexOf(s); index >= 0; index = text.indexOf(s, index + 1)) {
+            n++;
+        }
+        return n;
+    }
+}
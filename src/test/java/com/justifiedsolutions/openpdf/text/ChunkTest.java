@@ -7,10 +7,18 @@
 package com.justifiedsolutions.openpdf.text;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.justifiedsolutions.openpdf.pdf.font.FallbackFont;
 import com.justifiedsolutions.openpdf.pdf.font.PDFFont;
+import com.justifiedsolutions.openpdf.pdf.font.PDFFont.FontName;
+import com.justifiedsolutions.openpdf.text.pdf.BaseFont;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -49,4 +57,67 @@ public class ChunkTest {
         assertTrue(attributes.containsKey(Chunk.NEWPAGE));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getInstancesWithoutFallback() {
+        List<Chunk> actual = Chunk.getInstances(
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk("αβ", new PDFFont()));
+        assertEquals(1, actual.size());
+        assertEquals("αβ", actual.get(0).getContent());
+        FontAssertions.assertDefaultFont(actual.get(0).getFont());
+    }
+
+    @Test
+    public void getInstancesSplitsRuns() {
+        FallbackFont font = new FallbackFont(new PDFFont(),
+                new PDFFont(FontName.SYMBOL), new PDFFont(FontName.ZAPFDINGBATS));
+        List<Chunk> actual = Chunk.getInstances(
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk("x = αβ + γ ✓\n", font));
+        assertEquals(5, actual.size());
+        assertEquals("x = ", actual.get(0).getContent());
+        assertEquals("αβ ", actual.get(1).getContent());
+        assertEquals(BaseFont.SYMBOL, actual.get(1).getFont().getBaseFont().getPostscriptFontName());
+        assertEquals("+ ", actual.get(2).getContent());
+        assertEquals("γ ", actual.get(3).getContent());
+        assertEquals("✓\n", actual.get(4).getContent());
+        assertEquals(BaseFont.ZAPFDINGBATS, actual.get(4).getFont().getBaseFont().getPostscriptFontName());
+        FontAssertions.assertDefaultFont(actual.get(0).getFont());
+    }
+
+    @Test
+    public void getInstancesJoinsRuns() {
+        PDFFont bold = new PDFFont(FontName.HELVETICA_BOLD);
+        List<Chunk> actual = Chunk.getInstances(Arrays.asList(
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk("one", new PDFFont()),
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk(", two", new PDFFont()),
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk(" ", new PDFFont()),
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk("three", new PDFFont()),
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk("four", bold),
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk("five", bold),
+                com.justifiedsolutions.openpdf.pdf.content.Chunk.PAGE_BREAK,
+                new com.justifiedsolutions.openpdf.pdf.content.Chunk("six", bold)));
+        assertEquals(6, actual.size());
+        assertEquals("one, two", actual.get(0).getContent());
+        FontAssertions.assertDefaultFont(actual.get(0).getFont());
+        assertEquals(" ", actual.get(1).getContent());
+        assertEquals("three", actual.get(2).getContent());
+        assertEquals("fourfive", actual.get(3).getContent());
+        assertEquals(BaseFont.HELVETICA_BOLD, actual.get(3).getFont().getBaseFont().getPostscriptFontName());
+        assertTrue(actual.get(4).getChunkAttributes().containsKey(Chunk.NEWPAGE));
+        assertEquals("six", actual.get(5).getContent());
+    }
+
+    @Test
+    public void coverage() {
+        BitSet helvetica = FontFactory.getFont(new PDFFont()).getBaseFont().getCoverage();
+        assertTrue(helvetica.get('A'));
+        assertTrue(helvetica.get('€'));
+        assertFalse(helvetica.get('α'));
+        assertFalse(helvetica.get('\n'));
+        BitSet symbol = FontFactory.getFonts(new FallbackFont(new PDFFont(FontName.SYMBOL)))[0]
+                .getBaseFont().getCoverage();
+        assertTrue(symbol.get('α'));
+        assertFalse(symbol.get('A'));
+        assertSame(symbol, FontFactory.getFonts(new FallbackFont(new PDFFont(FontName.SYMBOL)))[0]
+                .getBaseFont().getCoverage());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class CFFFontSubsetTest {
+
+    private static final String NAME = "Test";
+
+    private static final int CALLSUBR = 10;
+    private static final int RETURN = 11;
+    private static final int ENDCHAR = 14;
+    private static final int RMOVETO = 21;
+    private static final int CALLGSUBR = 29;
+
+    /**
+     * The local subroutines: 1 calls 2 and global 1, 4 is not used by the subsets.
+     */
+    private static final byte[][] SUBRS = {
+            {(byte) 149, (byte) 159, RMOVETO, RETURN},
+            {call(2), CALLSUBR, call(1), CALLGSUBR, RETURN},
+            {RETURN},
+            {RETURN},
+            {RETURN},
+    };
+
+    /**
+     * The global subroutines: 2 calls local 3, 3 is not used by the subsets.
+     */
+    private static final byte[][] GSUBRS = {
+            {RETURN},
+            {RETURN},
+            {call(3), CALLSUBR, RETURN},
+            {RETURN},
+    };
+
+    private static final byte[][] CHARSTRINGS = {
+            {ENDCHAR},
+            {call(0), CALLSUBR, call(0), CALLGSUBR, ENDCHAR},
+            {call(1), CALLSUBR, ENDCHAR},
+            {call(2), CALLGSUBR, ENDCHAR},
+            {call(4), CALLSUBR, call(3), CALLGSUBR, ENDCHAR},
+    };
+
+    @Test
+    public void sharedSubrCallsMatchReading() throws IOException {
+        byte[] font = font();
+        CFFFontSubset.SubrCalls subrCalls = new CFFFontSubset.SubrCalls();
+        // the second subset replays the calls the first one found for glyph 2
+        for (int[] glyphs : new int[][]{{0, 1, 2}, {0, 2, 3}}) {
+            CFFFontSubset read = new CFFFontSubset(new RandomAccessFileOrArray(font), glyphs(glyphs), null);
+            CFFFontSubset replayed = new CFFFontSubset(new RandomAccessFileOrArray(font), glyphs(glyphs), subrCalls);
+            byte[] expected = read.Process(NAME);
+            assertEquals(NAME, new CFFFont(new RandomAccessFileOrArray(expected)).getNames()[0]);
+            assertArrayEquals(expected, replayed.Process(NAME));
+            assertArrayEquals(read.hSubrsUsedNonCID.toOrderedArray(), replayed.hSubrsUsedNonCID.toOrderedArray());
+            assertArrayEquals(read.hGSubrsUsed.toOrderedArray(), replayed.hGSubrsUsed.toOrderedArray());
+        }
+        CFFFontSubset subset = new CFFFontSubset(new RandomAccessFileOrArray(font), glyphs(0, 2, 3), subrCalls);
+        subset.Process(NAME);
+        assertArrayEquals(new int[]{1, 2, 3}, subset.hSubrsUsedNonCID.toOrderedArray());
+        assertArrayEquals(new int[]{1, 2}, subset.hGSubrsUsed.toOrderedArray());
+    }
+
+    private static IntObjectHashtable<int[]> glyphs(int... glyphs) {
+        IntObjectHashtable<int[]> used = new IntObjectHashtable<>();
+        for (int glyph : glyphs) {
+            used.put(glyph, new int[]{glyph, 0, 0});
+        }
+        return used;
+    }
+
+    /**
+     * Pushes the index of a subroutine, taking off the bias of an index with less than 1240 subroutines.
+     */
+    private static byte call(int subr) {
+        return (byte) (subr - 107 + 139);
+    }
+
+    /**
+     * Builds a CFF font program with one font that isn't CID keyed.
+     */
+    private static byte[] font() {
+        byte[] header = {1, 0, 4, 1};
+        byte[] names = index(NAME.getBytes(StandardCharsets.ISO_8859_1));
+        byte[] strings = index(NAME.getBytes(StandardCharsets.ISO_8859_1));
+        byte[] gsubrs = index(GSUBRS);
+        ByteArrayOutputStream charset = new ByteArrayOutputStream();
+        charset.write(0);
+        for (int glyph = 1; glyph < CHARSTRINGS.length; glyph++) {
+            charset.write(0);
+            charset.write(glyph);
+        }
+        byte[] charstrings = index(CHARSTRINGS);
+        byte[] subrs = index(SUBRS);
+        // the local subroutines follow the private dict, whose offset is relative to its start
+        ByteArrayOutputStream privateDict = new ByteArrayOutputStream();
+        writeInt(privateDict, 6);
+        privateDict.write(19);
+
+        int topDictIndexLength = 2 + 1 + 2 + 23;
+        int charsetOffset = header.length + names.length + topDictIndexLength + strings.length + gsubrs.length;
+        int charstringsOffset = charsetOffset + charset.size();
+        int privateOffset = charstringsOffset + charstrings.length;
+        ByteArrayOutputStream topDict = new ByteArrayOutputStream();
+        writeInt(topDict, charsetOffset);
+        topDict.write(15);
+        writeInt(topDict, charstringsOffset);
+        topDict.write(17);
+        writeInt(topDict, privateDict.size());
+        writeInt(topDict, privateOffset);
+        topDict.write(18);
+        byte[] topDicts = index(topDict.toByteArray());
+        assertEquals(topDictIndexLength, topDicts.length);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : new byte[][]{header, names, topDicts, strings, gsubrs, charset.toByteArray(), charstrings,
+                privateDict.toByteArray(), subrs}) {
+            out.write(part, 0, part.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes an INDEX with one byte offsets.
+     */
+    private static byte[] index(byte[]... objects) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(objects.length >> 8);
+        out.write(objects.length);
+        out.write(1);
+        int offset = 1;
+        out.write(offset);
+        for (byte[] object : objects) {
+            offset += object.length;
+            out.write(offset);
+        }
+        for (byte[] object : objects) {
+            out.write(object, 0, object.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes a DICT operand as a 32 bit integer, so that its length doesn't depend on the value.
+     */
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(29);
+        out.write(value >> 24);
+        out.write(value >> 16);
+        out.write(value >> 8);
+        out.write(value);
+    }
+}
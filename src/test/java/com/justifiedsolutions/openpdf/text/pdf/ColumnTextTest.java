@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.justifiedsolutions.openpdf.text.Phrase;
+import org.junit.jupiter.api.Test;
+
+public class ColumnTextTest {
+
+    @Test
+    public void copiesReplayMeasuredLines() throws Exception {
+        ColumnText column = column();
+        ColumnText measured = ColumnText.duplicate(column);
+        measured.setSimpleColumn(0, -10000, 100, 0);
+        assertEquals(ColumnText.NO_MORE_TEXT, measured.go(true) & ColumnText.NO_MORE_TEXT);
+
+        // split the text at a height, then go on with the rest
+        assertSplit(ColumnText.duplicate(column), column(), 100, 100);
+        assertSplit(ColumnText.duplicate(column), column(), 100, 80);
+        assertSplit(ColumnText.duplicate(column), column(), 60, 60);
+    }
+
+    @Test
+    public void otherWidthIsBrokenAgain() throws Exception {
+        ColumnText column = column();
+        ColumnText measured = ColumnText.duplicate(column);
+        measured.setSimpleColumn(0, -10000, 100, 0);
+        measured.go(true);
+        ColumnText narrow = ColumnText.duplicate(column);
+        narrow.setSimpleColumn(0, -10000, 50, 0);
+        narrow.go(true);
+        ColumnText expected = column();
+        expected.setSimpleColumn(0, -10000, 50, 0);
+        expected.go(true);
+        assertEquals(expected.getYLine(), narrow.getYLine());
+        assertTrue(narrow.getYLine() < measured.getYLine());
+    }
+
+    private static void assertSplit(ColumnText cached, ColumnText expected, float width, float restWidth)
+            throws Exception {
+        cached.setSimpleColumn(0, -100, width, 0);
+        expected.setSimpleColumn(0, -100, width, 0);
+        int status = cached.go(true);
+        assertEquals(expected.go(true), status);
+        assertEquals(expected.getYLine(), cached.getYLine());
+        assertEquals(0, status & ColumnText.NO_MORE_TEXT);
+
+        ColumnText rest = ColumnText.duplicate(cached);
+        ColumnText expectedRest = ColumnText.duplicate(expected);
+        rest.setSimpleColumn(0, -10000, restWidth, 0);
+        expectedRest.setSimpleColumn(0, -10000, restWidth, 0);
+        assertEquals(expectedRest.go(true), rest.go(true));
+        assertEquals(expectedRest.getYLine(), rest.getYLine());
+    }
+
+    private static ColumnText column() {
+        ColumnText column = new ColumnText(null);
+        column.setText(new Phrase(text()));
+        return column;
+    }
+
+    private static String text() {
+        StringBuilder text = new StringBuilder();
+        for (int k = 0; k < 200; k++) {
+            text.append("word").append(k).append(k % 17 == 0 ? "\n" : " ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.justifiedsolutions.openpdf.pdf.Document;
+import com.justifiedsolutions.openpdf.pdf.Margin;
+import com.justifiedsolutions.openpdf.pdf.PageSize;
+import com.justifiedsolutions.openpdf.pdf.PageTemplate;
+import com.justifiedsolutions.openpdf.pdf.content.Chunk;
+import com.justifiedsolutions.openpdf.pdf.content.Paragraph;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+
+public class ImportedPageCacheTest {
+
+    @Test
+    public void negativeMaxSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ImportedPageCache(-1));
+    }
+
+    @Test
+    public void pageIsReadOnce() throws Exception {
+        Path source = Files.createTempFile("source", ".pdf");
+        try {
+            writeSource(source, "Letterhead");
+            ImportedPageCache cache = new ImportedPageCache(ImportedPageCache.DEFAULT_MAX_SIZE);
+            ImportedPageGraph graph = cache.getGraph(source, 1);
+            assertSame(graph, cache.getGraph(source, 1));
+            assertEquals(1, cache.size());
+        } finally {
+            Files.delete(source);
+        }
+    }
+
+    @Test
+    public void changedFileIsReadAgain() throws Exception {
+        Path source = Files.createTempFile("source", ".pdf");
+        try {
+            writeSource(source, "Letterhead");
+            ImportedPageCache cache = new ImportedPageCache(ImportedPageCache.DEFAULT_MAX_SIZE);
+            ImportedPageGraph graph = cache.getGraph(source, 1);
+            writeSource(source, "Another letterhead");
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 2000));
+            assertNotSame(graph, cache.getGraph(source, 1));
+            assertEquals(1, cache.size());
+        } finally {
+            Files.delete(source);
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedPageIsEvicted() throws Exception {
+        Path source = Files.createTempFile("source", ".pdf");
+        try {
+            writeSource(source, "First", "Second");
+            ImportedPageCache unbounded = new ImportedPageCache(ImportedPageCache.DEFAULT_MAX_SIZE);
+            long maxSize = Math.max(unbounded.getGraph(source, 1).getSize(), unbounded.getGraph(source, 2).getSize());
+
+            ImportedPageCache cache = new ImportedPageCache(maxSize);
+            cache.getGraph(source, 1);
+            ImportedPageGraph second = cache.getGraph(source, 2);
+            assertEquals(1, cache.size());
+            assertSame(second, cache.getGraph(source, 2));
+
+            ImportedPageCache empty = new ImportedPageCache(0);
+            assertNotNull(empty.getGraph(source, 1));
+            assertEquals(0, empty.size());
+        } finally {
+            Files.delete(source);
+        }
+    }
+
+    @Test
+    public void cachedPageIsWrittenToEachDocument() throws Exception {
+        Path source = Files.createTempFile("source", ".pdf");
+        try {
+            writeSource(source, "Letterhead");
+            byte[] expected;
+            try (PdfReader reader = new PdfReader(source.toString())) {
+                expected = reader.getPageContent(1, reader.getSafeFile());
+            }
+            String first = writeWithTemplate(source);
+            assertEquals(first, writeWithTemplate(source));
+            assertTrue(ImportedPageCache.getDefault().size() > 0);
+
+            try (PdfReader reader = new PdfReader(first.getBytes(StandardCharsets.ISO_8859_1))) {
+                PdfDictionary xObjects = reader.getPageN(1).getAsDict(PdfName.RESOURCES).getAsDict(PdfName.XOBJECT);
+                PRStream form = (PRStream) PdfReader.getPdfObject(xObjects.get(PdfName.valueOf("Xf1")));
+                assertArrayEquals(expected, PdfReader.getStreamBytes(form, reader.getSafeFile()));
+                PdfDictionary fonts = form.getAsDict(PdfName.RESOURCES).getAsDict(PdfName.FONT);
+                PdfDictionary font = (PdfDictionary) PdfReader.getPdfObject(fonts.get(PdfName.valueOf("F1")));
+                assertEquals(PdfName.FONT, font.get(PdfName.TYPE));
+            }
+        } finally {
+            Files.delete(source);
+        }
+    }
+
+    private static void writeSource(Path path, String... pages) throws Exception {
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        for (int i = 0; i < pages.length; i++) {
+            Paragraph paragraph = new Paragraph(pages[i]);
+            if (i < pages.length - 1) {
+                paragraph.add(Chunk.PAGE_BREAK);
+            }
+            document.add(paragraph);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        Files.write(path, out.toByteArray());
+    }
+
+    private static String writeWithTemplate(Path template) throws Exception {
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.setPageTemplate(new PageTemplate(template));
+        document.add(new Paragraph("Content"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        return new String(out.toByteArray(), StandardCharsets.ISO_8859_1)
+                .replaceAll("/(CreationDate|ModDate)\\([^)]*\\)", "");
+    }
+}
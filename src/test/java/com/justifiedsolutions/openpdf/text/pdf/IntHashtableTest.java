@@ -0,0 +1,79 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class IntHashtableTest {
+
+    @Test
+    public void matchesHashMap() {
+        IntHashtable table = new IntHashtable(0, 0.75f);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(37);
+        for (int k = 0; k < 10000; k++) {
+            int key = random.nextInt(5000) - 1000;
+            int value = random.nextInt();
+            Integer old = expected.put(key, value);
+            assertEquals(old == null ? 0 : old, table.put(key, value));
+        }
+        assertEquals(expected.size(), table.size());
+        for (int key = -1000; key < 4000; key++) {
+            assertEquals(expected.containsKey(key), table.containsKey(key));
+            assertEquals(expected.getOrDefault(key, 0), table.get(key));
+        }
+    }
+
+    @Test
+    public void keysInInsertionOrder() {
+        IntHashtable table = new IntHashtable();
+        table.put(300, 1);
+        table.put(0, 2);
+        table.put(-5, 3);
+        table.put(300, 4);
+        assertArrayEquals(new int[]{300, 0, -5}, table.getKeys());
+        assertArrayEquals(new int[]{-5, 0, 300}, table.toOrderedKeys());
+        assertEquals(0, table.keyAt(1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> table.keyAt(3));
+
+        IntHashtable copy = (IntHashtable) table.clone();
+        copy.put(7, 7);
+        assertEquals(4, copy.get(300));
+        assertFalse(table.containsKey(7));
+    }
+
+    @Test
+    public void objectValues() {
+        IntObjectHashtable<int[]> table = new IntObjectHashtable<>(1);
+        assertTrue(table.add(3));
+        assertFalse(table.add(3));
+        assertTrue(table.containsKey(3));
+        assertNull(table.get(3));
+        int[] value = {1, 2};
+        assertNull(table.put(9, value));
+        for (int k = 100; k < 200; k++) {
+            table.put(k, new int[]{k});
+        }
+        assertSame(value, table.get(9));
+        int[][] values = table.getValues(new int[0][]);
+        assertEquals(102, values.length);
+        assertNull(values[0]);
+        assertSame(value, values[1]);
+        assertEquals(199, values[101][0]);
+    }
+
+    @Test
+    public void illegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new IntHashtable(-1, 0.75f));
+        assertThrows(IllegalArgumentException.class, () -> new IntHashtable(10, 0));
+    }
+}
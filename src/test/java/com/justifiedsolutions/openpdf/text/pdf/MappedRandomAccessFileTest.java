@@ -0,0 +1,148 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class MappedRandomAccessFileTest {
+
+    @Test
+    public void readsAcrossSegments() throws IOException {
+        Path path = createFile(100);
+        try {
+            MappedRandomAccessFile file = new MappedRandomAccessFile(path.toString(), "r", 4);
+            try {
+                assertEquals(100, file.length());
+                for (int k = 0; k < 100; k++) {
+                    assertEquals(k, file.read());
+                }
+                assertEquals(-1, file.read());
+
+                file.seek(10);
+                byte[] bytes = new byte[50];
+                assertEquals(50, file.read(bytes, 0, 50));
+                for (int k = 0; k < 50; k++) {
+                    assertEquals(10 + k, bytes[k]);
+                }
+                assertEquals(60, file.getFilePointer());
+
+                file.seek(90);
+                assertEquals(10, file.read(bytes, 5, 20));
+                assertEquals(95, bytes[10]);
+                assertEquals(-1, file.read(bytes, 0, 1));
+            } finally {
+                file.close();
+            }
+            assertThrows(IOException.class, file::read);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void emptyFile() throws IOException {
+        Path path = createFile(0);
+        try {
+            MappedRandomAccessFile file = new MappedRandomAccessFile(path.toString(), "r");
+            assertEquals(0, file.length());
+            assertEquals(-1, file.read());
+            file.close();
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void longPositions() throws IOException {
+        Path path = createFile(20);
+        try {
+            RandomAccessFileOrArray file = new RandomAccessFileOrArray(path.toString());
+            try {
+                file.seek(15L);
+                assertEquals(15L, file.getLongFilePointer());
+                assertEquals(20L, file.getLongLength());
+                assertEquals(15, file.read());
+                assertEquals(16, file.getFilePointer());
+            } finally {
+                file.close();
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void closeUnmapsTheSegments() throws IOException {
+        Path maps = Paths.get("/proc/self/maps");
+        assumeTrue(Files.isReadable(maps));
+        Path path = createFile(100);
+        try {
+            String name = path.toRealPath().toString();
+            MappedRandomAccessFile file = new MappedRandomAccessFile(path.toString(), "r", 4);
+            assertEquals(0, file.read());
+            assertTrue(new String(Files.readAllBytes(maps), StandardCharsets.ISO_8859_1).contains(name));
+            file.close();
+            assertFalse(new String(Files.readAllBytes(maps), StandardCharsets.ISO_8859_1).contains(name));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void closeWaitsForReads() throws Exception {
+        Path path = createFile(1 << 16);
+        try {
+            MappedRandomAccessFile file = new MappedRandomAccessFile(path.toString(), "r", 8);
+            CountDownLatch reading = new CountDownLatch(1);
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            Thread reader = new Thread(() -> {
+                byte[] bytes = new byte[1 << 16];
+                try {
+                    while (true) {
+                        file.seek(0);
+                        assertEquals(bytes.length, file.read(bytes, 0, bytes.length));
+                        assertEquals(-1, bytes[255]);
+                        reading.countDown();
+                    }
+                } catch (IOException e) {
+                    // closed
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            });
+            reader.start();
+            assertTrue(reading.await(10, TimeUnit.SECONDS));
+            file.close();
+            reader.join(10000);
+            assertFalse(reader.isAlive());
+            assertNull(failure.get());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static Path createFile(int length) throws IOException {
+        byte[] content = new byte[length];
+        for (int k = 0; k < length; k++) {
+            content[k] = (byte) k;
+        }
+        Path path = Files.createTempFile("mapped", ".bin");
+        Files.write(path, content);
+        return path;
+    }
+}
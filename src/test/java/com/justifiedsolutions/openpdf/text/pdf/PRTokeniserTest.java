@@ -0,0 +1,127 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class PRTokeniserTest {
+
+    @Test
+    public void numbersAreParsedFromBytes() throws IOException {
+        PRTokeniser tokens = tokeniser("12 -3 +4 0.5 -.25 3. 123456789.123456789 2147483648");
+        assertNumber(tokens, "12", 12);
+        assertEquals(12, tokens.intValue());
+        assertNumber(tokens, "-3", -3);
+        assertEquals(-3, tokens.intValue());
+        assertNumber(tokens, "+4", 4);
+        assertNumber(tokens, "0.5", 0.5);
+        assertNumber(tokens, "-.25", -0.25);
+        assertNumber(tokens, "3.", 3);
+        assertNumber(tokens, "123456789.123456789", 123456789.123456789);
+        assertNumber(tokens, "2147483648", 2147483648.0);
+        assertThrows(NumberFormatException.class, tokens::intValue);
+        assertEquals(2147483648L, tokens.longValue());
+    }
+
+    @Test
+    public void positionsBeyondAnInt() throws IOException {
+        PRTokeniser tokens = tokeniser("startxref\n5000000000\n%%EOF");
+        tokens.seek(tokens.getStartxref());
+        tokens.nextToken();
+        assertTrue(tokens.tokenEquals("startxref"));
+        tokens.nextToken();
+        assertEquals(5000000000L, tokens.longValue());
+    }
+
+    @Test
+    public void references() throws IOException {
+        PRTokeniser tokens = tokeniser("[12 0 R 5 6 7 R 1.5 0 R 8 9]");
+        tokens.nextValidToken();
+        assertEquals(PRTokeniser.TK_START_ARRAY, tokens.getTokenType());
+        assertReference(tokens, 12, 0);
+        assertNumber(tokens, "5", 5);
+        assertReference(tokens, 6, 7);
+        assertNumber(tokens, "1.5", 1.5);
+        assertNumber(tokens, "0", 0);
+        tokens.nextValidToken();
+        assertTrue(tokens.tokenEquals("R"));
+        assertNumber(tokens, "8", 8);
+        assertNumber(tokens, "9", 9);
+        tokens.nextValidToken();
+        assertEquals(PRTokeniser.TK_END_ARRAY, tokens.getTokenType());
+    }
+
+    @Test
+    public void namesAreShared() throws IOException {
+        PRTokeniser tokens = tokeniser("/Type /Custom#20Name /Custom#20Name /Font");
+        assertSame(PdfName.TYPE, nextName(tokens));
+        PdfName custom = nextName(tokens);
+        assertEquals(new PdfName("Custom Name"), custom);
+        assertEquals("/Custom#20Name", custom.toString());
+        assertSame(custom, nextName(tokens));
+        assertSame(PdfName.FONT, nextName(tokens));
+        assertSame(nextName(tokeniser("/Unusual")), nextName(tokeniser("/Unusual")));
+    }
+
+    @Test
+    public void stringsAndKeywords() throws IOException {
+        PRTokeniser tokens = tokeniser("(a\\(b\\)) <48 49> obj");
+        tokens.nextValidToken();
+        assertEquals(PRTokeniser.TK_STRING, tokens.getTokenType());
+        assertEquals("a(b)", tokens.getStringValue());
+        tokens.nextValidToken();
+        assertTrue(tokens.isHexString());
+        assertEquals("HI", tokens.getStringValue());
+        tokens.nextValidToken();
+        assertEquals(PRTokeniser.TK_OTHER, tokens.getTokenType());
+        assertTrue(tokens.tokenEquals("obj"));
+        assertFalse(tokens.tokenEquals("ob"));
+        assertEquals("obj", tokens.getStringValue());
+    }
+
+    @Test
+    public void longTokensGrowTheBuffer() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int k = 0; k < 200; k++) {
+            name.append((char) ('a' + k % 26));
+        }
+        PRTokeniser tokens = tokeniser("/" + name + " 1");
+        tokens.nextValidToken();
+        assertEquals(name.toString(), tokens.getStringValue());
+        assertEquals(200, tokens.getTokenLength());
+        assertNumber(tokens, "1", 1);
+    }
+
+    private static PRTokeniser tokeniser(String content) {
+        return new PRTokeniser(content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static PdfName nextName(PRTokeniser tokens) throws IOException {
+        tokens.nextValidToken();
+        assertEquals(PRTokeniser.TK_NAME, tokens.getTokenType());
+        return PdfName.valueOf(tokens.getTokenBytes(), 0, tokens.getTokenLength());
+    }
+
+    private static void assertNumber(PRTokeniser tokens, String text, double value) throws IOException {
+        tokens.nextValidToken();
+        assertEquals(PRTokeniser.TK_NUMBER, tokens.getTokenType());
+        assertEquals(text, tokens.getStringValue());
+        assertEquals(Double.parseDouble(text), tokens.doubleValue());
+        assertEquals(value, tokens.doubleValue());
+    }
+
+    private static void assertReference(PRTokeniser tokens, int reference, int generation) throws IOException {
+        tokens.nextValidToken();
+        assertEquals(PRTokeniser.TK_REF, tokens.getTokenType());
+        assertEquals(reference, tokens.getReference());
+        assertEquals(generation, tokens.getGeneration());
+    }
+}
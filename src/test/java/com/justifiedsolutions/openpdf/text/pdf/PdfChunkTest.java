@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.justifiedsolutions.openpdf.text.Chunk;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class PdfChunkTest {
+
+    @Test
+    public void splitRestIsSplitLikeNewChunk() {
+        String text = text();
+        PdfChunk first = new PdfChunk(new Chunk(text));
+        assertEquals(split(first, false), split(new PdfChunk(new Chunk(text)), true));
+    }
+
+    @Test
+    public void splitAtNewlines() {
+        PdfChunk chunk = new PdfChunk(new Chunk("one\r\ntwo\n\nthree"));
+        PdfChunk rest = chunk.split(1000);
+        assertTrue(chunk.isNewlineSplit());
+        assertEquals("one", chunk.toString());
+        assertEquals(10, rest.length());
+        PdfChunk last = rest.split(1000);
+        assertEquals("two", rest.toString());
+        PdfChunk empty = last.split(1000);
+        assertEquals(" ", last.toString());
+        assertNull(empty.split(1000));
+        assertEquals("three", empty.toString());
+    }
+
+    @Test
+    public void trimFirstSpaceOfRest() {
+        PdfChunk chunk = new PdfChunk(new Chunk("abc\n  def"));
+        PdfChunk rest = chunk.split(1000);
+        assertEquals("abc", chunk.toString());
+        rest.trimFirstSpace();
+        assertEquals(4, rest.length());
+        assertEquals(" def", rest.toString());
+    }
+
+    /**
+     * Splits a chunk into lines, each line either from the rest the chunk before returned or from a new chunk with
+     * the text of the rest.
+     */
+    private static List<String> split(PdfChunk chunk, boolean copyRest) {
+        List<String> lines = new ArrayList<>();
+        float width = 100;
+        PdfChunk rest;
+        while ((rest = chunk.split(width)) != null) {
+            lines.add(chunk.toString() + "|" + chunk.isNewlineSplit());
+            rest.trimFirstSpace();
+            chunk = copyRest ? new PdfChunk(rest.toString(), rest) : rest;
+            width = width == 100 ? 60 : 100;
+        }
+        lines.add(chunk.toString());
+        return lines;
+    }
+
+    private static String text() {
+        StringBuilder text = new StringBuilder();
+        for (int k = 0; k < 300; k++) {
+            text.append("word").append(k).append(k % 23 == 0 ? "\n" : k % 7 == 0 ? "-" : " ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class PdfDictionaryTest {
+
+    private static final PdfName A = new PdfName("A");
+    private static final PdfName B = new PdfName("B");
+    private static final PdfName C = new PdfName("C");
+
+    @Test
+    public void smallDictionaryKeepsInsertionOrder() throws IOException {
+        PdfDictionary dictionary = new PdfDictionary(PdfName.PAGE);
+        dictionary.put(PdfName.ROTATE, new PdfNumber(90));
+        dictionary.put(PdfName.CONTENTS, new PdfName("C"));
+        dictionary.put(PdfName.ROTATE, new PdfNumber(180));
+        assertEquals("<</Type/Page/Rotate 180/Contents/C>>", toPdf(dictionary));
+    }
+
+    @Test
+    public void removeKeepsOrder() throws IOException {
+        PdfDictionary dictionary = new PdfDictionary();
+        dictionary.put(A, new PdfNumber(1));
+        dictionary.put(B, new PdfNumber(2));
+        dictionary.put(C, new PdfNumber(3));
+        dictionary.remove(B);
+        dictionary.put(A, PdfNull.PDFNULL);
+        assertEquals(1, dictionary.size());
+        assertNull(dictionary.get(A));
+        assertEquals("<</C 3>>", toPdf(dictionary));
+    }
+
+    @Test
+    public void largeDictionaryKeepsInsertionOrder() throws IOException {
+        PdfDictionary dictionary = new PdfDictionary();
+        StringBuilder expected = new StringBuilder("<<");
+        for (int i = 20; i > 0; i--) {
+            dictionary.put(new PdfName("K" + i), new PdfNumber(i));
+            expected.append("/K").append(i).append(' ').append(i);
+        }
+        expected.append(">>");
+        assertEquals(20, dictionary.size());
+        assertEquals(new PdfNumber(7).toString(), dictionary.get(new PdfName("K7")).toString());
+        assertEquals(expected.toString(), toPdf(dictionary));
+    }
+
+    @Test
+    public void mergeDifferentKeepsExistingValues() throws IOException {
+        PdfDictionary dictionary = new PdfDictionary();
+        dictionary.put(A, new PdfNumber(1));
+        PdfDictionary other = new PdfDictionary();
+        other.put(A, new PdfNumber(2));
+        other.put(B, new PdfNumber(3));
+        dictionary.mergeDifferent(other);
+        assertEquals("<</A 1/B 3>>", toPdf(dictionary));
+    }
+
+    private static String toPdf(PdfDictionary dictionary) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dictionary.toPdf(null, out);
+        return new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+}
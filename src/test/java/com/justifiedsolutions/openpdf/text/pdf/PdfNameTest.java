@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+public class PdfNameTest {
+
+    @Test
+    public void valueOfReturnsStaticName() {
+        assertSame(PdfName.FONT, PdfName.valueOf("Font"));
+    }
+
+    @Test
+    public void valueOfReturnsCachedName() {
+        PdfName name = PdfName.valueOf("GS42");
+        assertSame(name, PdfName.valueOf("GS42"));
+    }
+
+    @Test
+    public void equalNamesAreEqual() {
+        PdfName name1 = new PdfName("F1");
+        PdfName name2 = new PdfName("F1");
+        assertNotSame(name1, name2);
+        assertEquals(name1, name2);
+        assertEquals(name1.hashCode(), name2.hashCode());
+        assertEquals(name1, new PdfName(new byte[]{'/', 'F', '1'}));
+        assertNotEquals(name1, new PdfName("F2"));
+    }
+
+    @Test
+    public void encodeName() {
+        assertEquals("/F1", new PdfName("F1").toString());
+        assertEquals("/A#20B#23C#2f", new PdfName("A B#C/").toString());
+        assertEquals("/A#28B#29", PdfName.valueOf("A(B)").toString());
+    }
+}
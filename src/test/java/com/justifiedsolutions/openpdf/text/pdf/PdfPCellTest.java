@@ -84,4 +84,27 @@ public class PdfPCellTest {
         assertEquals(Rectangle.TOP | Rectangle.LEFT | Rectangle.RIGHT, actual.getBorder());
     }
 
+    @Test
+    public void getInstanceSharesStyles() {
+        Table table = new Table(2);
+        Cell first = table.createCell();
+        first.setGreyFill(.5f);
+        first.setPadding(4);
+        Cell second = table.createCell();
+        second.setPadding(4);
+        second.setGreyFill(.5f);
+        Cell other = table.createCell();
+        other.setStyle(first.getStyle());
+        other.setPaddingTop(5);
+
+        assertSame(first.getStyle(), second.getStyle());
+        assertSame(table.createCell().getStyle(), new Cell().getStyle());
+        assertEquals(5, other.getPaddingTop());
+        assertEquals(4, first.getPaddingTop());
+        assertSame(PdfPCell.getInstance(first).getBackgroundColor(),
+                PdfPCell.getInstance(second).getBackgroundColor());
+        assertEquals(5, PdfPCell.getInstance(other).getPaddingTop());
+        assertThrows(NullPointerException.class, () -> other.setStyle(null));
+    }
+
 }
\ No newline at end of file
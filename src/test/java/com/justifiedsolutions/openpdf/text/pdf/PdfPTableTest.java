@@ -6,8 +6,18 @@
 
 package com.justifiedsolutions.openpdf.text.pdf;
 
+import com.justifiedsolutions.openpdf.pdf.Document;
+import com.justifiedsolutions.openpdf.pdf.Margin;
+import com.justifiedsolutions.openpdf.pdf.PageSize;
+import com.justifiedsolutions.openpdf.pdf.content.Cell;
 import com.justifiedsolutions.openpdf.pdf.content.Phrase;
 import com.justifiedsolutions.openpdf.pdf.content.Table;
+import com.justifiedsolutions.openpdf.text.Paragraph;
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +54,8 @@ public class PdfPTableTest {
         input.setWidthPercentage(100);
         input.setSpacingBefore(10);
         input.setSpacingAfter(11);
+        input.setHeaderRows(1);
+        input.setParallelMeasurement(true);
 
         PdfPTable actual = PdfPTable.getInstance(input);
 
@@ -51,6 +63,8 @@ public class PdfPTableTest {
         assertEquals(100, actual.getWidthPercentage());
         assertEquals(10, actual.spacingBefore());
         assertEquals(11, actual.spacingAfter());
+        assertEquals(1, actual.getHeaderRows());
+        assertTrue(actual.isParallelMeasurement());
     }
 
     @Test
@@ -70,5 +84,317 @@ public class PdfPTableTest {
         assertEquals(2, row.getCells().length);
     }
 
+    @Test
+    public void rowspanHeights() {
+        PdfPTable table = new PdfPTable(2);
+        table.addCell(cell(30, 2));
+        table.addCell(cell(10, 1));
+        table.addCell(cell(50, 2));
+        table.addCell(cell(10, 1));
+        table.addCell(cell(10, 1));
+        table.addCell(cell(10, 1));
+        table.setTotalWidth(100);
+
+        assertEquals(70, table.getTotalHeight());
+        assertRowHeights(table, 10, 20, 30, 10);
+        assertEquals(30, table.getRowspanHeight(0, 0));
+        assertEquals(50, table.getRowspanHeight(1, 1));
+
+        PdfPTable copy = new PdfPTable(table);
+        assertRowHeights(copy, 10, 20, 30, 10);
+        assertEquals(70, copy.calculateHeights(true));
+        assertRowHeights(copy, 10, 20, 30, 10);
+    }
+
+    @Test
+    public void manyRowspans() {
+        int rows = 100_000;
+        PdfPTable table = new PdfPTable(2);
+        table.setTotalWidth(100);
+        for (int k = 0; k < rows; k += 2) {
+            table.addCell(cell(30, 2));
+            table.addCell(cell(10, 1));
+            table.addCell(cell(10, 1));
+        }
+        assertEquals(20, table.getRowHeight(rows - 1));
+        assertEquals(30, table.getRowspanHeight(rows - 2, 0));
+        assertEquals(rows / 2 * 30, table.calculateHeights(false));
+    }
+
+    @Test
+    public void fixedLayoutRowHeights() {
+        Table input = new Table(2);
+        input.setFixedRowHeight(20);
+        Cell span = input.createCell(new Phrase("spans two rows"));
+        span.setRowSpan(2);
+        input.createCell(new Phrase(longText()));
+        input.createCell(new Phrase("line 1\nline 2\nline 3"));
+
+        PdfPTable actual = PdfPTable.getInstance(input);
+        actual.setTotalWidth(200);
+
+        assertRowHeights(actual, 20, 20);
+        assertEquals(40, actual.getRowspanHeight(0, 0));
+        assertEquals(PdfPCell.OVERFLOW_CLIP, actual.getRow(0).getCells()[0].getOverflow());
+    }
+
+    @Test
+    public void fixedLayoutClipsAndEllipsizes() throws Exception {
+        String clipped = write(fixedLayout(Table.Overflow.CLIP));
+        assertTrue(clipped.contains("re\nW\nn"));
+        assertTrue(clipped.contains("(" + longText() + ")"));
+
+        String ellipsized = write(fixedLayout(Table.Overflow.ELLIPSIS));
+        assertFalse(ellipsized.contains("W\nn"));
+        assertFalse(ellipsized.contains(longText()));
+        assertTrue(ellipsized.contains("\u0085)"));
+        assertTrue(ellipsized.contains("(short)"));
+    }
+
+    @Test
+    public void gridJoinsBordersAndFills() throws Exception {
+        Table table = new Table(3);
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                table.createCell(new Phrase("r" + row + "c" + column)).setGreyFill(row % 2 == 0 ? .9f : .5f);
+            }
+        }
+        String content = write(table);
+        // one fill per grey, one stroke for 4 horizontal and 4 vertical lines
+        assertEquals(2, occurrences(content, "\nf\n"));
+        assertEquals(9, occurrences(content, " re\n"));
+        assertEquals(1, occurrences(content, "\nS\n"));
+        assertEquals(8, occurrences(content, " m\n"));
+    }
+
+    @Test
+    public void gridFillDoesNotLeakIntoCellEvent() throws Exception {
+        PdfPTable table = new PdfPTable(2);
+        PdfPCell filled = new PdfPCell();
+        filled.addElement(new Paragraph("filled"));
+        filled.setBackgroundColor(Color.RED);
+        table.addCell(filled);
+        PdfPCell drawn = new PdfPCell();
+        drawn.addElement(new Paragraph("drawn"));
+        drawn.setCellEvent((cell, position, canvases) -> {
+            PdfContentByte background = canvases[PdfPTable.BACKGROUNDCANVAS];
+            background.rectangle(1, 2, 3, 4);
+            background.fill();
+        });
+        table.addCell(drawn);
+        String content = writeRows(table);
+
+        // the red fill of the grid is written before the event and its color is restored
+        int event = content.indexOf("1 2 3 4 re\nf\n");
+        int red = content.lastIndexOf("1 0 0 rg\n", event);
+        assertTrue(red >= 0, content);
+        assertTrue(content.substring(red, event).contains("\nQ\n"), content);
+    }
+
+    @Test
+    public void gridKeepsCellOrderOnSharedEdges() throws Exception {
+        // the cell added last is drawn over the edge it shares with a cell of another color
+        PdfPTable table = new PdfPTable(2);
+        table.addCell(bordered(Color.RED));
+        table.addCell(bordered(Color.BLUE));
+        table.addCell(bordered(Color.BLUE));
+        table.addCell(bordered(Color.RED));
+        List<Object[]> strokes = strokes(writeRows(table));
+        // the table is 200 wide at x 100 and its two rows are 20 high from y 700 down
+        assertEquals(Color.BLUE, strokeColor(strokes, 200, 690));
+        assertEquals(Color.RED, strokeColor(strokes, 200, 670));
+        assertEquals(Color.BLUE, strokeColor(strokes, 150, 680));
+        assertEquals(Color.RED, strokeColor(strokes, 250, 680));
+        assertEquals(Color.RED, strokeColor(strokes, 100, 690));
+        assertEquals(Color.BLUE, strokeColor(strokes, 300, 690));
+    }
+
+    @Test
+    public void parallelMeasurementHeights() throws Exception {
+        PdfPTable serial = PdfPTable.getInstance(wrappedText(false));
+        PdfPTable parallel = PdfPTable.getInstance(wrappedText(true));
+        serial.setTotalWidth(300);
+        parallel.setTotalWidth(300);
+        assertEquals(serial.getTotalHeight(), parallel.getTotalHeight());
+        for (int k = 0; k < serial.size(); k++) {
+            assertEquals(serial.getRowHeight(k), parallel.getRowHeight(k), "row " + k);
+        }
+        assertEquals(write(wrappedText(false)), write(wrappedText(true)));
+    }
+
+    @Test
+    public void parallelMeasurementSharedCells() {
+        // the copies of a cell share the lines of its text
+        PdfPCell shared = new PdfPCell();
+        shared.addElement(new Paragraph(longText() + " " + longText()));
+        PdfPTable serial = new PdfPTable(3);
+        PdfPTable parallel = new PdfPTable(3);
+        parallel.setParallelMeasurement(true);
+        for (int k = 0; k < 3000; k++) {
+            serial.addCell(shared);
+            parallel.addCell(shared);
+        }
+        serial.setTotalWidth(150);
+        parallel.setTotalWidth(150);
+        assertEquals(serial.getTotalHeight(), parallel.getTotalHeight());
+        assertRowHeights(parallel, rowHeights(serial));
+    }
+
+    private static Table wrappedText(boolean parallelMeasurement) {
+        Table table = new Table(3);
+        table.setParallelMeasurement(parallelMeasurement);
+        for (int k = 0; k < 1000; k++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < k % 13; i++) {
+                text.append("word").append(i).append(' ');
+            }
+            Cell cell = table.createCell(new Phrase(text.toString()));
+            if (k % 29 == 0) {
+                cell.setRowSpan(2);
+            }
+        }
+        return table;
+    }
+
+    private static float[] rowHeights(PdfPTable table) {
+        float[] heights = new float[table.size()];
+        for (int k = 0; k < heights.length; k++) {
+            heights[k] = table.getRowHeight(k);
+        }
+        return heights;
+    }
+
+    private static Table fixedLayout(Table.Overflow overflow) {
+        Table table = new Table(2);
+        table.setFixedRowHeight(20);
+        table.setOverflow(overflow);
+        table.createCell(new Phrase(longText()));
+        table.createCell(new Phrase("short"));
+        return table;
+    }
+
+    private static String write(Table table) throws Exception {
+        Document document = new Document(PageSize.LETTER, new Margin(72, 72, 72, 72));
+        document.add(table);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        document.write(out);
+        byte[] pdf = out.toByteArray();
+        return new String(new PdfReader(pdf).getPageContent(1, new RandomAccessFileOrArray(pdf)),
+                StandardCharsets.ISO_8859_1);
+    }
+
+    private static String writeRows(PdfPTable table) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        com.justifiedsolutions.openpdf.text.Document document = new com.justifiedsolutions.openpdf.text.Document(
+                new com.justifiedsolutions.openpdf.text.Rectangle(612, 792), 72, 72, 72, 72);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+        table.setTotalWidth(200);
+        table.writeSelectedRows(0, -1, 100, 700, writer.getDirectContent());
+        document.close();
+        byte[] pdf = out.toByteArray();
+        return new String(new PdfReader(pdf).getPageContent(1, new RandomAccessFileOrArray(pdf)),
+                StandardCharsets.ISO_8859_1);
+    }
+
+    private static PdfPCell bordered(Color color) {
+        PdfPCell cell = new BorderedCell(2, color);
+        cell.setFixedHeight(20);
+        return cell;
+    }
+
+    /**
+     * Reads the lines stroked in a content stream, each as its end points and the stroke color.
+     */
+    private static List<Object[]> strokes(String content) {
+        List<Object[]> strokes = new ArrayList<>();
+        List<float[]> path = new ArrayList<>();
+        List<Float> operands = new ArrayList<>();
+        Color color = Color.BLACK;
+        float[] point = null;
+        for (String token : content.split("\\s+")) {
+            switch (token) {
+                case "RG":
+                    color = new Color(operands.get(0), operands.get(1), operands.get(2));
+                    break;
+                case "G":
+                    color = new Color(operands.get(0), operands.get(0), operands.get(0));
+                    break;
+                case "m":
+                    point = new float[]{operands.get(0), operands.get(1)};
+                    break;
+                case "l":
+                    path.add(new float[]{point[0], point[1], operands.get(0), operands.get(1)});
+                    point = new float[]{operands.get(0), operands.get(1)};
+                    break;
+                case "S":
+                    for (float[] line : path) {
+                        strokes.add(new Object[]{line, color});
+                    }
+                    path.clear();
+                    break;
+                default:
+                    try {
+                        operands.add(Float.parseFloat(token));
+                        continue;
+                    } catch (NumberFormatException e) {
+                        break;
+                    }
+            }
+            operands.clear();
+        }
+        return strokes;
+    }
+
+    /**
+     * Gets the color of the last line stroked through a point.
+     */
+    private static Color strokeColor(List<Object[]> strokes, float x, float y) {
+        Color color = null;
+        for (Object[] stroke : strokes) {
+            float[] line = (float[]) stroke[0];
+            if (Math.min(line[0], line[2]) <= x && x <= Math.max(line[0], line[2])
+                    && Math.min(line[1], line[3]) <= y && y <= Math.max(line[1], line[3])) {
+                color = (Color) stroke[1];
+            }
+        }
+        return color;
+    }
+
+    private static int occurrences(String text, String s) {
+        int n = 0;
+        for (int index = text.indexOf(s); index >= 0; index = text.indexOf(s, index + 1)) {
+            n++;
+        }
+        return n;
+    }
 
-}
\ No newline at end of file
+    private static String longText() {
+        return "a very long line of text that doesn't fit in the cell";
+    }
+
+    private static PdfPCell cell(float height, int rowspan) {
+        PdfPCell cell = new PdfPCell();
+        cell.setFixedHeight(height);
+        cell.setRowspan(rowspan);
+        return cell;
+    }
+
+    private static void assertRowHeights(PdfPTable table, float... heights) {
+        assertEquals(heights.length, table.size());
+        for (int k = 0; k < heights.length; k++) {
+            assertEquals(heights[k], table.getRowHeight(k), "row " + k);
+        }
+    }
+
+    /**
+     * A cell with a border width and color, which the cells have no setters for.
+     */
+    private static class BorderedCell extends PdfPCell {
+
+        private BorderedCell(float width, Color color) {
+            borderWidth = width;
+            borderColor = color;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PredictorInputStreamTest {
+
+    private static final int COLORS = 3;
+    private static final int COLUMNS = 7;
+    private static final int ROW = COLORS * COLUMNS;
+
+    @Test
+    public void pngPredictors() throws IOException {
+        byte[] image = image(10);
+        byte[] encoded = encodePng(image);
+        assertArrayEquals(image, PdfReader.decodePredictor(encoded, parameters(15, 8)));
+
+        PRStream stream = new PRStream(null, encoded, 9);
+        stream.put(PdfName.DECODEPARMS, parameters(15, 8));
+        assertArrayEquals(image, PdfReader.getStreamBytes(stream, null));
+    }
+
+    @Test
+    public void tiffPredictor() {
+        byte[] image = image(4);
+        byte[] encoded = image.clone();
+        for (int row = 0; row < 4; row++) {
+            for (int i = ROW - 1; i >= COLORS; i--) {
+                encoded[row * ROW + i] -= image[row * ROW + i - COLORS];
+            }
+        }
+        assertArrayEquals(image, PdfReader.decodePredictor(encoded, parameters(2, 8)));
+    }
+
+    @Test
+    public void tiffPredictorOneBit() {
+        assertTiffPredictor(1);
+    }
+
+    @Test
+    public void tiffPredictorTwoBits() {
+        assertTiffPredictor(2);
+    }
+
+    @Test
+    public void tiffPredictorFourBits() {
+        assertTiffPredictor(4);
+    }
+
+    @Test
+    public void tiffPredictorUnsupportedBits() {
+        byte[] encoded = new byte[4 * ROW * 4];
+        assertThrows(RuntimeException.class, () -> PdfReader.decodePredictor(encoded, parameters(2, 32)));
+        assertThrows(RuntimeException.class, () -> PdfReader.decodePredictor(encoded, parameters(2, 3)));
+    }
+
+    @Test
+    public void truncatedRowEndsTheData() {
+        byte[] image = image(3);
+        byte[] encoded = encodePng(image);
+        byte[] decoded = PdfReader.decodePredictor(Arrays.copyOf(encoded, encoded.length - 1), parameters(12, 8));
+        assertArrayEquals(Arrays.copyOf(image, 2 * ROW), decoded);
+    }
+
+    @Test
+    public void noPredictor() {
+        byte[] data = {1, 2, 3};
+        assertSame(data, PdfReader.decodePredictor(data, parameters(1, 8)));
+        assertSame(data, PdfReader.decodePredictor(data, null));
+    }
+
+    @Test
+    public void corruptedFlateDataKeepsTheStart() {
+        byte[] image = image(50);
+        PRStream stream = new PRStream(null, image, 9);
+        byte[] truncated = Arrays.copyOf(stream.getBytes(), stream.getBytes().length / 2);
+        assertNull(PdfReader.FlateDecode(truncated, true));
+        byte[] decoded = PdfReader.FlateDecode(truncated);
+        assertTrue(decoded.length > 0);
+        assertArrayEquals(Arrays.copyOf(image, decoded.length), decoded);
+    }
+
+    /**
+     * Applies the TIFF predictor to packed samples of less than a byte and checks they are decoded.
+     */
+    private static void assertTiffPredictor(int bits) {
+        int bytesPerRow = (ROW * bits + 7) / 8;
+        int mask = (1 << bits) - 1;
+        byte[] image = new byte[4 * bytesPerRow];
+        new Random(bits).nextBytes(image);
+        byte[] encoded = new byte[image.length];
+        for (int row = 0; row < 4; row++) {
+            for (int i = 0; i < ROW; i++) {
+                int value = sample(image, row * bytesPerRow, i, bits);
+                if (i >= COLORS) {
+                    value -= sample(image, row * bytesPerRow, i - COLORS, bits);
+                }
+                int bit = i * bits;
+                encoded[row * bytesPerRow + (bit >> 3)] |= (value & mask) << (8 - bits - (bit & 7));
+            }
+            // the padding bits at the end of a row are not samples
+            int padding = bytesPerRow * 8 - ROW * bits;
+            image[(row + 1) * bytesPerRow - 1] &= (byte) (0xff << padding);
+        }
+        assertArrayEquals(image, PdfReader.decodePredictor(encoded, parameters(2, bits)));
+    }
+
+    private static int sample(byte[] data, int offset, int sample, int bits) {
+        int bit = sample * bits;
+        return (data[offset + (bit >> 3)] >> (8 - bits - (bit & 7))) & ((1 << bits) - 1);
+    }
+
+    private static PdfDictionary parameters(int predictor, int bitsPerComponent) {
+        PdfDictionary parameters = new PdfDictionary();
+        parameters.put(PdfName.PREDICTOR, new PdfNumber(predictor));
+        parameters.put(PdfName.COLORS, new PdfNumber(COLORS));
+        parameters.put(PdfName.COLUMNS, new PdfNumber(COLUMNS));
+        parameters.put(PdfName.BITSPERCOMPONENT, new PdfNumber(bitsPerComponent));
+        return parameters;
+    }
+
+    private static byte[] image(int rows) {
+        byte[] image = new byte[rows * ROW];
+        new Random(rows).nextBytes(image);
+        return image;
+    }
+
+    /**
+     * Applies the PNG filters 0 to 4 to the rows in turn.
+     */
+    private static byte[] encodePng(byte[] image) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] prior = new byte[ROW];
+        for (int row = 0; row * ROW < image.length; row++) {
+            byte[] curr = Arrays.copyOfRange(image, row * ROW, (row + 1) * ROW);
+            int filter = row % 5;
+            out.write(filter);
+            for (int i = 0; i < ROW; i++) {
+                int a = i >= COLORS ? curr[i - COLORS] & 0xff : 0;
+                int b = prior[i] & 0xff;
+                int c = i >= COLORS ? prior[i - COLORS] & 0xff : 0;
+                int predicted;
+                switch (filter) {
+                    case 1:
+                        predicted = a;
+                        break;
+                    case 2:
+                        predicted = b;
+                        break;
+                    case 3:
+                        predicted = (a + b) / 2;
+                        break;
+                    case 4:
+                        int p = a + b - c;
+                        int pa = Math.abs(p - a);
+                        int pb = Math.abs(p - b);
+                        int pc = Math.abs(p - c);
+                        predicted = pa <= pb && pa <= pc ? a : pb <= pc ? b : c;
+                        break;
+                    default:
+                        predicted = 0;
+                }
+                out.write(curr[i] - predicted);
+            }
+            prior = curr;
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class TextEncoderTest {
+
+    @Test
+    public void winAnsi() {
+        TextEncoder encoder = TextEncoder.forEncoding(BaseFont.WINANSI);
+        assertSame(encoder, TextEncoder.forEncoding(BaseFont.WINANSI));
+        assertArrayEquals(new byte[]{'a', (byte) 0x80, (byte) 0xe9, (byte) 0x99},
+                encoder.encode("a€\u0000é™中"));
+    }
+
+    @Test
+    public void pdfDocEncoding() {
+        TextEncoder encoder = TextEncoder.forEncoding(PdfObject.TEXT_PDFDOCENCODING);
+        assertArrayEquals(new byte[]{'x', (byte) 0x80, (byte) 0xa0}, encoder.encode("x•€"));
+    }
+
+    @Test
+    public void unicode() {
+        assertArrayEquals(new byte[]{(byte) 0xfe, (byte) 0xff, 0, 'A', 0x4e, 0x2d},
+                TextEncoder.forEncoding(PdfObject.TEXT_UNICODE).encode("A中"));
+        String text = "A中😀\ud800";
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_16BE),
+                TextEncoder.forEncoding(CJKFont.CJK_ENCODING).encode(text));
+    }
+
+    @Test
+    public void map() {
+        IntHashtable map = new IntHashtable();
+        map.put('a', 1);
+        map.put(0x3b1, 0xe1);
+        ByteBuffer out = new ByteBuffer();
+        out.append_i('(');
+        TextEncoder.forMap(map).encode("abα", out);
+        assertArrayEquals(new byte[]{'(', 1, (byte) 0xe1}, out.toByteArray());
+    }
+
+    @Test
+    public void namedEncoding() {
+        assertArrayEquals("été".getBytes(StandardCharsets.ISO_8859_1),
+                TextEncoder.forEncoding("ISO-8859-1").encode("été"));
+        assertSame(TextEncoder.DIRECT, TextEncoder.forEncoding(""));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.justifiedsolutions.openpdf.text.Document;
+import com.justifiedsolutions.openpdf.text.Font;
+import com.justifiedsolutions.openpdf.text.Paragraph;
+import com.justifiedsolutions.openpdf.text.Phrase;
+import com.justifiedsolutions.openpdf.text.Rectangle;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class TrueTypeFontSubSetTest {
+
+    private static final String FONT = "com/justifiedsolutions/openpdf/text/pdf/fonts/liberation/LiberationSans-Regular.ttf";
+
+    @Test
+    public void streamedSubsetHasDeclaredLength() throws Exception {
+        byte[] font = readFont();
+        IntObjectHashtable<int[]> glyphs = new IntObjectHashtable<>();
+        glyphs.add(0);
+        glyphs.add(36);
+        glyphs.add(68);
+        TrueTypeFontSubSet subSet = new TrueTypeFontSubSet(FONT, new RandomAccessFileOrArray(font), glyphs, 0, true, false);
+        byte[] b;
+        try (InputStream in = subSet.process()) {
+            b = in.readAllBytes();
+        }
+        assertEquals(subSet.getSubsetLength(), b.length);
+        assertEquals(0, b.length % 4);
+        assertTrue(b.length < font.length);
+        assertArrayEquals(new byte[]{0, 1, 0, 0}, Arrays.copyOf(b, 4));
+        int[] hhea = findTable(b, "hhea");
+        int[] original = findTable(font, "hhea");
+        assertEquals(original[1], hhea[1]);
+        assertArrayEquals(Arrays.copyOfRange(font, original[0], original[0] + original[1]),
+                Arrays.copyOfRange(b, hhea[0], hhea[0] + hhea[1]));
+        int[] glyf = findTable(b, "glyf");
+        assertTrue(glyf[0] + glyf[1] <= b.length);
+    }
+
+    @Test
+    public void fullFontIsStreamed() throws Exception {
+        byte[] font = readFont();
+        BaseFont bf = BaseFont.createFont(FONT, BaseFont.WINANSI, true);
+        bf.subset = false;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document(new Rectangle(595f, 842f), 36, 36, 36, 36);
+        PdfWriter.getInstance(document, out);
+        document.open();
+        document.add(new Paragraph(new Phrase(12f, "Hello", new Font(bf, 12, Font.NORMAL, null))));
+        document.close();
+        String pdf = new String(out.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.contains("/Length1 " + font.length + "/"));
+    }
+
+    private static int[] findTable(byte[] font, String name) throws Exception {
+        RandomAccessFileOrArray rf = new RandomAccessFileOrArray(font);
+        rf.skipBytes(4);
+        int numTables = rf.readUnsignedShort();
+        rf.skipBytes(6);
+        for (int k = 0; k < numTables; ++k) {
+            byte[] tag = new byte[4];
+            rf.readFully(tag);
+            rf.skipBytes(4);
+            int offset = rf.readInt();
+            int length = rf.readInt();
+            if (name.equals(new String(tag, StandardCharsets.ISO_8859_1))) {
+                return new int[]{offset, length};
+            }
+        }
+        fail("no table " + name);
+        return null;
+    }
+
+    private static byte[] readFont() throws Exception {
+        try (InputStream in = BaseFont.getResourceStream(FONT)) {
+            return in.readAllBytes();
+        }
+    }
+}
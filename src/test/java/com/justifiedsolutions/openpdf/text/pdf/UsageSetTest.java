@@ -0,0 +1,45 @@
+/*
+ * SPDX-License-Identifier: (LGPL-3.0-only OR MPL-2.0)
+ *
+ * Copyright (c) 2020 Justified Solutions. All rights reserved.
+ */
+
+package com.justifiedsolutions.openpdf.text.pdf;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class UsageSetTest {
+
+    @Test
+    public void closureOverTheWorkList() {
+        IntObjectHashtable<int[]> glyphs = new IntObjectHashtable<>();
+        glyphs.add(40);
+        glyphs.add(3);
+        UsageSet set = new UsageSet(glyphs);
+        // every id n uses n / 2
+        for (int k = 0; k < set.size(); k++) {
+            set.add(set.get(k) / 2);
+        }
+        assertArrayEquals(new int[]{0, 1, 2, 3, 5, 10, 20, 40}, set.toOrderedArray());
+        assertEquals(40, set.get(0));
+        assertEquals(3, set.get(1));
+        assertEquals(20, set.get(2));
+    }
+
+    @Test
+    public void addAndContains() {
+        UsageSet set = new UsageSet();
+        for (int k = 0; k < 1000; k += 3) {
+            assertTrue(set.add(k));
+        }
+        assertFalse(set.add(300));
+        assertFalse(set.add(-1));
+        assertTrue(set.contains(999));
+        assertFalse(set.contains(998));
+        assertFalse(set.contains(-3));
+        assertEquals(334, set.size());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> set.get(334));
+    }
+}